@@ -5,11 +5,14 @@ import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.safeaudit.core.config.AuditProperties;
 import io.safeaudit.core.spi.AuditEventIdGenerator;
 import io.safeaudit.core.spi.AuditStorage;
+import io.safeaudit.core.spi.SequenceBlockAllocator;
+import io.safeaudit.core.util.ApplicationInfo;
 import io.safeaudit.core.util.AuditMetrics;
 import io.safeaudit.core.util.SequenceNumberGenerator;
 import io.safeaudit.core.util.UUIDv7Generator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -51,11 +54,18 @@ public class AuditAutoConfiguration {
     }
 
     /**
-     * Sequence number generator for events.
+     * Sequence number generator for events. Leases durable blocks when an allocator is
+     * available, otherwise counts in memory from 1.
      */
     @Bean
-    public SequenceNumberGenerator sequenceNumberGenerator() {
-        return new SequenceNumberGenerator();
+    public SequenceNumberGenerator sequenceNumberGenerator(
+            ObjectProvider<SequenceBlockAllocator> allocator, AuditProperties properties) {
+        var blockAllocator = allocator.getIfAvailable();
+        if (blockAllocator == null) {
+            return new SequenceNumberGenerator();
+        }
+        return new SequenceNumberGenerator(blockAllocator, ApplicationInfo.getApplicationInstance(),
+                properties.getStorage().getDatabase().getSequenceBlockSize());
     }
 
     /**
@@ -2,6 +2,7 @@ package io.safeaudit.autoconfigure;
 
 import io.safeaudit.core.config.AuditProperties;
 import io.safeaudit.core.processing.AuditProcessingPipeline;
+import io.safeaudit.core.processing.queue.VirtualThreadAuditQueue;
 import io.safeaudit.core.spi.AuditEventCapture;
 import io.safeaudit.core.spi.AuditEventIdGenerator;
 import io.safeaudit.core.util.SequenceNumberGenerator;
@@ -11,6 +12,7 @@ import io.safeaudit.web.capture.AuditMethodInterceptor;
 import io.safeaudit.web.capture.DefaultAuditEventCapture;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -36,11 +38,14 @@ public class AuditCaptureAutoConfiguration {
 
     /**
      * Default event capture implementation.
+     * Hands events off to the async queue when one is configured.
      */
     @Bean
     @ConditionalOnMissingBean
-    public AuditEventCapture auditEventCapture(AuditProcessingPipeline pipeline) {
-        return new DefaultAuditEventCapture(pipeline);
+    public AuditEventCapture auditEventCapture(
+            AuditProcessingPipeline pipeline,
+            ObjectProvider<VirtualThreadAuditQueue> queue) {
+        return new DefaultAuditEventCapture(pipeline, queue.getIfAvailable());
     }
 
     /**
@@ -0,0 +1,65 @@
+package io.safeaudit.autoconfigure;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.safeaudit.core.config.AuditProperties;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+
+/**
+ * Builds the dedicated audit pools. Kept apart from {@link AuditDataSources} so
+ * HikariCP is only loaded when dedicated pools are requested.
+ * <p>
+ * Pools are named {@code safeaudit-write} and {@code safeaudit-read}; with a
+ * {@link MeterRegistry} their wait ({@code hikaricp.connections.acquire}) and usage
+ * ({@code hikaricp.connections.usage}) timers and gauges are tagged with that name.
+ *
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+final class AuditConnectionPools {
+
+    static final String WRITE_POOL = "safeaudit-write";
+    static final String READ_POOL = "safeaudit-read";
+
+    private AuditConnectionPools() {
+    }
+
+    static AuditDataSources create(AuditProperties.ConnectionConfig config, DataSourceProperties fallback,
+                                   MeterRegistry meterRegistry) {
+        // Pools connect lazily, on first use
+        return AuditDataSources.dedicated(
+                pool(WRITE_POOL, config.getPoolSize(), config, fallback, meterRegistry),
+                pool(READ_POOL, config.getReadPoolSize(), config, fallback, meterRegistry));
+    }
+
+    private static HikariDataSource pool(String name, int size, AuditProperties.ConnectionConfig config,
+                                         DataSourceProperties fallback, MeterRegistry meterRegistry) {
+        var url = config.getUrl() != null ? config.getUrl() : fallback != null ? fallback.determineUrl() : null;
+        if (url == null) {
+            throw new IllegalStateException(
+                    "Dedicated audit pools need audit.storage.database.connection.url or spring.datasource.url");
+        }
+
+        var dataSource = new HikariDataSource();
+        dataSource.setPoolName(name);
+        dataSource.setJdbcUrl(url);
+        if (config.getUrl() != null || fallback == null) {
+            dataSource.setUsername(config.getUsername());
+            dataSource.setPassword(config.getPassword());
+        } else {
+            dataSource.setUsername(config.getUsername() != null ? config.getUsername() : fallback.determineUsername());
+            dataSource.setPassword(config.getPassword() != null ? config.getPassword() : fallback.determinePassword());
+            if (fallback.getDriverClassName() != null) {
+                dataSource.setDriverClassName(fallback.getDriverClassName());
+            }
+        }
+        dataSource.setMaximumPoolSize(size);
+        dataSource.setMinimumIdle(Math.min(1, size));
+        dataSource.setConnectionTimeout(config.getTimeoutMs());
+        if (meterRegistry != null) {
+            dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        }
+        return dataSource;
+    }
+}
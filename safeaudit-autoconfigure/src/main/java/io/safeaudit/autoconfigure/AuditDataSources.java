@@ -0,0 +1,72 @@
+package io.safeaudit.autoconfigure;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Connections used by audit storage: a write side for ingestion and maintenance and a
+ * read side for queries, exports and verification. Both are the application's
+ * {@link DataSource} unless dedicated pools are configured; only dedicated pools are
+ * closed with the context.
+ * <p>
+ * Deliberately not a {@link DataSource} itself, so it never competes with the
+ * application's own.
+ *
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+public final class AuditDataSources implements AutoCloseable {
+
+    private final DataSource write;
+    private final DataSource read;
+    private final boolean dedicated;
+
+    private AuditDataSources(DataSource write, DataSource read, boolean dedicated) {
+        this.write = write;
+        this.read = read;
+        this.dedicated = dedicated;
+    }
+
+    public static AuditDataSources shared(DataSource dataSource) {
+        return new AuditDataSources(dataSource, dataSource, false);
+    }
+
+    public static AuditDataSources dedicated(DataSource write, DataSource read) {
+        return new AuditDataSources(write, read, true);
+    }
+
+    public DataSource write() {
+        return write;
+    }
+
+    public DataSource read() {
+        return read;
+    }
+
+    public boolean isDedicated() {
+        return dedicated;
+    }
+
+    @Override
+    public void close() {
+        if (!dedicated) {
+            return;
+        }
+        closePool(write);
+        if (read != write) {
+            closePool(read);
+        }
+    }
+
+    private static void closePool(DataSource pool) {
+        if (pool instanceof Closeable closeable) {
+            try {
+                closeable.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -2,14 +2,15 @@ package io.safeaudit.autoconfigure;
 
 import io.micrometer.core.instrument.MeterRegistry;
 import io.safeaudit.core.config.AuditProperties;
-import io.safeaudit.core.domain.AuditEvent;
 import io.safeaudit.core.processing.AsynchronousProcessingPipeline;
 import io.safeaudit.core.processing.AuditProcessingPipeline;
 import io.safeaudit.core.processing.SynchronousProcessingPipeline;
 import io.safeaudit.core.processing.enrichment.CorrelationIdEnricher;
 import io.safeaudit.core.processing.enrichment.UserContextEnricher;
+import io.safeaudit.core.processing.integrity.ChainKeyResolver;
 import io.safeaudit.core.processing.integrity.HashCalculator;
 import io.safeaudit.core.processing.integrity.PIIMasker;
+import io.safeaudit.core.processing.journal.WriteAheadJournal;
 import io.safeaudit.core.processing.queue.BackpressureHandler;
 import io.safeaudit.core.processing.queue.VirtualThreadAuditQueue;
 import io.safeaudit.core.spi.AuditEventProcessor;
@@ -17,16 +18,19 @@ import io.safeaudit.core.spi.AuditSink;
 import io.safeaudit.core.spi.AuditStorage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.AnyNestedCondition;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
 
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
+import java.util.Set;
 
 /**
  * @author Nelson Tanko
@@ -66,18 +70,41 @@ public class AuditProcessingAutoConfiguration {
     }
 
     /**
-     * PII masker.
+     * PII masker, registered when masking or payload canonicalization is enabled.
+     * With masking disabled it only canonicalizes and no fields are masked.
      */
     @Bean
     @ConditionalOnMissingBean(PIIMasker.class)
-    @ConditionalOnProperty(
-            prefix = "audit.processing.compliance.pii-masking",
-            name = "enabled",
-            havingValue = "true",
-            matchIfMissing = true)
+    @Conditional(PayloadRewriteCondition.class)
     public PIIMasker piiMasker(AuditProperties properties) {
         var config = properties.getProcessing().getCompliance().getPiiMasking();
-        return new PIIMasker(config.getFields(), config.getStrategy());
+        Set<String> fields = config.isEnabled() ? config.getFields() : Set.of();
+        return new PIIMasker(fields, config.getStrategy());
+    }
+
+    /**
+     * Matches when PII masking or payload canonicalization is enabled.
+     */
+    static class PayloadRewriteCondition extends AnyNestedCondition {
+
+        PayloadRewriteCondition() {
+            super(ConfigurationPhase.REGISTER_BEAN);
+        }
+
+        @ConditionalOnProperty(
+                prefix = "audit.processing.compliance.pii-masking",
+                name = "enabled",
+                havingValue = "true",
+                matchIfMissing = true)
+        static class PiiMaskingEnabled {
+        }
+
+        @ConditionalOnProperty(
+                prefix = "audit.processing.compliance",
+                name = "canonicalize-payloads",
+                havingValue = "true")
+        static class CanonicalizationEnabled {
+        }
     }
 
     /**
@@ -90,9 +117,17 @@ public class AuditProcessingAutoConfiguration {
             name = "enabled",
             havingValue = "true",
             matchIfMissing = true)
-    public HashCalculator hashCalculator(AuditProperties properties) {
+    public HashCalculator hashCalculator(
+            AuditProperties properties,
+            ObjectProvider<ChainKeyResolver> chainKeyResolver,
+            ObjectProvider<AuditStorage> storage) {
         var config = properties.getIntegrity().getHashing();
-        return new HashCalculator(config.getAlgorithm(), config.isIncludePreviousHash());
+        return new HashCalculator(
+                config.getAlgorithm(),
+                config.isIncludePreviousHash(),
+                chainKeyResolver.getIfAvailable(() -> ChainKeyResolver.of(config.getChainScope())),
+                storage.getIfAvailable()
+        );
     }
 
     /**
@@ -125,19 +160,36 @@ public class AuditProcessingAutoConfiguration {
             List<AuditEventProcessor> processors,
             AuditStorage storage,
             Optional<AuditSink> externalSink,
-            AuditProperties properties,
             MeterRegistry meterRegistry) {
 
         log.info("Creating asynchronous processing pipeline with {} processors", processors.size());
 
-        BlockingQueue<AuditEvent> queue =
-                new ArrayBlockingQueue<>(properties.getProcessing().getAsync().getQueueCapacity());
-
         return new AsynchronousProcessingPipeline(
                 processors,
                 storage,
                 externalSink,
-                queue,
+                meterRegistry
+        );
+    }
+
+    /**
+     * Write-ahead journal between capture and storage for async mode.
+     */
+    @Bean
+    @ConditionalOnBean(AsynchronousProcessingPipeline.class)
+    @ConditionalOnProperty(prefix = "audit.storage.journal", name = "enabled", havingValue = "true")
+    @ConditionalOnMissingBean
+    public WriteAheadJournal writeAheadJournal(AuditProperties properties, MeterRegistry meterRegistry) {
+        var journalConfig = properties.getStorage().getJournal();
+
+        log.info("Creating audit write-ahead journal in {}", journalConfig.getDirectory());
+
+        return new WriteAheadJournal(
+                Path.of(journalConfig.getDirectory()),
+                journalConfig.getSegmentBytes(),
+                journalConfig.getMaxBytes(),
+                journalConfig.getMaxRetries(),
+                journalConfig.getFsyncInterval(),
                 meterRegistry
         );
     }
@@ -151,24 +203,24 @@ public class AuditProcessingAutoConfiguration {
     public VirtualThreadAuditQueue virtualThreadAuditQueue(
             AuditProperties properties,
             AsynchronousProcessingPipeline pipeline,
+            ObjectProvider<WriteAheadJournal> journal,
             MeterRegistry meterRegistry) {
 
         var asyncConfig = properties.getProcessing().getAsync();
         var backpressureConfig = properties.getPerformance().getBackpressure();
 
-        var backpressureHandler = new BackpressureHandler(
-                backpressureConfig.getStrategy(),
-                backpressureConfig.getThreshold()
-        );
+        var backpressureHandler = new BackpressureHandler(backpressureConfig, meterRegistry);
 
-        log.info("Creating virtual thread audit queue: capacity={}, workers={}",
+        log.info("Creating virtual thread audit queue: capacity={}, workers={}, backpressure={}",
                 asyncConfig.getQueueCapacity(),
-                asyncConfig.getWorkerThreads());
+                asyncConfig.getWorkerThreads(),
+                backpressureConfig.getStrategy());
 
         return new VirtualThreadAuditQueue(
                 asyncConfig,
                 pipeline,
                 backpressureHandler,
+                journal.getIfAvailable(),
                 meterRegistry
         );
     }
@@ -3,9 +3,13 @@ package io.safeaudit.autoconfigure;
 import io.safeaudit.core.config.AuditProperties;
 import io.safeaudit.core.spi.AuditStorage;
 import io.safeaudit.web.api.AuditExportController;
+import io.safeaudit.web.api.AuditExportJobController;
+import io.safeaudit.persistence.integrity.MerkleCheckpointManager;
 import io.safeaudit.web.api.AuditHealthController;
+import io.safeaudit.web.api.AuditIntegrityController;
 import io.safeaudit.web.api.AuditQueryController;
 import io.safeaudit.web.export.CSVExporter;
+import io.safeaudit.web.export.ExportJobManager;
 import io.safeaudit.web.export.PDFExporter;
 import io.safeaudit.web.ui.AuditDashboardController;
 import org.slf4j.Logger;
@@ -65,6 +69,40 @@ public class AuditReportingAutoConfiguration {
         return new AuditExportController(storage, pdfExporter, csvExporter);
     }
 
+    /**
+     * Background export jobs.
+     */
+    @Bean
+    @ConditionalOnProperty(
+            prefix = "audit.reporting.api",
+            name = "enabled",
+            havingValue = "true",
+            matchIfMissing = true)
+    @ConditionalOnMissingBean
+    public ExportJobManager exportJobManager(
+            AuditStorage storage,
+            CSVExporter csvExporter,
+            PDFExporter pdfExporter,
+            AuditProperties properties) {
+        return new ExportJobManager(storage, csvExporter, pdfExporter,
+                properties.getReporting().getExport().getJobs());
+    }
+
+    /**
+     * Export job controller.
+     */
+    @Bean
+    @ConditionalOnProperty(
+            prefix = "audit.reporting.api",
+            name = "enabled",
+            havingValue = "true",
+            matchIfMissing = true)
+    @ConditionalOnMissingBean
+    public AuditExportJobController auditExportJobController(ExportJobManager exportJobManager) {
+        log.info("Registering audit export job API");
+        return new AuditExportJobController(exportJobManager);
+    }
+
     /**
      * Health controller.
      */
@@ -79,6 +117,23 @@ public class AuditReportingAutoConfiguration {
         return new AuditHealthController(storage);
     }
 
+    /**
+     * Merkle checkpoint and inclusion proof API.
+     */
+    @Bean
+    @ConditionalOnProperty(
+            prefix = "audit.reporting.api",
+            name = "enabled",
+            havingValue = "true",
+            matchIfMissing = true)
+    @ConditionalOnBean(MerkleCheckpointManager.class)
+    @ConditionalOnMissingBean
+    public AuditIntegrityController auditIntegrityController(
+            AuditStorage storage,
+            MerkleCheckpointManager checkpointManager) {
+        return new AuditIntegrityController(storage, checkpointManager);
+    }
+
     /**
      * PDF exporter.
      */
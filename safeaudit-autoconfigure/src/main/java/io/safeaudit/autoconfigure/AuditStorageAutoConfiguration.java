@@ -1,15 +1,22 @@
 package io.safeaudit.autoconfigure;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.safeaudit.core.config.AuditProperties;
 import io.safeaudit.core.processing.LoggingAuditStorage;
 import io.safeaudit.core.spi.AuditStorage;
+import io.safeaudit.core.spi.SequenceBlockAllocator;
+import io.safeaudit.persistence.PersistenceConstants;
 import io.safeaudit.persistence.dialect.SqlDialect;
+import io.safeaudit.persistence.integrity.IntegrityVerifier;
+import io.safeaudit.persistence.integrity.MerkleCheckpointManager;
 import io.safeaudit.persistence.jdbc.AuditStorageFactory;
+import io.safeaudit.persistence.jdbc.JdbcSequenceBlockAllocator;
 import io.safeaudit.persistence.partition.PartitionManager;
 import io.safeaudit.persistence.retention.RetentionPolicy;
 import io.safeaudit.persistence.schema.SchemaManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
@@ -17,8 +24,10 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.util.ClassUtils;
 
 import javax.sql.DataSource;
 
@@ -33,6 +42,33 @@ public class AuditStorageAutoConfiguration {
 
     private static final Logger log = LoggerFactory.getLogger(AuditStorageAutoConfiguration.class);
 
+    /**
+     * Connections for audit storage: the application's DataSource, or dedicated write and
+     * read pools when {@code audit.storage.database.use-application-data-source=false}.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean(DataSource.class)
+    public AuditDataSources auditDataSources(
+            DataSource dataSource,
+            AuditProperties properties,
+            ObjectProvider<DataSourceProperties> dataSourceProperties,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+
+        var database = properties.getStorage().getDatabase();
+        if (database.isUseApplicationDataSource()) {
+            return AuditDataSources.shared(dataSource);
+        }
+        if (!ClassUtils.isPresent("com.zaxxer.hikari.HikariDataSource", getClass().getClassLoader())) {
+            throw new IllegalStateException("Dedicated audit connection pools require HikariCP");
+        }
+
+        var connection = database.getConnection();
+        log.info("Creating dedicated audit connection pools: write={}, read={}",
+                connection.getPoolSize(), connection.getReadPoolSize());
+        return AuditConnectionPools.create(connection, dataSourceProperties.getIfAvailable(), meterRegistry.getIfAvailable());
+    }
+
     @Bean
     @ConditionalOnMissingBean(SqlDialect.class)
     @ConditionalOnBean(DataSource.class)
@@ -41,8 +77,8 @@ public class AuditStorageAutoConfiguration {
             name = "type",
             havingValue = "DATABASE",
             matchIfMissing = true)
-    public SqlDialect sqlDialect(DataSource dataSource, AuditProperties properties) {
-        return AuditStorageFactory.resolveDialect(dataSource, properties);
+    public SqlDialect sqlDialect(AuditDataSources dataSources, AuditProperties properties) {
+        return AuditStorageFactory.resolveDialect(dataSources.write(), properties);
     }
 
     @Bean
@@ -53,9 +89,25 @@ public class AuditStorageAutoConfiguration {
             name = "type",
             havingValue = "DATABASE",
             matchIfMissing = true)
-    public AuditStorage jdbcAuditStorage(DataSource dataSource, SqlDialect dialect, AuditProperties properties) {
+    public AuditStorage jdbcAuditStorage(AuditDataSources dataSources, SqlDialect dialect, AuditProperties properties) {
         log.info("Initializing JDBC audit storage with dialect: {}", dialect.getDatabaseType());
-        return new io.safeaudit.persistence.jdbc.JdbcAuditStorage(dataSource, dialect);
+        return new io.safeaudit.persistence.jdbc.JdbcAuditStorage(dataSources.write(), dataSources.read(),
+                dialect, PersistenceConstants.DEFAULT_TABLE_NAME, properties);
+    }
+
+    /**
+     * Durable sequence blocks so sequence numbers survive restarts.
+     */
+    @Bean
+    @ConditionalOnMissingBean(SequenceBlockAllocator.class)
+    @ConditionalOnBean(DataSource.class)
+    @ConditionalOnProperty(
+            prefix = "audit.storage",
+            name = "type",
+            havingValue = "DATABASE",
+            matchIfMissing = true)
+    public JdbcSequenceBlockAllocator sequenceBlockAllocator(AuditDataSources dataSources) {
+        return new JdbcSequenceBlockAllocator(dataSources.write(), PersistenceConstants.DEFAULT_TABLE_NAME);
     }
 
     /**
@@ -75,10 +127,10 @@ public class AuditStorageAutoConfiguration {
     @ConditionalOnMissingBean
     @ConditionalOnBean({DataSource.class, SqlDialect.class})
     public SchemaManager schemaManager(
-            DataSource dataSource,
+            AuditDataSources dataSources,
             SqlDialect dialect,
             AuditProperties properties) {
-        return new SchemaManager(dataSource, dialect, properties);
+        return new SchemaManager(dataSources.write(), dialect, properties);
     }
 
     /**
@@ -92,11 +144,11 @@ public class AuditStorageAutoConfiguration {
             name = "enabled",
             havingValue = "true")
     public PartitionManager partitionManager(
-            DataSource dataSource,
+            AuditDataSources dataSources,
             SqlDialect dialect,
             AuditProperties properties) {
 
-        return new PartitionManager(dataSource, dialect, properties);
+        return new PartitionManager(dataSources.write(), dialect, properties);
     }
 
     /**
@@ -109,19 +161,65 @@ public class AuditStorageAutoConfiguration {
             prefix = "audit.storage.database.retention",
             name = "enabled",
             havingValue = "true")
-    public RetentionPolicy retentionPolicy(DataSource dataSource, AuditProperties properties) {
-        return new RetentionPolicy(dataSource, properties);
+    public RetentionPolicy retentionPolicy(
+            AuditDataSources dataSources,
+            ObjectProvider<SqlDialect> dialect,
+            AuditProperties properties) {
+        return new RetentionPolicy(dataSources.write(), dialect.getIfAvailable(), properties);
+    }
+
+    /**
+     * Scheduled hash chain verification.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean(DataSource.class)
+    @ConditionalOnProperty(
+            prefix = "audit.integrity.verification",
+            name = "enabled",
+            havingValue = "true",
+            matchIfMissing = true)
+    public IntegrityVerifier integrityVerifier(
+            AuditDataSources dataSources,
+            ObjectProvider<SqlDialect> dialect,
+            AuditProperties properties) {
+        return new IntegrityVerifier(dataSources.read(), PersistenceConstants.DEFAULT_TABLE_NAME,
+                dialect.getIfAvailable(), properties);
+    }
+
+    /**
+     * Merkle checkpoints over closed time windows.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean(DataSource.class)
+    @ConditionalOnProperty(
+            prefix = "audit.integrity.merkle",
+            name = "enabled",
+            havingValue = "true")
+    public MerkleCheckpointManager merkleCheckpointManager(AuditDataSources dataSources, AuditProperties properties) {
+        return new MerkleCheckpointManager(dataSources.read(), properties);
     }
 
     /**
      * Initialize schema on startup.
      */
     @Bean
-    public ApplicationRunner auditSchemaInitializer(AuditStorage storage, AuditProperties properties) {
+    public ApplicationRunner auditSchemaInitializer(
+            AuditStorage storage,
+            AuditProperties properties,
+            ObjectProvider<JdbcSequenceBlockAllocator> sequenceBlockAllocator,
+            ObjectProvider<RetentionPolicy> retentionPolicy,
+            ObjectProvider<IntegrityVerifier> integrityVerifier,
+            ObjectProvider<MerkleCheckpointManager> merkleCheckpointManager) {
         return args -> {
             if (properties.getStorage().getDatabase().isAutoCreateSchema()) {
                 log.info("Checking audit storage schema...");
                 storage.initializeSchema();
+                sequenceBlockAllocator.ifAvailable(JdbcSequenceBlockAllocator::initializeSchema);
+                retentionPolicy.ifAvailable(RetentionPolicy::initializeSchema);
+                integrityVerifier.ifAvailable(IntegrityVerifier::initializeSchema);
+                merkleCheckpointManager.ifAvailable(MerkleCheckpointManager::initializeSchema);
             }
         };
     }
@@ -1,5 +1,7 @@
 package io.safeaudit.autoconfigure;
 
+import io.safeaudit.core.domain.AuditEvent;
+import io.safeaudit.core.domain.enums.AuditSeverity;
 import io.safeaudit.core.processing.AsynchronousProcessingPipeline;
 import io.safeaudit.core.processing.SynchronousProcessingPipeline;
 import io.safeaudit.core.processing.enrichment.CorrelationIdEnricher;
@@ -17,6 +19,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import javax.sql.DataSource;
+import java.time.Instant;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
@@ -65,6 +68,37 @@ class AuditProcessingAutoConfigurationTest {
                 });
     }
 
+    @Test
+    void shouldNotCreatePIIMaskerWhenMaskingAndCanonicalizationDisabled() {
+        contextRunner.withUserConfiguration(StorageConfiguration.class)
+                .withPropertyValues("audit.processing.compliance.pii-masking.enabled=false")
+                .run(context -> {
+                    assertThat(context).doesNotHaveBean(PIIMasker.class);
+                });
+    }
+
+    @Test
+    void shouldOnlyCanonicalizeWhenPIIMaskingDisabledAndCanonicalizationEnabled() {
+        contextRunner.withUserConfiguration(StorageConfiguration.class)
+                .withPropertyValues(
+                        "audit.processing.compliance.pii-masking.enabled=false",
+                        "audit.processing.compliance.pii-masking.fields=email",
+                        "audit.processing.compliance.canonicalize-payloads=true")
+                .run(context -> {
+                    var event = AuditEvent.builder()
+                            .eventId("test-123")
+                            .timestamp(Instant.now())
+                            .eventType("TEST")
+                            .severity(AuditSeverity.INFO)
+                            .requestPayload("{ \"email\": \"user@example.com\" }")
+                            .build();
+
+                    var processed = context.getBean(PIIMasker.class).process(event);
+
+                    assertThat(processed.requestPayload()).isEqualTo("{\"email\":\"user@example.com\"}");
+                });
+    }
+
     @Configuration
     static class StorageConfiguration {
         @Bean
@@ -2,6 +2,7 @@ package io.safeaudit.autoconfigure;
 
 import io.safeaudit.core.spi.AuditStorage;
 import io.safeaudit.web.api.AuditExportController;
+import io.safeaudit.web.api.AuditExportJobController;
 import io.safeaudit.web.api.AuditHealthController;
 import io.safeaudit.web.api.AuditQueryController;
 import io.safeaudit.web.export.CSVExporter;
@@ -35,6 +36,7 @@ class AuditReportingAutoConfigurationTest {
                     // API
                     assertThat(context).hasSingleBean(AuditQueryController.class);
                     assertThat(context).hasSingleBean(AuditExportController.class);
+                    assertThat(context).hasSingleBean(AuditExportJobController.class);
                     assertThat(context).hasSingleBean(AuditHealthController.class);
 
                     // Exporters
@@ -54,6 +56,7 @@ class AuditReportingAutoConfigurationTest {
                     // API disabled
                     assertThat(context).doesNotHaveBean(AuditQueryController.class);
                     assertThat(context).doesNotHaveBean(AuditExportController.class);
+                    assertThat(context).doesNotHaveBean(AuditExportJobController.class);
                     assertThat(context).doesNotHaveBean(AuditHealthController.class);
 
                     // UI still enabled
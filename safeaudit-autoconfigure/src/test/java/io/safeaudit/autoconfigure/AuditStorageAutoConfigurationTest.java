@@ -1,5 +1,8 @@
 package io.safeaudit.autoconfigure;
 
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.safeaudit.core.spi.AuditEventCapture;
 import io.safeaudit.core.spi.AuditStorage;
 import io.safeaudit.persistence.jdbc.JdbcAuditStorage;
@@ -15,6 +18,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import javax.sql.DataSource;
+import java.util.ArrayList;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
@@ -58,6 +62,55 @@ class AuditStorageAutoConfigurationTest {
                 });
     }
 
+    @Test
+    void shouldShareApplicationDataSourceByDefault() {
+        contextRunner.withUserConfiguration(DataSourceConfiguration.class)
+                .run(context -> {
+                    var dataSources = context.getBean(AuditDataSources.class);
+                    assertThat(dataSources.isDedicated()).isFalse();
+                    assertThat(dataSources.write()).isSameAs(context.getBean(DataSource.class));
+                    assertThat(dataSources.read()).isSameAs(dataSources.write());
+                });
+    }
+
+    @Test
+    void shouldCreateDedicatedPoolsWithMetrics() {
+        var pools = new ArrayList<HikariDataSource>();
+
+        contextRunner.withUserConfiguration(UnusedDataSourceConfiguration.class)
+                .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+                .withPropertyValues(
+                        "audit.storage.database.use-application-data-source=false",
+                        "audit.storage.database.connection.url=jdbc:h2:mem:audit-pools;DB_CLOSE_DELAY=-1",
+                        "audit.storage.database.connection.pool-size=3",
+                        "audit.storage.database.connection.read-pool-size=1")
+                .run(context -> {
+                    var dataSources = context.getBean(AuditDataSources.class);
+                    assertThat(dataSources.isDedicated()).isTrue();
+
+                    var write = (HikariDataSource) dataSources.write();
+                    var read = (HikariDataSource) dataSources.read();
+                    pools.add(write);
+                    pools.add(read);
+                    assertThat(write.getPoolName()).isEqualTo("safeaudit-write");
+                    assertThat(write.getMaximumPoolSize()).isEqualTo(3);
+                    assertThat(read.getPoolName()).isEqualTo("safeaudit-read");
+                    assertThat(read.getMaximumPoolSize()).isEqualTo(1);
+                    assertThat(context).hasSingleBean(JdbcAuditStorage.class);
+
+                    try (var connection = read.getConnection()) {
+                        assertThat(connection.isValid(1)).isTrue();
+                        var registry = context.getBean(MeterRegistry.class);
+                        assertThat(registry.find("hikaricp.connections.acquire").tag("pool", "safeaudit-read").timer())
+                                .isNotNull();
+                        assertThat(registry.find("hikaricp.connections.active").tag("pool", "safeaudit-read").gauge())
+                                .isNotNull();
+                    }
+                });
+
+        assertThat(pools).allMatch(HikariDataSource::isClosed);
+    }
+
     @Configuration
     static class DataSourceConfiguration {
         @Bean
@@ -78,4 +131,17 @@ class AuditStorageAutoConfigurationTest {
             return mock(AuditEventCapture.class);
         }
     }
+
+    @Configuration
+    static class UnusedDataSourceConfiguration {
+        @Bean
+        public DataSource dataSource() {
+            return mock(DataSource.class);
+        }
+
+        @Bean
+        public AuditEventCapture auditEventCapture() {
+            return mock(AuditEventCapture.class);
+        }
+    }
 }
@@ -0,0 +1,111 @@
+package io.safeaudit.benchmarks;
+
+import io.safeaudit.core.config.AuditProperties;
+import io.safeaudit.core.processing.queue.BlockingEventBuffer;
+import io.safeaudit.core.processing.queue.EventBuffer;
+import io.safeaudit.core.processing.queue.RingEventBuffer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Control;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the audit queue buffers under 1, 8 and 64 producers feeding one draining worker.
+ * Producer throughput is the rate of successful offers; the consumer drains in
+ * batches the way {@code VirtualThreadAuditQueue} workers do.
+ * <p>
+ * {@code java -jar safeaudit-benchmarks/target/benchmarks.jar EventBufferBenchmark}
+ *
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Group)
+public class EventBufferBenchmark {
+
+    private static final Object EVENT = new Object();
+    private static final int CAPACITY = 10_000;
+    private static final int BATCH_SIZE = 100;
+
+    @Param({"BLOCKING", "RING_BUFFER"})
+    public AuditProperties.QueueType queueType;
+
+    private EventBuffer<Object> buffer;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        buffer = switch (queueType) {
+            case BLOCKING -> new BlockingEventBuffer<>(CAPACITY);
+            case RING_BUFFER -> new RingEventBuffer<>(CAPACITY, AuditProperties.WaitStrategy.PARK);
+        };
+    }
+
+    @State(Scope.Thread)
+    public static class Drain {
+        final List<Object> batch = new ArrayList<>(BATCH_SIZE);
+    }
+
+    @Benchmark
+    @Group("producers1")
+    @GroupThreads(1)
+    public boolean offer1(Control control) {
+        return offer(control);
+    }
+
+    @Benchmark
+    @Group("producers1")
+    @GroupThreads(1)
+    public int drain1(Drain drain) {
+        return drain(drain);
+    }
+
+    @Benchmark
+    @Group("producers8")
+    @GroupThreads(8)
+    public boolean offer8(Control control) {
+        return offer(control);
+    }
+
+    @Benchmark
+    @Group("producers8")
+    @GroupThreads(1)
+    public int drain8(Drain drain) {
+        return drain(drain);
+    }
+
+    @Benchmark
+    @Group("producers64")
+    @GroupThreads(64)
+    public boolean offer64(Control control) {
+        return offer(control);
+    }
+
+    @Benchmark
+    @Group("producers64")
+    @GroupThreads(1)
+    public int drain64(Drain drain) {
+        return drain(drain);
+    }
+
+    private boolean offer(Control control) {
+        while (!buffer.offer(EVENT)) {
+            if (control.stopMeasurement) {
+                return false;
+            }
+            Thread.onSpinWait();
+        }
+        return true;
+    }
+
+    private int drain(Drain drain) {
+        int drained = buffer.drainTo(drain.batch, BATCH_SIZE);
+        drain.batch.clear();
+        return drained;
+    }
+}
@@ -0,0 +1,129 @@
+package io.safeaudit.benchmarks;
+
+import io.safeaudit.core.config.AuditProperties;
+import io.safeaudit.core.domain.AuditEvent;
+import io.safeaudit.core.domain.ComplianceMetadata;
+import io.safeaudit.core.domain.enums.AuditSeverity;
+import io.safeaudit.core.domain.enums.DataClassification;
+import io.safeaudit.persistence.dialect.PostgreSQLDialect;
+import io.safeaudit.persistence.jdbc.JdbcAuditStorage;
+import org.openjdk.jmh.annotations.*;
+import org.postgresql.ds.PGSimpleDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@code storeBatch} on PostgreSQL with batched inserts and with binary COPY
+ * ingestion. Each operation stores one batch of fresh events; the score is batches per
+ * second, so rows per second is the score times {@code batchSize}.
+ * <p>
+ * Needs a running PostgreSQL, configured with {@code -Dbench.jdbc.url},
+ * {@code -Dbench.jdbc.user} and {@code -Dbench.jdbc.password}:
+ * {@code java -Dbench.jdbc.url=jdbc:postgresql://localhost:5432/postgres -jar
+ * safeaudit-benchmarks/target/benchmarks.jar PostgresIngestBenchmark}
+ *
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PostgresIngestBenchmark {
+
+    private static final String TABLE = "bench_audit_events";
+
+    @Param({"BATCH", "COPY"})
+    public String mode;
+
+    @Param({"100", "1000", "10000"})
+    public int batchSize;
+
+    private JdbcTemplate jdbcTemplate;
+    private JdbcAuditStorage storage;
+    private List<AuditEvent> batch;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var dataSource = new PGSimpleDataSource();
+        dataSource.setURL(System.getProperty("bench.jdbc.url", "jdbc:postgresql://localhost:5432/postgres"));
+        dataSource.setUser(System.getProperty("bench.jdbc.user", "postgres"));
+        dataSource.setPassword(System.getProperty("bench.jdbc.password", "postgres"));
+
+        var dialect = new PostgreSQLDialect();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + TABLE);
+        jdbcTemplate.execute(dialect.createTableDDL(TABLE));
+        var today = LocalDate.now(ZoneOffset.UTC);
+        jdbcTemplate.execute(dialect.createPartitionDDL(
+                TABLE, TABLE + "_bench", today.minusDays(1).toString(), today.plusDays(2).toString()));
+
+        var properties = new AuditProperties();
+        properties.getStorage().getDatabase().setCopyIngestion("COPY".equals(mode));
+        storage = new JdbcAuditStorage(dataSource, dialect, TABLE, properties);
+    }
+
+    @Setup(Level.Iteration)
+    public void truncate() {
+        jdbcTemplate.execute("TRUNCATE " + TABLE);
+    }
+
+    @Setup(Level.Invocation)
+    public void nextBatch() {
+        batch = new ArrayList<>(batchSize);
+        var timestamp = Instant.now();
+        for (int i = 0; i < batchSize; i++) {
+            batch.add(event(++sequence, timestamp));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + TABLE);
+    }
+
+    @Benchmark
+    public int storeBatch() {
+        return storage.storeBatch(batch);
+    }
+
+    private static AuditEvent event(long sequence, Instant timestamp) {
+        return AuditEvent.builder()
+                .eventUuid(UUID.randomUUID())
+                .sequenceNumber(sequence)
+                .timestamp(timestamp)
+                .eventType("DATA_ACCESS")
+                .severity(AuditSeverity.INFO)
+                .userId("user-" + (sequence % 1000))
+                .username("user" + (sequence % 1000) + "@example.com")
+                .ipAddress("10.0." + (sequence % 250) + ".1")
+                .userAgent("Mozilla/5.0 (X11; Linux x86_64)")
+                .resource("/api/accounts/" + sequence)
+                .action("GET")
+                .sessionId("session-" + (sequence % 5000))
+                .tenantId("tenant-1")
+                .responsePayload("{\"id\":" + sequence + ",\"status\":\"ACTIVE\"}")
+                .httpStatusCode(200)
+                .compliance(ComplianceMetadata.builder()
+                        .regulatoryTags(Set.of("NDPA"))
+                        .dataClassification(DataClassification.CONFIDENTIAL)
+                        .containsPII(true)
+                        .build())
+                .eventHash("0".repeat(64))
+                .capturedBy("benchmark")
+                .applicationName("bench-app")
+                .applicationInstance("bench-1")
+                .build();
+    }
+}
@@ -0,0 +1,114 @@
+package io.safeaudit.benchmarks;
+
+import io.safeaudit.core.util.UUIDv7Generator;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the CAS-based {@link UUIDv7Generator} with the previous generator, which
+ * serialized callers on a monitor and drew every ID from a shared {@link SecureRandom},
+ * at 1, 8 and 64 threads. The {@code string} benchmarks include formatting the ID.
+ * <p>
+ * {@code java -jar safeaudit-benchmarks/target/benchmarks.jar UUIDv7GeneratorBenchmark}
+ *
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UUIDv7GeneratorBenchmark {
+
+    @Param({"SYNCHRONIZED", "CAS"})
+    public String generator;
+
+    private UUIDv7Generator casGenerator;
+    private SynchronizedGenerator synchronizedGenerator;
+
+    @Setup
+    public void setUp() {
+        casGenerator = new UUIDv7Generator();
+        synchronizedGenerator = new SynchronizedGenerator();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public UUID binary1() {
+        return next();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public UUID binary8() {
+        return next();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public UUID binary64() {
+        return next();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public String string64() {
+        return next().toString();
+    }
+
+    private UUID next() {
+        return "CAS".equals(generator) ? casGenerator.generateUuid() : synchronizedGenerator.next();
+    }
+
+    /**
+     * The generator as it was before the CAS rewrite, kept as the baseline.
+     */
+    static final class SynchronizedGenerator {
+
+        private static final SecureRandom RANDOM = new SecureRandom();
+        private static final long COUNTER_MAX = 0xFFFL;
+
+        private long lastTimestamp;
+        private long counter;
+
+        UUID next() {
+            long timestamp = System.currentTimeMillis();
+            long currentCounter;
+
+            synchronized (this) {
+                if (timestamp == lastTimestamp) {
+                    currentCounter = ++counter;
+                    if (currentCounter > COUNTER_MAX) {
+                        while (timestamp <= lastTimestamp) {
+                            timestamp = System.currentTimeMillis();
+                        }
+                        counter = 0;
+                        currentCounter = 0;
+                    }
+                } else {
+                    if (timestamp < lastTimestamp) {
+                        timestamp = lastTimestamp + 1;
+                    }
+                    counter = 0;
+                    currentCounter = 0;
+                }
+                lastTimestamp = timestamp;
+            }
+
+            byte[] randomBytes = new byte[8];
+            RANDOM.nextBytes(randomBytes);
+            long leastSigBits = 0;
+            for (byte b : randomBytes) {
+                leastSigBits = (leastSigBits << 8) | (b & 0xFFL);
+            }
+
+            long mostSigBits = (timestamp << 16) | 0x7000L | (currentCounter & 0x0FFFL);
+            return new UUID(mostSigBits, (leastSigBits & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package io.safeaudit.core.config;
 
+import io.safeaudit.core.domain.enums.CountMode;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -131,6 +132,8 @@ public class AuditProperties {
 
         private List<String> exclusionPatterns = new ArrayList<>();
 
+        private List<RouteConfig> routes = new ArrayList<>();
+
         public boolean isEnabled() {
             return enabled;
         }
@@ -170,6 +173,75 @@ public class AuditProperties {
         public void setExclusionPatterns(List<String> exclusionPatterns) {
             this.exclusionPatterns = exclusionPatterns;
         }
+
+        public List<RouteConfig> getRoutes() {
+            return routes;
+        }
+
+        public void setRoutes(List<RouteConfig> routes) {
+            this.routes = routes;
+        }
+    }
+
+    /**
+     * Capture settings for the paths matching an Ant-style pattern such as
+     * {@code /api/payments/**}. Unset values inherit from the HTTP capture config.
+     */
+    public static class RouteConfig {
+        private String pattern;
+        private boolean audit = true;
+        private Boolean includeRequestBody;
+        private Boolean includeResponseBody;
+        private Integer maxBodySize;
+        private String eventType;
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        public void setPattern(String pattern) {
+            this.pattern = pattern;
+        }
+
+        public boolean isAudit() {
+            return audit;
+        }
+
+        public void setAudit(boolean audit) {
+            this.audit = audit;
+        }
+
+        public Boolean getIncludeRequestBody() {
+            return includeRequestBody;
+        }
+
+        public void setIncludeRequestBody(Boolean includeRequestBody) {
+            this.includeRequestBody = includeRequestBody;
+        }
+
+        public Boolean getIncludeResponseBody() {
+            return includeResponseBody;
+        }
+
+        public void setIncludeResponseBody(Boolean includeResponseBody) {
+            this.includeResponseBody = includeResponseBody;
+        }
+
+        public Integer getMaxBodySize() {
+            return maxBodySize;
+        }
+
+        public void setMaxBodySize(Integer maxBodySize) {
+            this.maxBodySize = maxBodySize;
+        }
+
+        public String getEventType() {
+            return eventType;
+        }
+
+        public void setEventType(String eventType) {
+            this.eventType = eventType;
+        }
     }
 
     public static class MethodCaptureConfig {
@@ -266,6 +338,12 @@ public class AuditProperties {
         @Min(100)
         private long batchTimeoutMs = 5000;
 
+        @NotNull
+        private QueueType queueType = QueueType.BLOCKING;
+
+        @NotNull
+        private WaitStrategy waitStrategy = WaitStrategy.PARK;
+
         public int getQueueCapacity() {
             return queueCapacity;
         }
@@ -301,6 +379,30 @@ public class AuditProperties {
         public Duration getBatchTimeout() {
             return Duration.ofMillis(batchTimeoutMs);
         }
+
+        public QueueType getQueueType() {
+            return queueType;
+        }
+
+        public void setQueueType(QueueType queueType) {
+            this.queueType = queueType;
+        }
+
+        public WaitStrategy getWaitStrategy() {
+            return waitStrategy;
+        }
+
+        public void setWaitStrategy(WaitStrategy waitStrategy) {
+            this.waitStrategy = waitStrategy;
+        }
+    }
+
+    public enum QueueType {
+        BLOCKING, RING_BUFFER
+    }
+
+    public enum WaitStrategy {
+        SPIN, YIELD, PARK
     }
 
     public static class EnrichmentConfig {
@@ -337,6 +439,7 @@ public class AuditProperties {
         @NestedConfigurationProperty
         private PIIMaskingConfig piiMasking = new PIIMaskingConfig();
         private Set<String> regulations = new HashSet<>();
+        private boolean canonicalizePayloads = false;
         @NestedConfigurationProperty
         private DataClassificationConfig dataClassification = new DataClassificationConfig();
 
@@ -356,6 +459,14 @@ public class AuditProperties {
             this.regulations = regulations;
         }
 
+        public boolean isCanonicalizePayloads() {
+            return canonicalizePayloads;
+        }
+
+        public void setCanonicalizePayloads(boolean canonicalizePayloads) {
+            this.canonicalizePayloads = canonicalizePayloads;
+        }
+
         public DataClassificationConfig getDataClassification() {
             return dataClassification;
         }
@@ -424,6 +535,8 @@ public class AuditProperties {
         private StorageType type = StorageType.DATABASE;
         @NestedConfigurationProperty
         private DatabaseConfig database = new DatabaseConfig();
+        @NestedConfigurationProperty
+        private JournalConfig journal = new JournalConfig();
 
         public StorageType getType() {
             return type;
@@ -440,6 +553,83 @@ public class AuditProperties {
         public void setDatabase(DatabaseConfig database) {
             this.database = database;
         }
+
+        public JournalConfig getJournal() {
+            return journal;
+        }
+
+        public void setJournal(JournalConfig journal) {
+            this.journal = journal;
+        }
+    }
+
+    public static class JournalConfig {
+        private boolean enabled = false;
+        private String directory = "safeaudit-journal";
+
+        @Min(4096)
+        private int segmentBytes = 64 * 1024 * 1024;
+
+        @Min(1)
+        private long fsyncIntervalMs = 50;
+
+        @Min(4096)
+        private long maxBytes = 1024L * 1024 * 1024;
+
+        @Min(0)
+        private int maxRetries = 10;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public int getSegmentBytes() {
+            return segmentBytes;
+        }
+
+        public void setSegmentBytes(int segmentBytes) {
+            this.segmentBytes = segmentBytes;
+        }
+
+        public long getFsyncIntervalMs() {
+            return fsyncIntervalMs;
+        }
+
+        public void setFsyncIntervalMs(long fsyncIntervalMs) {
+            this.fsyncIntervalMs = fsyncIntervalMs;
+        }
+
+        public Duration getFsyncInterval() {
+            return Duration.ofMillis(fsyncIntervalMs);
+        }
+
+        public long getMaxBytes() {
+            return maxBytes;
+        }
+
+        public void setMaxBytes(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        public int getMaxRetries() {
+            return maxRetries;
+        }
+
+        public void setMaxRetries(int maxRetries) {
+            this.maxRetries = maxRetries;
+        }
     }
 
     public enum StorageType {
@@ -450,12 +640,16 @@ public class AuditProperties {
         private boolean autoCreateSchema = true;
         private String dialect = "AUTO";
         private boolean useApplicationDataSource = true;
+        private int sequenceBlockSize = 10000;
+        private boolean copyIngestion = false;
         @NestedConfigurationProperty
         private ConnectionConfig connection = new ConnectionConfig();
         @NestedConfigurationProperty
         private PartitioningConfig partitioning = new PartitioningConfig();
         @NestedConfigurationProperty
         private RetentionConfig retention = new RetentionConfig();
+        @NestedConfigurationProperty
+        private RollupConfig rollups = new RollupConfig();
 
         public boolean isAutoCreateSchema() {
             return autoCreateSchema;
@@ -481,6 +675,22 @@ public class AuditProperties {
             this.useApplicationDataSource = useApplicationDataSource;
         }
 
+        public int getSequenceBlockSize() {
+            return sequenceBlockSize;
+        }
+
+        public void setSequenceBlockSize(int sequenceBlockSize) {
+            this.sequenceBlockSize = sequenceBlockSize;
+        }
+
+        public boolean isCopyIngestion() {
+            return copyIngestion;
+        }
+
+        public void setCopyIngestion(boolean copyIngestion) {
+            this.copyIngestion = copyIngestion;
+        }
+
         public ConnectionConfig getConnection() {
             return connection;
         }
@@ -504,15 +714,83 @@ public class AuditProperties {
         public void setRetention(RetentionConfig retention) {
             this.retention = retention;
         }
+
+        public RollupConfig getRollups() {
+            return rollups;
+        }
+
+        public void setRollups(RollupConfig rollups) {
+            this.rollups = rollups;
+        }
+    }
+
+    public static class RollupConfig {
+        // Each write then also looks up which of its events are already stored
+        private boolean enabled = false;
+
+        @Min(1)
+        private int minuteRetentionDays = 7;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMinuteRetentionDays() {
+            return minuteRetentionDays;
+        }
+
+        public void setMinuteRetentionDays(int minuteRetentionDays) {
+            this.minuteRetentionDays = minuteRetentionDays;
+        }
+
+        public Duration getMinuteRetention() {
+            return Duration.ofDays(minuteRetentionDays);
+        }
     }
 
     public static class ConnectionConfig {
+        // Defaults to spring.datasource.* when unset
+        private String url;
+        private String username;
+        private String password;
+
         @Min(1)
         private int poolSize = 5;
 
+        @Min(1)
+        private int readPoolSize = 2;
+
         @Min(1000)
         private long timeoutMs = 5000;
 
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
         public int getPoolSize() {
             return poolSize;
         }
@@ -521,6 +799,14 @@ public class AuditProperties {
             this.poolSize = poolSize;
         }
 
+        public int getReadPoolSize() {
+            return readPoolSize;
+        }
+
+        public void setReadPoolSize(int readPoolSize) {
+            this.readPoolSize = readPoolSize;
+        }
+
         public long getTimeoutMs() {
             return timeoutMs;
         }
@@ -534,6 +820,8 @@ public class AuditProperties {
         private boolean enabled = true;
         private PartitionStrategy strategy = PartitionStrategy.MONTHLY;
         private boolean autoCreate = true;
+        @Min(1)
+        private int queryParallelism = 4;
 
         public boolean isEnabled() {
             return enabled;
@@ -558,12 +846,24 @@ public class AuditProperties {
         public void setAutoCreate(boolean autoCreate) {
             this.autoCreate = autoCreate;
         }
+
+        public int getQueryParallelism() {
+            return queryParallelism;
+        }
+
+        public void setQueryParallelism(int queryParallelism) {
+            this.queryParallelism = queryParallelism;
+        }
     }
 
     public enum PartitionStrategy {
         DAILY, MONTHLY, YEARLY
     }
 
+    public enum ExpiredPartitionAction {
+        ARCHIVE, DROP
+    }
+
     public static class RetentionConfig {
         private boolean enabled = true;
 
@@ -572,6 +872,14 @@ public class AuditProperties {
 
         private boolean archivalEnabled = true;
 
+        private ExpiredPartitionAction expiredPartitions = ExpiredPartitionAction.ARCHIVE;
+
+        @Min(1)
+        private int archivalBatchSize = 10_000;
+
+        @Min(0)
+        private int archivalMaxRowsPerSecond = 0; // 0 = unthrottled
+
         public boolean isEnabled() {
             return enabled;
         }
@@ -595,6 +903,30 @@ public class AuditProperties {
         public void setArchivalEnabled(boolean archivalEnabled) {
             this.archivalEnabled = archivalEnabled;
         }
+
+        public ExpiredPartitionAction getExpiredPartitions() {
+            return expiredPartitions;
+        }
+
+        public void setExpiredPartitions(ExpiredPartitionAction expiredPartitions) {
+            this.expiredPartitions = expiredPartitions;
+        }
+
+        public int getArchivalBatchSize() {
+            return archivalBatchSize;
+        }
+
+        public void setArchivalBatchSize(int archivalBatchSize) {
+            this.archivalBatchSize = archivalBatchSize;
+        }
+
+        public int getArchivalMaxRowsPerSecond() {
+            return archivalMaxRowsPerSecond;
+        }
+
+        public void setArchivalMaxRowsPerSecond(int archivalMaxRowsPerSecond) {
+            this.archivalMaxRowsPerSecond = archivalMaxRowsPerSecond;
+        }
     }
 
     public static class ReportingConfig {
@@ -635,6 +967,8 @@ public class AuditProperties {
         private String basePath = "/audit";
         @NestedConfigurationProperty
         private SecurityConfig security = new SecurityConfig();
+        @NestedConfigurationProperty
+        private CountConfig count = new CountConfig();
 
         public boolean isEnabled() {
             return enabled;
@@ -659,6 +993,48 @@ public class AuditProperties {
         public void setSecurity(SecurityConfig security) {
             this.security = security;
         }
+
+        public CountConfig getCount() {
+            return count;
+        }
+
+        public void setCount(CountConfig count) {
+            this.count = count;
+        }
+    }
+
+    public static class CountConfig {
+        private CountMode mode = CountMode.EXACT;
+        private int cacheTtlSeconds = 30;
+        private int cacheMaxEntries = 1000;
+
+        public CountMode getMode() {
+            return mode;
+        }
+
+        public void setMode(CountMode mode) {
+            this.mode = mode;
+        }
+
+        public int getCacheTtlSeconds() {
+            return cacheTtlSeconds;
+        }
+
+        public void setCacheTtlSeconds(int cacheTtlSeconds) {
+            this.cacheTtlSeconds = cacheTtlSeconds;
+        }
+
+        public Duration getCacheTtl() {
+            return Duration.ofSeconds(cacheTtlSeconds);
+        }
+
+        public int getCacheMaxEntries() {
+            return cacheMaxEntries;
+        }
+
+        public void setCacheMaxEntries(int cacheMaxEntries) {
+            this.cacheMaxEntries = cacheMaxEntries;
+        }
     }
 
     public static class SecurityConfig {
@@ -715,6 +1091,9 @@ public class AuditProperties {
     public static class ExportConfig {
         private boolean enabled = true;
         private List<String> formats = List.of("PDF", "CSV");
+        private int fetchSize = 1000;
+        @NestedConfigurationProperty
+        private ExportJobsConfig jobs = new ExportJobsConfig();
 
         public boolean isEnabled() {
             return enabled;
@@ -731,6 +1110,73 @@ public class AuditProperties {
         public void setFormats(List<String> formats) {
             this.formats = formats;
         }
+
+        public int getFetchSize() {
+            return fetchSize;
+        }
+
+        public void setFetchSize(int fetchSize) {
+            this.fetchSize = fetchSize;
+        }
+
+        public ExportJobsConfig getJobs() {
+            return jobs;
+        }
+
+        public void setJobs(ExportJobsConfig jobs) {
+            this.jobs = jobs;
+        }
+    }
+
+    public static class ExportJobsConfig {
+        // Each running job holds one read connection
+        @Min(1)
+        private int maxConcurrent = 2;
+
+        @Min(1)
+        private int maxQueued = 20;
+
+        // Defaults to a new owner-only directory under java.io.tmpdir, removed on shutdown
+        private String directory;
+
+        @Min(0)
+        private int artifactTtlMinutes = 60;
+
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public void setMaxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        public int getMaxQueued() {
+            return maxQueued;
+        }
+
+        public void setMaxQueued(int maxQueued) {
+            this.maxQueued = maxQueued;
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public int getArtifactTtlMinutes() {
+            return artifactTtlMinutes;
+        }
+
+        public void setArtifactTtlMinutes(int artifactTtlMinutes) {
+            this.artifactTtlMinutes = artifactTtlMinutes;
+        }
+
+        public Duration getArtifactTtl() {
+            return Duration.ofMinutes(artifactTtlMinutes);
+        }
     }
 
     public static class IntegrityConfig {
@@ -738,6 +1184,8 @@ public class AuditProperties {
         private HashingConfig hashing = new HashingConfig();
         @NestedConfigurationProperty
         private VerificationConfig verification = new VerificationConfig();
+        @NestedConfigurationProperty
+        private MerkleConfig merkle = new MerkleConfig();
 
         public HashingConfig getHashing() {
             return hashing;
@@ -754,12 +1202,21 @@ public class AuditProperties {
         public void setVerification(VerificationConfig verification) {
             this.verification = verification;
         }
+
+        public MerkleConfig getMerkle() {
+            return merkle;
+        }
+
+        public void setMerkle(MerkleConfig merkle) {
+            this.merkle = merkle;
+        }
     }
 
     public static class HashingConfig {
         private boolean enabled = true;
         private String algorithm = "SHA-256";
         private boolean includePreviousHash = true;
+        private ChainScope chainScope = ChainScope.INSTANCE;
 
         public boolean isEnabled() {
             return enabled;
@@ -784,11 +1241,73 @@ public class AuditProperties {
         public void setIncludePreviousHash(boolean includePreviousHash) {
             this.includePreviousHash = includePreviousHash;
         }
+
+        public ChainScope getChainScope() {
+            return chainScope;
+        }
+
+        public void setChainScope(ChainScope chainScope) {
+            this.chainScope = chainScope;
+        }
+    }
+
+    public enum ChainScope {
+        INSTANCE, TENANT
     }
 
     public static class VerificationConfig {
         private boolean enabled = true;
         private String schedule = "0 0 2 * * ?"; // Daily at 2 AM
+        private int parallelism = 4;
+        private int fetchSize = 1000;
+        private int maxViolations = 1000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getSchedule() {
+            return schedule;
+        }
+
+        public void setSchedule(String schedule) {
+            this.schedule = schedule;
+        }
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+
+        public int getFetchSize() {
+            return fetchSize;
+        }
+
+        public void setFetchSize(int fetchSize) {
+            this.fetchSize = fetchSize;
+        }
+
+        public int getMaxViolations() {
+            return maxViolations;
+        }
+
+        public void setMaxViolations(int maxViolations) {
+            this.maxViolations = maxViolations;
+        }
+    }
+
+    public static class MerkleConfig {
+        private boolean enabled = false;
+        private String schedule = "0 5 * * * ?"; // Hourly, 5 minutes past
+        private int windowMinutes = 60;
+        private int sealDelayMinutes = 10;
 
         public boolean isEnabled() {
             return enabled;
@@ -805,6 +1324,30 @@ public class AuditProperties {
         public void setSchedule(String schedule) {
             this.schedule = schedule;
         }
+
+        public int getWindowMinutes() {
+            return windowMinutes;
+        }
+
+        public void setWindowMinutes(int windowMinutes) {
+            this.windowMinutes = windowMinutes;
+        }
+
+        public int getSealDelayMinutes() {
+            return sealDelayMinutes;
+        }
+
+        public void setSealDelayMinutes(int sealDelayMinutes) {
+            this.sealDelayMinutes = sealDelayMinutes;
+        }
+
+        public Duration getWindow() {
+            return Duration.ofMinutes(windowMinutes);
+        }
+
+        public Duration getSealDelay() {
+            return Duration.ofMinutes(sealDelayMinutes);
+        }
     }
 
     public static class PerformanceConfig {
@@ -835,6 +1378,17 @@ public class AuditProperties {
         private int threshold = 8000;
         private BackpressureStrategy strategy = BackpressureStrategy.DROP_OLDEST;
 
+        @Min(1)
+        private long blockTimeoutMs = 1000;
+
+        private String spillDirectory = "safeaudit-spill";
+
+        @Min(1024)
+        private long spillSegmentBytes = 64L * 1024 * 1024;
+
+        @Min(1024)
+        private long maxSpillBytes = 1024L * 1024 * 1024;
+
         public boolean isEnabled() {
             return enabled;
         }
@@ -858,10 +1412,46 @@ public class AuditProperties {
         public void setStrategy(BackpressureStrategy strategy) {
             this.strategy = strategy;
         }
+
+        public long getBlockTimeoutMs() {
+            return blockTimeoutMs;
+        }
+
+        public void setBlockTimeoutMs(long blockTimeoutMs) {
+            this.blockTimeoutMs = blockTimeoutMs;
+        }
+
+        public Duration getBlockTimeout() {
+            return Duration.ofMillis(blockTimeoutMs);
+        }
+
+        public String getSpillDirectory() {
+            return spillDirectory;
+        }
+
+        public void setSpillDirectory(String spillDirectory) {
+            this.spillDirectory = spillDirectory;
+        }
+
+        public long getSpillSegmentBytes() {
+            return spillSegmentBytes;
+        }
+
+        public void setSpillSegmentBytes(long spillSegmentBytes) {
+            this.spillSegmentBytes = spillSegmentBytes;
+        }
+
+        public long getMaxSpillBytes() {
+            return maxSpillBytes;
+        }
+
+        public void setMaxSpillBytes(long maxSpillBytes) {
+            this.maxSpillBytes = maxSpillBytes;
+        }
     }
 
     public enum BackpressureStrategy {
-        DROP_OLDEST, BLOCK, REJECT
+        DROP_OLDEST, BLOCK, REJECT, SPILL
     }
 
     public static class CircuitBreakerConfig {
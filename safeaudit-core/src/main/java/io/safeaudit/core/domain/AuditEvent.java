@@ -1,13 +1,21 @@
 package io.safeaudit.core.domain;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import io.safeaudit.core.domain.enums.AuditSeverity;
 
 import java.time.Instant;
 import java.util.Objects;
+import java.util.UUID;
 
 /**
+ * An audit event.
+ * <p>
+ * {@code eventUuid} carries the ID in binary form when it was generated or read as a
+ * UUID, so storage can bind it without parsing {@code eventId}. It is null for events
+ * created from a string ID, is not serialized and takes no part in equality.
+ *
  * @author Nelson Tanko
  * @since 1.0.0
  */
@@ -22,9 +30,22 @@ public record AuditEvent(
 
         String previousEventHash, String eventHash, String capturedBy, String applicationName,
 
-        String applicationInstance
+        String applicationInstance, String chainKey, long chainSequence,
+
+        @JsonIgnore UUID eventUuid
 ) {
 
+    public AuditEvent {
+        if (eventId == null && eventUuid != null) {
+            eventId = eventUuid.toString();
+        }
+        Objects.requireNonNull(eventId, "eventId is required");
+        Objects.requireNonNull(timestamp, "timestamp is required");
+        Objects.requireNonNull(eventType, "eventType is required");
+        Objects.requireNonNull(severity, "severity is required");
+        compliance = compliance != null ? compliance : ComplianceMetadata.empty();
+    }
+
     @JsonCreator
     public AuditEvent(
             @JsonProperty("eventId") String eventId,
@@ -48,30 +69,44 @@ public record AuditEvent(
             @JsonProperty("eventHash") String eventHash,
             @JsonProperty("capturedBy") String capturedBy,
             @JsonProperty("applicationName") String applicationName,
-            @JsonProperty("applicationInstance") String applicationInstance) {
-
-        this.eventId = Objects.requireNonNull(eventId, "eventId is required");
-        this.sequenceNumber = sequenceNumber;
-        this.timestamp = Objects.requireNonNull(timestamp, "timestamp is required");
-        this.eventType = Objects.requireNonNull(eventType, "eventType is required");
-        this.severity = Objects.requireNonNull(severity, "severity is required");
-        this.userId = userId;
-        this.username = username;
-        this.ipAddress = ipAddress;
-        this.userAgent = userAgent;
-        this.resource = resource;
-        this.action = action;
-        this.sessionId = sessionId;
-        this.tenantId = tenantId;
-        this.requestPayload = requestPayload;
-        this.responsePayload = responsePayload;
-        this.httpStatusCode = httpStatusCode;
-        this.compliance = compliance != null ? compliance : ComplianceMetadata.empty();
-        this.previousEventHash = previousEventHash;
-        this.eventHash = eventHash;
-        this.capturedBy = capturedBy;
-        this.applicationName = applicationName;
-        this.applicationInstance = applicationInstance;
+            @JsonProperty("applicationInstance") String applicationInstance,
+            @JsonProperty("chainKey") String chainKey,
+            @JsonProperty("chainSequence") long chainSequence) {
+
+        this(eventId, sequenceNumber, timestamp, eventType, severity,
+                userId, username, ipAddress, userAgent,
+                resource, action, sessionId, tenantId,
+                requestPayload, responsePayload, httpStatusCode,
+                compliance, previousEventHash, eventHash,
+                capturedBy, applicationName, applicationInstance,
+                chainKey, chainSequence, null);
+    }
+
+    /**
+     * Event outside any chain, as created before events carried chain links.
+     */
+    public AuditEvent(
+            String eventId, long sequenceNumber, Instant timestamp, String eventType,
+            AuditSeverity severity, String userId, String username, String ipAddress, String userAgent,
+            String resource, String action, String sessionId, String tenantId, String requestPayload,
+            String responsePayload, Integer httpStatusCode, ComplianceMetadata compliance,
+            String previousEventHash, String eventHash, String capturedBy, String applicationName,
+            String applicationInstance) {
+
+        this(eventId, sequenceNumber, timestamp, eventType, severity,
+                userId, username, ipAddress, userAgent,
+                resource, action, sessionId, tenantId,
+                requestPayload, responsePayload, httpStatusCode,
+                compliance, previousEventHash, eventHash,
+                capturedBy, applicationName, applicationInstance,
+                null, 0L, null);
+    }
+
+    /**
+     * The event ID as a UUID, parsing {@link #eventId()} only if it was not created in binary form.
+     */
+    public UUID eventIdAsUuid() {
+        return eventUuid != null ? eventUuid : UUID.fromString(eventId);
     }
 
     public static Builder builder() {
@@ -80,6 +115,7 @@ public record AuditEvent(
 
     public static class Builder {
         private String eventId;
+        private UUID eventUuid;
         private long sequenceNumber;
         private Instant timestamp;
         private String eventType;
@@ -101,9 +137,21 @@ public record AuditEvent(
         private String capturedBy;
         private String applicationName;
         private String applicationInstance;
+        private String chainKey;
+        private long chainSequence;
 
         public Builder eventId(String eventId) {
             this.eventId = eventId;
+            this.eventUuid = null;
+            return this;
+        }
+
+        /**
+         * Set the event ID in binary form; {@code eventId} becomes its string form.
+         */
+        public Builder eventUuid(UUID eventUuid) {
+            this.eventId = null;
+            this.eventUuid = eventUuid;
             return this;
         }
 
@@ -212,6 +260,16 @@ public record AuditEvent(
             return this;
         }
 
+        public Builder chainKey(String chainKey) {
+            this.chainKey = chainKey;
+            return this;
+        }
+
+        public Builder chainSequence(long chainSequence) {
+            this.chainSequence = chainSequence;
+            return this;
+        }
+
         public AuditEvent build() {
             return new AuditEvent(
                     eventId, sequenceNumber, timestamp, eventType, severity,
@@ -219,7 +277,8 @@ public record AuditEvent(
                     resource, action, sessionId, tenantId,
                     requestPayload, responsePayload, httpStatusCode,
                     compliance, previousEventHash, eventHash,
-                    capturedBy, applicationName, applicationInstance
+                    capturedBy, applicationName, applicationInstance,
+                    chainKey, chainSequence, eventUuid
             );
         }
     }
@@ -0,0 +1,402 @@
+package io.safeaudit.core.domain;
+
+import io.safeaudit.core.domain.enums.AuditSeverity;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Mutable working copy of an {@link AuditEvent} that processors update in place.
+ * <p>
+ * The pipeline loads one draft per event, runs the whole processor chain on it and
+ * freezes it once with {@link #toEvent()}. Drafts are pooled per thread and must not
+ * be kept after the processor returns.
+ *
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+public final class AuditEventDraft {
+
+    private static final ThreadLocal<AuditEventDraft> POOL = ThreadLocal.withInitial(AuditEventDraft::new);
+
+    private String eventId;
+    private long sequenceNumber;
+    private Instant timestamp;
+    private String eventType;
+    private AuditSeverity severity;
+    private String userId;
+    private String username;
+    private String ipAddress;
+    private String userAgent;
+    private String resource;
+    private String action;
+    private String sessionId;
+    private String tenantId;
+    private String requestPayload;
+    private String responsePayload;
+    private Integer httpStatusCode;
+    private ComplianceMetadata compliance;
+    private String previousEventHash;
+    private String eventHash;
+    private String capturedBy;
+    private String applicationName;
+    private String applicationInstance;
+    private String chainKey;
+    private long chainSequence;
+    private UUID eventUuid;
+
+    // Last frozen or loaded event, reused by toEvent() until a setter runs
+    private AuditEvent frozen;
+    private boolean inUse;
+
+    private AuditEventDraft() {
+    }
+
+    /**
+     * Take this thread's draft, loaded with the given event. A fresh draft is
+     * created if the pooled one is already in use further up the stack.
+     */
+    public static AuditEventDraft acquire(AuditEvent event) {
+        var draft = POOL.get();
+        if (draft.inUse) {
+            draft = new AuditEventDraft();
+        }
+        draft.inUse = true;
+        draft.load(event);
+        return draft;
+    }
+
+    /**
+     * Run {@code processor} on a pooled draft of {@code event} and freeze the result.
+     * Returns {@code event} itself if the processor changed nothing.
+     */
+    public static AuditEvent apply(AuditEvent event, Consumer<AuditEventDraft> processor) {
+        var draft = acquire(event);
+        try {
+            processor.accept(draft);
+            return draft.toEvent();
+        } finally {
+            draft.release();
+        }
+    }
+
+    /**
+     * Replace the whole draft with the given event.
+     */
+    public void load(AuditEvent event) {
+        this.eventId = event.eventId();
+        this.sequenceNumber = event.sequenceNumber();
+        this.timestamp = event.timestamp();
+        this.eventType = event.eventType();
+        this.severity = event.severity();
+        this.userId = event.userId();
+        this.username = event.username();
+        this.ipAddress = event.ipAddress();
+        this.userAgent = event.userAgent();
+        this.resource = event.resource();
+        this.action = event.action();
+        this.sessionId = event.sessionId();
+        this.tenantId = event.tenantId();
+        this.requestPayload = event.requestPayload();
+        this.responsePayload = event.responsePayload();
+        this.httpStatusCode = event.httpStatusCode();
+        this.compliance = event.compliance();
+        this.previousEventHash = event.previousEventHash();
+        this.eventHash = event.eventHash();
+        this.capturedBy = event.capturedBy();
+        this.applicationName = event.applicationName();
+        this.applicationInstance = event.applicationInstance();
+        this.chainKey = event.chainKey();
+        this.chainSequence = event.chainSequence();
+        this.eventUuid = event.eventUuid();
+        this.frozen = event;
+    }
+
+    /**
+     * Freeze the draft into an immutable event. Repeated calls without
+     * modifications in between return the same instance.
+     */
+    public AuditEvent toEvent() {
+        if (frozen == null) {
+            frozen = new AuditEvent(
+                    eventId,
+                    sequenceNumber,
+                    timestamp,
+                    eventType,
+                    severity,
+                    userId,
+                    username,
+                    ipAddress,
+                    userAgent,
+                    resource,
+                    action,
+                    sessionId,
+                    tenantId,
+                    requestPayload,
+                    responsePayload,
+                    httpStatusCode,
+                    compliance,
+                    previousEventHash,
+                    eventHash,
+                    capturedBy,
+                    applicationName,
+                    applicationInstance,
+                    chainKey,
+                    chainSequence,
+                    eventUuid
+            );
+        }
+        return frozen;
+    }
+
+    /**
+     * Return the draft to the pool, dropping references to the event's content.
+     */
+    public void release() {
+        this.eventId = null;
+        this.sequenceNumber = 0;
+        this.timestamp = null;
+        this.eventType = null;
+        this.severity = null;
+        this.userId = null;
+        this.username = null;
+        this.ipAddress = null;
+        this.userAgent = null;
+        this.resource = null;
+        this.action = null;
+        this.sessionId = null;
+        this.tenantId = null;
+        this.requestPayload = null;
+        this.responsePayload = null;
+        this.httpStatusCode = null;
+        this.compliance = null;
+        this.previousEventHash = null;
+        this.eventHash = null;
+        this.capturedBy = null;
+        this.applicationName = null;
+        this.applicationInstance = null;
+        this.chainKey = null;
+        this.chainSequence = 0;
+        this.eventUuid = null;
+        this.frozen = null;
+        this.inUse = false;
+    }
+
+    public String eventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+        this.eventUuid = null;
+        this.frozen = null;
+    }
+
+    public long sequenceNumber() {
+        return sequenceNumber;
+    }
+
+    public void setSequenceNumber(long sequenceNumber) {
+        this.sequenceNumber = sequenceNumber;
+        this.frozen = null;
+    }
+
+    public Instant timestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(Instant timestamp) {
+        this.timestamp = timestamp;
+        this.frozen = null;
+    }
+
+    public String eventType() {
+        return eventType;
+    }
+
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+        this.frozen = null;
+    }
+
+    public AuditSeverity severity() {
+        return severity;
+    }
+
+    public void setSeverity(AuditSeverity severity) {
+        this.severity = severity;
+        this.frozen = null;
+    }
+
+    public String userId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+        this.frozen = null;
+    }
+
+    public String username() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+        this.frozen = null;
+    }
+
+    public String ipAddress() {
+        return ipAddress;
+    }
+
+    public void setIpAddress(String ipAddress) {
+        this.ipAddress = ipAddress;
+        this.frozen = null;
+    }
+
+    public String userAgent() {
+        return userAgent;
+    }
+
+    public void setUserAgent(String userAgent) {
+        this.userAgent = userAgent;
+        this.frozen = null;
+    }
+
+    public String resource() {
+        return resource;
+    }
+
+    public void setResource(String resource) {
+        this.resource = resource;
+        this.frozen = null;
+    }
+
+    public String action() {
+        return action;
+    }
+
+    public void setAction(String action) {
+        this.action = action;
+        this.frozen = null;
+    }
+
+    public String sessionId() {
+        return sessionId;
+    }
+
+    public void setSessionId(String sessionId) {
+        this.sessionId = sessionId;
+        this.frozen = null;
+    }
+
+    public String tenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(String tenantId) {
+        this.tenantId = tenantId;
+        this.frozen = null;
+    }
+
+    public String requestPayload() {
+        return requestPayload;
+    }
+
+    public void setRequestPayload(String requestPayload) {
+        this.requestPayload = requestPayload;
+        this.frozen = null;
+    }
+
+    public String responsePayload() {
+        return responsePayload;
+    }
+
+    public void setResponsePayload(String responsePayload) {
+        this.responsePayload = responsePayload;
+        this.frozen = null;
+    }
+
+    public Integer httpStatusCode() {
+        return httpStatusCode;
+    }
+
+    public void setHttpStatusCode(Integer httpStatusCode) {
+        this.httpStatusCode = httpStatusCode;
+        this.frozen = null;
+    }
+
+    public ComplianceMetadata compliance() {
+        return compliance;
+    }
+
+    public void setCompliance(ComplianceMetadata compliance) {
+        this.compliance = compliance;
+        this.frozen = null;
+    }
+
+    public String previousEventHash() {
+        return previousEventHash;
+    }
+
+    public void setPreviousEventHash(String previousEventHash) {
+        this.previousEventHash = previousEventHash;
+        this.frozen = null;
+    }
+
+    public String eventHash() {
+        return eventHash;
+    }
+
+    public void setEventHash(String eventHash) {
+        this.eventHash = eventHash;
+        this.frozen = null;
+    }
+
+    public String capturedBy() {
+        return capturedBy;
+    }
+
+    public void setCapturedBy(String capturedBy) {
+        this.capturedBy = capturedBy;
+        this.frozen = null;
+    }
+
+    public String applicationName() {
+        return applicationName;
+    }
+
+    public void setApplicationName(String applicationName) {
+        this.applicationName = applicationName;
+        this.frozen = null;
+    }
+
+    public String applicationInstance() {
+        return applicationInstance;
+    }
+
+    public void setApplicationInstance(String applicationInstance) {
+        this.applicationInstance = applicationInstance;
+        this.frozen = null;
+    }
+
+    public String chainKey() {
+        return chainKey;
+    }
+
+    public void setChainKey(String chainKey) {
+        this.chainKey = chainKey;
+        this.frozen = null;
+    }
+
+    public long chainSequence() {
+        return chainSequence;
+    }
+
+    public void setChainSequence(long chainSequence) {
+        this.chainSequence = chainSequence;
+        this.frozen = null;
+    }
+}
@@ -0,0 +1,27 @@
+package io.safeaudit.core.domain;
+
+import io.safeaudit.core.domain.enums.AuditSeverity;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Event totals for a time range, by severity, with an hourly timeline where the
+ * storage keeps one.
+ *
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+public record AuditStatistics(long total, Map<AuditSeverity, Long> bySeverity, List<Bucket> timeline) {
+
+    public long count(AuditSeverity severity) {
+        return bySeverity.getOrDefault(severity, 0L);
+    }
+
+    /**
+     * Number of events in the hour starting at {@code start}.
+     */
+    public record Bucket(Instant start, long count) {
+    }
+}
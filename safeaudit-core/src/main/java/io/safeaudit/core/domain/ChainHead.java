@@ -0,0 +1,10 @@
+package io.safeaudit.core.domain;
+
+/**
+ * Last persisted link of a hash chain, used to resume the chain after a restart.
+ *
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+public record ChainHead(String chainKey, long sequence, String eventHash) {
+}
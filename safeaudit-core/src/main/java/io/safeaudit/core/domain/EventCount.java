@@ -0,0 +1,18 @@
+package io.safeaudit.core.domain;
+
+/**
+ * Number of events matching a query, and whether it is an exact, current count.
+ *
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+public record EventCount(long total, boolean exact) {
+
+    public static EventCount exact(long total) {
+        return new EventCount(total, true);
+    }
+
+    public static EventCount approximate(long total) {
+        return new EventCount(total, false);
+    }
+}
@@ -0,0 +1,29 @@
+package io.safeaudit.core.domain;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Proof that an event hash is a leaf of a sealed {@link MerkleCheckpoint}.
+ * Folding the leaf with each step in order yields the root.
+ *
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+public record InclusionProof(
+        String eventId, String eventHash,
+        long leafIndex, long leafCount,
+        Instant windowStart, Instant windowEnd,
+        String rootHash, List<Step> path
+) {
+
+    public InclusionProof {
+        path = path != null ? List.copyOf(path) : List.of();
+    }
+
+    /**
+     * @param left whether the sibling is the left operand
+     */
+    public record Step(String siblingHash, boolean left) {
+    }
+}
@@ -0,0 +1,16 @@
+package io.safeaudit.core.domain;
+
+import java.time.Instant;
+
+/**
+ * Merkle root sealed over the event hashes of one time window.
+ *
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+public record MerkleCheckpoint(
+        Instant windowStart, Instant windowEnd,
+        long leafCount, String rootHash,
+        Instant sealedAt
+) {
+}
@@ -0,0 +1,56 @@
+package io.safeaudit.core.domain;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Position of the last event on a page, used to seek to the next page on
+ * {@code (event_timestamp, event_id)} instead of skipping rows with an offset.
+ *
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+public record PageCursor(Instant timestamp, String eventId) {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public PageCursor {
+        Objects.requireNonNull(timestamp, "timestamp");
+        Objects.requireNonNull(eventId, "eventId");
+    }
+
+    public static PageCursor after(AuditEvent event) {
+        return new PageCursor(event.timestamp(), event.eventId());
+    }
+
+    /**
+     * Encode as an opaque, URL-safe continuation token.
+     */
+    public String encode() {
+        var value = timestamp.getEpochSecond() + "." + timestamp.getNano() + "." + eventId;
+        return ENCODER.encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}.
+     *
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static PageCursor decode(String token) {
+        try {
+            var parts = new String(DECODER.decode(token), StandardCharsets.UTF_8).split("\\.", 3);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid page cursor");
+            }
+            var timestamp = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new PageCursor(timestamp, UUID.fromString(parts[2]).toString());
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new IllegalArgumentException("Invalid page cursor", e);
+        }
+    }
+}
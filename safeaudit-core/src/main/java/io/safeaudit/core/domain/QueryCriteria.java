@@ -27,6 +27,7 @@ public final class QueryCriteria {
     private final int size;
     private final String sortBy;
     private final SortDirection sortDirection;
+    private final PageCursor cursor;
 
     private QueryCriteria(Builder builder) {
         this.eventId = builder.eventId;
@@ -42,6 +43,7 @@ public final class QueryCriteria {
         this.size = builder.size;
         this.sortBy = builder.sortBy;
         this.sortDirection = builder.sortDirection;
+        this.cursor = builder.cursor;
     }
 
     public String getEventId() {
@@ -96,6 +98,13 @@ public final class QueryCriteria {
         return sortDirection;
     }
 
+    /**
+     * Cursor to seek past, or {@code null} for offset paging.
+     */
+    public PageCursor getCursor() {
+        return cursor;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -114,6 +123,7 @@ public final class QueryCriteria {
         private int size = 50;
         private String sortBy = "event_timestamp";
         private SortDirection sortDirection = SortDirection.DESC;
+        private PageCursor cursor;
 
         public Builder eventId(String eventId) {
             this.eventId = eventId;
@@ -188,6 +198,11 @@ public final class QueryCriteria {
             return this;
         }
 
+        public Builder cursor(PageCursor cursor) {
+            this.cursor = cursor;
+            return this;
+        }
+
         public QueryCriteria build() {
             return new QueryCriteria(this);
         }
@@ -0,0 +1,25 @@
+package io.safeaudit.core.domain.enums;
+
+/**
+ * How the total behind a page of results is computed.
+ *
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+public enum CountMode {
+    /**
+     * Run a full count of matching events.
+     */
+    EXACT,
+
+    /**
+     * Use the database planner's row estimate, falling back to an exact count
+     * where the database has no usable estimate.
+     */
+    ESTIMATED,
+
+    /**
+     * Reuse a recent exact count for the same filters.
+     */
+    CACHED
+}
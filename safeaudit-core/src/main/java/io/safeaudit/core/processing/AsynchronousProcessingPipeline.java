@@ -9,13 +9,17 @@ import io.safeaudit.core.spi.AuditStorage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.BlockingQueue;
 
 /**
  * Asynchronous processing pipeline - events are queued and processed by workers.
  * Minimal request latency but eventual consistency.
+ * <p>
+ * The capturing thread only runs {@link #snapshot(AuditEvent)}; workers call
+ * {@link #prepare(AuditEvent)} to run the remaining processors and
+ * {@link #persistBatch(List)} to store them in bulk.
  *
  * @author Nelson Tanko
  * @since 1.0.0
@@ -24,18 +28,19 @@ public class AsynchronousProcessingPipeline extends AuditProcessingPipeline {
 
     private static final Logger log = LoggerFactory.getLogger(AsynchronousProcessingPipeline.class);
 
-    private final BlockingQueue<AuditEvent> queue;
+    private final List<AuditEventProcessor> workerProcessors;
     private final Timer processingTimer;
 
     public AsynchronousProcessingPipeline(
             List<AuditEventProcessor> processors,
             AuditStorage storage,
             Optional<AuditSink> externalSink,
-            BlockingQueue<AuditEvent> queue,
             MeterRegistry meterRegistry) {
         super(processors, storage, externalSink);
 
-        this.queue = queue;
+        this.workerProcessors = this.processors.stream()
+                .filter(processor -> !processor.isContextBound())
+                .toList();
         this.processingTimer = Timer.builder("audit.processing.time")
                 .tag("mode", "async")
                 .description("Time to process audit event asynchronously")
@@ -64,13 +69,58 @@ public class AsynchronousProcessingPipeline extends AuditProcessingPipeline {
     }
 
     /**
-     * Queue an event for async processing.
+     * Run the worker-side processors on an event that was already
+     * {@linkplain #snapshot(AuditEvent) snapshotted} on the capturing thread.
+     * Context-bound processors are skipped.
      */
-    public boolean enqueue(AuditEvent event) {
-        return queue.offer(event);
+    public AuditEvent prepare(AuditEvent snapshot) {
+        var sample = Timer.start();
+        try {
+            onBeforeProcessing(snapshot);
+            return applyProcessors(snapshot, workerProcessors);
+        } finally {
+            sample.stop(processingTimer);
+        }
     }
 
-    public int getQueueSize() {
-        return queue.size();
+    /**
+     * Whether an event with this id is already in storage, e.g. a journaled
+     * event that was committed just before a crash.
+     */
+    public boolean isStored(AuditEvent event) {
+        return storage.findById(event.eventId()).isPresent();
+    }
+
+    /**
+     * Persist a batch of {@linkplain #prepare(AuditEvent) prepared} events in one
+     * storage round-trip and forward the stored ones to the external sink.
+     *
+     * @return which events ended up in storage; none if storage kept failing
+     */
+    public BatchResult persistBatch(List<AuditEvent> batch) {
+        if (batch.isEmpty()) {
+            return BatchResult.none();
+        }
+
+        // Events re-hashed after a failure are replaced, so the sink gets what was stored
+        var events = new ArrayList<>(batch);
+        try {
+            var result = persistEvents(events);
+
+            var stored = result.storedCount() == events.size()
+                    ? events
+                    : result.stored().stream().mapToObj(events::get).toList();
+            if (!stored.isEmpty()) {
+                forwardToExternalSink(stored);
+            }
+
+            stored.forEach(this::onAfterProcessing);
+
+            return result;
+        } catch (Exception e) {
+            events.forEach(event -> handleProcessingError(event, e));
+            notifyStoreFailed(events);
+            return BatchResult.none();
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,13 +1,17 @@
 package io.safeaudit.core.processing;
 
 import io.safeaudit.core.domain.AuditEvent;
+import io.safeaudit.core.domain.AuditEventDraft;
 import io.safeaudit.core.exception.AuditProcessingException;
+import io.safeaudit.core.exception.TransientStorageException;
 import io.safeaudit.core.spi.AuditEventProcessor;
 import io.safeaudit.core.spi.AuditSink;
 import io.safeaudit.core.spi.AuditStorage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
@@ -24,6 +28,7 @@ public abstract class AuditProcessingPipeline {
     private static final Logger log = LoggerFactory.getLogger(AuditProcessingPipeline.class);
 
     protected final List<AuditEventProcessor> processors;
+    protected final List<AuditEventProcessor> contextBoundProcessors;
     protected final AuditStorage storage;
     protected final Optional<AuditSink> externalSink;
 
@@ -35,6 +40,9 @@ public abstract class AuditProcessingPipeline {
         this.processors = processors.stream()
                 .sorted(Comparator.comparingInt(AuditEventProcessor::getOrder))
                 .toList();
+        this.contextBoundProcessors = this.processors.stream()
+                .filter(AuditEventProcessor::isContextBound)
+                .toList();
         this.storage = storage;
         this.externalSink = externalSink;
     }
@@ -43,19 +51,43 @@ public abstract class AuditProcessingPipeline {
      * Process an audit event through the pipeline.
      */
     public void process(AuditEvent rawEvent) {
+        process(rawEvent, processors);
+    }
+
+    /**
+     * Apply only the context-bound processors, capturing caller thread state
+     * into the event so the rest of the chain can run on another thread.
+     */
+    public AuditEvent snapshot(AuditEvent rawEvent) {
+        return applyProcessors(rawEvent, contextBoundProcessors);
+    }
+
+    /**
+     * Process an event through the given processor chain.
+     *
+     * @return true if the event was persisted
+     */
+    protected boolean process(AuditEvent rawEvent, List<AuditEventProcessor> chain) {
         try {
             onBeforeProcessing(rawEvent);
 
-            var processedEvent = applyProcessors(rawEvent);
+            var processedEvent = applyProcessors(rawEvent, chain);
 
-            persistEvent(processedEvent);
+            try {
+                persistEvent(processedEvent);
+            } catch (AuditProcessingException e) {
+                notifyStoreFailed(List.of(processedEvent));
+                throw e;
+            }
 
             forwardToExternalSink(processedEvent);
 
             onAfterProcessing(processedEvent);
 
+            return true;
         } catch (Exception e) {
             handleProcessingError(rawEvent, e);
+            return false;
         }
     }
 
@@ -63,16 +95,31 @@ public abstract class AuditProcessingPipeline {
      * Apply all processors in order.
      */
     protected AuditEvent applyProcessors(AuditEvent event) {
-        AuditEvent current = event;
-        for (var processor : processors) {
-            try {
-                current = processor.process(current);
-            } catch (Exception e) {
-                log.error("Processor {} failed: {}", processor.getClass().getSimpleName(), e.getMessage());
-                // Continue with other processors
+        return applyProcessors(event, processors);
+    }
+
+    /**
+     * Apply the given processors in order to a single draft, freezing it once at the end.
+     * A processor that throws has its partial changes rolled back before the next one runs.
+     */
+    protected AuditEvent applyProcessors(AuditEvent event, List<AuditEventProcessor> chain) {
+        var draft = AuditEventDraft.acquire(event);
+        try {
+            for (var processor : chain) {
+                // Frozen copy is cached until a setter runs, so this only allocates after changes
+                var snapshot = draft.toEvent();
+                try {
+                    processor.process(draft);
+                } catch (Exception e) {
+                    log.error("Processor {} failed: {}", processor.getClass().getSimpleName(), e.getMessage());
+                    draft.load(snapshot);
+                    // Continue with other processors
+                }
             }
+            return draft.toEvent();
+        } finally {
+            draft.release();
         }
-        return current;
     }
 
     /**
@@ -100,6 +147,88 @@ public abstract class AuditProcessingPipeline {
         }
     }
 
+    /**
+     * Persist a batch of events with retry logic.
+     * Transient failures are retried; if the batch is rejected outright
+     * (e.g. a duplicate key) the events are stored individually so one
+     * bad row does not drop the whole batch. Events derived anew after one of
+     * them failed, see {@link #relink(AuditEvent, List)}, replace theirs in
+     * {@code events}, which must therefore be mutable.
+     *
+     * @return which events ended up in storage
+     */
+    protected BatchResult persistEvents(List<AuditEvent> events) {
+        int maxAttempts = 3;
+        int attempt = 0;
+
+        while (true) {
+            try {
+                return BatchResult.all(storage.storeBatch(events), events.size());
+            } catch (TransientStorageException e) {
+                attempt++;
+                if (attempt >= maxAttempts) {
+                    throw new AuditProcessingException(
+                            "Failed to persist batch of " + events.size() + " events after " + maxAttempts + " attempts",
+                            events.getFirst(),
+                            e
+                    );
+                }
+                backoff(attempt);
+            } catch (Exception e) {
+                log.warn("Batch of {} events rejected, storing individually: {}", events.size(), e.getMessage());
+                int persisted = 0;
+                var stored = new BitSet(events.size());
+                List<AuditEvent> failed = new ArrayList<>();
+                for (int i = 0; i < events.size(); i++) {
+                    var event = events.get(i);
+                    try {
+                        persistEvent(event);
+                        persisted++;
+                        stored.set(i);
+                    } catch (AuditProcessingException ex) {
+                        handleProcessingError(event, ex);
+                        failed.add(event);
+                        relink(event, events.subList(i + 1, events.size()));
+                    }
+                }
+                notifyStoreFailed(failed);
+                return new BatchResult(persisted, stored);
+            }
+        }
+    }
+
+    /**
+     * Let the processors derive the events still to be stored anew, now that
+     * {@code failed} did not make it, replacing them in {@code pending}.
+     */
+    protected void relink(AuditEvent failed, List<AuditEvent> pending) {
+        for (var processor : processors) {
+            try {
+                var relinked = processor.relink(failed, List.copyOf(pending));
+                for (int i = 0; i < pending.size(); i++) {
+                    pending.set(i, relinked.get(i));
+                }
+            } catch (Exception e) {
+                log.error("Processor {} failed: {}", processor.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Tell the processors which events were not stored, latest first.
+     */
+    protected void notifyStoreFailed(List<AuditEvent> failed) {
+        for (var event : failed.reversed()) {
+            for (var processor : processors) {
+                try {
+                    processor.onStoreFailed(event);
+                } catch (Exception e) {
+                    log.error("Processor {} failed: {}", processor.getClass().getSimpleName(), e.getMessage());
+                }
+            }
+        }
+    }
+
     /**
      * Forward event to external sink (best-effort).
      */
@@ -114,6 +243,19 @@ public abstract class AuditProcessingPipeline {
         });
     }
 
+    /**
+     * Forward a batch of events to external sink (best-effort).
+     */
+    protected void forwardToExternalSink(List<AuditEvent> events) {
+        externalSink.ifPresent(sink -> {
+            try {
+                sink.sendBatch(events);
+            } catch (Exception e) {
+                log.warn("Failed to send batch to external sink: {}", e.getMessage());
+            }
+        });
+    }
+
     /**
      * Exponential backoff for retries.
      */
@@ -0,0 +1,39 @@
+package io.safeaudit.core.processing;
+
+import java.util.BitSet;
+
+/**
+ * Outcome of persisting a batch of events.
+ *
+ * @param persisted number of events written by this batch
+ * @param stored    positions of the events that are in storage afterwards,
+ *                  including duplicates of events stored earlier
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+public record BatchResult(int persisted, BitSet stored) {
+
+    /**
+     * Every event of a batch of {@code size} is in storage.
+     */
+    public static BatchResult all(int persisted, int size) {
+        var stored = new BitSet(size);
+        stored.set(0, size);
+        return new BatchResult(persisted, stored);
+    }
+
+    /**
+     * No event of the batch could be stored.
+     */
+    public static BatchResult none() {
+        return new BatchResult(0, new BitSet());
+    }
+
+    public boolean isStored(int index) {
+        return stored.get(index);
+    }
+
+    public int storedCount() {
+        return stored.cardinality();
+    }
+}
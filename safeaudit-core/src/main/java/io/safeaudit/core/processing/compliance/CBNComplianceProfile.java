@@ -1,16 +1,16 @@
 package io.safeaudit.core.processing.compliance;
 
 import io.safeaudit.core.domain.AuditEvent;
+import io.safeaudit.core.domain.AuditEventDraft;
 import io.safeaudit.core.domain.ComplianceMetadata;
 import io.safeaudit.core.domain.enums.DataClassification;
 import io.safeaudit.core.exception.ComplianceViolationException;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.Set;
 
-import static io.safeaudit.core.processing.compliance.NDPAComplianceProfile.getAuditEvent;
-
 /**
  * Central Bank of Nigeria (CBN) compliance profile.
  * *
@@ -71,44 +71,56 @@ public class CBNComplianceProfile implements ComplianceProfile {
 
     @Override
     public AuditEvent enrich(AuditEvent event) {
-        var enriched = ComplianceMetadata.builder()
+        return AuditEventDraft.apply(event, this::enrich);
+    }
+
+    @Override
+    public void enrich(AuditEventDraft draft) {
+        draft.setCompliance(ComplianceMetadata.builder()
                 .addRegulatoryTag("CBN")
                 .dataClassification(DataClassification.RESTRICTED)
                 .retentionUntil(LocalDate.now().plusDays(RETENTION_PERIOD.toDays()))
-                .containsPII(containsSensitiveData(event))
+                .containsPII(containsSensitiveData(draft.requestPayload()))
                 .addProcessingPurpose("REGULATORY_COMPLIANCE")
                 .addProcessingPurpose("FINANCIAL_AUDIT")
-                .build();
-
-        return getAuditEvent(event, enriched);
+                .build());
     }
 
     @Override
     public void validate(AuditEvent event) throws ComplianceViolationException {
-        if (event.userId() == null) {
+        validate(event.userId(), event.eventHash(), event.eventType(), event.timestamp());
+    }
+
+    @Override
+    public void validate(AuditEventDraft draft) throws ComplianceViolationException {
+        validate(draft.userId(), draft.eventHash(), draft.eventType(), draft.timestamp());
+    }
+
+    private void validate(String userId, String eventHash, String eventType, Instant timestamp)
+            throws ComplianceViolationException {
+        if (userId == null) {
             throw new ComplianceViolationException(
                     "CBN",
                     "User ID is required for all audit events"
             );
         }
 
-        if (requiresTamperEvidence() && event.eventHash() == null) {
+        if (requiresTamperEvidence() && eventHash == null) {
             throw new ComplianceViolationException(
                     "CBN",
                     "Tamper-evident hashing is required"
             );
         }
 
-        if (REQUIRED_EVENTS.contains(event.eventType()) && event.timestamp() == null) {
+        if (REQUIRED_EVENTS.contains(eventType) && timestamp == null) {
             throw new ComplianceViolationException(
                     "CBN",
-                    "Timestamp is required for event type: " + event.eventType()
+                    "Timestamp is required for event type: " + eventType
             );
         }
     }
 
-    private boolean containsSensitiveData(AuditEvent event) {
-        var payload = event.requestPayload();
+    private boolean containsSensitiveData(String payload) {
         if (payload == null) {
             return false;
         }
@@ -2,6 +2,7 @@ package io.safeaudit.core.processing.compliance;
 
 import io.safeaudit.core.config.AuditProperties;
 import io.safeaudit.core.domain.AuditEvent;
+import io.safeaudit.core.domain.AuditEventDraft;
 import io.safeaudit.core.exception.ComplianceViolationException;
 import io.safeaudit.core.spi.AuditEventProcessor;
 import org.slf4j.Logger;
@@ -31,14 +32,17 @@ public class ComplianceProcessor implements AuditEventProcessor {
 
     @Override
     public AuditEvent process(AuditEvent event) {
-        AuditEvent current = event;
+        return AuditEventDraft.apply(event, this::process);
+    }
 
+    @Override
+    public void process(AuditEventDraft draft) {
         for (ComplianceProfile profile : profiles) {
             if (activeRegulations.contains(profile.getRegulationCode())) {
                 try {
-                    current = profile.enrich(current);
+                    profile.enrich(draft);
 
-                    profile.validate(current);
+                    profile.validate(draft);
                 } catch (ComplianceViolationException e) {
                     log.warn("Compliance violation for regulation {}: {}", profile.getRegulationCode(), e.getMessage());
                 } catch (Exception e) {
@@ -46,7 +50,6 @@ public class ComplianceProcessor implements AuditEventProcessor {
                 }
             }
         }
-        return current;
     }
 
     @Override
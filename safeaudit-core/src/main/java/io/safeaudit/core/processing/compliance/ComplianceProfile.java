@@ -1,6 +1,7 @@
 package io.safeaudit.core.processing.compliance;
 
 import io.safeaudit.core.domain.AuditEvent;
+import io.safeaudit.core.domain.AuditEventDraft;
 import io.safeaudit.core.exception.ComplianceViolationException;
 
 import java.time.Duration;
@@ -45,10 +46,32 @@ public interface ComplianceProfile {
      */
     AuditEvent enrich(AuditEvent event);
 
+    /**
+     * Enrich the pipeline's working copy of an event in place.
+     * Defaults to {@link #enrich(AuditEvent)} on a frozen copy.
+     */
+    default void enrich(AuditEventDraft draft) {
+        var event = draft.toEvent();
+        var enriched = enrich(event);
+        if (enriched != event) {
+            draft.load(enriched);
+        }
+    }
+
     /**
      * Validate event meets compliance requirements.
      *
      * @throws ComplianceViolationException if validation fails
      */
     void validate(AuditEvent event) throws ComplianceViolationException;
+
+    /**
+     * Validate the pipeline's working copy of an event.
+     * Defaults to {@link #validate(AuditEvent)} on a frozen copy.
+     *
+     * @throws ComplianceViolationException if validation fails
+     */
+    default void validate(AuditEventDraft draft) throws ComplianceViolationException {
+        validate(draft.toEvent());
+    }
 }
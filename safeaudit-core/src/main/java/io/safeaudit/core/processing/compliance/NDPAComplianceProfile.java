@@ -1,6 +1,7 @@
 package io.safeaudit.core.processing.compliance;
 
 import io.safeaudit.core.domain.AuditEvent;
+import io.safeaudit.core.domain.AuditEventDraft;
 import io.safeaudit.core.domain.ComplianceMetadata;
 import io.safeaudit.core.domain.enums.DataClassification;
 import io.safeaudit.core.exception.ComplianceViolationException;
@@ -71,48 +72,34 @@ public class NDPAComplianceProfile implements ComplianceProfile {
 
     @Override
     public AuditEvent enrich(AuditEvent event) {
-        var enriched = ComplianceMetadata.builder()
+        return AuditEventDraft.apply(event, this::enrich);
+    }
+
+    @Override
+    public void enrich(AuditEventDraft draft) {
+        var payload = draft.requestPayload();
+        draft.setCompliance(ComplianceMetadata.builder()
                 .addRegulatoryTag("NDPA")
-                .dataClassification(determineClassification(event))
+                .dataClassification(determineClassification(payload))
                 .retentionUntil(LocalDate.now().plusDays(RETENTION_PERIOD.toDays()))
-                .containsPII(containsPII(event))
+                .containsPII(containsPII(payload))
                 .addProcessingPurpose("DATA_PROTECTION")
                 .addProcessingPurpose("LEGAL_COMPLIANCE")
-                .build();
-
-        return getAuditEvent(event, enriched);
+                .build());
     }
 
-    static AuditEvent getAuditEvent(AuditEvent event, ComplianceMetadata enriched) {
-        return AuditEvent.builder()
-                .eventId(event.eventId())
-                .sequenceNumber(event.sequenceNumber())
-                .timestamp(event.timestamp())
-                .eventType(event.eventType())
-                .severity(event.severity())
-                .userId(event.userId())
-                .username(event.username())
-                .ipAddress(event.ipAddress())
-                .userAgent(event.userAgent())
-                .resource(event.resource())
-                .action(event.action())
-                .sessionId(event.sessionId())
-                .tenantId(event.tenantId())
-                .requestPayload(event.requestPayload())
-                .responsePayload(event.responsePayload())
-                .httpStatusCode(event.httpStatusCode())
-                .compliance(enriched)
-                .previousEventHash(event.previousEventHash())
-                .eventHash(event.eventHash())
-                .capturedBy(event.capturedBy())
-                .applicationName(event.applicationName())
-                .applicationInstance(event.applicationInstance())
-                .build();
+    @Override
+    public void validate(AuditEvent event) throws ComplianceViolationException {
+        validatePayload(event.requestPayload());
     }
 
     @Override
-    public void validate(AuditEvent event) throws ComplianceViolationException {
-        if (containsPII(event) && !isPIIMasked(event)) {
+    public void validate(AuditEventDraft draft) throws ComplianceViolationException {
+        validatePayload(draft.requestPayload());
+    }
+
+    private void validatePayload(String payload) throws ComplianceViolationException {
+        if (containsPII(payload) && !isPIIMasked(payload)) {
             throw new ComplianceViolationException(
                     "NDPA",
                     "PII must be masked in audit logs"
@@ -120,8 +107,7 @@ public class NDPAComplianceProfile implements ComplianceProfile {
         }
     }
 
-    private boolean containsPII(AuditEvent event) {
-        var payload = event.requestPayload();
+    private boolean containsPII(String payload) {
         if (payload == null) {
             return false;
         }
@@ -134,8 +120,7 @@ public class NDPAComplianceProfile implements ComplianceProfile {
         return false;
     }
 
-    private boolean isPIIMasked(AuditEvent event) {
-        var payload = event.requestPayload();
+    private boolean isPIIMasked(String payload) {
         if (payload == null) {
             return true;
         }
@@ -143,10 +128,10 @@ public class NDPAComplianceProfile implements ComplianceProfile {
         return payload.contains("SHA256:") || payload.contains("[REDACTED]");
     }
 
-    private DataClassification determineClassification(AuditEvent event) {
-        if (containsPII(event)) {
+    private DataClassification determineClassification(String payload) {
+        if (containsPII(payload)) {
             return DataClassification.RESTRICTED;
         }
         return DataClassification.CONFIDENTIAL;
     }
-}
\ No newline at end of file
+}
@@ -2,6 +2,7 @@ package io.safeaudit.core.processing.enrichment;
 
 import io.safeaudit.core.domain.AuditContext;
 import io.safeaudit.core.domain.AuditEvent;
+import io.safeaudit.core.domain.AuditEventDraft;
 import io.safeaudit.core.spi.AuditEventProcessor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,42 +22,25 @@ public class UserContextEnricher implements AuditEventProcessor {
 
     @Override
     public AuditEvent process(AuditEvent event) {
+        return AuditEventDraft.apply(event, this::process);
+    }
+
+    @Override
+    public void process(AuditEventDraft draft) {
         // If already set, don't override
-        if (event.userId() != null) {
-            return event;
+        if (draft.userId() != null) {
+            return;
         }
 
         var userId = extractUserId();
         var username = extractUsername();
 
         if (userId == null && username == null) {
-            return event;
+            return;
         }
 
-        return AuditEvent.builder()
-                .eventId(event.eventId())
-                .sequenceNumber(event.sequenceNumber())
-                .timestamp(event.timestamp())
-                .eventType(event.eventType())
-                .severity(event.severity())
-                .userId(userId)
-                .username(username)
-                .ipAddress(event.ipAddress())
-                .userAgent(event.userAgent())
-                .resource(event.resource())
-                .action(event.action())
-                .sessionId(event.sessionId())
-                .tenantId(event.tenantId())
-                .requestPayload(event.requestPayload())
-                .responsePayload(event.responsePayload())
-                .httpStatusCode(event.httpStatusCode())
-                .compliance(event.compliance())
-                .previousEventHash(event.previousEventHash())
-                .eventHash(event.eventHash())
-                .capturedBy(event.capturedBy())
-                .applicationName(event.applicationName())
-                .applicationInstance(event.applicationInstance())
-                .build();
+        draft.setUserId(userId);
+        draft.setUsername(username);
     }
 
     private String extractUserId() {
@@ -123,4 +107,9 @@ public class UserContextEnricher implements AuditEventProcessor {
     public int getOrder() {
         return 100; // Run early
     }
+
+    @Override
+    public boolean isContextBound() {
+        return true;
+    }
 }
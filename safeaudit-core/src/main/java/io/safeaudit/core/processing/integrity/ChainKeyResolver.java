@@ -0,0 +1,32 @@
+package io.safeaudit.core.processing.integrity;
+
+import io.safeaudit.core.config.AuditProperties;
+import io.safeaudit.core.domain.AuditEvent;
+import io.safeaudit.core.domain.AuditEventDraft;
+
+/**
+ * Assigns audit events to independent hash chains.
+ * Each chain must have a single writer, so keys should include the application instance.
+ *
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface ChainKeyResolver {
+
+    String DEFAULT_KEY = "default";
+
+    String resolve(AuditEvent event);
+
+    /**
+     * Resolve the key of an event still being processed.
+     * Defaults to {@link #resolve(AuditEvent)} on a frozen copy.
+     */
+    default String resolve(AuditEventDraft draft) {
+        return resolve(draft.toEvent());
+    }
+
+    static ChainKeyResolver of(AuditProperties.ChainScope scope) {
+        return new ScopedChainKeyResolver(scope == AuditProperties.ChainScope.TENANT);
+    }
+}
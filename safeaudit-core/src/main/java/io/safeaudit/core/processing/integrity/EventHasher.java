@@ -0,0 +1,85 @@
+package io.safeaudit.core.processing.integrity;
+
+import io.safeaudit.core.domain.AuditEvent;
+import io.safeaudit.core.domain.AuditEventDraft;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+/**
+ * Computes the integrity hash of a chain link.
+ * Shared by {@link HashCalculator} and verification so both hash the same content.
+ * Digests are per thread.
+ *
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+public final class EventHasher {
+
+    private final ThreadLocal<MessageDigest> digest;
+
+    public EventHasher(String algorithm) {
+        var prototype = newDigest(algorithm);
+        this.digest = ThreadLocal.withInitial(() -> newDigest(prototype.getAlgorithm()));
+    }
+
+    private static MessageDigest newDigest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException("Hash algorithm not supported: " + algorithm, e);
+        }
+    }
+
+    public String hash(AuditEvent event, String chainKey, long chainSequence, String previousHash) {
+        return finish(start(event), chainKey, chainSequence, previousHash);
+    }
+
+    /**
+     * Digest the event content. Callers that must serialize the chain position
+     * can do this part outside their lock.
+     */
+    MessageDigest start(AuditEvent event) {
+        return start(event.eventId(), event.timestamp(), event.eventType(), event.userId(),
+                event.resource(), event.action(), event.sessionId());
+    }
+
+    MessageDigest start(AuditEventDraft draft) {
+        return start(draft.eventId(), draft.timestamp(), draft.eventType(), draft.userId(),
+                draft.resource(), draft.action(), draft.sessionId());
+    }
+
+    private MessageDigest start(String eventId, Instant timestamp, String eventType, String userId,
+                                String resource, String action, String sessionId) {
+        var content = new StringBuilder();
+
+        content.append(eventId);
+        // Stored timestamps keep microseconds
+        content.append(timestamp.truncatedTo(ChronoUnit.MICROS));
+        content.append(eventType);
+        content.append(userId);
+        content.append(resource);
+        content.append(action);
+        content.append(sessionId);
+
+        var md = digest.get();
+        md.reset();
+        md.update(content.toString().getBytes(StandardCharsets.UTF_8));
+        return md;
+    }
+
+    /**
+     * Append the chain position to a digest from {@link #start(AuditEvent)} and encode the hash.
+     */
+    String finish(MessageDigest md, String chainKey, long chainSequence, String previousHash) {
+        md.update((chainKey + chainSequence).getBytes(StandardCharsets.UTF_8));
+        if (previousHash != null) {
+            md.update(previousHash.getBytes(StandardCharsets.UTF_8));
+        }
+        return Base64.getEncoder().encodeToString(md.digest());
+    }
+}
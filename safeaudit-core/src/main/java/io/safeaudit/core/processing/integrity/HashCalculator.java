@@ -1,91 +1,195 @@
 package io.safeaudit.core.processing.integrity;
 
+import io.safeaudit.core.config.AuditProperties;
 import io.safeaudit.core.domain.AuditEvent;
+import io.safeaudit.core.domain.AuditEventDraft;
+import io.safeaudit.core.domain.ChainHead;
 import io.safeaudit.core.spi.AuditEventProcessor;
+import io.safeaudit.core.spi.AuditStorage;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.util.Base64;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Calculates integrity hash for audit events.
  * Creates a chain by including the previous event's hash.
+ * <p>
+ * Events are sharded into independent chains by a {@link ChainKeyResolver}. Each chain
+ * assigns its own gap-free sequence, so workers only contend when hashing events of the
+ * same chain. Digests are per thread, see {@link EventHasher}.
+ * <p>
+ * A chain advances when an event is hashed, before it is stored. If the newest link
+ * then fails to store, {@link #onStoreFailed(AuditEvent)} moves the head back to its
+ * predecessor so the next event does not chain onto a link that never reached storage.
+ * A link that fails ahead of later links of its batch has those re-hashed onto its
+ * predecessor by {@link #relink(AuditEvent, List)}.
  *
  * @author Nelson Tanko
  * @since 1.0.0
  */
 public class HashCalculator implements AuditEventProcessor {
 
-    private final MessageDigest digest;
+    private final EventHasher hasher;
     private final boolean includePreviousHash;
-    private volatile String lastHash = null;
+    private final ChainKeyResolver chainKeyResolver;
+    private final AuditStorage storage;
+    private final Map<String, Chain> chains = new ConcurrentHashMap<>();
 
     public HashCalculator(String algorithm, boolean includePreviousHash) {
-        try {
-            this.digest = MessageDigest.getInstance(algorithm);
-        } catch (NoSuchAlgorithmException e) {
-            throw new IllegalArgumentException("Hash algorithm not supported: " + algorithm, e);
-        }
+        this(algorithm, includePreviousHash, ChainKeyResolver.of(AuditProperties.ChainScope.INSTANCE), null);
+    }
+
+    /**
+     * @param storage used to resume each chain from its last stored link, may be null
+     */
+    public HashCalculator(String algorithm, boolean includePreviousHash,
+                          ChainKeyResolver chainKeyResolver, AuditStorage storage) {
+        this.hasher = new EventHasher(algorithm);
         this.includePreviousHash = includePreviousHash;
+        this.chainKeyResolver = chainKeyResolver;
+        this.storage = storage;
     }
 
     @Override
     public AuditEvent process(AuditEvent event) {
-        var previousHash = includePreviousHash ? lastHash : null;
-        var eventHash = calculateHash(event, previousHash);
-
-        lastHash = eventHash;
-
-        return AuditEvent.builder()
-                .eventId(event.eventId())
-                .sequenceNumber(event.sequenceNumber())
-                .timestamp(event.timestamp())
-                .eventType(event.eventType())
-                .severity(event.severity())
-                .userId(event.userId())
-                .username(event.username())
-                .ipAddress(event.ipAddress())
-                .userAgent(event.userAgent())
-                .resource(event.resource())
-                .action(event.action())
-                .sessionId(event.sessionId())
-                .tenantId(event.tenantId())
-                .requestPayload(event.requestPayload())
-                .responsePayload(event.responsePayload())
-                .httpStatusCode(event.httpStatusCode())
-                .compliance(event.compliance())
-                .previousEventHash(previousHash)
-                .eventHash(eventHash)
-                .capturedBy(event.capturedBy())
-                .applicationName(event.applicationName())
-                .applicationInstance(event.applicationInstance())
-                .build();
+        return AuditEventDraft.apply(event, this::process);
     }
 
-    private String calculateHash(AuditEvent event, String previousHash) {
-        var content = new StringBuilder();
+    @Override
+    public void process(AuditEventDraft draft) {
+        var chainKey = chainKeyResolver.resolve(draft);
+        var chain = chain(chainKey);
+
+        var md = hasher.start(draft);
+
+        long chainSequence;
+        String previousHash;
+        String eventHash;
+
+        chain.lock.lock();
+        try {
+            chainSequence = ++chain.sequence;
+            previousHash = includePreviousHash ? chain.lastHash : null;
+            eventHash = hasher.finish(md, chainKey, chainSequence, previousHash);
+
+            chain.lastHash = eventHash;
+        } finally {
+            chain.lock.unlock();
+        }
 
-        content.append(event.eventId());
-        content.append(event.eventHash());
-        content.append(event.timestamp());
-        content.append(event.eventType());
-        content.append(event.userId());
-        content.append(event.resource());
-        content.append(event.action());
-        content.append(event.sessionId());
+        draft.setPreviousEventHash(previousHash);
+        draft.setEventHash(eventHash);
+        draft.setChainKey(chainKey);
+        draft.setChainSequence(chainSequence);
+    }
 
-        if (previousHash != null) {
-            content.append(previousHash);
+    @Override
+    public void onStoreFailed(AuditEvent event) {
+        var chain = event.chainKey() != null ? chains.get(event.chainKey()) : null;
+        if (chain == null) {
+            return;
         }
 
-        digest.reset();
-        byte[] hash = digest.digest(content.toString().getBytes(StandardCharsets.UTF_8));
-        return Base64.getEncoder().encodeToString(hash);
+        chain.lock.lock();
+        try {
+            // Links hashed after it already point at it; rewinding would hand out their sequence twice
+            if (chain.sequence == event.chainSequence() && event.eventHash().equals(chain.lastHash)) {
+                chain.sequence = event.chainSequence() - 1;
+                chain.lastHash = event.previousEventHash();
+            }
+        } finally {
+            chain.lock.unlock();
+        }
+    }
+
+    /**
+     * Re-hash the links of {@code failed}'s chain that follow it in {@code pending} onto
+     * its predecessor, taking over its sequence. Only done while they are the newest links
+     * of the chain: a link hashed after them, in another batch, already points at them.
+     */
+    @Override
+    public List<AuditEvent> relink(AuditEvent failed, List<AuditEvent> pending) {
+        var chainKey = failed.chainKey();
+        var chain = chainKey != null ? chains.get(chainKey) : null;
+        if (chain == null) {
+            return pending;
+        }
+
+        // Indexes of the later links, in chain order
+        var later = new TreeMap<Long, Integer>();
+        for (int i = 0; i < pending.size(); i++) {
+            var event = pending.get(i);
+            if (chainKey.equals(event.chainKey()) && event.chainSequence() > failed.chainSequence()) {
+                later.put(event.chainSequence(), i);
+            }
+        }
+        if (later.isEmpty()) {
+            return pending;
+        }
+
+        chain.lock.lock();
+        try {
+            var newest = pending.get(later.lastEntry().getValue());
+            if (later.lastKey() != chain.sequence || later.size() != chain.sequence - failed.chainSequence()
+                    || !newest.eventHash().equals(chain.lastHash)) {
+                return pending;
+            }
+
+            var relinked = new ArrayList<>(pending);
+            long chainSequence = failed.chainSequence();
+            var previousHash = failed.previousEventHash();
+            for (int index : later.values()) {
+                var link = pending.get(index);
+                long sequence = chainSequence;
+                var previous = previousHash;
+                var eventHash = hasher.hash(link, chainKey, sequence, previous);
+
+                relinked.set(index, AuditEventDraft.apply(link, draft -> {
+                    draft.setChainSequence(sequence);
+                    draft.setPreviousEventHash(previous);
+                    draft.setEventHash(eventHash);
+                }));
+                chainSequence++;
+                previousHash = includePreviousHash ? eventHash : null;
+                chain.lastHash = eventHash;
+            }
+            chain.sequence = chainSequence - 1;
+            return relinked;
+        } finally {
+            chain.lock.unlock();
+        }
+    }
+
+    private Chain chain(String chainKey) {
+        var chain = chains.get(chainKey);
+        if (chain != null) {
+            return chain;
+        }
+
+        // Load outside computeIfAbsent so a slow lookup never blocks other chains
+        var head = storage != null ? storage.findChainHead(chainKey).orElse(null) : null;
+        return chains.computeIfAbsent(chainKey, _ -> new Chain(head));
     }
 
     @Override
     public int getOrder() {
         return 900; // Run last, after all modifications
     }
-}
\ No newline at end of file
+
+    private static final class Chain {
+        private final ReentrantLock lock = new ReentrantLock();
+        private long sequence;
+        private String lastHash;
+
+        private Chain(ChainHead head) {
+            if (head != null) {
+                this.sequence = head.sequence();
+                this.lastHash = head.eventHash();
+            }
+        }
+    }
+}
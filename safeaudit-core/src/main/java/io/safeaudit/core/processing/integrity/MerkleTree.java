@@ -0,0 +1,125 @@
+package io.safeaudit.core.processing.integrity;
+
+import io.safeaudit.core.domain.InclusionProof;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Merkle tree over event hashes. Leaves and inner nodes are hashed with distinct
+ * prefixes so a leaf can never be passed off as a node. An odd node at the end of
+ * a level is carried up unchanged.
+ *
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+public final class MerkleTree {
+
+    private static final byte LEAF_PREFIX = 0x00;
+    private static final byte NODE_PREFIX = 0x01;
+
+    private final ThreadLocal<MessageDigest> digest;
+
+    public MerkleTree(String algorithm) {
+        var prototype = newDigest(algorithm);
+        this.digest = ThreadLocal.withInitial(() -> newDigest(prototype.getAlgorithm()));
+    }
+
+    private static MessageDigest newDigest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException("Hash algorithm not supported: " + algorithm, e);
+        }
+    }
+
+    public String leaf(String eventHash) {
+        var md = digest.get();
+        md.reset();
+        md.update(LEAF_PREFIX);
+        md.update(eventHash.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(md.digest());
+    }
+
+    public String node(String left, String right) {
+        var md = digest.get();
+        md.reset();
+        md.update(NODE_PREFIX);
+        md.update(Base64.getDecoder().decode(left));
+        md.update(Base64.getDecoder().decode(right));
+        return Base64.getEncoder().encodeToString(md.digest());
+    }
+
+    /**
+     * Build every level of the tree, leaves first and the root last.
+     */
+    public List<List<String>> levels(List<String> eventHashes) {
+        List<List<String>> levels = new ArrayList<>();
+        levels.add(eventHashes.stream().map(this::leaf).toList());
+
+        while (levels.getLast().size() > 1) {
+            levels.add(parents(levels.getLast()));
+        }
+        return levels;
+    }
+
+    /**
+     * @return the root, or null for an empty window
+     */
+    public String root(List<String> eventHashes) {
+        var levels = levels(eventHashes);
+        return levels.getLast().isEmpty() ? null : levels.getLast().getFirst();
+    }
+
+    /**
+     * Root over already computed nodes, e.g. the roots of consecutive windows.
+     */
+    public String rootOfNodes(List<String> nodes) {
+        var level = nodes;
+        while (level.size() > 1) {
+            level = parents(level);
+        }
+        return level.isEmpty() ? null : level.getFirst();
+    }
+
+    private List<String> parents(List<String> level) {
+        List<String> parents = new ArrayList<>((level.size() + 1) / 2);
+        for (int i = 0; i < level.size(); i += 2) {
+            parents.add(i + 1 < level.size() ? node(level.get(i), level.get(i + 1)) : level.get(i));
+        }
+        return parents;
+    }
+
+    /**
+     * Positions of the siblings needed to prove a leaf, one per level that has one.
+     *
+     * @return pairs of {level, position}
+     */
+    public static List<long[]> siblingPositions(long leafIndex, long leafCount) {
+        List<long[]> siblings = new ArrayList<>();
+        long position = leafIndex;
+        long size = leafCount;
+
+        for (int level = 0; size > 1; level++) {
+            long sibling = position ^ 1;
+            if (sibling < size) {
+                siblings.add(new long[]{level, sibling});
+            }
+            position >>= 1;
+            size = (size + 1) / 2;
+        }
+        return siblings;
+    }
+
+    public boolean verify(InclusionProof proof) {
+        var hash = leaf(proof.eventHash());
+        for (var step : proof.path()) {
+            hash = step.left() ? node(step.siblingHash(), hash) : node(hash, step.siblingHash());
+        }
+        return hash.equals(proof.rootHash());
+    }
+}
@@ -1,11 +1,10 @@
 package io.safeaudit.core.processing.integrity;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.safeaudit.core.config.AuditProperties;
 import io.safeaudit.core.domain.AuditEvent;
+import io.safeaudit.core.domain.AuditEventDraft;
 import io.safeaudit.core.spi.AuditEventProcessor;
+import io.safeaudit.core.util.JsonCanonicalizer;
 
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
@@ -15,95 +14,49 @@ import java.util.Objects;
 import java.util.Set;
 
 /**
+ * Masks configured PII fields and canonicalizes JSON payloads in one streaming pass.
+ *
  * @author Nelson Tanko
  * @since 1.0.0
  */
 public class PIIMasker implements AuditEventProcessor {
 
-    private final Set<String> piiFields;
-    private final AuditProperties.PIIMaskingStrategy strategy;
-    private final ObjectMapper objectMapper;
-    private final MessageDigest digest;
-
-    public PIIMasker(Set<String> piiFields, AuditProperties.PIIMaskingStrategy strategy) {
-        this.piiFields = Set.copyOf(piiFields);
-        this.strategy = strategy;
-        this.objectMapper = new ObjectMapper();
-
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(() -> {
         try {
-            this.digest = MessageDigest.getInstance("SHA-256");
+            return MessageDigest.getInstance("SHA-256");
         } catch (NoSuchAlgorithmException e) {
             throw new IllegalStateException("SHA-256 not available", e);
         }
+    });
+
+    private final AuditProperties.PIIMaskingStrategy strategy;
+    private final JsonCanonicalizer canonicalizer;
+
+    public PIIMasker(Set<String> piiFields, AuditProperties.PIIMaskingStrategy strategy) {
+        this.strategy = strategy;
+        this.canonicalizer = new JsonCanonicalizer(piiFields, this::maskValue);
     }
 
     @Override
     public AuditEvent process(AuditEvent event) {
-        var maskedRequest = maskPayload(event.requestPayload());
-        var maskedResponse = maskPayload(event.responsePayload());
-
-        if (Objects.equals(maskedRequest, event.requestPayload()) &&
-                Objects.equals(maskedResponse, event.responsePayload())) {
-            return event;
-        }
-
-        return AuditEvent.builder()
-                .eventId(event.eventId())
-                .sequenceNumber(event.sequenceNumber())
-                .timestamp(event.timestamp())
-                .eventType(event.eventType())
-                .severity(event.severity())
-                .userId(event.userId())
-                .username(event.username())
-                .ipAddress(event.ipAddress())
-                .userAgent(event.userAgent())
-                .resource(event.resource())
-                .action(event.action())
-                .sessionId(event.sessionId())
-                .tenantId(event.tenantId())
-                .requestPayload(maskedRequest)
-                .responsePayload(maskedResponse)
-                .httpStatusCode(event.httpStatusCode())
-                .compliance(event.compliance())
-                .previousEventHash(event.previousEventHash())
-                .eventHash(event.eventHash())
-                .capturedBy(event.capturedBy())
-                .applicationName(event.applicationName())
-                .applicationInstance(event.applicationInstance())
-                .build();
+        return AuditEventDraft.apply(event, this::process);
     }
 
-    private String maskPayload(String payload) {
-        if (payload == null || payload.isBlank()) {
-            return payload;
+    @Override
+    public void process(AuditEventDraft draft) {
+        var maskedRequest = maskPayload(draft.requestPayload());
+        if (!Objects.equals(maskedRequest, draft.requestPayload())) {
+            draft.setRequestPayload(maskedRequest);
         }
 
-        try {
-            JsonNode root = objectMapper.readTree(payload);
-            if (root.isObject()) {
-                maskFields((ObjectNode) root);
-            }
-            return objectMapper.writeValueAsString(root);
-        } catch (Exception _) {
-            return payload;
+        var maskedResponse = maskPayload(draft.responsePayload());
+        if (!Objects.equals(maskedResponse, draft.responsePayload())) {
+            draft.setResponsePayload(maskedResponse);
         }
     }
 
-    private void maskFields(ObjectNode node) {
-        node.fieldNames().forEachRemaining(fieldName -> {
-            if (piiFields.contains(fieldName)) {
-                JsonNode value = node.get(fieldName);
-                if (value.isTextual()) {
-                    var masked = maskValue(value.asText());
-                    node.put(fieldName, masked);
-                }
-            } else {
-                JsonNode child = node.get(fieldName);
-                if (child.isObject()) {
-                    maskFields((ObjectNode) child);
-                }
-            }
-        });
+    private String maskPayload(String payload) {
+        return canonicalizer.canonicalize(payload);
     }
 
     private String maskValue(String value) {
@@ -119,7 +72,7 @@ public class PIIMasker implements AuditEventProcessor {
     }
 
     private String hashValue(String value) {
-        byte[] hash = digest.digest(value.getBytes(StandardCharsets.UTF_8));
+        byte[] hash = DIGEST.get().digest(value.getBytes(StandardCharsets.UTF_8));
         return "SHA256:" + Base64.getEncoder().encodeToString(hash);
     }
 
@@ -0,0 +1,32 @@
+package io.safeaudit.core.processing.integrity;
+
+import io.safeaudit.core.domain.AuditEvent;
+import io.safeaudit.core.domain.AuditEventDraft;
+
+/**
+ * Built-in {@link ChainKeyResolver} keyed by application instance, optionally per tenant.
+ *
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+record ScopedChainKeyResolver(boolean perTenant) implements ChainKeyResolver {
+
+    @Override
+    public String resolve(AuditEvent event) {
+        return key(event.applicationInstance(), event.tenantId());
+    }
+
+    @Override
+    public String resolve(AuditEventDraft draft) {
+        return key(draft.applicationInstance(), draft.tenantId());
+    }
+
+    private String key(String applicationInstance, String tenantId) {
+        var instanceKey = orDefault(applicationInstance);
+        return perTenant ? instanceKey + "/" + orDefault(tenantId) : instanceKey;
+    }
+
+    private static String orDefault(String value) {
+        return value != null && !value.isBlank() ? value : DEFAULT_KEY;
+    }
+}
@@ -0,0 +1,12 @@
+package io.safeaudit.core.processing.journal;
+
+import io.safeaudit.core.domain.AuditEvent;
+
+/**
+ * An event read back from the journal together with its journal sequence.
+ *
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+public record JournalEntry(long sequence, AuditEvent event) {
+}
@@ -0,0 +1,545 @@
+package io.safeaudit.core.processing.journal;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.safeaudit.core.domain.AuditEvent;
+import io.safeaudit.core.exception.AuditStorageException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Local write-ahead journal for the async pipeline.
+ * <p>
+ * Accepted events are appended to memory-mapped, preallocated segment files as
+ * {@code [length][crc32c][sequence][json]} records, the checksum covering the JSON
+ * and then the sequence. Dirty segments are forced to disk together every
+ * {@code fsyncInterval} (group fsync), so at most one interval of events can be
+ * lost on power failure; a process crash loses nothing.
+ * <p>
+ * Once storage commits an event it is {@linkplain #acknowledge(long) acknowledged}.
+ * The checkpoint is the lowest unacknowledged sequence; it is written to the
+ * {@code checkpoint} file on each sync and segments wholly below it are deleted.
+ * On startup {@link #recover()} returns every record at or above the checkpoint.
+ * Replay is at-least-once: storage deduplicates on {@code event_id}.
+ * <p>
+ * Segments on disk are capped at {@code maxBytes}. A full journal stops journaling
+ * new events until the checkpoint moves, counting them as {@code audit.journal.overflow}.
+ * Events that storage keeps rejecting are {@linkplain #deadLetter dead-lettered} to
+ * {@code dead-letter.jsonl} so they do not pin the checkpoint.
+ *
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+public final class WriteAheadJournal implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteAheadJournal.class);
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".wal";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final String DEAD_LETTER_FILE = "dead-letter.jsonl";
+    private static final int HEADER_BYTES = Integer.BYTES * 2 + Long.BYTES;
+
+    /**
+     * Returned by {@link #append} when the journal is full and the event was not journaled.
+     */
+    public static final long NOT_JOURNALED = -1;
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final long maxBytes;
+    private final int maxRetries;
+    private final ObjectMapper objectMapper;
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    private final ConcurrentSkipListSet<Long> unacknowledged = new ConcurrentSkipListSet<>();
+    private final ScheduledExecutorService syncer;
+    private final Timer fsyncTimer;
+    private final Counter overflowCounter;
+    private final Counter deadLetterCounter;
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private Segment active;
+    private long nextSequence;
+    private boolean full;
+    private volatile long checkpoint;
+    private List<JournalEntry> recovered;
+
+    public WriteAheadJournal(Path directory, int segmentBytes, Duration fsyncInterval, MeterRegistry meterRegistry) {
+        this(directory, segmentBytes, Long.MAX_VALUE, Integer.MAX_VALUE, fsyncInterval, meterRegistry);
+    }
+
+    public WriteAheadJournal(Path directory, int segmentBytes, long maxBytes, int maxRetries,
+                             Duration fsyncInterval, MeterRegistry meterRegistry) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.maxBytes = maxBytes;
+        this.maxRetries = maxRetries;
+        this.objectMapper = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+
+        try {
+            Files.createDirectories(directory);
+            this.checkpoint = readCheckpoint();
+            this.recovered = scanSegments();
+        } catch (IOException e) {
+            throw new AuditStorageException("Cannot open audit journal in " + directory, e);
+        }
+
+        this.fsyncTimer = Timer.builder("audit.journal.fsync.time")
+                .description("Time to force dirty journal segments to disk")
+                .register(meterRegistry);
+
+        Gauge.builder("audit.journal.unacknowledged", unacknowledged, ConcurrentSkipListSet::size)
+                .description("Journaled events not yet committed to storage")
+                .register(meterRegistry);
+
+        Gauge.builder("audit.journal.segments", segments, TreeMap::size)
+                .description("Journal segment files on disk")
+                .register(meterRegistry);
+
+        long bytesPerSegment = segmentBytes;
+        Gauge.builder("audit.journal.bytes", segments, open -> (double) open.size() * bytesPerSegment)
+                .description("Disk space held by journal segments")
+                .register(meterRegistry);
+
+        this.overflowCounter = Counter.builder("audit.journal.overflow")
+                .description("Events queued without journaling because the journal was full")
+                .register(meterRegistry);
+
+        this.deadLetterCounter = Counter.builder("audit.journal.dead.lettered")
+                .description("Journaled events given up on after repeated storage failures")
+                .register(meterRegistry);
+
+        this.syncer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "audit-journal-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMs = fsyncInterval.toMillis();
+        syncer.scheduleWithFixedDelay(this::syncQuietly, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+
+        log.info("Audit journal opened in {}: checkpoint={}, {} event(s) to replay",
+                directory, checkpoint, recovered.size());
+    }
+
+    /**
+     * Append an event to the journal. Serialization and most of the checksum run
+     * before taking the lock, which only covers assigning the sequence and copying
+     * the record into the segment.
+     *
+     * @return the journal sequence to acknowledge once the event is stored, or
+     * {@link #NOT_JOURNALED} if the journal is full
+     */
+    public long append(AuditEvent event) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(event);
+        } catch (IOException e) {
+            throw new AuditStorageException("Failed to journal event " + event.eventId(), e);
+        }
+
+        int recordBytes = HEADER_BYTES + json.length;
+        if (recordBytes + Integer.BYTES > segmentBytes) {
+            throw new AuditStorageException("Event " + event.eventId() + " exceeds journal segment size");
+        }
+
+        var crc = new CRC32C();
+        crc.update(json);
+        var sequenceBytes = ByteBuffer.allocate(Long.BYTES);
+
+        lock.lock();
+        try {
+            // Keep room for a zero length marker so readers can tell where a segment ends
+            if (active == null || active.buffer.remaining() < recordBytes + Integer.BYTES) {
+                if ((long) (segments.size() + 1) * segmentBytes > maxBytes) {
+                    overflow();
+                    return NOT_JOURNALED;
+                }
+                full = false;
+                rollSegment();
+            }
+
+            long sequence = nextSequence++;
+            crc.update(sequenceBytes.putLong(0, sequence));
+
+            active.buffer.putInt(json.length)
+                    .putInt((int) crc.getValue())
+                    .putLong(sequence)
+                    .put(json);
+            active.lastSequence = sequence;
+            active.dirty = true;
+
+            unacknowledged.add(sequence);
+            return sequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void overflow() {
+        overflowCounter.increment();
+        if (!full) {
+            full = true;
+            log.error("Audit journal in {} reached {} bytes with checkpoint {}; new events are not journaled "
+                    + "until storage catches up", directory, maxBytes, checkpoint);
+        }
+    }
+
+    /**
+     * Mark an event as committed to storage.
+     */
+    public void acknowledge(long sequence) {
+        unacknowledged.remove(sequence);
+    }
+
+    /**
+     * Give up on storing a journaled event: append it to the dead-letter file and
+     * acknowledge it so the checkpoint can move past it.
+     */
+    public void deadLetter(long sequence, AuditEvent event) {
+        var file = directory.resolve(DEAD_LETTER_FILE);
+        try {
+            var line = objectMapper.writeValueAsBytes(event);
+            lock.lock();
+            try (var channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                channel.write(ByteBuffer.wrap(line));
+                channel.write(ByteBuffer.wrap(new byte[]{'\n'}));
+                channel.force(false);
+            } finally {
+                lock.unlock();
+            }
+        } catch (IOException e) {
+            // Left unacknowledged, so it is replayed on the next start instead
+            throw new AuditStorageException("Failed to dead-letter event " + event.eventId(), e);
+        }
+
+        deadLetterCounter.increment();
+        acknowledge(sequence);
+        log.error("Dead-lettered audit event {} to {} after repeated storage failures", event.eventId(), file);
+    }
+
+    /**
+     * How many times an event that failed to store is retried before it is dead-lettered.
+     */
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * Events journaled by a previous run that were never acknowledged, in sequence order.
+     * Returns them once; later calls return an empty list.
+     */
+    public List<JournalEntry> recover() {
+        lock.lock();
+        try {
+            var entries = recovered;
+            recovered = List.of();
+            return entries;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Force dirty segments to disk, persist the checkpoint and delete segments below it.
+     */
+    public void sync() {
+        syncLock.lock();
+        try {
+            doSync();
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private void doSync() {
+        List<Segment> dirty = new ArrayList<>();
+        long newCheckpoint;
+
+        lock.lock();
+        try {
+            for (var segment : segments.values()) {
+                if (segment.dirty) {
+                    segment.dirty = false;
+                    dirty.add(segment);
+                }
+            }
+            newCheckpoint = unacknowledged.isEmpty() ? nextSequence : unacknowledged.first();
+        } finally {
+            lock.unlock();
+        }
+
+        if (!dirty.isEmpty()) {
+            fsyncTimer.record(() -> dirty.forEach(segment -> segment.buffer.force()));
+        }
+
+        if (newCheckpoint != checkpoint) {
+            writeCheckpoint(newCheckpoint);
+            checkpoint = newCheckpoint;
+            deleteSegmentsBelow(newCheckpoint);
+        }
+    }
+
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (Exception e) {
+            log.error("Audit journal sync failed", e);
+        }
+    }
+
+    public long getCheckpoint() {
+        return checkpoint;
+    }
+
+    public int getSegmentCount() {
+        lock.lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        syncer.shutdown();
+        try {
+            syncer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException _) {
+            Thread.currentThread().interrupt();
+        }
+        sync();
+
+        lock.lock();
+        try {
+            for (var segment : segments.values()) {
+                segment.close();
+            }
+            segments.clear();
+            active = null;
+        } finally {
+            lock.unlock();
+        }
+        log.info("Audit journal closed at checkpoint {}", checkpoint);
+    }
+
+    private void rollSegment() {
+        try {
+            var path = directory.resolve(segmentName(nextSequence));
+            var channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            var buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+
+            if (active != null) {
+                active.dirty = true; // Make sure the tail reaches disk on the next sync
+            }
+            active = new Segment(path, channel, buffer);
+            segments.put(nextSequence, active);
+        } catch (IOException e) {
+            throw new AuditStorageException("Failed to create journal segment", e);
+        }
+    }
+
+    private void deleteSegmentsBelow(long sequence) {
+        List<Segment> obsolete = new ArrayList<>();
+
+        lock.lock();
+        try {
+            var iterator = segments.entrySet().iterator();
+            while (iterator.hasNext()) {
+                var segment = iterator.next().getValue();
+                if (segment == active || segment.lastSequence >= sequence) {
+                    break;
+                }
+                iterator.remove();
+                obsolete.add(segment);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        for (var segment : obsolete) {
+            segment.close();
+            try {
+                Files.deleteIfExists(segment.path);
+            } catch (IOException e) {
+                log.warn("Failed to delete journal segment {}: {}", segment.path, e.getMessage());
+            }
+        }
+    }
+
+    private List<JournalEntry> scanSegments() throws IOException {
+        List<Path> paths;
+        try (Stream<Path> files = Files.list(directory)) {
+            paths = files.filter(WriteAheadJournal::isSegment).sorted().toList();
+        }
+
+        List<JournalEntry> entries = new ArrayList<>();
+        Map<Path, Long> lastSequences = new LinkedHashMap<>();
+        nextSequence = checkpoint;
+
+        for (var path : paths) {
+            long lastSequence = readSegment(path, entries);
+            lastSequences.put(path, lastSequence);
+            nextSequence = Math.max(nextSequence, lastSequence + 1);
+        }
+
+        for (var entry : entries) {
+            unacknowledged.add(entry.sequence());
+        }
+
+        // Recovered segments are only kept until their records are acknowledged; new events go to a fresh segment
+        for (var recoveredSegment : lastSequences.entrySet()) {
+            var path = recoveredSegment.getKey();
+            long lastSequence = recoveredSegment.getValue();
+            if (lastSequence >= checkpoint) {
+                segments.put(firstSequence(path), Segment.recovered(path, lastSequence));
+            } else {
+                Files.deleteIfExists(path);
+            }
+        }
+        return entries;
+    }
+
+    private long readSegment(Path path, List<JournalEntry> entries) throws IOException {
+        long lastSequence = -1;
+
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            while (buffer.remaining() >= HEADER_BYTES) {
+                int length = buffer.getInt();
+                if (length <= 0 || length > buffer.remaining() - Integer.BYTES - Long.BYTES) {
+                    break; // End of written records, or a torn write
+                }
+
+                int checksum = buffer.getInt();
+                long sequence = buffer.getLong();
+                byte[] json = new byte[length];
+                buffer.get(json);
+
+                var crc = new CRC32C();
+                crc.update(json);
+                crc.update(ByteBuffer.allocate(Long.BYTES).putLong(0, sequence));
+                if ((int) crc.getValue() != checksum) {
+                    log.error("Corrupt record in journal segment {}, ignoring the rest of it", path);
+                    break;
+                }
+
+                lastSequence = sequence;
+                if (sequence >= checkpoint) {
+                    entries.add(new JournalEntry(sequence, objectMapper.readValue(json, AuditEvent.class)));
+                }
+            }
+        }
+        return lastSequence;
+    }
+
+    private long readCheckpoint() throws IOException {
+        var file = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        return ByteBuffer.wrap(Files.readAllBytes(file)).getLong();
+    }
+
+    private void writeCheckpoint(long sequence) {
+        var file = directory.resolve(CHECKPOINT_FILE);
+        var temp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+
+        try (var channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, sequence));
+            channel.force(true);
+        } catch (IOException e) {
+            throw new AuditStorageException("Failed to write journal checkpoint", e);
+        }
+
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new AuditStorageException("Failed to write journal checkpoint", e);
+        }
+    }
+
+    private static String segmentName(long firstSequence) {
+        return SEGMENT_PREFIX + "%016d".formatted(firstSequence) + SEGMENT_SUFFIX;
+    }
+
+    private static boolean isSegment(Path path) {
+        var name = path.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static long firstSequence(Path segment) {
+        var name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static final class Segment {
+        final Path path;
+        final FileChannel channel;
+        final MappedByteBuffer buffer;
+        volatile long lastSequence;
+        volatile boolean dirty;
+
+        Segment(Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        static Segment recovered(Path path, long lastSequence) {
+            var segment = new Segment(path, null, null);
+            segment.lastSequence = lastSequence;
+            return segment;
+        }
+
+        void close() {
+            if (channel == null) {
+                return;
+            }
+            try {
+                channel.close();
+            } catch (IOException _) {
+                // Mapping stays valid until collected; nothing else to release
+            }
+        }
+    }
+}
@@ -1,23 +1,180 @@
 package io.safeaudit.core.processing.queue;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.safeaudit.core.config.AuditProperties;
 import io.safeaudit.core.domain.AuditEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
 /**
  * Handles backpressure when audit queue is full.
+ * <ul>
+ *     <li>{@code DROP_OLDEST} evicts the head of the queue to make room</li>
+ *     <li>{@code BLOCK} waits up to {@code blockTimeoutMs} for room, then rejects</li>
+ *     <li>{@code REJECT} fails the capture immediately</li>
+ *     <li>{@code SPILL} appends to a local {@link SpillStore} that workers replay once the queue drains</li>
+ * </ul>
  *
  * @author Nelson Tanko
  * @since 1.0.0
  */
-public record BackpressureHandler(
-        AuditProperties.BackpressureStrategy strategy,
-        int threshold
-) {
+public class BackpressureHandler implements AutoCloseable {
 
     private static final Logger log = LoggerFactory.getLogger(BackpressureHandler.class);
 
+    private static final int MAX_EVICTIONS = 3;
+    private static final long BLOCK_PARK_NANOS = 100_000;
+
+    private final AuditProperties.BackpressureStrategy strategy;
+    private final int threshold;
+    private final long blockTimeoutNanos;
+    private final SpillStore spillStore;
+
+    private final Counter evictedCounter;
+    private final Counter blockedCounter;
+    private final Counter timedOutCounter;
+    private final Counter rejectedCounter;
+    private final Counter spilledCounter;
+    private final Counter replayedCounter;
+
+    public BackpressureHandler(AuditProperties.BackpressureConfig config, MeterRegistry meterRegistry) {
+        this.strategy = config.getStrategy();
+        this.threshold = config.getThreshold();
+        this.blockTimeoutNanos = config.getBlockTimeout().toNanos();
+        this.spillStore = strategy == AuditProperties.BackpressureStrategy.SPILL
+                ? new SpillStore(Path.of(config.getSpillDirectory()), config.getSpillSegmentBytes(), config.getMaxSpillBytes())
+                : null;
+
+        this.evictedCounter = counter(meterRegistry, "evicted");
+        this.blockedCounter = counter(meterRegistry, "blocked");
+        this.timedOutCounter = counter(meterRegistry, "timed_out");
+        this.rejectedCounter = counter(meterRegistry, "rejected");
+        this.spilledCounter = counter(meterRegistry, "spilled");
+        this.replayedCounter = counter(meterRegistry, "replayed");
+
+        if (spillStore != null) {
+            Gauge.builder("audit.backpressure.spill.bytes", spillStore, SpillStore::getPendingBytes)
+                    .description("Bytes of spilled events waiting to be replayed")
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+
+            Gauge.builder("audit.backpressure.spill.segments", spillStore, SpillStore::getSegmentCount)
+                    .description("Spill segment files on disk")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * @deprecated the handler now owns the queue's overflow handling and reports
+     * to a {@link MeterRegistry}; use {@link #BackpressureHandler(AuditProperties.BackpressureConfig, MeterRegistry)}
+     */
+    @Deprecated(since = "1.0.0")
+    public BackpressureHandler(AuditProperties.BackpressureStrategy strategy, int threshold) {
+        this(legacyConfig(strategy, threshold), new SimpleMeterRegistry());
+    }
+
+    private static AuditProperties.BackpressureConfig legacyConfig(AuditProperties.BackpressureStrategy strategy, int threshold) {
+        var config = new AuditProperties.BackpressureConfig();
+        config.setStrategy(strategy);
+        config.setThreshold(threshold);
+        return config;
+    }
+
+    private Counter counter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("audit.backpressure.events")
+                .description("Events handled by the backpressure strategy")
+                .tag("strategy", strategy.name())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Resolve an event the queue had no room for.
+     *
+     * @param onEvicted receives events evicted from the queue to make room
+     * @return true if the event was queued or spilled, false if it was dropped
+     * @throws IllegalStateException if the strategy rejects the event
+     */
+    boolean handle(QueuedAuditEvent queued, EventBuffer<QueuedAuditEvent> buffer, Consumer<QueuedAuditEvent> onEvicted) {
+        return switch (strategy) {
+            case DROP_OLDEST -> dropOldest(queued, buffer, onEvicted);
+            case BLOCK -> block(queued, buffer);
+            case REJECT -> reject(queued.event());
+            case SPILL -> spill(queued.event());
+        };
+    }
+
+    private boolean dropOldest(QueuedAuditEvent queued, EventBuffer<QueuedAuditEvent> buffer, Consumer<QueuedAuditEvent> onEvicted) {
+        for (int attempt = 0; attempt < MAX_EVICTIONS; attempt++) {
+            var evicted = buffer.poll();
+            if (evicted != null) {
+                evictedCounter.increment();
+                onEvicted.accept(evicted);
+                log.warn("Queue at capacity, evicted oldest event: {}", evicted.event().eventId());
+            }
+            if (buffer.offer(queued)) {
+                return true;
+            }
+        }
+
+        log.warn("Queue at capacity, event dropped: {}", queued.event().eventId());
+        return false;
+    }
+
+    private boolean block(QueuedAuditEvent queued, EventBuffer<QueuedAuditEvent> buffer) {
+        blockedCounter.increment();
+        long deadline = System.nanoTime() + blockTimeoutNanos;
+
+        while (System.nanoTime() - deadline < 0) {
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+            if (buffer.offer(queued)) {
+                return true;
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                break;
+            }
+        }
+
+        timedOutCounter.increment();
+        throw new IllegalStateException(
+                "Audit queue full, timed out waiting to enqueue event: " + queued.event().eventId()
+        );
+    }
+
+    private boolean reject(AuditEvent event) {
+        rejectedCounter.increment();
+        throw new IllegalStateException(
+                "Audit queue full, rejecting event: " + event.eventId()
+        );
+    }
+
+    private boolean spill(AuditEvent event) {
+        if (spillStore.append(event)) {
+            spilledCounter.increment();
+            return true;
+        }
+
+        rejectedCounter.increment();
+        throw new IllegalStateException(
+                "Audit queue full and spill limit reached, rejecting event: " + event.eventId()
+        );
+    }
+
+    /**
+     * Apply the strategy to an event arriving at a queue of {@code currentQueueSize}.
+     * Below the threshold this does nothing.
+     *
+     * @deprecated the queue resolves overflow through the handler itself
+     */
+    @Deprecated(since = "1.0.0")
     public void handle(AuditEvent event, int currentQueueSize) {
         if (currentQueueSize < threshold) {
             return;
@@ -25,12 +182,90 @@ public record BackpressureHandler(
 
         switch (strategy) {
             case DROP_OLDEST -> log.warn("Queue at capacity, event dropped: {}", event.eventId());
-
             case BLOCK -> log.warn("Queue at capacity, blocking caller");
+            case REJECT -> reject(event);
+            case SPILL -> spill(event);
+        }
+    }
+
+    /**
+     * Whether spilled events are waiting and the queue is below the threshold
+     * at which it is considered under pressure.
+     */
+    boolean shouldReplay(int currentQueueSize) {
+        return spillStore != null && spillStore.hasPending() && currentQueueSize < threshold;
+    }
+
+    /**
+     * Take up to {@code maxEvents} spilled events for replay, oldest first. They stay
+     * in the spill until {@link #commitReplay()} or {@link #rewindReplay()}.
+     */
+    List<AuditEvent> replay(int maxEvents) {
+        if (spillStore == null) {
+            return List.of();
+        }
+
+        var events = spillStore.read(maxEvents);
+        replayedCounter.increment(events.size());
+        return events;
+    }
+
+    /**
+     * The events of the last {@link #replay(int)} are stored; drop them from the spill.
+     */
+    void commitReplay() {
+        if (spillStore != null) {
+            spillStore.commit();
+        }
+    }
+
+    /**
+     * The events of the last {@link #replay(int)} were not all stored; keep them
+     * in the spill to be replayed again.
+     */
+    void rewindReplay() {
+        if (spillStore != null) {
+            spillStore.rewind();
+        }
+    }
+
+    /**
+     * Force spilled events to disk, so their journal entries can be released.
+     */
+    void sync() {
+        if (spillStore != null) {
+            spillStore.force();
+        }
+    }
+
+    public AuditProperties.BackpressureStrategy getStrategy() {
+        return strategy;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * @deprecated use {@link #getStrategy()}
+     */
+    @Deprecated(since = "1.0.0")
+    public AuditProperties.BackpressureStrategy strategy() {
+        return getStrategy();
+    }
+
+    /**
+     * @deprecated use {@link #getThreshold()}
+     */
+    @Deprecated(since = "1.0.0")
+    public int threshold() {
+        return getThreshold();
+    }
 
-            case REJECT -> throw new IllegalStateException(
-                    "Audit queue full, rejecting event: " + event.eventId()
-            );
+    @Override
+    public void close() {
+        if (spillStore != null) {
+            spillStore.close();
         }
     }
 }
@@ -1,19 +1,32 @@
 package io.safeaudit.core.processing.queue;
 
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.safeaudit.core.domain.AuditEvent;
-import io.safeaudit.core.spi.AuditStorage;
+import io.safeaudit.core.processing.AsynchronousProcessingPipeline;
+import io.safeaudit.core.processing.BatchResult;
+import io.safeaudit.core.processing.journal.WriteAheadJournal;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
-import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Batches audit events for efficient bulk insertion.
+ * A batch is flushed once it reaches {@code batchSize}, or by {@link #flushIfDue()}
+ * once its oldest event has waited longer than {@code batchTimeout}.
+ * <p>
+ * Storage round-trips happen outside the lock so workers can keep filling
+ * the next batch while one is being written. When a journal is present,
+ * journaled events are acknowledged once they are in storage; those that did not
+ * make it are kept for {@link #drainUnstored()} so the queue can retry them.
  *
  * @author Nelson Tanko
  * @since 1.0.0
@@ -22,58 +35,187 @@ public class BatchProcessor {
 
     private static final Logger log = LoggerFactory.getLogger(BatchProcessor.class);
 
-    private final AuditStorage storage;
+    private final AsynchronousProcessingPipeline pipeline;
+    private final WriteAheadJournal journal;
     private final int batchSize;
-    private final Duration batchTimeout;
-    private final List<AuditEvent> currentBatch;
+    private final long batchTimeoutNanos;
     private final Counter persistedCounter;
-    private Instant lastFlush;
+    private final DistributionSummary batchSizeSummary;
+    private final Timer captureLatencyTimer;
+    private final Queue<QueuedAuditEvent> unstored = new ConcurrentLinkedQueue<>();
+    private volatile long lastFailureNanos;
+    private volatile boolean lastPersistFailed;
+    private List<QueuedAuditEvent> currentBatch;
+    private long batchStartedNanos;
 
     public BatchProcessor(
-            AuditStorage storage,
+            AsynchronousProcessingPipeline pipeline,
+            int batchSize,
+            Duration batchTimeout,
+            MeterRegistry meterRegistry) {
+        this(pipeline, null, batchSize, batchTimeout, meterRegistry);
+    }
+
+    public BatchProcessor(
+            AsynchronousProcessingPipeline pipeline,
+            WriteAheadJournal journal,
             int batchSize,
             Duration batchTimeout,
             MeterRegistry meterRegistry) {
 
-        this.storage = storage;
+        this.pipeline = pipeline;
+        this.journal = journal;
         this.batchSize = batchSize;
-        this.batchTimeout = batchTimeout;
+        this.batchTimeoutNanos = batchTimeout.toNanos();
         this.currentBatch = new ArrayList<>(batchSize);
-        this.lastFlush = Instant.now();
 
         this.persistedCounter = Counter.builder("audit.events.persisted")
                 .description("Number of events persisted")
                 .register(meterRegistry);
+
+        this.batchSizeSummary = DistributionSummary.builder("audit.batch.size")
+                .description("Number of events per storage batch")
+                .register(meterRegistry);
+
+        this.captureLatencyTimer = Timer.builder("audit.capture.latency")
+                .description("End-to-end time from capture to storage commit")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Add a prepared event to the current batch.
+     */
+    public void add(AuditEvent event) {
+        addAll(List.of(QueuedAuditEvent.of(event)));
+    }
+
+    void addAll(List<QueuedAuditEvent> events) {
+        List<List<QueuedAuditEvent>> ready = new ArrayList<>();
+
+        synchronized (this) {
+            if (currentBatch.isEmpty() && !events.isEmpty()) {
+                batchStartedNanos = System.nanoTime();
+            }
+            currentBatch.addAll(events);
+
+            while (currentBatch.size() >= batchSize) {
+                ready.add(takeBatch(batchSize));
+            }
+        }
+
+        ready.forEach(this::persist);
+    }
+
+    /**
+     * Flush the current batch if its oldest event has waited past the batch timeout.
+     * Called periodically so low-traffic batches are not held indefinitely.
+     */
+    public void flushIfDue() {
+        List<QueuedAuditEvent> ready;
+
+        synchronized (this) {
+            if (currentBatch.isEmpty() || System.nanoTime() - batchStartedNanos < batchTimeoutNanos) {
+                return;
+            }
+            ready = takeBatch(currentBatch.size());
+        }
+
+        persist(ready);
     }
 
-    public synchronized void add(AuditEvent event) {
-        currentBatch.add(event);
+    /**
+     * Flush the current batch regardless of size or age.
+     */
+    public void flush() {
+        List<QueuedAuditEvent> ready;
 
-        if (shouldFlush()) {
-            flush();
+        synchronized (this) {
+            if (currentBatch.isEmpty()) {
+                return;
+            }
+            ready = takeBatch(currentBatch.size());
         }
+
+        persist(ready);
     }
 
-    private boolean shouldFlush() {
-        return currentBatch.size() >= batchSize ||
-                Duration.between(lastFlush, Instant.now()).compareTo(batchTimeout) > 0;
+    /**
+     * Persist events right away, outside the current batch.
+     */
+    BatchResult persistNow(List<QueuedAuditEvent> events) {
+        return persist(events);
     }
 
-    public synchronized void flush() {
-        if (currentBatch.isEmpty()) {
-            return;
+    /**
+     * Whether the most recent batch left any event unstored.
+     */
+    boolean isLastPersistFailed() {
+        return lastPersistFailed;
+    }
+
+    /**
+     * {@link System#nanoTime()} of the most recent batch that left an event unstored.
+     */
+    long getLastFailureNanos() {
+        return lastFailureNanos;
+    }
+
+    /**
+     * Take the journaled events that failed to store since the last call.
+     */
+    List<QueuedAuditEvent> drainUnstored() {
+        List<QueuedAuditEvent> drained = new ArrayList<>();
+        for (QueuedAuditEvent queued; (queued = unstored.poll()) != null; ) {
+            drained.add(queued);
+        }
+        return drained;
+    }
+
+    public synchronized int getPendingCount() {
+        return currentBatch.size();
+    }
+
+    private List<QueuedAuditEvent> takeBatch(int count) {
+        List<QueuedAuditEvent> batch;
+        if (count == currentBatch.size()) {
+            batch = currentBatch;
+            currentBatch = new ArrayList<>(batchSize);
+        } else {
+            var head = currentBatch.subList(0, count);
+            batch = new ArrayList<>(head);
+            head.clear();
+        }
+        batchStartedNanos = System.nanoTime();
+        return batch;
+    }
+
+    private BatchResult persist(List<QueuedAuditEvent> batch) {
+        var events = batch.stream().map(QueuedAuditEvent::event).toList();
+
+        var result = pipeline.persistBatch(events);
+        batchSizeSummary.record(events.size());
+        persistedCounter.increment(result.persisted());
+
+        lastPersistFailed = result.storedCount() < events.size();
+        if (lastPersistFailed) {
+            lastFailureNanos = System.nanoTime();
         }
 
-        try {
-            int persisted = storage.storeBatch(List.copyOf(currentBatch));
-            persistedCounter.increment(persisted);
-            log.debug("Persisted batch of {} events", persisted);
-        } catch (Exception e) {
-            log.error("Failed to persist batch of {} events", currentBatch.size(), e);
-            // Implement fallback: write to file, dead letter queue, etc.
-        } finally {
-            currentBatch.clear();
-            lastFlush = Instant.now();
+        // Events that did not reach storage stay unacknowledged until retried, or replayed on restart
+        for (int i = 0; i < batch.size(); i++) {
+            var queued = batch.get(i);
+            if (!result.isStored(i)) {
+                if (journal != null && queued.isJournaled()) {
+                    unstored.add(queued);
+                }
+                continue;
+            }
+            captureLatencyTimer.record(queued.elapsedNanos(), TimeUnit.NANOSECONDS);
+            if (journal != null && queued.isJournaled()) {
+                journal.acknowledge(queued.journalSequence());
+            }
         }
+        log.debug("Persisted {} of {} events in batch", result.persisted(), events.size());
+        return result;
     }
-}
\ No newline at end of file
+}
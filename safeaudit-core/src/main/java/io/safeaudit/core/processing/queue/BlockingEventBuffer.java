@@ -0,0 +1,55 @@
+package io.safeaudit.core.processing.queue;
+
+import java.util.Collection;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link EventBuffer} backed by an {@link ArrayBlockingQueue}.
+ * A single lock guards both ends; simple and fair, but contended under many producers.
+ *
+ * @param <E> element type
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+public class BlockingEventBuffer<E> implements EventBuffer<E> {
+
+    private final BlockingQueue<E> queue;
+    private final int capacity;
+
+    public BlockingEventBuffer(int capacity) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.capacity = capacity;
+    }
+
+    @Override
+    public boolean offer(E element) {
+        return queue.offer(element);
+    }
+
+    @Override
+    public E poll() {
+        return queue.poll();
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        return queue.poll(timeout, unit);
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> target, int maxElements) {
+        return queue.drainTo(target, maxElements);
+    }
+
+    @Override
+    public int size() {
+        return queue.size();
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+}
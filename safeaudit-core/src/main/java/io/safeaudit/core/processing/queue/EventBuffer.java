@@ -0,0 +1,52 @@
+package io.safeaudit.core.processing.queue;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded hand-off buffer between capturing threads and queue workers.
+ * Only the operations the audit queue needs; implementations must be safe
+ * for concurrent producers and consumers.
+ *
+ * @param <E> element type
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+public interface EventBuffer<E> {
+
+    /**
+     * Insert an element if space is available.
+     *
+     * @return false if the buffer is full
+     */
+    boolean offer(E element);
+
+    /**
+     * Remove the head element without waiting.
+     *
+     * @return the head, or null if the buffer is empty
+     */
+    E poll();
+
+    /**
+     * Remove the head element, waiting up to the given timeout for one to arrive.
+     *
+     * @return the head, or null if the timeout elapsed
+     */
+    E poll(long timeout, TimeUnit unit) throws InterruptedException;
+
+    /**
+     * Move up to {@code maxElements} available elements into the target collection.
+     *
+     * @return number of elements transferred
+     */
+    int drainTo(Collection<? super E> target, int maxElements);
+
+    int size();
+
+    int capacity();
+
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+}
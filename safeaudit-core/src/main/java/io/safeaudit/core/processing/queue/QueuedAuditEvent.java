@@ -0,0 +1,45 @@
+package io.safeaudit.core.processing.queue;
+
+import io.safeaudit.core.domain.AuditEvent;
+import io.safeaudit.core.processing.journal.WriteAheadJournal;
+
+/**
+ * Queue entry carrying the time an event was handed off by the capturing thread,
+ * and its journal sequence when the write-ahead journal is enabled. {@code original}
+ * is the event as captured, kept so a journaled event that failed to store can be
+ * prepared again; {@code retries} counts those attempts.
+ *
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+record QueuedAuditEvent(AuditEvent event, long enqueuedAtNanos, long journalSequence, AuditEvent original, int retries) {
+
+    static final long NOT_JOURNALED = WriteAheadJournal.NOT_JOURNALED;
+
+    static QueuedAuditEvent of(AuditEvent event) {
+        return of(event, NOT_JOURNALED);
+    }
+
+    static QueuedAuditEvent of(AuditEvent event, long journalSequence) {
+        return new QueuedAuditEvent(event, System.nanoTime(), journalSequence, event, 0);
+    }
+
+    QueuedAuditEvent withEvent(AuditEvent processed) {
+        return new QueuedAuditEvent(processed, enqueuedAtNanos, journalSequence, original, retries);
+    }
+
+    /**
+     * The captured event again, to be prepared anew after a failed store.
+     */
+    QueuedAuditEvent retry() {
+        return new QueuedAuditEvent(original, enqueuedAtNanos, journalSequence, original, retries + 1);
+    }
+
+    boolean isJournaled() {
+        return journalSequence != NOT_JOURNALED;
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - enqueuedAtNanos;
+    }
+}
@@ -0,0 +1,233 @@
+package io.safeaudit.core.processing.queue;
+
+import io.safeaudit.core.config.AuditProperties;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lock-free, bounded multi-producer/multi-consumer ring buffer.
+ * <p>
+ * Each slot carries a sequence number so producers and consumers claim slots
+ * with a single CAS on their own index and never share a lock. The producer and
+ * consumer indexes are padded onto separate cache lines. {@link #drainTo} claims
+ * a run of published slots with one CAS.
+ * <p>
+ * Capacity is rounded up to the next power of two. Idle consumers wait according
+ * to the configured {@link AuditProperties.WaitStrategy}.
+ *
+ * @param <E> element type
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+public final class RingEventBuffer<E> extends RingEventBufferConsumerPad implements EventBuffer<E> {
+
+    private static final VarHandle PRODUCER_INDEX;
+    private static final VarHandle CONSUMER_INDEX;
+    private static final VarHandle SEQUENCE = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle ELEMENT = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 200;
+    private static final long PARK_NANOS = 100_000;
+
+    static {
+        try {
+            var lookup = MethodHandles.lookup();
+            PRODUCER_INDEX = lookup.findVarHandle(RingEventBufferProducerIndex.class, "producerIndex", long.class);
+            CONSUMER_INDEX = lookup.findVarHandle(RingEventBufferConsumerIndex.class, "consumerIndex", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Object[] buffer;
+    private final long[] sequences;
+    private final int mask;
+    private final AuditProperties.WaitStrategy waitStrategy;
+
+    public RingEventBuffer(int requestedCapacity, AuditProperties.WaitStrategy waitStrategy) {
+        if (requestedCapacity < 2 || requestedCapacity > (1 << 30)) {
+            throw new IllegalArgumentException("Ring capacity must be between 2 and 2^30: " + requestedCapacity);
+        }
+
+        int capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.buffer = new Object[capacity];
+        this.sequences = new long[capacity];
+        this.mask = capacity - 1;
+        this.waitStrategy = waitStrategy;
+
+        for (int i = 0; i < capacity; i++) {
+            sequences[i] = i;
+        }
+    }
+
+    @Override
+    public boolean offer(E element) {
+        if (element == null) {
+            throw new NullPointerException("element");
+        }
+
+        long position = (long) PRODUCER_INDEX.getVolatile(this);
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = (long) SEQUENCE.getAcquire(sequences, index) - position;
+
+            if (difference == 0) {
+                if (PRODUCER_INDEX.compareAndSet(this, position, position + 1)) {
+                    ELEMENT.set(buffer, index, element);
+                    SEQUENCE.setRelease(sequences, index, position + 1);
+                    return true;
+                }
+            } else if (difference < 0) {
+                return false; // Slot still holds an unconsumed element from the previous lap
+            }
+            position = (long) PRODUCER_INDEX.getVolatile(this);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long position = (long) CONSUMER_INDEX.getVolatile(this);
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = (long) SEQUENCE.getAcquire(sequences, index) - (position + 1);
+
+            if (difference == 0) {
+                if (CONSUMER_INDEX.compareAndSet(this, position, position + 1)) {
+                    return (E) release(index, position);
+                }
+            } else if (difference < 0) {
+                return null; // Not yet published
+            }
+            position = (long) CONSUMER_INDEX.getVolatile(this);
+        }
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        E element = poll();
+        if (element != null) {
+            return element;
+        }
+
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int idleCount = 0;
+
+        while ((element = poll()) == null) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                return null;
+            }
+            idle(idleCount++);
+        }
+        return element;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public int drainTo(Collection<? super E> target, int maxElements) {
+        while (true) {
+            long position = (long) CONSUMER_INDEX.getVolatile(this);
+
+            int available = 0;
+            while (available < maxElements) {
+                int index = (int) ((position + available) & mask);
+                if ((long) SEQUENCE.getAcquire(sequences, index) != position + available + 1) {
+                    break;
+                }
+                available++;
+            }
+
+            if (available == 0) {
+                return 0;
+            }
+
+            // Claimed slots stay published until released, so one CAS covers the whole run
+            if (CONSUMER_INDEX.compareAndSet(this, position, position + available)) {
+                for (int i = 0; i < available; i++) {
+                    long slot = position + i;
+                    target.add((E) release((int) (slot & mask), slot));
+                }
+                return available;
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        long consumer = (long) CONSUMER_INDEX.getVolatile(this);
+        long producer = (long) PRODUCER_INDEX.getVolatile(this);
+        return Math.clamp(producer - consumer, 0, buffer.length);
+    }
+
+    @Override
+    public int capacity() {
+        return buffer.length;
+    }
+
+    private Object release(int index, long position) {
+        Object element = ELEMENT.get(buffer, index);
+        ELEMENT.set(buffer, index, null);
+        SEQUENCE.setRelease(sequences, index, position + buffer.length);
+        return element;
+    }
+
+    private void idle(int idleCount) {
+        switch (waitStrategy) {
+            case SPIN -> Thread.onSpinWait();
+
+            case YIELD -> {
+                if (idleCount < SPIN_TRIES) {
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+            }
+
+            case PARK -> {
+                if (idleCount < SPIN_TRIES) {
+                    Thread.onSpinWait();
+                } else if (idleCount < YIELD_TRIES) {
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(PARK_NANOS);
+                }
+            }
+        }
+    }
+}
+
+/*
+ * Padding hierarchy keeps the producer and consumer indexes on separate cache lines
+ * (128 bytes either side to also defeat adjacent-line prefetch).
+ */
+
+abstract class RingEventBufferPad {
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+    long p08, p09, p10, p11, p12, p13, p14, p15;
+}
+
+abstract class RingEventBufferProducerIndex extends RingEventBufferPad {
+    volatile long producerIndex;
+}
+
+abstract class RingEventBufferProducerPad extends RingEventBufferProducerIndex {
+    long p16, p17, p18, p19, p20, p21, p22, p23;
+    long p24, p25, p26, p27, p28, p29, p30, p31;
+}
+
+abstract class RingEventBufferConsumerIndex extends RingEventBufferProducerPad {
+    volatile long consumerIndex;
+}
+
+abstract class RingEventBufferConsumerPad extends RingEventBufferConsumerIndex {
+    long p32, p33, p34, p35, p36, p37, p38, p39;
+    long p40, p41, p42, p43, p44, p45, p46, p47;
+}
@@ -0,0 +1,457 @@
+package io.safeaudit.core.processing.queue;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.safeaudit.core.domain.AuditEvent;
+import io.safeaudit.core.exception.AuditStorageException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only segment files holding events that overflowed the audit queue.
+ * <p>
+ * Records are written as {@code [length][crc32c][json]} to {@code spill-<n>.seg}
+ * segments that roll at {@code segmentBytes}. Appends are only buffered by the OS
+ * until {@link #force()}, which callers batch like a group fsync. Segments are read
+ * back oldest first. Events handed out by {@link #read(int)} stay on disk until the
+ * caller {@linkplain #commit() commits} them once stored, or {@linkplain #rewind()
+ * rewinds} to read them again; only then are fully replayed segments deleted. The
+ * committed position is kept in {@code spill.offset}, so segments left over from a
+ * previous run are picked up on startup from where replay stopped.
+ * <p>
+ * The store holds a lock on {@code spill.lock} for its lifetime, so two processes
+ * never share a directory, and creates it and its segments readable by the owner
+ * only where the file system supports POSIX permissions.
+ *
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+public class SpillStore implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(SpillStore.class);
+
+    private static final String SEGMENT_PREFIX = "spill-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String LOCK_FILE = "spill.lock";
+    private static final String OFFSET_FILE = "spill.offset";
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+    private static final Set<PosixFilePermission> OWNER_ONLY_DIRECTORY = PosixFilePermissions.fromString("rwx------");
+    private static final Set<PosixFilePermission> OWNER_ONLY_FILE = PosixFilePermissions.fromString("rw-------");
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final long maxBytes;
+    private final ObjectMapper objectMapper;
+    private final Deque<Path> segments = new ArrayDeque<>();
+    private final Deque<Path> replayed = new ArrayDeque<>();
+    private final AtomicLong pendingBytes = new AtomicLong();
+    private final boolean posix;
+    private final FileChannel lockChannel;
+
+    private long nextSegmentId;
+    private FileChannel writer;
+    private long writerSize;
+    private boolean unforced;
+    private FileChannel reader;
+    private long readPosition;
+    private boolean readerCorrupt;
+    private long committedPosition;
+    private volatile long consumedBytes;
+    private boolean inFlight;
+
+    public SpillStore(Path directory, long segmentBytes, long maxBytes) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.maxBytes = maxBytes;
+        this.objectMapper = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+
+        this.posix = directory.getFileSystem().supportedFileAttributeViews().contains("posix");
+
+        try {
+            Files.createDirectories(directory, ownerOnly(OWNER_ONLY_DIRECTORY));
+            if (posix) {
+                Files.setPosixFilePermissions(directory, OWNER_ONLY_DIRECTORY);
+            }
+            this.lockChannel = lock(directory.resolve(LOCK_FILE));
+        } catch (IOException e) {
+            throw new AuditStorageException("Cannot open spill directory " + directory, e);
+        }
+
+        try {
+            recoverSegments();
+        } catch (IOException e) {
+            try {
+                lockChannel.close();
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw new AuditStorageException("Cannot open spill directory " + directory, e);
+        }
+    }
+
+    private FileChannel lock(Path lockFile) throws IOException {
+        var channel = FileChannel.open(lockFile,
+                Set.of(StandardOpenOption.CREATE, StandardOpenOption.WRITE), ownerOnly(OWNER_ONLY_FILE));
+        try {
+            if (channel.tryLock() != null) {
+                return channel;
+            }
+        } catch (OverlappingFileLockException _) {
+            // Held by another store in this JVM
+        }
+        channel.close();
+        throw new AuditStorageException("Spill directory " + lockFile.getParent() + " is in use by another process");
+    }
+
+    private FileAttribute<?>[] ownerOnly(Set<PosixFilePermission> permissions) {
+        return posix
+                ? new FileAttribute<?>[]{PosixFilePermissions.asFileAttribute(permissions)}
+                : new FileAttribute<?>[0];
+    }
+
+    private void recoverSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(SpillStore::isSegment)
+                    .sorted()
+                    .forEach(segments::addLast);
+        }
+
+        for (var segment : segments) {
+            pendingBytes.addAndGet(Files.size(segment));
+            nextSegmentId = Math.max(nextSegmentId, segmentId(segment) + 1);
+        }
+
+        var offsetFile = directory.resolve(OFFSET_FILE);
+        if (!segments.isEmpty() && Files.exists(offsetFile)) {
+            var offset = ByteBuffer.wrap(Files.readAllBytes(offsetFile));
+            if (offset.getLong() == segmentId(segments.peekFirst())) {
+                committedPosition = offset.getLong();
+                readPosition = committedPosition;
+                pendingBytes.addAndGet(-committedPosition);
+            }
+        }
+
+        if (!segments.isEmpty()) {
+            log.warn("Found {} spill segment(s) ({} bytes) from a previous run, they will be replayed",
+                    segments.size(), pendingBytes.get());
+        }
+    }
+
+    /**
+     * Append an event to the current segment.
+     *
+     * @return false if the spill has reached {@code maxBytes}
+     */
+    public synchronized boolean append(AuditEvent event) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(event);
+            int recordBytes = HEADER_BYTES + json.length;
+
+            if (pendingBytes.get() + recordBytes > maxBytes) {
+                return false;
+            }
+
+            if (writer == null || writerSize + recordBytes > segmentBytes) {
+                rollWriter();
+            }
+
+            var crc = new CRC32C();
+            crc.update(json);
+
+            var record = ByteBuffer.allocate(recordBytes)
+                    .putInt(json.length)
+                    .putInt((int) crc.getValue())
+                    .put(json)
+                    .flip();
+            while (record.hasRemaining()) {
+                writer.write(record);
+            }
+
+            writerSize += recordBytes;
+            unforced = true;
+            pendingBytes.addAndGet(recordBytes);
+            return true;
+        } catch (IOException e) {
+            throw new AuditStorageException("Failed to spill event " + event.eventId(), e);
+        }
+    }
+
+    /**
+     * Force appended records to disk. Records appended before this returns
+     * survive a power failure.
+     */
+    public synchronized void force() {
+        if (writer == null || !unforced) {
+            return;
+        }
+        try {
+            writer.force(false);
+            unforced = false;
+        } catch (IOException e) {
+            throw new AuditStorageException("Failed to force spill segment to disk", e);
+        }
+    }
+
+    /**
+     * Read up to {@code maxEvents} spilled events, oldest first. The events stay in
+     * the spill until {@link #commit()}; until then, or {@link #rewind()}, further
+     * reads return nothing.
+     */
+    public synchronized List<AuditEvent> read(int maxEvents) {
+        if (inFlight) {
+            return List.of();
+        }
+
+        List<AuditEvent> events = new ArrayList<>(Math.min(maxEvents, 256));
+
+        try {
+            while (events.size() < maxEvents && !segments.isEmpty()) {
+                if (reader == null) {
+                    reader = FileChannel.open(segments.peekFirst(), StandardOpenOption.READ);
+                    readerCorrupt = false;
+                }
+
+                var event = readRecord();
+                if (event != null) {
+                    events.add(event);
+                } else if (!finishSegment()) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            rewind();
+            throw new AuditStorageException("Failed to read spilled events", e);
+        }
+
+        inFlight = true;
+        if (events.isEmpty()) {
+            commit(); // Only skipped torn or corrupt records
+        }
+        return events;
+    }
+
+    /**
+     * Drop the events handed out by the last {@link #read(int)} now that they are
+     * stored, deleting segments that were read to the end.
+     */
+    public synchronized void commit() {
+        if (!inFlight) {
+            return;
+        }
+        inFlight = false;
+        if (consumedBytes == 0 && replayed.isEmpty()) {
+            return;
+        }
+
+        for (var segment : replayed) {
+            try {
+                Files.deleteIfExists(segment);
+            } catch (IOException e) {
+                log.warn("Failed to delete spill segment {}: {}", segment, e.getMessage());
+            }
+        }
+        replayed.clear();
+
+        committedPosition = readPosition;
+        pendingBytes.addAndGet(-consumedBytes);
+        consumedBytes = 0;
+        writeOffset();
+    }
+
+    /**
+     * Return the events handed out by the last {@link #read(int)} to the spill,
+     * so the next read starts with them again.
+     */
+    public synchronized void rewind() {
+        if (reader != null) {
+            try {
+                reader.close();
+            } catch (IOException _) {
+                // Reopened on the next read
+            }
+            reader = null;
+        }
+
+        while (!replayed.isEmpty()) {
+            segments.addFirst(replayed.pollLast());
+        }
+        readPosition = committedPosition;
+        consumedBytes = 0;
+        inFlight = false;
+    }
+
+    private void writeOffset() {
+        var file = directory.resolve(OFFSET_FILE);
+        var temp = directory.resolve(OFFSET_FILE + ".tmp");
+
+        try {
+            if (segments.isEmpty()) {
+                Files.deleteIfExists(file);
+                return;
+            }
+            try (var channel = FileChannel.open(temp,
+                    Set.of(StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING),
+                    ownerOnly(OWNER_ONLY_FILE))) {
+                channel.write(ByteBuffer.allocate(Long.BYTES * 2)
+                        .putLong(segmentId(segments.peekFirst()))
+                        .putLong(committedPosition)
+                        .flip());
+                channel.force(false);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // A stale offset only means already stored events are read, and checked, again
+            log.warn("Failed to record spill replay offset: {}", e.getMessage());
+        }
+    }
+
+    private AuditEvent readRecord() throws IOException {
+        var header = ByteBuffer.allocate(HEADER_BYTES);
+        if (reader.read(header, readPosition) < HEADER_BYTES) {
+            return null;
+        }
+        header.flip();
+
+        int length = header.getInt();
+        int checksum = header.getInt();
+
+        if (length <= 0 || readPosition + HEADER_BYTES + length > reader.size()) {
+            return null; // Torn write from a crash, or nothing more to read
+        }
+
+        var json = ByteBuffer.allocate(length);
+        while (json.hasRemaining()) {
+            reader.read(json, readPosition + HEADER_BYTES + json.position());
+        }
+
+        var crc = new CRC32C();
+        crc.update(json.array());
+        if ((int) crc.getValue() != checksum) {
+            log.error("Corrupt record in spill segment {} at offset {}, skipping rest of segment",
+                    segments.peekFirst(), readPosition);
+            readerCorrupt = true;
+            return null;
+        }
+
+        readPosition += HEADER_BYTES + length;
+        consumedBytes += HEADER_BYTES + length;
+        return objectMapper.readValue(json.array(), AuditEvent.class);
+    }
+
+    /**
+     * Move the segment being read to the replayed segments once it holds no more records.
+     *
+     * @return true if another segment may still hold records
+     */
+    private boolean finishSegment() throws IOException {
+        var segment = segments.peekFirst();
+        boolean active = writer != null && segments.size() == 1;
+
+        if (active && readPosition < writerSize && !readerCorrupt) {
+            return false; // Tail of the active segment is still being written
+        }
+
+        reader.close();
+        reader = null;
+
+        if (active) {
+            writer.close();
+            writer = null;
+            writerSize = 0;
+            unforced = false;
+        }
+
+        consumedBytes += Files.size(segment) - readPosition;
+        replayed.addLast(segments.pollFirst());
+        readPosition = 0;
+
+        return !segments.isEmpty();
+    }
+
+    private void rollWriter() throws IOException {
+        if (writer != null) {
+            writer.force(false);
+            writer.close();
+            unforced = false;
+        }
+
+        var segment = directory.resolve(SEGMENT_PREFIX + "%016d".formatted(nextSegmentId++) + SEGMENT_SUFFIX);
+        writer = FileChannel.open(segment,
+                Set.of(StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE), ownerOnly(OWNER_ONLY_FILE));
+        writerSize = 0;
+        segments.addLast(segment);
+    }
+
+    /**
+     * Whether events are waiting that have not been handed out by {@link #read(int)}.
+     */
+    public boolean hasPending() {
+        return pendingBytes.get() - consumedBytes > 0;
+    }
+
+    public long getPendingBytes() {
+        return pendingBytes.get();
+    }
+
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            if (reader != null) {
+                reader.close();
+                reader = null;
+            }
+            if (writer != null) {
+                writer.force(false);
+                writer.close();
+                writer = null;
+            }
+            if (lockChannel.isOpen()) {
+                lockChannel.close(); // Releases the lock
+            }
+        } catch (IOException e) {
+            log.warn("Failed to close spill segments: {}", e.getMessage());
+        }
+    }
+
+    private static boolean isSegment(Path path) {
+        var name = path.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static long segmentId(Path segment) {
+        var name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
@@ -3,18 +3,39 @@ package io.safeaudit.core.processing.queue;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.safeaudit.core.config.AuditProperties;
 import io.safeaudit.core.domain.AuditEvent;
 import io.safeaudit.core.processing.AsynchronousProcessingPipeline;
+import io.safeaudit.core.processing.journal.JournalEntry;
+import io.safeaudit.core.processing.journal.WriteAheadJournal;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Async queue using virtual threads (Java 21+) for processing audit events.
  * Falls back to platform threads if virtual threads not available.
+ * <p>
+ * Capturing threads only enqueue a snapshot of the event; workers drain up to
+ * {@code batchSize} events at a time, run the remaining processors and hand them
+ * to a {@link BatchProcessor}. A flusher thread enforces {@code batchTimeoutMs}
+ * so partial batches are written even when traffic stops.
+ * <p>
+ * With a {@link WriteAheadJournal}, events are journaled before they are queued
+ * and acknowledged once stored; events left unacknowledged by a previous run
+ * are replayed when the queue starts. Spilled events are acknowledged once the
+ * flusher has forced the spill to disk. Spilled events are replayed one batch at a
+ * time and only dropped from the spill once that batch is stored; while storage is
+ * failing, replay backs off. Journaled events that fail to store are
+ * prepared again from their captured form after an exponential backoff, and
+ * dead-lettered by the journal once its retries are used up.
  *
  * @author Nelson Tanko
  * @since 1.0.0
@@ -23,43 +44,91 @@ public class VirtualThreadAuditQueue {
 
     private static final Logger log = LoggerFactory.getLogger(VirtualThreadAuditQueue.class);
 
-    private final BlockingQueue<AuditEvent> queue;
+    private static final long RETRY_BASE_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long RETRY_MAX_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final EventBuffer<QueuedAuditEvent> queue;
     private final ExecutorService executor;
+    private final ScheduledExecutorService flusher;
     private final AsynchronousProcessingPipeline pipeline;
+    private final BatchProcessor batchProcessor;
+    private final WriteAheadJournal journal;
+    private final Thread journalReplayer;
+    private final int batchSize;
     private final BackpressureHandler backpressureHandler;
     private final AtomicBoolean running = new AtomicBoolean(true);
+    private final Queue<QueuedAuditEvent> spilledUnsynced = new ConcurrentLinkedQueue<>();
+    private final List<PendingRetry> retries = new ArrayList<>(); // Flusher thread only
+    private final AtomicBoolean replaying = new AtomicBoolean();
+    // Replayed events that may already be stored: the first batch after a restart or a failed replay
+    private volatile boolean checkSpilledStored = true;
+    private int replayFailures;
 
     private final Counter enqueuedCounter;
     private final Counter droppedCounter;
+    private final Counter failedCounter;
+    private final Timer queueWaitTimer;
+
+    public VirtualThreadAuditQueue(
+            AuditProperties.AsyncConfig config,
+            AsynchronousProcessingPipeline pipeline,
+            BackpressureHandler backpressureHandler,
+            MeterRegistry meterRegistry) {
+        this(config, pipeline, backpressureHandler, null, meterRegistry);
+    }
 
     public VirtualThreadAuditQueue(
             AuditProperties.AsyncConfig config,
             AsynchronousProcessingPipeline pipeline,
             BackpressureHandler backpressureHandler,
+            WriteAheadJournal journal,
             MeterRegistry meterRegistry) {
 
-        this.queue = new ArrayBlockingQueue<>(config.getQueueCapacity());
+        this.queue = createBuffer(config);
+        this.journal = journal;
         this.pipeline = pipeline;
         this.backpressureHandler = backpressureHandler;
+        this.batchSize = config.getBatchSize();
+
+        var batchTimeout = config.getBatchTimeout();
+        this.batchProcessor = new BatchProcessor(pipeline, journal, batchSize, batchTimeout, meterRegistry);
 
         this.executor = createExecutor(config.getWorkerThreads());
+        this.flusher = createFlusher(batchTimeout);
 
         this.enqueuedCounter = Counter.builder("audit.queue.enqueued")
                 .description("Events enqueued for processing")
                 .register(meterRegistry);
 
         this.droppedCounter = Counter.builder("audit.queue.dropped")
-                .description("Events dropped due to backpressure")
+                .description("Events not accepted due to backpressure")
+                .register(meterRegistry);
+
+        this.failedCounter = Counter.builder("audit.queue.failed")
+                .description("Events discarded because they could not be prepared")
                 .register(meterRegistry);
 
-        Gauge.builder("audit.queue.size", queue, BlockingQueue::size)
+        this.queueWaitTimer = Timer.builder("audit.queue.wait.time")
+                .description("Time events spend in the queue before a worker picks them up")
+                .register(meterRegistry);
+
+        Gauge.builder("audit.queue.size", queue, EventBuffer::size)
                 .description("Current queue size")
                 .register(meterRegistry);
 
         startWorkers(config.getWorkerThreads());
 
-        log.info("Audit queue started with {} workers, capacity {}",
-                config.getWorkerThreads(), config.getQueueCapacity());
+        this.journalReplayer = journal != null ? startJournalReplay() : null;
+
+        log.info("Audit queue started with {} workers, {} capacity {}, batch size {}",
+                config.getWorkerThreads(), config.getQueueType(), queue.capacity(), batchSize);
+    }
+
+    private static EventBuffer<QueuedAuditEvent> createBuffer(AuditProperties.AsyncConfig config) {
+        return switch (config.getQueueType()) {
+            case BLOCKING -> new BlockingEventBuffer<>(config.getQueueCapacity());
+            case RING_BUFFER -> new RingEventBuffer<>(config.getQueueCapacity(), config.getWaitStrategy());
+        };
     }
 
     private ExecutorService createExecutor(int workers) {
@@ -75,6 +144,100 @@ public class VirtualThreadAuditQueue {
         }
     }
 
+    private ScheduledExecutorService createFlusher(Duration batchTimeout) {
+        var scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "audit-batch-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long periodMs = Math.max(batchTimeout.toMillis() / 2, 1);
+        scheduler.scheduleAtFixedRate(this::flushIfDue, periodMs, periodMs, TimeUnit.MILLISECONDS);
+        return scheduler;
+    }
+
+    private void flushIfDue() {
+        try {
+            batchProcessor.flushIfDue();
+        } catch (Exception e) {
+            log.error("Error flushing audit batch", e);
+        }
+
+        try {
+            releaseSpilled();
+        } catch (Exception e) {
+            log.error("Error syncing spilled audit events", e);
+        }
+
+        if (journal != null) {
+            try {
+                retryUnstored();
+            } catch (Exception e) {
+                log.error("Error retrying unstored audit events", e);
+            }
+        }
+    }
+
+    /**
+     * Schedule journaled events that failed to store for another attempt, or
+     * dead-letter them once out of retries, then requeue the ones that are due.
+     */
+    private void retryUnstored() {
+        long now = System.nanoTime();
+
+        for (var queued : batchProcessor.drainUnstored()) {
+            if (queued.retries() >= journal.getMaxRetries()) {
+                try {
+                    journal.deadLetter(queued.journalSequence(), queued.original());
+                } catch (RuntimeException e) {
+                    log.error("Event {} stays journaled for replay on restart: {}",
+                            queued.original().eventId(), e.getMessage());
+                }
+                continue;
+            }
+            long delay = Math.min(RETRY_BASE_NANOS << Math.min(queued.retries(), 6), RETRY_MAX_NANOS);
+            retries.add(new PendingRetry(queued.retry(), now + delay));
+        }
+
+        var iterator = retries.iterator();
+        while (iterator.hasNext()) {
+            var pending = iterator.next();
+            if (now - pending.dueNanos() < 0) {
+                continue;
+            }
+            // A failure reported after the commit went through must not give the event a second chain link
+            if (pipeline.isStored(pending.queued().event())) {
+                release(pending.queued());
+            } else if (!queue.offer(pending.queued())) {
+                break; // Queue is full, try again on the next tick
+            }
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Force the spill to disk, then release the journal entries of the events
+     * spilled before it. One force covers every event spilled since the last one.
+     */
+    private void releaseSpilled() {
+        if (spilledUnsynced.isEmpty()) {
+            return;
+        }
+
+        List<QueuedAuditEvent> spilled = new ArrayList<>();
+        for (QueuedAuditEvent queued; (queued = spilledUnsynced.poll()) != null; ) {
+            spilled.add(queued);
+        }
+
+        try {
+            backpressureHandler.sync();
+        } catch (RuntimeException e) {
+            spilledUnsynced.addAll(spilled);
+            throw e;
+        }
+        spilled.forEach(this::release);
+    }
+
     private void startWorkers(int count) {
         for (int i = 0; i < count; i++) {
             executor.submit(this::processLoop);
@@ -82,33 +245,198 @@ public class VirtualThreadAuditQueue {
     }
 
     private void processLoop() {
+        List<QueuedAuditEvent> drained = new ArrayList<>(batchSize);
+
         while (running.get() || !queue.isEmpty()) {
             try {
-                AuditEvent event = queue.poll(1, TimeUnit.SECONDS);
-                if (event != null) {
-                    pipeline.process(event);
+                QueuedAuditEvent first = queue.poll(1, TimeUnit.SECONDS);
+                if (first != null) {
+                    drained.add(first);
+                    queue.drainTo(drained, batchSize - 1);
+                    process(drained);
                 }
+
+                replaySpilled();
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
                 break;
             } catch (Exception e) {
-                log.error("Error processing audit event", e);
+                log.error("Error processing audit events", e);
+            } finally {
+                drained.clear();
             }
         }
     }
 
+    private void process(List<QueuedAuditEvent> drained) {
+        List<QueuedAuditEvent> prepared = new ArrayList<>(drained.size());
+
+        for (var queued : drained) {
+            queueWaitTimer.record(queued.elapsedNanos(), TimeUnit.NANOSECONDS);
+            try {
+                prepared.add(queued.withEvent(pipeline.prepare(queued.event())));
+            } catch (Exception e) {
+                // Preparing again would fail the same way, so do not leave it to be replayed
+                log.error("Discarding queued event {} that failed to prepare: {}", queued.event().eventId(), e.getMessage());
+                release(queued);
+                failedCounter.increment();
+            }
+        }
+
+        batchProcessor.addAll(prepared);
+    }
+
+    private Thread startJournalReplay() {
+        var thread = new Thread(this::replayJournal, "audit-journal-replay");
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private void replayJournal() {
+        var entries = journal.recover();
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        log.info("Replaying {} journaled events from a previous run", entries.size());
+        try {
+            for (int from = 0; from < entries.size(); from += batchSize) {
+                var chunk = entries.subList(from, Math.min(from + batchSize, entries.size()));
+                process(chunk.stream()
+                        .filter(this::notYetStored)
+                        .map(entry -> QueuedAuditEvent.of(entry.event(), entry.sequence()))
+                        .toList());
+            }
+        } catch (Exception e) {
+            log.error("Journal replay failed, remaining events will be replayed on next start", e);
+        }
+    }
+
+    /**
+     * Events committed before the crash but after the last checkpoint are acknowledged
+     * without being prepared again, which would give them a second chain link.
+     */
+    private boolean notYetStored(JournalEntry entry) {
+        if (pipeline.isStored(entry.event())) {
+            journal.acknowledge(entry.sequence());
+            return false;
+        }
+        return true;
+    }
+
+    private void replaySpilled() {
+        if (!backpressureHandler.shouldReplay(queue.size()) || storageFailing()) {
+            return;
+        }
+        if (!replaying.compareAndSet(false, true)) {
+            return; // Another worker is replaying
+        }
+
+        try {
+            var spilled = backpressureHandler.replay(batchSize);
+            if (spilled.isEmpty()) {
+                return;
+            }
+
+            log.debug("Replaying {} spilled events", spilled.size());
+            boolean stored = false;
+            try {
+                stored = persistSpilled(spilled);
+            } finally {
+                if (stored) {
+                    backpressureHandler.commitReplay();
+                    checkSpilledStored = false;
+                    replayFailures = 0;
+                } else {
+                    backpressureHandler.rewindReplay();
+                    checkSpilledStored = true;
+                    replayFailures++;
+                }
+            }
+        } finally {
+            replaying.set(false);
+        }
+    }
+
+    /**
+     * Whether the last batch failed to store recently enough that replaying now
+     * would only fail too. The wait doubles with each failed replay, up to a minute.
+     */
+    private boolean storageFailing() {
+        if (!batchProcessor.isLastPersistFailed()) {
+            return false;
+        }
+        long backoff = Math.min(RETRY_BASE_NANOS << Math.min(replayFailures, 6), RETRY_MAX_NANOS);
+        return System.nanoTime() - batchProcessor.getLastFailureNanos() < backoff;
+    }
+
+    /**
+     * Prepare and store a replayed batch right away, so the spill is only
+     * advanced past events that are in storage.
+     *
+     * @return true if every event is stored or was discarded as unpreparable
+     */
+    private boolean persistSpilled(List<AuditEvent> spilled) {
+        List<QueuedAuditEvent> prepared = new ArrayList<>(spilled.size());
+
+        for (var event : spilled) {
+            // Preparing an event that is already stored would give it a second chain link
+            if (checkSpilledStored && pipeline.isStored(event)) {
+                continue;
+            }
+            try {
+                prepared.add(QueuedAuditEvent.of(pipeline.prepare(event)));
+            } catch (Exception e) {
+                log.error("Discarding spilled event {} that failed to prepare: {}", event.eventId(), e.getMessage());
+                failedCounter.increment();
+            }
+        }
+
+        if (prepared.isEmpty()) {
+            return true;
+        }
+        return batchProcessor.persistNow(prepared).storedCount() == prepared.size();
+    }
+
+    /**
+     * Hand an event off to the workers. The event should already be
+     * {@linkplain AsynchronousProcessingPipeline#snapshot(AuditEvent) snapshotted}.
+     */
     public void enqueue(AuditEvent event) {
         if (!running.get()) {
             throw new IllegalStateException("Queue is shut down");
         }
 
-        boolean added = queue.offer(event);
+        var queued = journal != null
+                ? QueuedAuditEvent.of(event, journal.append(event))
+                : QueuedAuditEvent.of(event);
 
-        if (added) {
+        if (queue.offer(queued)) {
             enqueuedCounter.increment();
-        } else {
-            droppedCounter.increment();
-            backpressureHandler.handle(event, queue.size());
+            return;
+        }
+
+        boolean accepted = false;
+        try {
+            accepted = backpressureHandler.handle(queued, queue, this::release);
+        } finally {
+            if (!accepted) {
+                release(queued);
+                droppedCounter.increment();
+            } else if (backpressureHandler.getStrategy() == AuditProperties.BackpressureStrategy.SPILL && queued.isJournaled()) {
+                // Spilled events live on in the spill file once it reaches disk
+                spilledUnsynced.add(queued);
+            }
+        }
+    }
+
+    /**
+     * Acknowledge a journaled event that left the pipeline without being stored.
+     */
+    private void release(QueuedAuditEvent queued) {
+        if (journal != null && queued.isJournaled()) {
+            journal.acknowledge(queued.journalSequence());
         }
     }
 
@@ -129,6 +457,22 @@ public class VirtualThreadAuditQueue {
             Thread.currentThread().interrupt();
         }
 
+        if (journalReplayer != null) {
+            try {
+                journalReplayer.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException _) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        flusher.shutdownNow();
+        batchProcessor.flush();
+        backpressureHandler.close();
+        spilledUnsynced.forEach(this::release);
+
         log.info("Audit queue shut down");
     }
+
+    private record PendingRetry(QueuedAuditEvent queued, long dueNanos) {
+    }
 }
@@ -1,5 +1,7 @@
 package io.safeaudit.core.spi;
 
+import java.util.UUID;
+
 /**
  * @author Nelson Tanko
  * @since 1.0.0
@@ -13,4 +15,15 @@ public interface AuditEventIdGenerator {
      * @return unique event identifier
      */
     String generate();
+
+    /**
+     * Generate a unique event ID in binary form. Storage keys events by UUID, so
+     * capture uses this variant to skip formatting and re-parsing the ID.
+     * Generators that produce UUIDs natively should override it.
+     *
+     * @return unique event identifier
+     */
+    default UUID generateUuid() {
+        return UUID.fromString(generate());
+    }
 }
@@ -1,6 +1,9 @@
 package io.safeaudit.core.spi;
 
 import io.safeaudit.core.domain.AuditEvent;
+import io.safeaudit.core.domain.AuditEventDraft;
+
+import java.util.List;
 
 /**
  * Strategy interface for processing audit events.
@@ -21,6 +24,45 @@ public interface AuditEventProcessor {
      */
     AuditEvent process(AuditEvent event);
 
+    /**
+     * Process the pipeline's working copy of an event in place.
+     * The pipeline calls this variant; override it to avoid copying the event.
+     * The default freezes the draft, delegates to {@link #process(AuditEvent)}
+     * and loads the result back.
+     *
+     * @param draft the event being processed, valid only during this call
+     */
+    default void process(AuditEventDraft draft) {
+        var event = draft.toEvent();
+        var processed = process(event);
+        if (processed != event) {
+            draft.load(processed);
+        }
+    }
+
+    /**
+     * Called when an event this processor handled could not be stored, latest
+     * event first. Processors that carry state from one event to the next can
+     * roll it back here.
+     *
+     * @param event the processed event that was not stored
+     */
+    default void onStoreFailed(AuditEvent event) {
+    }
+
+    /**
+     * Called when an event could not be stored, with the events of its batch
+     * that are still to be stored. Processors that derived those events from the
+     * failed one can derive them anew, so they no longer depend on it.
+     *
+     * @param failed  the processed event that was not stored
+     * @param pending the events still to be stored, in batch order
+     * @return {@code pending}, with any event derived anew replaced in place
+     */
+    default List<AuditEvent> relink(AuditEvent failed, List<AuditEvent> pending) {
+        return pending;
+    }
+
     /**
      * Get processor order for chaining.
      * Lower values execute first.
@@ -30,4 +72,15 @@ public interface AuditEventProcessor {
     default int getOrder() {
         return 0;
     }
+
+    /**
+     * Whether this processor reads state bound to the capturing thread
+     * (e.g. {@code AuditContext} or the security context).
+     * In async mode such processors run on the caller before the event is handed off.
+     *
+     * @return true if the processor must run on the capturing thread
+     */
+    default boolean isContextBound() {
+        return false;
+    }
 }
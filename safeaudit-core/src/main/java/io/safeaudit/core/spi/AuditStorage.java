@@ -1,14 +1,22 @@
 package io.safeaudit.core.spi;
 
 import io.safeaudit.core.domain.AuditEvent;
+import io.safeaudit.core.domain.AuditStatistics;
+import io.safeaudit.core.domain.ChainHead;
+import io.safeaudit.core.domain.EventCount;
 import io.safeaudit.core.domain.HealthStatus;
 import io.safeaudit.core.domain.IntegrityReport;
+import io.safeaudit.core.domain.PageCursor;
 import io.safeaudit.core.domain.QueryCriteria;
+import io.safeaudit.core.domain.enums.AuditSeverity;
+import io.safeaudit.core.domain.enums.CountMode;
 import io.safeaudit.core.exception.AuditStorageException;
 
 import java.time.Instant;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Storage abstraction for audit events.
@@ -19,6 +27,11 @@ import java.util.Optional;
  */
 public interface AuditStorage {
 
+    /**
+     * Page size used by the default {@link #stream}.
+     */
+    int STREAM_PAGE_SIZE = 1000;
+
     /**
      * Persist a single audit event.
      * Must be idempotent based on eventId.
@@ -55,6 +68,43 @@ public interface AuditStorage {
      */
     List<AuditEvent> query(QueryCriteria criteria);
 
+    /**
+     * Read every event matching criteria, oldest first, handing each to the consumer
+     * as it is read. Paging and sorting in the criteria are ignored.
+     * Storages with database cursors should override this so that memory use does not
+     * grow with the number of matches; by default it seeks through pages of events.
+     *
+     * @param criteria the query criteria
+     * @param consumer receives each matching event
+     * @return number of events read
+     */
+    default long stream(QueryCriteria criteria, Consumer<AuditEvent> consumer) {
+        long streamed = 0;
+        PageCursor cursor = null;
+        while (true) {
+            var page = query(QueryCriteria.builder()
+                    .eventId(criteria.getEventId())
+                    .userId(criteria.getUserId())
+                    .username(criteria.getUsername())
+                    .resource(criteria.getResource())
+                    .eventType(criteria.getEventType())
+                    .severities(criteria.getSeverities())
+                    .tenantId(criteria.getTenantId())
+                    .from(criteria.getFrom())
+                    .to(criteria.getTo())
+                    .sortDirection(QueryCriteria.SortDirection.ASC)
+                    .size(STREAM_PAGE_SIZE)
+                    .cursor(cursor)
+                    .build());
+            page.forEach(consumer);
+            streamed += page.size();
+            if (page.size() < STREAM_PAGE_SIZE) {
+                return streamed;
+            }
+            cursor = PageCursor.after(page.getLast());
+        }
+    }
+
     /**
      * Count audit events matching criteria.
      *
@@ -63,6 +113,35 @@ public interface AuditStorage {
      */
     long count(QueryCriteria criteria);
 
+    /**
+     * Count audit events matching criteria using the given strategy.
+     * Storages without estimates or caching always count exactly.
+     *
+     * @param criteria the query criteria
+     * @param mode     how the count is computed
+     * @return count of matching events, flagged when it is not exact
+     */
+    default EventCount count(QueryCriteria criteria, CountMode mode) {
+        return EventCount.exact(count(criteria));
+    }
+
+    /**
+     * Totals of events between two timestamps, by severity.
+     * Storages without rollups count each severity and return no timeline.
+     *
+     * @param from start timestamp, or null for no lower bound
+     * @param to   end timestamp, or null for no upper bound
+     * @return event statistics for the range
+     */
+    default AuditStatistics statistics(Instant from, Instant to) {
+        var bySeverity = new EnumMap<AuditSeverity, Long>(AuditSeverity.class);
+        for (var severity : AuditSeverity.values()) {
+            bySeverity.put(severity, count(QueryCriteria.builder().from(from).to(to).severity(severity).build()));
+        }
+        long total = count(QueryCriteria.builder().from(from).to(to).build());
+        return new AuditStatistics(total, bySeverity, List.of());
+    }
+
     /**
      * Verify integrity of event chain between time range.
      *
@@ -72,6 +151,17 @@ public interface AuditStorage {
      */
     IntegrityReport verifyIntegrity(Instant from, Instant to);
 
+    /**
+     * Find the most recent link of a hash chain.
+     * Storages that do not persist chain metadata return empty, and the chain restarts.
+     *
+     * @param chainKey the chain identifier
+     * @return the last stored sequence and hash of the chain
+     */
+    default Optional<ChainHead> findChainHead(String chainKey) {
+        return Optional.empty();
+    }
+
     /**
      * Initialize storage schema if needed.
      * Called during application startup if auto-schema is enabled.
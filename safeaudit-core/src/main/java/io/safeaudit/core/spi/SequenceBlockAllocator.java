@@ -0,0 +1,20 @@
+package io.safeaudit.core.spi;
+
+/**
+ * Durable source of sequence number blocks for {@code SequenceNumberGenerator}.
+ *
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface SequenceBlockAllocator {
+
+    /**
+     * Reserve {@code size} consecutive sequence numbers for an application instance.
+     * Blocks handed out for the same instance never overlap and keep increasing,
+     * including across restarts.
+     *
+     * @return the first number of the reserved block
+     */
+    long allocate(String applicationInstance, int size);
+}
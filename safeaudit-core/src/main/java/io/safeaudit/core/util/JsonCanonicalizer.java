@@ -0,0 +1,163 @@
+package io.safeaudit.core.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.JsonEOFException;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+/**
+ * Rewrites a JSON payload as compact JSON in a single streaming pass, without
+ * building a tree.
+ * <p>
+ * Payloads cut off at the capture limit are closed after the last complete
+ * token, so the output stays valid JSON. Textual values under a masked field
+ * name are replaced at any depth, including inside arrays and nested objects
+ * under that field. Field order is preserved. Input that is not JSON, breaks
+ * off before the end of the payload, or carries anything after the root value
+ * is returned unchanged.
+ *
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+public final class JsonCanonicalizer {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final Set<String> maskedFields;
+    private final UnaryOperator<String> masker;
+
+    public JsonCanonicalizer() {
+        this(Set.of(), UnaryOperator.identity());
+    }
+
+    public JsonCanonicalizer(Set<String> maskedFields, UnaryOperator<String> masker) {
+        this.maskedFields = Set.copyOf(maskedFields);
+        this.masker = masker;
+    }
+
+    public String canonicalize(String payload) {
+        if (payload == null || payload.isBlank()) {
+            return payload;
+        }
+
+        var out = new StringWriter(payload.length());
+        try (var parser = JSON_FACTORY.createParser(payload);
+             var generator = JSON_FACTORY.createGenerator(out)) {
+            if (!copy(parser, generator, payload.length())) {
+                return payload;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // Closing the generator ends any structures left open by truncation
+        return out.toString();
+    }
+
+    /**
+     * Copy tokens until the root value ends or the input runs out.
+     *
+     * @return false if the payload is not a single, possibly truncated, JSON value
+     */
+    private boolean copy(JsonParser parser, JsonGenerator generator, int length) throws IOException {
+        var written = false;
+        String fieldName = null;
+        var maskDepth = 0;
+
+        try {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token == JsonToken.FIELD_NAME) {
+                    // Deferred until its value is complete so a truncated pair is dropped whole
+                    fieldName = parser.currentName();
+                    continue;
+                }
+
+                if (token == JsonToken.VALUE_STRING) {
+                    // Strings are decoded lazily; a cut-off one must fail before its field name is written
+                    parser.getTextLength();
+                } else if (token.isNumeric() && !parser.getParsingContext().inRoot()
+                        && parser.currentLocation().getCharOffset() >= length) {
+                    // A number running into the end of the input may have lost digits
+                    break;
+                }
+
+                var masked = maskDepth > 0 || (fieldName != null && maskedFields.contains(fieldName));
+                if (fieldName != null) {
+                    generator.writeFieldName(fieldName);
+                    fieldName = null;
+                }
+
+                switch (token) {
+                    case START_OBJECT -> {
+                        generator.writeStartObject();
+                        if (masked) {
+                            maskDepth++;
+                        }
+                    }
+                    case START_ARRAY -> {
+                        generator.writeStartArray();
+                        if (masked) {
+                            maskDepth++;
+                        }
+                    }
+                    case END_OBJECT -> {
+                        generator.writeEndObject();
+                        if (maskDepth > 0) {
+                            maskDepth--;
+                        }
+                    }
+                    case END_ARRAY -> {
+                        generator.writeEndArray();
+                        if (maskDepth > 0) {
+                            maskDepth--;
+                        }
+                    }
+                    case VALUE_STRING -> {
+                        if (masked) {
+                            generator.writeString(masker.apply(parser.getText()));
+                        } else {
+                            generator.writeString(parser.getTextCharacters(), parser.getTextOffset(),
+                                    parser.getTextLength());
+                        }
+                    }
+                    case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> generator.writeNumber(
+                            parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+                    case VALUE_TRUE, VALUE_FALSE -> generator.writeBoolean(token == JsonToken.VALUE_TRUE);
+                    case VALUE_NULL -> generator.writeNull();
+                    default -> generator.copyCurrentEvent(parser);
+                }
+                written = true;
+
+                if (parser.getParsingContext().inRoot()) {
+                    return !hasTrailingContent(parser);
+                }
+            }
+        } catch (JsonProcessingException e) {
+            // Only a payload cut off at the capture limit keeps its valid prefix
+            return written && isEndOfInput(e, length);
+        }
+
+        return written;
+    }
+
+    private static boolean isEndOfInput(JsonProcessingException e, int length) {
+        return e instanceof JsonEOFException
+                || (e.getLocation() != null && e.getLocation().getCharOffset() >= length);
+    }
+
+    private static boolean hasTrailingContent(JsonParser parser) throws IOException {
+        try {
+            return parser.nextToken() != null;
+        } catch (JsonProcessingException _) {
+            return true;
+        }
+    }
+}
@@ -1,11 +1,9 @@
 package io.safeaudit.core.util;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.web.util.ContentCachingRequestWrapper;
 import org.springframework.web.util.ContentCachingResponseWrapper;
 
-import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 
 /**
@@ -14,8 +12,6 @@ import java.nio.charset.StandardCharsets;
  */
 public final class PayloadExtractor {
 
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
-
     private PayloadExtractor() {
         throw new UnsupportedOperationException("Utility class");
     }
@@ -29,14 +25,7 @@ public final class PayloadExtractor {
         }
 
         byte[] content = wrapper.getContentAsByteArray();
-        if (content.length == 0) {
-            return null;
-        }
-
-        int length = Math.min(content.length, maxSize);
-        String body = new String(content, 0, length, StandardCharsets.UTF_8);
-
-        return sanitize(body);
+        return extractBody(content, Math.min(content.length, maxSize));
     }
 
     /**
@@ -44,30 +33,21 @@ public final class PayloadExtractor {
      */
     public static String extractResponseBody(ContentCachingResponseWrapper response, int maxSize) {
         byte[] content = response.getContentAsByteArray();
-        if (content.length == 0) {
-            return null;
-        }
-
-        int length = Math.min(content.length, maxSize);
-        String body = new String(content, 0, length, StandardCharsets.UTF_8);
-
-        return sanitize(body);
+        return extractBody(content, Math.min(content.length, maxSize));
     }
 
     /**
-     * Sanitize payload - ensure valid JSON if possible.
+     * Extract the first {@code length} bytes of an already truncated body as string.
+     * <p>
+     * The text is not parsed here; when enabled, canonicalization and masking happen
+     * in a single pass when the event is processed (see {@link JsonCanonicalizer}).
      */
-    private static String sanitize(String payload) {
-        if (payload == null || payload.isBlank()) {
+    public static String extractBody(byte[] content, int length) {
+        if (content == null || length == 0) {
             return null;
         }
 
-        try {
-            Object parsed = OBJECT_MAPPER.readValue(payload, Object.class);
-            return OBJECT_MAPPER.writeValueAsString(parsed);
-        } catch (IOException _) {
-            // Not JSON, return as-is (truncated)
-            return payload;
-        }
+        var payload = new String(content, 0, length, StandardCharsets.UTF_8);
+        return payload.isBlank() ? null : payload;
     }
 }
@@ -1,36 +1,110 @@
 package io.safeaudit.core.util;
 
+import io.safeaudit.core.spi.SequenceBlockAllocator;
+
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Thread-safe sequence number generator for audit events.
  * Each application instance maintains its own sequence.
+ * <p>
+ * With a {@link SequenceBlockAllocator} numbers are leased in blocks, so a restarted
+ * instance continues after its last block instead of starting over. Numbers within a
+ * block are handed out lock-free; only the thread that exhausts a block takes a lock to
+ * lease the next one. Unused numbers of a block are skipped after a restart.
  *
  * @author Nelson Tanko
  * @since 1.0.0
  */
 public class SequenceNumberGenerator {
 
-    private final AtomicLong sequence = new AtomicLong(0);
+    private final SequenceBlockAllocator allocator;
+    private final String applicationInstance;
+    private final int blockSize;
+    private final ReentrantLock leaseLock = new ReentrantLock();
+
+    private volatile Block block;
+
+    /**
+     * In-memory sequence starting at 1 on every start.
+     */
+    public SequenceNumberGenerator() {
+        this.allocator = null;
+        this.applicationInstance = null;
+        this.blockSize = 0;
+        this.block = new Block(1, Long.MAX_VALUE);
+    }
+
+    /**
+     * Sequence leased from {@code allocator} in blocks of {@code blockSize}.
+     * The first block is leased on the first call to {@link #next()}.
+     */
+    public SequenceNumberGenerator(SequenceBlockAllocator allocator, String applicationInstance, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("blockSize must be positive");
+        }
+        this.allocator = allocator;
+        this.applicationInstance = applicationInstance;
+        this.blockSize = blockSize;
+        this.block = new Block(1, 1);
+    }
 
     /**
      * Get next sequence number.
      */
     public long next() {
-        return sequence.incrementAndGet();
+        while (true) {
+            var current = block;
+            long value = current.next.getAndIncrement();
+            if (value < current.end) {
+                return value;
+            }
+            lease(current);
+        }
+    }
+
+    private void lease(Block exhausted) {
+        if (allocator == null) {
+            throw new IllegalStateException("Sequence exhausted");
+        }
+
+        leaseLock.lock();
+        try {
+            // Another thread may have leased while we waited
+            if (block == exhausted) {
+                long start = allocator.allocate(applicationInstance, blockSize);
+                block = new Block(start, start + blockSize);
+            }
+        } finally {
+            leaseLock.unlock();
+        }
     }
 
     /**
      * Get current sequence number without incrementing.
      */
     public long current() {
-        return sequence.get();
+        var current = block;
+        return Math.min(current.next.get(), current.end) - 1;
     }
 
     /**
      * Reset sequence to specific value (for recovery scenarios).
+     * With an allocator this only moves within the current block; once it is
+     * exhausted the next leased block applies.
      */
     public void reset(long value) {
-        sequence.set(value);
+        block = new Block(value + 1, Math.max(block.end, value + 1));
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
     }
 }
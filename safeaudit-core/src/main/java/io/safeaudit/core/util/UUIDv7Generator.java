@@ -2,89 +2,53 @@ package io.safeaudit.core.util;
 
 import io.safeaudit.core.spi.AuditEventIdGenerator;
 
-import java.security.SecureRandom;
-import java.time.Instant;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
+ * Monotonic UUIDv7 generator.
+ * <p>
+ * The 48-bit millisecond timestamp and the 12-bit counter in {@code rand_a} are packed
+ * into one {@code long} and advanced with a CAS, so no lock is taken and virtual threads
+ * are never pinned. When the counter overflows within a millisecond it carries into the
+ * timestamp instead of waiting for the clock; a clock that moves backwards is ignored the
+ * same way. The 62 random bits come from {@link ThreadLocalRandom}.
+ *
  * @author Nelson Tanko
  * @since 1.0.0
  */
 public class UUIDv7Generator implements AuditEventIdGenerator {
 
-    private static final SecureRandom RANDOM = new SecureRandom();
-    private final AtomicLong lastTimestamp = new AtomicLong(0);
-    private final AtomicLong counter = new AtomicLong(0);
-    private static final long COUNTER_MAX = 0xFFFL; // 12 bits max (4095)
+    private static final int COUNTER_BITS = 12;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+
+    // unix_ts_ms << 12 | counter of the last issued ID
+    private final AtomicLong state = new AtomicLong();
 
     @Override
     public String generate() {
-        return generateUUIDv7().toString();
+        return generateUuid().toString();
     }
 
-    private UUID generateUUIDv7() {
-        long timestamp = Instant.now().toEpochMilli();
-        long previousTimestamp;
-        long currentCounter;
-
-        synchronized (this) {
-            previousTimestamp = lastTimestamp.get();
-
-            if (timestamp == previousTimestamp) {
-                // Same millisecond, increment counter
-                currentCounter = counter.incrementAndGet();
-                if (currentCounter > COUNTER_MAX) {
-                    // Counter overflow, wait for next millisecond
-                    while (timestamp <= previousTimestamp) {
-                        timestamp = Instant.now().toEpochMilli();
-                    }
-                    counter.set(0);
-                    currentCounter = 0;
-                }
-            } else {
-                if (timestamp < previousTimestamp) {
-                    // Clock moved backward, handle gracefully
-                    timestamp = previousTimestamp + 1;
-                }
-                counter.set(0);
-                currentCounter = 0;
-            }
-
-            lastTimestamp.set(timestamp);
-        }
-
-        byte[] randomBytes = new byte[10];
-        RANDOM.nextBytes(randomBytes);
+    @Override
+    public UUID generateUuid() {
+        long next = nextState(System.currentTimeMillis());
 
         // UUIDv7 format:
-        // unix_ts_ms (48 bits) | ver (4 bits) = 0x7 | rand_a (12 bits) |
-        // var (2 bits) | rand_b (62 bits)
-
-        // Most significant bits (timestamp + version + counter)
-        long mostSigBits = (timestamp << 16) |  // 48 bits timestamp
-                (0x7000L) |                     // Version 7 (4 bits: 0b0111)
-                (currentCounter & 0x0FFFL);     // 12 bits counter (0-4095)
-
-        // Least significant bits (random)
-        long leastSigBits = getLeastSigBits(randomBytes);
+        // unix_ts_ms (48 bits) | ver (4 bits) = 0x7 | rand_a (12 bits) = counter |
+        // var (2 bits) = 0b10 | rand_b (62 bits)
+        long mostSigBits = ((next >>> COUNTER_BITS) << 16) | 0x7000L | (next & COUNTER_MASK);
+        long leastSigBits = (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
 
         return new UUID(mostSigBits, leastSigBits);
     }
 
-    private long getLeastSigBits(byte[] randomBytes) {
-        long leastSigBits = ((randomBytes[0] & 0xFFL) << 56) |
-                ((randomBytes[1] & 0xFFL) << 48) |
-                ((randomBytes[2] & 0xFFL) << 40) |
-                ((randomBytes[3] & 0xFFL) << 32) |
-                ((randomBytes[4] & 0xFFL) << 24) |
-                ((randomBytes[5] & 0xFFL) << 16) |
-                ((randomBytes[6] & 0xFFL) << 8) |
-                (randomBytes[7] & 0xFFL);
-
-        // Set variant to RFC 4122 (2 bits: 10)
-        leastSigBits &= 0x3FFFFFFFFFFFFFFFL; // Clear variant bits
-        leastSigBits |= 0x8000000000000000L; // Set to RFC 4122 variant
-        return leastSigBits;
+    /**
+     * Advance to the first position at or after {@code nowMillis} that is strictly
+     * greater than the last one issued.
+     */
+    long nextState(long nowMillis) {
+        return state.accumulateAndGet(nowMillis << COUNTER_BITS, (last, now) -> Math.max(now, last + 1));
     }
-}
\ No newline at end of file
+}
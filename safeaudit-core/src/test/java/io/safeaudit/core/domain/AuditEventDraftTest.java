@@ -0,0 +1,91 @@
+package io.safeaudit.core.domain;
+
+import io.safeaudit.core.domain.enums.AuditSeverity;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+class AuditEventDraftTest {
+
+    @Test
+    void shouldReturnSameEventWhenUnchanged() {
+        // Given
+        var event = createEvent();
+
+        // When
+        var result = AuditEventDraft.apply(event, draft -> assertThat(draft.eventId()).isEqualTo("test-123"));
+
+        // Then
+        assertThat(result).isSameAs(event);
+    }
+
+    @Test
+    void shouldFreezeModifiedDraftOnce() {
+        // Given
+        var draft = AuditEventDraft.acquire(createEvent());
+
+        try {
+            // When
+            draft.setUserId("user-1");
+            draft.setSessionId("session-1");
+            var first = draft.toEvent();
+            var second = draft.toEvent();
+
+            // Then
+            assertThat(first).isSameAs(second);
+            assertThat(first.userId()).isEqualTo("user-1");
+            assertThat(first.sessionId()).isEqualTo("session-1");
+            assertThat(first.resource()).isEqualTo("/api/test");
+        } finally {
+            draft.release();
+        }
+    }
+
+    @Test
+    void shouldReuseReleasedDraftOnSameThread() {
+        // Given
+        var first = AuditEventDraft.acquire(createEvent());
+        first.release();
+
+        // When
+        var second = AuditEventDraft.acquire(createEvent());
+        var nested = AuditEventDraft.acquire(createEvent());
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(nested).isNotSameAs(second);
+
+        nested.release();
+        second.release();
+    }
+
+    @Test
+    void shouldDropContentOnRelease() {
+        // Given
+        var draft = AuditEventDraft.acquire(createEvent());
+
+        // When
+        draft.release();
+
+        // Then
+        assertThat(draft.eventId()).isNull();
+        assertThat(draft.requestPayload()).isNull();
+    }
+
+    private AuditEvent createEvent() {
+        return AuditEvent.builder()
+                .eventId("test-123")
+                .timestamp(Instant.now())
+                .eventType("TEST")
+                .severity(AuditSeverity.INFO)
+                .resource("/api/test")
+                .requestPayload("{\"a\":1}")
+                .build();
+    }
+}
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Instant;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatNullPointerException;
@@ -172,4 +173,32 @@ class AuditEventTest {
         assertThat(event.ipAddress()).isEqualTo("192.168.1.1");
         assertThat(event.compliance()).isEqualTo(compliance);
     }
+
+    @Test
+    void shouldCreateUnchainedEventWithConstructorWithoutChainFields() {
+        // When
+        var event = new AuditEvent("test-123", 1L, Instant.now(), "TEST", AuditSeverity.INFO,
+                null, null, null, null, "/api/test", "GET", null, null, null, null, 200,
+                null, null, "hash", "test", "test-app", null);
+
+        // Then
+        assertThat(event.chainKey()).isNull();
+        assertThat(event.chainSequence()).isZero();
+        assertThat(event.eventUuid()).isNull();
+    }
+
+    @Test
+    void shouldEqualCopyWithStringIdOfBinaryId() {
+        // Given
+        var uuid = UUID.randomUUID();
+        var timestamp = Instant.now();
+
+        // When
+        var binary = AuditEvent.builder().eventUuid(uuid).timestamp(timestamp).eventType("TEST").build();
+        var copy = AuditEvent.builder().eventId(uuid.toString()).timestamp(timestamp).eventType("TEST").build();
+
+        // Then
+        assertThat(binary.eventId()).isEqualTo(uuid.toString());
+        assertThat(binary).isEqualTo(copy).hasSameHashCodeAs(copy);
+    }
 }
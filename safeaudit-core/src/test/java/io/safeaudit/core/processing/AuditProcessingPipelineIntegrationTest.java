@@ -2,6 +2,7 @@ package io.safeaudit.core.processing;
 
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.safeaudit.core.domain.AuditEvent;
+import io.safeaudit.core.domain.AuditEventDraft;
 import io.safeaudit.core.domain.enums.AuditSeverity;
 import io.safeaudit.core.processing.enrichment.CorrelationIdEnricher;
 import io.safeaudit.core.processing.enrichment.UserContextEnricher;
@@ -64,4 +65,103 @@ class AuditProcessingPipelineIntegrationTest {
         assertThat(stored.sessionId()).isNotNull(); // From CorrelationIdEnricher
         assertThat(stored.eventHash()).isNotNull(); // From HashCalculator
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldMixEventAndDraftProcessorsOnOneDraft() {
+        // Given
+        var storage = mock(AuditStorage.class);
+        when(storage.store(any())).thenReturn(true);
+
+        AuditEventProcessor legacy = new AuditEventProcessor() {
+            @Override
+            public AuditEvent process(AuditEvent event) {
+                return AuditEvent.builder()
+                        .eventId(event.eventId())
+                        .timestamp(event.timestamp())
+                        .eventType(event.eventType())
+                        .severity(event.severity())
+                        .sessionId(event.sessionId())
+                        .resource("/legacy")
+                        .build();
+            }
+
+            @Override
+            public int getOrder() {
+                return 500;
+            }
+        };
+
+        var pipeline = new SynchronousProcessingPipeline(
+                List.of(new HashCalculator("SHA-256", true), legacy, new CorrelationIdEnricher()),
+                storage,
+                Optional.empty(),
+                new SimpleMeterRegistry()
+        );
+
+        var event = AuditEvent.builder()
+                .eventId("test-123")
+                .timestamp(Instant.now())
+                .eventType("TEST")
+                .severity(AuditSeverity.INFO)
+                .build();
+
+        // When
+        pipeline.process(event);
+
+        // Then
+        var captor = ArgumentCaptor.forClass(AuditEvent.class);
+        verify(storage).store(captor.capture());
+
+        var stored = captor.getValue();
+        assertThat(stored.sessionId()).isNotNull();
+        assertThat(stored.resource()).isEqualTo("/legacy");
+        assertThat(stored.eventHash()).isNotNull();
+        assertThat(stored.chainSequence()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRollBackPartialChangesOfFailingProcessor() {
+        // Given
+        var storage = mock(AuditStorage.class);
+        when(storage.store(any())).thenReturn(true);
+
+        AuditEventProcessor failing = new AuditEventProcessor() {
+            @Override
+            public AuditEvent process(AuditEvent event) {
+                return event;
+            }
+
+            @Override
+            public void process(AuditEventDraft draft) {
+                draft.setResource("/half-written");
+                throw new IllegalStateException("boom");
+            }
+        };
+
+        var pipeline = new SynchronousProcessingPipeline(
+                List.of(new CorrelationIdEnricher(), failing),
+                storage,
+                Optional.empty(),
+                new SimpleMeterRegistry()
+        );
+
+        var event = AuditEvent.builder()
+                .eventId("test-123")
+                .timestamp(Instant.now())
+                .eventType("TEST")
+                .severity(AuditSeverity.INFO)
+                .resource("/orders")
+                .build();
+
+        // When
+        pipeline.process(event);
+
+        // Then
+        var captor = ArgumentCaptor.forClass(AuditEvent.class);
+        verify(storage).store(captor.capture());
+
+        var stored = captor.getValue();
+        assertThat(stored.resource()).isEqualTo("/orders");
+        assertThat(stored.sessionId()).isNotNull();
+    }
+}
@@ -1,15 +1,25 @@
 package io.safeaudit.core.processing.integrity;
 
+import io.safeaudit.core.config.AuditProperties;
 import io.safeaudit.core.domain.AuditEvent;
+import io.safeaudit.core.domain.ChainHead;
 import io.safeaudit.core.domain.enums.AuditSeverity;
+import io.safeaudit.core.spi.AuditStorage;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.Mockito.*;
 
 /**
  * @author Nelson Tanko
@@ -73,6 +83,152 @@ class HashCalculatorTest {
         assertThat(hashed1.eventHash()).isNotEqualTo(hashed2.eventHash());
     }
 
+    @Test
+    void shouldKeepIndependentChainPerTenant() {
+        // Given
+        var calculator = new HashCalculator("SHA-256", true,
+                ChainKeyResolver.of(AuditProperties.ChainScope.TENANT), null);
+
+        // When
+        var a1 = calculator.process(createTenantEvent("tenant-a"));
+        var b1 = calculator.process(createTenantEvent("tenant-b"));
+        var a2 = calculator.process(createTenantEvent("tenant-a"));
+
+        // Then
+        assertThat(a1.chainKey()).isEqualTo("default/tenant-a");
+        assertThat(b1.chainKey()).isEqualTo("default/tenant-b");
+        assertThat(b1.previousEventHash()).isNull();
+        assertThat(b1.chainSequence()).isEqualTo(1);
+        assertThat(a2.previousEventHash()).isEqualTo(a1.eventHash());
+        assertThat(a2.chainSequence()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldResumeChainFromStorage() {
+        // Given
+        var storage = mock(AuditStorage.class);
+        when(storage.findChainHead("default")).thenReturn(Optional.of(new ChainHead("default", 41, "stored-hash")));
+        var calculator = new HashCalculator("SHA-256", true,
+                ChainKeyResolver.of(AuditProperties.ChainScope.INSTANCE), storage);
+
+        // When
+        var first = calculator.process(createBaseEvent());
+        calculator.process(createBaseEvent());
+
+        // Then
+        assertThat(first.previousEventHash()).isEqualTo("stored-hash");
+        assertThat(first.chainSequence()).isEqualTo(42);
+        verify(storage, times(1)).findChainHead("default");
+    }
+
+    @Test
+    void shouldRewindHeadPastEventsThatFailedToStore() {
+        // Given
+        var calculator = new HashCalculator("SHA-256", true);
+        var first = calculator.process(createBaseEvent());
+        var second = calculator.process(createBaseEvent());
+        var third = calculator.process(createBaseEvent());
+
+        // When
+        calculator.onStoreFailed(third);
+        calculator.onStoreFailed(second);
+        var next = calculator.process(createBaseEvent());
+
+        // Then
+        assertThat(next.chainSequence()).isEqualTo(2);
+        assertThat(next.previousEventHash()).isEqualTo(first.eventHash());
+    }
+
+    @Test
+    void shouldNotRewindPastLaterLinks() {
+        // Given
+        var calculator = new HashCalculator("SHA-256", true);
+        calculator.process(createBaseEvent());
+        var second = calculator.process(createBaseEvent());
+        var third = calculator.process(createBaseEvent());
+
+        // When
+        calculator.onStoreFailed(second);
+        var next = calculator.process(createBaseEvent());
+
+        // Then
+        assertThat(next.chainSequence()).isEqualTo(4);
+        assertThat(next.previousEventHash()).isEqualTo(third.eventHash());
+    }
+
+    @Test
+    void shouldRelinkLaterLinksOfBatchOntoPredecessorOfFailedLink() {
+        // Given
+        var calculator = new HashCalculator("SHA-256", true);
+        var first = calculator.process(createBaseEvent());
+        var second = calculator.process(createBaseEvent());
+        var third = calculator.process(createBaseEvent());
+        var fourth = calculator.process(createBaseEvent());
+
+        // When
+        var relinked = calculator.relink(second, List.of(fourth, third));
+        calculator.onStoreFailed(second);
+        var next = calculator.process(createBaseEvent());
+
+        // Then
+        var relinkedThird = relinked.get(1);
+        var relinkedFourth = relinked.get(0);
+        assertThat(relinkedThird.eventId()).isEqualTo(third.eventId());
+        assertThat(relinkedThird.chainSequence()).isEqualTo(2);
+        assertThat(relinkedThird.previousEventHash()).isEqualTo(first.eventHash());
+        assertThat(relinkedFourth.chainSequence()).isEqualTo(3);
+        assertThat(relinkedFourth.previousEventHash()).isEqualTo(relinkedThird.eventHash());
+        assertThat(next.chainSequence()).isEqualTo(4);
+        assertThat(next.previousEventHash()).isEqualTo(relinkedFourth.eventHash());
+    }
+
+    @Test
+    void shouldNotRelinkLinksThatLaterLinksOutsideBatchPointAt() {
+        // Given
+        var calculator = new HashCalculator("SHA-256", true);
+        calculator.process(createBaseEvent());
+        var second = calculator.process(createBaseEvent());
+        var third = calculator.process(createBaseEvent());
+        calculator.process(createBaseEvent());
+        var pending = List.of(third);
+
+        // When
+        var relinked = calculator.relink(second, pending);
+
+        // Then
+        assertThat(relinked).isSameAs(pending);
+    }
+
+    @Test
+    void shouldBuildUnbrokenChainUnderConcurrentWorkers() throws Exception {
+        // Given
+        var calculator = new HashCalculator("SHA-256", true);
+        int threads = 8;
+        int eventsPerThread = 500;
+        var hashed = new ConcurrentLinkedQueue<AuditEvent>();
+
+        // When
+        try (var executor = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                executor.submit(() -> {
+                    for (int i = 0; i < eventsPerThread; i++) {
+                        hashed.add(calculator.process(createBaseEvent()));
+                    }
+                });
+            }
+        }
+
+        // Then
+        var chain = hashed.stream().sorted(Comparator.comparingLong(AuditEvent::chainSequence)).toList();
+        assertThat(chain).hasSize(threads * eventsPerThread);
+        assertThat(chain).extracting(AuditEvent::chainSequence)
+                .containsExactlyElementsOf(LongStream.rangeClosed(1, threads * eventsPerThread).boxed().toList());
+        for (int i = 1; i < chain.size(); i++) {
+            assertThat(chain.get(i).previousEventHash()).isEqualTo(chain.get(i - 1).eventHash());
+        }
+        assertThat(chain).extracting(AuditEvent::eventHash).doesNotHaveDuplicates();
+    }
+
     @Test
     void shouldHaveCorrectOrder() {
         // Given
@@ -90,6 +246,16 @@ class HashCalculatorTest {
                 .withMessageContaining("not supported");
     }
 
+    private AuditEvent createTenantEvent(String tenantId) {
+        return AuditEvent.builder()
+                .eventId("test-" + tenantId)
+                .timestamp(Instant.now())
+                .eventType("TEST")
+                .severity(AuditSeverity.INFO)
+                .tenantId(tenantId)
+                .build();
+    }
+
     private AuditEvent createBaseEvent() {
         return AuditEvent.builder()
                 .eventId("test-123")
@@ -0,0 +1,84 @@
+package io.safeaudit.core.processing.integrity;
+
+import io.safeaudit.core.domain.InclusionProof;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+class MerkleTreeTest {
+
+    private final MerkleTree tree = new MerkleTree("SHA-256");
+
+    @Test
+    void shouldProveEveryLeafOfUnbalancedTree() {
+        // Given
+        var hashes = IntStream.range(0, 7).mapToObj(i -> "event-hash-" + i).toList();
+        var levels = tree.levels(hashes);
+        var root = tree.root(hashes);
+
+        for (int index = 0; index < hashes.size(); index++) {
+            // When
+            var proof = proofOf(levels, index, hashes.get(index), root);
+
+            // Then
+            assertThat(tree.verify(proof)).isTrue();
+        }
+    }
+
+    @Test
+    void shouldRejectProofForAlteredEventHash() {
+        // Given
+        var hashes = List.of("a", "b", "c", "d");
+        var proof = proofOf(tree.levels(hashes), 2, "c", tree.root(hashes));
+
+        // When
+        var altered = new InclusionProof(proof.eventId(), "tampered", proof.leafIndex(), proof.leafCount(),
+                proof.windowStart(), proof.windowEnd(), proof.rootHash(), proof.path());
+
+        // Then
+        assertThat(tree.verify(altered)).isFalse();
+    }
+
+    @Test
+    void shouldNeedOnlyLogarithmicSiblings() {
+        // When
+        var siblings = MerkleTree.siblingPositions(1000, 1_000_000);
+
+        // Then
+        assertThat(siblings).hasSizeLessThanOrEqualTo(20);
+    }
+
+    @Test
+    void shouldNotConfuseLeafWithNode() {
+        // Given
+        var leaves = tree.levels(List.of("a", "b")).getFirst();
+
+        // Then
+        assertThat(tree.root(List.of("a", "b"))).isNotEqualTo(tree.leaf(leaves.get(0) + leaves.get(1)));
+        assertThat(tree.root(List.of())).isNull();
+    }
+
+    private InclusionProof proofOf(List<List<String>> levels, int index, String eventHash, String root) {
+        List<InclusionProof.Step> path = new ArrayList<>();
+        long position = index;
+        int level = 0;
+        for (var sibling : MerkleTree.siblingPositions(index, levels.getFirst().size())) {
+            while (level < sibling[0]) {
+                position >>= 1;
+                level++;
+            }
+            path.add(new InclusionProof.Step(levels.get(level).get((int) sibling[1]), sibling[1] < position));
+        }
+        return new InclusionProof("event-" + index, eventHash, index, levels.getFirst().size(),
+                Instant.EPOCH, Instant.EPOCH, root, path);
+    }
+}
@@ -129,6 +129,42 @@ class PIIMaskerTest {
         assertThat(masked.requestPayload()).isEqualTo("not-json-data");
     }
 
+    @Test
+    void shouldMaskFieldsNestedInArrays() {
+        // Given
+        var masker = new PIIMasker(
+                Set.of("email"),
+                AuditProperties.PIIMaskingStrategy.REDACT
+        );
+
+        var payload = "{\"contacts\": [{\"email\": \"a@example.com\"}, {\"email\": \"b@example.com\"}]}";
+        var event = createEventWithPayload(payload);
+
+        // When
+        var masked = masker.process(event);
+
+        // Then
+        assertThat(masked.requestPayload())
+                .isEqualTo("{\"contacts\":[{\"email\":\"[REDACTED]\"},{\"email\":\"[REDACTED]\"}]}");
+    }
+
+    @Test
+    void shouldKeepValidJsonForTruncatedPayload() {
+        // Given
+        var masker = new PIIMasker(
+                Set.of("email"),
+                AuditProperties.PIIMaskingStrategy.MASK
+        );
+
+        var event = createEventWithPayload("{\"email\":\"test@example.com\",\"note\":\"cut off");
+
+        // When
+        var masked = masker.process(event);
+
+        // Then
+        assertThat(masked.requestPayload()).isEqualTo("{\"email\":\"te****om\"}");
+    }
+
     @Test
     void shouldHaveCorrectOrder() {
         // Given
@@ -0,0 +1,201 @@
+package io.safeaudit.core.processing.journal;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.safeaudit.core.domain.AuditEvent;
+import io.safeaudit.core.domain.enums.AuditSeverity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+class WriteAheadJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldReplayUnacknowledgedEventsAfterRestart() {
+        // Given
+        var journal = openJournal(64 * 1024);
+        long first = journal.append(createEvent("evt-1"));
+        journal.append(createEvent("evt-2"));
+        journal.append(createEvent("evt-3"));
+        journal.acknowledge(first);
+        journal.close();
+
+        // When
+        var reopened = openJournal(64 * 1024);
+        var recovered = reopened.recover();
+
+        // Then
+        assertThat(recovered).extracting(entry -> entry.event().eventId()).containsExactly("evt-2", "evt-3");
+        assertThat(reopened.recover()).isEmpty();
+        reopened.close();
+    }
+
+    @Test
+    void shouldContinueSequenceAfterRecoveredEvents() {
+        // Given
+        var journal = openJournal(64 * 1024);
+        long last = journal.append(createEvent("evt-1"));
+        journal.close();
+
+        // When
+        var reopened = openJournal(64 * 1024);
+        long next = reopened.append(createEvent("evt-2"));
+
+        // Then
+        assertThat(next).isGreaterThan(last);
+        reopened.close();
+    }
+
+    @Test
+    void shouldAdvanceCheckpointAndDeleteAcknowledgedSegments() throws IOException {
+        // Given
+        var journal = openJournal(4096);
+        var sequences = IntStream.range(0, 40)
+                .mapToLong(i -> journal.append(createEvent("evt-" + i)))
+                .toArray();
+        assertThat(journal.getSegmentCount()).isGreaterThan(1);
+
+        // When
+        for (long sequence : sequences) {
+            journal.acknowledge(sequence);
+        }
+        journal.sync();
+
+        // Then
+        assertThat(journal.getCheckpoint()).isEqualTo(sequences[sequences.length - 1] + 1);
+        assertThat(journal.getSegmentCount()).isEqualTo(1); // Only the active segment remains
+        journal.close();
+
+        try (var files = Files.list(directory)) {
+            assertThat(files.filter(path -> path.toString().endsWith(".wal")).count()).isEqualTo(1);
+        }
+        var reopened = openJournal(4096);
+        assertThat(reopened.recover()).isEmpty();
+        reopened.close();
+    }
+
+    @Test
+    void shouldIgnoreCorruptRecords() throws IOException {
+        // Given
+        var journal = openJournal(64 * 1024);
+        journal.append(createEvent("evt-1"));
+        journal.append(createEvent("evt-2"));
+        journal.close();
+
+        try (var files = Files.list(directory)) {
+            var segment = files.filter(path -> path.toString().endsWith(".wal")).findFirst().orElseThrow();
+            byte[] bytes = Files.readAllBytes(segment);
+            int secondRecord = 16 + ByteBuffer.wrap(bytes).getInt();
+            bytes[secondRecord + 20] ^= 0x7F; // Flip a payload byte of the second record
+            Files.write(segment, bytes);
+        }
+
+        // When
+        var reopened = openJournal(64 * 1024);
+
+        // Then
+        assertThat(reopened.recover()).extracting(entry -> entry.event().eventId()).containsExactly("evt-1");
+        reopened.close();
+    }
+
+    @Test
+    void shouldAppendFromManyThreadsConcurrently() throws InterruptedException {
+        // Given
+        var journal = openJournal(16 * 1024);
+        var threads = new ArrayList<Thread>();
+
+        // When
+        for (int t = 0; t < 8; t++) {
+            int thread = t;
+            threads.add(Thread.ofVirtual().start(() -> {
+                for (int i = 0; i < 100; i++) {
+                    journal.append(createEvent("evt-" + thread + "-" + i));
+                }
+            }));
+        }
+        for (var thread : threads) {
+            thread.join();
+        }
+        journal.close();
+
+        // Then
+        var reopened = openJournal(16 * 1024);
+        var recovered = reopened.recover();
+        assertThat(recovered).hasSize(800);
+        assertThat(recovered).extracting(JournalEntry::sequence).doesNotHaveDuplicates().isSorted();
+        assertThat(recovered).extracting(entry -> entry.event().eventId()).doesNotHaveDuplicates();
+        reopened.close();
+    }
+
+    @Test
+    void shouldStopJournalingWhenFullUntilCheckpointMoves() {
+        // Given
+        var journal = new WriteAheadJournal(directory, 4096, 2 * 4096, 3, Duration.ofSeconds(10), meterRegistry);
+        var sequences = new ArrayList<Long>();
+        long sequence;
+        while ((sequence = journal.append(createEvent("evt-" + sequences.size()))) != WriteAheadJournal.NOT_JOURNALED) {
+            sequences.add(sequence);
+        }
+
+        // When
+        sequences.forEach(journal::acknowledge);
+        journal.sync();
+
+        // Then
+        assertThat(journal.getSegmentCount()).isEqualTo(1);
+        assertThat(meterRegistry.get("audit.journal.overflow").counter().count()).isEqualTo(1);
+        assertThat(journal.append(createEvent("evt-after"))).isNotEqualTo(WriteAheadJournal.NOT_JOURNALED);
+        journal.close();
+    }
+
+    @Test
+    void shouldDeadLetterEventAndMovePastIt() throws IOException {
+        // Given
+        var journal = openJournal(64 * 1024);
+        var event = createEvent("evt-1");
+        long sequence = journal.append(event);
+
+        // When
+        journal.deadLetter(sequence, event);
+        journal.sync();
+
+        // Then
+        assertThat(journal.getCheckpoint()).isEqualTo(sequence + 1);
+        assertThat(Files.readAllLines(directory.resolve("dead-letter.jsonl")))
+                .singleElement().asString().contains("\"eventId\":\"evt-1\"");
+        assertThat(meterRegistry.get("audit.journal.dead.lettered").counter().count()).isEqualTo(1);
+        journal.close();
+    }
+
+    private WriteAheadJournal openJournal(int segmentBytes) {
+        return new WriteAheadJournal(directory, segmentBytes, Duration.ofSeconds(10), meterRegistry);
+    }
+
+    private AuditEvent createEvent(String eventId) {
+        return AuditEvent.builder()
+                .eventId(eventId)
+                .timestamp(Instant.now())
+                .eventType("TEST")
+                .severity(AuditSeverity.INFO)
+                .resource("/api/transfers")
+                .build();
+    }
+}
@@ -0,0 +1,157 @@
+package io.safeaudit.core.processing.queue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.safeaudit.core.config.AuditProperties;
+import io.safeaudit.core.domain.AuditEvent;
+import io.safeaudit.core.domain.enums.AuditSeverity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+class BackpressureHandlerTest {
+
+    @TempDir
+    Path spillDirectory;
+
+    private SimpleMeterRegistry meterRegistry;
+    private EventBuffer<QueuedAuditEvent> buffer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        buffer = new BlockingEventBuffer<>(2);
+        buffer.offer(QueuedAuditEvent.of(createEvent("evt-1")));
+        buffer.offer(QueuedAuditEvent.of(createEvent("evt-2")));
+    }
+
+    @Test
+    void shouldEvictHeadOnDropOldest() {
+        // Given
+        var handler = createHandler(AuditProperties.BackpressureStrategy.DROP_OLDEST);
+        List<QueuedAuditEvent> evicted = new ArrayList<>();
+
+        // When
+        boolean accepted = handler.handle(QueuedAuditEvent.of(createEvent("evt-3")), buffer, evicted::add);
+
+        // Then
+        assertThat(accepted).isTrue();
+        assertThat(evicted).extracting(queued -> queued.event().eventId()).containsExactly("evt-1");
+        assertThat(buffer.poll().event().eventId()).isEqualTo("evt-2");
+        assertThat(buffer.poll().event().eventId()).isEqualTo("evt-3");
+        assertThat(outcomeCount("DROP_OLDEST", "evicted")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldEnqueueOnceRoomFreesUpWhenBlocking() {
+        // Given
+        var handler = createHandler(AuditProperties.BackpressureStrategy.BLOCK);
+        CompletableFuture.runAsync(buffer::poll, CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS));
+
+        // When
+        boolean accepted = handler.handle(QueuedAuditEvent.of(createEvent("evt-3")), buffer, _ -> {});
+
+        // Then
+        assertThat(accepted).isTrue();
+        assertThat(buffer.size()).isEqualTo(2);
+        assertThat(outcomeCount("BLOCK", "blocked")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectAfterBlockTimeout() {
+        // Given
+        var handler = createHandler(AuditProperties.BackpressureStrategy.BLOCK);
+
+        // When / Then
+        assertThatThrownBy(() -> handler.handle(QueuedAuditEvent.of(createEvent("evt-3")), buffer, _ -> {}))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("timed out");
+        assertThat(outcomeCount("BLOCK", "timed_out")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectImmediately() {
+        // Given
+        var handler = createHandler(AuditProperties.BackpressureStrategy.REJECT);
+
+        // When / Then
+        assertThatThrownBy(() -> handler.handle(QueuedAuditEvent.of(createEvent("evt-3")), buffer, _ -> {}))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(outcomeCount("REJECT", "rejected")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldSpillAndReplayOnceQueueDrains() {
+        // Given
+        var handler = createHandler(AuditProperties.BackpressureStrategy.SPILL);
+
+        // When
+        boolean accepted = handler.handle(QueuedAuditEvent.of(createEvent("evt-3")), buffer, _ -> {});
+
+        // Then
+        assertThat(accepted).isTrue();
+        assertThat(handler.shouldReplay(buffer.size())).isFalse(); // Still at threshold
+        assertThat(meterRegistry.get("audit.backpressure.spill.bytes").gauge().value()).isPositive();
+
+        assertThat(handler.shouldReplay(0)).isTrue();
+        var replayed = handler.replay(10);
+        assertThat(replayed).extracting(AuditEvent::eventId).containsExactly("evt-3");
+        assertThat(handler.shouldReplay(0)).isFalse();
+        assertThat(outcomeCount("SPILL", "replayed")).isEqualTo(1);
+
+        handler.close();
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void shouldKeepRecordStyleAccessors() {
+        // Given
+        var handler = new BackpressureHandler(AuditProperties.BackpressureStrategy.REJECT, 5);
+
+        // When / Then
+        assertThat(handler.strategy()).isEqualTo(AuditProperties.BackpressureStrategy.REJECT);
+        assertThat(handler.threshold()).isEqualTo(5);
+        handler.handle(createEvent("evt-3"), 4);
+        assertThatThrownBy(() -> handler.handle(createEvent("evt-3"), 5))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private BackpressureHandler createHandler(AuditProperties.BackpressureStrategy strategy) {
+        var config = new AuditProperties.BackpressureConfig();
+        config.setStrategy(strategy);
+        config.setThreshold(2);
+        config.setBlockTimeoutMs(200);
+        config.setSpillDirectory(spillDirectory.toString());
+        return new BackpressureHandler(config, meterRegistry);
+    }
+
+    private double outcomeCount(String strategy, String outcome) {
+        return meterRegistry.get("audit.backpressure.events")
+                .tag("strategy", strategy)
+                .tag("outcome", outcome)
+                .counter()
+                .count();
+    }
+
+    private AuditEvent createEvent(String eventId) {
+        return AuditEvent.builder()
+                .eventId(eventId)
+                .timestamp(Instant.now())
+                .eventType("TEST")
+                .severity(AuditSeverity.INFO)
+                .build();
+    }
+}
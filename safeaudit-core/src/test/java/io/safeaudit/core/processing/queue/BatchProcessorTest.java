@@ -0,0 +1,221 @@
+package io.safeaudit.core.processing.queue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.safeaudit.core.domain.AuditEvent;
+import io.safeaudit.core.domain.enums.AuditSeverity;
+import io.safeaudit.core.exception.AuditStorageException;
+import io.safeaudit.core.processing.AsynchronousProcessingPipeline;
+import io.safeaudit.core.processing.integrity.HashCalculator;
+import io.safeaudit.core.processing.journal.WriteAheadJournal;
+import io.safeaudit.core.spi.AuditStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class BatchProcessorTest {
+
+    @Mock
+    private AuditStorage storage;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AsynchronousProcessingPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        pipeline = new AsynchronousProcessingPipeline(List.of(), storage, Optional.empty(), meterRegistry);
+    }
+
+    @Test
+    void shouldPersistWhenBatchSizeReached() {
+        // Given
+        when(storage.storeBatch(anyList())).thenReturn(2);
+        var processor = new BatchProcessor(pipeline, 2, Duration.ofMinutes(1), meterRegistry);
+
+        // When
+        processor.add(createEvent("evt-1"));
+        processor.add(createEvent("evt-2"));
+        processor.add(createEvent("evt-3"));
+
+        // Then
+        verify(storage, times(1)).storeBatch(argThat(events -> events.size() == 2));
+        assertThat(processor.getPendingCount()).isEqualTo(1);
+        assertThat(meterRegistry.get("audit.events.persisted").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("audit.capture.latency").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotFlushBeforeTimeout() {
+        // Given
+        var processor = new BatchProcessor(pipeline, 10, Duration.ofMinutes(1), meterRegistry);
+        processor.add(createEvent("evt-1"));
+
+        // When
+        processor.flushIfDue();
+
+        // Then
+        verifyNoInteractions(storage);
+        assertThat(processor.getPendingCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldFlushPartialBatchOnceTimeoutElapsed() throws InterruptedException {
+        // Given
+        when(storage.storeBatch(anyList())).thenReturn(1);
+        var processor = new BatchProcessor(pipeline, 10, Duration.ofMillis(10), meterRegistry);
+        processor.add(createEvent("evt-1"));
+        Thread.sleep(20);
+
+        // When
+        processor.flushIfDue();
+
+        // Then
+        verify(storage).storeBatch(argThat(events -> events.size() == 1));
+        assertThat(processor.getPendingCount()).isZero();
+    }
+
+    @Test
+    void shouldFallBackToSingleInsertsWhenBatchFails() {
+        // Given
+        when(storage.storeBatch(anyList())).thenThrow(new AuditStorageException("Duplicate key"));
+        when(storage.store(any())).thenReturn(true);
+        var processor = new BatchProcessor(pipeline, 10, Duration.ofMinutes(1), meterRegistry);
+        processor.add(createEvent("evt-1"));
+        processor.add(createEvent("evt-2"));
+
+        // When
+        processor.flush();
+
+        // Then
+        verify(storage, times(2)).store(any());
+        assertThat(meterRegistry.get("audit.events.persisted").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldOnlyRecordCaptureLatencyOfStoredEvents() {
+        // Given
+        when(storage.storeBatch(anyList())).thenThrow(new AuditStorageException("Duplicate key"));
+        when(storage.store(any()))
+                .thenReturn(true)
+                .thenThrow(new AuditStorageException("Connection refused"));
+        var processor = new BatchProcessor(pipeline, 10, Duration.ofMinutes(1), meterRegistry);
+        processor.add(createEvent("evt-1"));
+        processor.add(createEvent("evt-2"));
+
+        // When
+        processor.flush();
+
+        // Then
+        assertThat(meterRegistry.get("audit.events.persisted").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("audit.capture.latency").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldChainNextEventOntoLastStoredEvent() {
+        // Given
+        var calculator = new HashCalculator("SHA-256", true);
+        pipeline = new AsynchronousProcessingPipeline(List.of(calculator), storage, Optional.empty(), meterRegistry);
+        when(storage.storeBatch(anyList()))
+                .thenThrow(new AuditStorageException("Duplicate key"))
+                .thenReturn(1);
+        when(storage.store(any()))
+                .thenReturn(true)
+                .thenThrow(new AuditStorageException("Connection refused"));
+        var processor = new BatchProcessor(pipeline, 10, Duration.ofMinutes(1), meterRegistry);
+        var stored = pipeline.prepare(createEvent("evt-1"));
+        processor.add(stored);
+        processor.add(pipeline.prepare(createEvent("evt-2")));
+        processor.flush();
+
+        // When
+        var next = pipeline.prepare(createEvent("evt-3"));
+
+        // Then
+        assertThat(next.chainSequence()).isEqualTo(2);
+        assertThat(next.previousEventHash()).isEqualTo(stored.eventHash());
+    }
+
+    @Test
+    void shouldRelinkEventsStoredAfterFailedMiddleLink() {
+        // Given
+        var calculator = new HashCalculator("SHA-256", true);
+        pipeline = new AsynchronousProcessingPipeline(List.of(calculator), storage, Optional.empty(), meterRegistry);
+        List<AuditEvent> stored = new ArrayList<>();
+        when(storage.storeBatch(anyList())).thenThrow(new AuditStorageException("Duplicate key"));
+        when(storage.store(any())).thenAnswer(invocation -> {
+            AuditEvent event = invocation.getArgument(0);
+            if (event.eventId().equals("evt-2")) {
+                throw new AuditStorageException("Value too long");
+            }
+            return stored.add(event);
+        });
+        var processor = new BatchProcessor(pipeline, 10, Duration.ofMinutes(1), meterRegistry);
+        processor.add(pipeline.prepare(createEvent("evt-1")));
+        processor.add(pipeline.prepare(createEvent("evt-2")));
+        processor.add(pipeline.prepare(createEvent("evt-3")));
+
+        // When
+        processor.flush();
+        var next = pipeline.prepare(createEvent("evt-4"));
+
+        // Then
+        assertThat(stored).extracting(AuditEvent::eventId).containsExactly("evt-1", "evt-3");
+        assertThat(stored.get(1).chainSequence()).isEqualTo(2);
+        assertThat(stored.get(1).previousEventHash()).isEqualTo(stored.get(0).eventHash());
+        assertThat(next.chainSequence()).isEqualTo(3);
+        assertThat(next.previousEventHash()).isEqualTo(stored.get(1).eventHash());
+    }
+
+    @Test
+    void shouldKeepUnstoredEventsJournaled(@TempDir Path directory) {
+        // Given
+        when(storage.storeBatch(anyList())).thenThrow(new AuditStorageException("Connection refused"));
+        when(storage.store(any())).thenThrow(new AuditStorageException("Connection refused"));
+        var journal = new WriteAheadJournal(directory, 64 * 1024, Duration.ofMinutes(1), meterRegistry);
+        var processor = new BatchProcessor(pipeline, journal, 10, Duration.ofMinutes(1), meterRegistry);
+        var first = createEvent("evt-1");
+        var second = createEvent("evt-2");
+        processor.addAll(List.of(
+                QueuedAuditEvent.of(first, journal.append(first)),
+                QueuedAuditEvent.of(second, journal.append(second))));
+
+        // When
+        processor.flush();
+        journal.close();
+
+        // Then
+        var reopened = new WriteAheadJournal(directory, 64 * 1024, Duration.ofMinutes(1), meterRegistry);
+        assertThat(reopened.recover()).extracting(entry -> entry.event().eventId()).containsExactly("evt-1", "evt-2");
+        assertThat(meterRegistry.get("audit.events.persisted").counter().count()).isZero();
+        reopened.close();
+    }
+
+    private AuditEvent createEvent(String eventId) {
+        return AuditEvent.builder()
+                .eventId(eventId)
+                .timestamp(Instant.now())
+                .eventType("TEST")
+                .severity(AuditSeverity.INFO)
+                .build();
+    }
+}
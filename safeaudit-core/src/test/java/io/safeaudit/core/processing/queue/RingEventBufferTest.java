@@ -0,0 +1,148 @@
+package io.safeaudit.core.processing.queue;
+
+import io.safeaudit.core.config.AuditProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+class RingEventBufferTest {
+
+    @Test
+    void shouldRoundCapacityUpToPowerOfTwo() {
+        // When
+        var buffer = new RingEventBuffer<Integer>(100, AuditProperties.WaitStrategy.PARK);
+
+        // Then
+        assertThat(buffer.capacity()).isEqualTo(128);
+        assertThat(buffer.isEmpty()).isTrue();
+    }
+
+    @Test
+    void shouldRejectInvalidCapacity() {
+        assertThatThrownBy(() -> new RingEventBuffer<Integer>(1, AuditProperties.WaitStrategy.PARK))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldPollInFifoOrderAcrossWraps() {
+        // Given
+        var buffer = new RingEventBuffer<Integer>(4, AuditProperties.WaitStrategy.SPIN);
+
+        // When / Then
+        for (int lap = 0; lap < 3; lap++) {
+            for (int i = 0; i < 4; i++) {
+                assertThat(buffer.offer(lap * 10 + i)).isTrue();
+            }
+            for (int i = 0; i < 4; i++) {
+                assertThat(buffer.poll()).isEqualTo(lap * 10 + i);
+            }
+        }
+        assertThat(buffer.poll()).isNull();
+    }
+
+    @Test
+    void shouldRejectOfferWhenFull() {
+        // Given
+        var buffer = new RingEventBuffer<Integer>(2, AuditProperties.WaitStrategy.SPIN);
+        buffer.offer(1);
+        buffer.offer(2);
+
+        // When
+        boolean added = buffer.offer(3);
+
+        // Then
+        assertThat(added).isFalse();
+        assertThat(buffer.size()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldDrainUpToMaxElements() {
+        // Given
+        var buffer = new RingEventBuffer<Integer>(8, AuditProperties.WaitStrategy.SPIN);
+        for (int i = 0; i < 5; i++) {
+            buffer.offer(i);
+        }
+        List<Integer> drained = new ArrayList<>();
+
+        // When
+        int count = buffer.drainTo(drained, 3);
+
+        // Then
+        assertThat(count).isEqualTo(3);
+        assertThat(drained).containsExactly(0, 1, 2);
+        assertThat(buffer.size()).isEqualTo(2);
+    }
+
+    @ParameterizedTest
+    @EnumSource(AuditProperties.WaitStrategy.class)
+    void shouldReturnNullWhenPollTimesOut(AuditProperties.WaitStrategy waitStrategy) throws InterruptedException {
+        // Given
+        var buffer = new RingEventBuffer<Integer>(4, waitStrategy);
+
+        // When
+        Integer element = buffer.poll(20, TimeUnit.MILLISECONDS);
+
+        // Then
+        assertThat(element).isNull();
+    }
+
+    @Test
+    void shouldDeliverEveryElementOnceUnderConcurrentProducersAndConsumers() throws InterruptedException {
+        // Given
+        int producers = 8;
+        int perProducer = 10_000;
+        var buffer = new RingEventBuffer<Integer>(256, AuditProperties.WaitStrategy.PARK);
+        Set<Integer> received = ConcurrentHashMap.newKeySet();
+        var done = new CountDownLatch(producers * perProducer);
+
+        try (var executor = Executors.newFixedThreadPool(producers + 2)) {
+            for (int c = 0; c < 2; c++) {
+                executor.submit(() -> {
+                    List<Integer> batch = new ArrayList<>();
+                    while (done.getCount() > 0) {
+                        if (buffer.drainTo(batch, 32) == 0) {
+                            Thread.onSpinWait();
+                        }
+                        batch.forEach(value -> {
+                            received.add(value);
+                            done.countDown();
+                        });
+                        batch.clear();
+                    }
+                });
+            }
+
+            // When
+            for (int p = 0; p < producers; p++) {
+                int base = p * perProducer;
+                executor.submit(() -> {
+                    for (int i = 0; i < perProducer; i++) {
+                        while (!buffer.offer(base + i)) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                });
+            }
+
+            // Then
+            assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+        }
+        assertThat(received).hasSize(producers * perProducer);
+        assertThat(buffer.isEmpty()).isTrue();
+    }
+}
@@ -0,0 +1,187 @@
+package io.safeaudit.core.processing.queue;
+
+import io.safeaudit.core.domain.AuditEvent;
+import io.safeaudit.core.domain.enums.AuditSeverity;
+import io.safeaudit.core.exception.AuditStorageException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Instant;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+class SpillStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldReplayEventsInOrderAcrossSegments() {
+        // Given
+        var store = new SpillStore(directory, 1024, 1024 * 1024);
+        IntStream.range(0, 20).forEach(i -> store.append(createEvent("evt-" + i)));
+        assertThat(store.getSegmentCount()).isGreaterThan(1);
+
+        // When
+        var first = store.read(5);
+        store.commit();
+        var rest = store.read(100);
+        store.commit();
+
+        // Then
+        assertThat(first).extracting(AuditEvent::eventId).containsExactly("evt-0", "evt-1", "evt-2", "evt-3", "evt-4");
+        assertThat(rest).hasSize(15);
+        assertThat(rest.getLast().eventId()).isEqualTo("evt-19");
+        assertThat(store.hasPending()).isFalse();
+        assertThat(store.getSegmentCount()).isZero();
+        store.close();
+    }
+
+    @Test
+    void shouldKeepEventsUntilCommittedAndReadThemAgainAfterRewind() {
+        // Given
+        var store = new SpillStore(directory, 1024, 1024 * 1024);
+        IntStream.range(0, 20).forEach(i -> store.append(createEvent("evt-" + i)));
+        long spilledBytes = store.getPendingBytes();
+
+        // When
+        var first = store.read(15);
+        var whileInFlight = store.read(15);
+        store.rewind();
+        var again = store.read(15);
+
+        // Then
+        assertThat(whileInFlight).isEmpty();
+        assertThat(again).isEqualTo(first);
+        assertThat(store.getPendingBytes()).isEqualTo(spilledBytes);
+
+        store.commit();
+        assertThat(store.read(15)).extracting(AuditEvent::eventId).startsWith("evt-15").hasSize(5);
+        store.close();
+    }
+
+    @Test
+    void shouldResumeFromCommittedOffsetAfterRestart() {
+        // Given
+        var previous = new SpillStore(directory, 1024 * 1024, 1024 * 1024);
+        IntStream.range(0, 5).forEach(i -> previous.append(createEvent("evt-" + i)));
+        previous.read(2);
+        previous.commit();
+        previous.read(2); // Never committed, so read again after the restart
+        previous.close();
+
+        // When
+        var store = new SpillStore(directory, 1024 * 1024, 1024 * 1024);
+
+        // Then
+        assertThat(store.read(10)).extracting(AuditEvent::eventId).containsExactly("evt-2", "evt-3", "evt-4");
+        store.close();
+    }
+
+    @Test
+    void shouldRecoverSegmentsFromPreviousRun() {
+        // Given
+        var previous = new SpillStore(directory, 1024 * 1024, 1024 * 1024);
+        previous.append(createEvent("evt-1"));
+        previous.append(createEvent("evt-2"));
+        previous.close();
+
+        // When
+        var store = new SpillStore(directory, 1024 * 1024, 1024 * 1024);
+        store.append(createEvent("evt-3"));
+
+        // Then
+        assertThat(store.read(10)).extracting(AuditEvent::eventId).containsExactly("evt-1", "evt-2", "evt-3");
+        store.close();
+    }
+
+    @Test
+    void shouldRefuseAppendBeyondMaxBytes() {
+        // Given
+        var store = new SpillStore(directory, 1024, 1024);
+
+        // When
+        long appended = IntStream.range(0, 50)
+                .filter(i -> store.append(createEvent("evt-" + i)))
+                .count();
+
+        // Then
+        assertThat(appended).isLessThan(50);
+        assertThat(store.getPendingBytes()).isLessThanOrEqualTo(1024);
+        store.close();
+    }
+
+    @Test
+    void shouldSkipTornRecordAtEndOfSegment() throws IOException {
+        // Given
+        var previous = new SpillStore(directory, 1024 * 1024, 1024 * 1024);
+        previous.append(createEvent("evt-1"));
+        previous.close();
+        try (var files = Files.list(directory)) {
+            var segment = files.filter(path -> path.toString().endsWith(".seg")).findFirst().orElseThrow();
+            Files.write(segment, new byte[]{0, 0, 1, 0, 42}, StandardOpenOption.APPEND);
+        }
+
+        // When
+        var store = new SpillStore(directory, 1024 * 1024, 1024 * 1024);
+        var events = store.read(10);
+
+        // Then
+        assertThat(events).extracting(AuditEvent::eventId).containsExactly("evt-1");
+        assertThat(store.hasPending()).isFalse();
+        store.close();
+    }
+
+    @Test
+    void shouldRefuseDirectoryLockedByAnotherStore() {
+        // Given
+        var store = new SpillStore(directory, 1024 * 1024, 1024 * 1024);
+
+        // When/Then
+        assertThatThrownBy(() -> new SpillStore(directory, 1024 * 1024, 1024 * 1024))
+                .isInstanceOf(AuditStorageException.class)
+                .hasMessageContaining("in use");
+        store.close();
+    }
+
+    @Test
+    void shouldKeepSpillReadableByOwnerOnly() throws IOException {
+        // Given
+        var spillDirectory = directory.resolve("spill");
+        var store = new SpillStore(spillDirectory, 1024 * 1024, 1024 * 1024);
+
+        // When
+        store.append(createEvent("evt-1"));
+
+        // Then
+        assumeTrue(spillDirectory.getFileSystem().supportedFileAttributeViews().contains("posix"));
+        assertThat(Files.getPosixFilePermissions(spillDirectory)).isEqualTo(PosixFilePermissions.fromString("rwx------"));
+        try (var files = Files.list(spillDirectory)) {
+            assertThat(files.toList()).allSatisfy(file ->
+                    assertThat(Files.getPosixFilePermissions(file)).isEqualTo(PosixFilePermissions.fromString("rw-------")));
+        }
+        store.close();
+    }
+
+    private AuditEvent createEvent(String eventId) {
+        return AuditEvent.builder()
+                .eventId(eventId)
+                .timestamp(Instant.now())
+                .eventType("TEST")
+                .severity(AuditSeverity.INFO)
+                .resource("/api/accounts")
+                .build();
+    }
+}
@@ -0,0 +1,305 @@
+package io.safeaudit.core.processing.queue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.safeaudit.core.config.AuditProperties;
+import io.safeaudit.core.domain.AuditEvent;
+import io.safeaudit.core.domain.enums.AuditSeverity;
+import io.safeaudit.core.exception.AuditStorageException;
+import io.safeaudit.core.processing.AsynchronousProcessingPipeline;
+import io.safeaudit.core.processing.enrichment.CorrelationIdEnricher;
+import io.safeaudit.core.processing.integrity.HashCalculator;
+import io.safeaudit.core.processing.journal.WriteAheadJournal;
+import io.safeaudit.core.spi.AuditStorage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class VirtualThreadAuditQueueTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private VirtualThreadAuditQueue queue;
+
+    @AfterEach
+    void tearDown() {
+        if (queue != null) {
+            queue.shutdown();
+        }
+    }
+
+    @Test
+    void shouldProcessEnqueuedEventOnWorker() {
+        // Given
+        var storage = mock(AuditStorage.class);
+        when(storage.storeBatch(anyList())).thenReturn(1);
+        var pipeline = new AsynchronousProcessingPipeline(
+                List.of(new CorrelationIdEnricher(), new HashCalculator("SHA-256", true)),
+                storage,
+                Optional.empty(),
+                meterRegistry
+        );
+        queue = createQueue(pipeline, 1);
+
+        // When
+        queue.enqueue(pipeline.snapshot(createEvent()));
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<AuditEvent>> captor = ArgumentCaptor.forClass(List.class);
+        verify(storage, timeout(5000)).storeBatch(captor.capture());
+        var stored = captor.getValue().getFirst();
+        assertThat(stored.sessionId()).isNotNull(); // Resolved on the capturing thread
+        assertThat(stored.eventHash()).isNotNull(); // Computed on the worker
+        verify(storage, never()).store(any());
+    }
+
+    @Test
+    void shouldRecordQueueWaitAndCaptureLatency() {
+        // Given
+        var storage = mock(AuditStorage.class);
+        when(storage.storeBatch(anyList())).thenReturn(1);
+        var pipeline = new AsynchronousProcessingPipeline(List.of(), storage, Optional.empty(), meterRegistry);
+        queue = createQueue(pipeline, 1);
+
+        // When
+        queue.enqueue(createEvent());
+        verify(storage, timeout(5000)).storeBatch(anyList());
+        queue.shutdown();
+
+        // Then
+        assertThat(meterRegistry.get("audit.queue.wait.time").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("audit.capture.latency").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldFlushPartialBatchAfterTimeout() {
+        // Given
+        var storage = mock(AuditStorage.class);
+        when(storage.storeBatch(anyList())).thenReturn(2);
+        var pipeline = new AsynchronousProcessingPipeline(List.of(), storage, Optional.empty(), meterRegistry);
+        queue = createQueue(pipeline, 100);
+
+        // When
+        queue.enqueue(createEvent());
+        queue.enqueue(createEvent());
+
+        // Then
+        verify(storage, timeout(5000)).storeBatch(argThat(events -> events.size() == 2));
+    }
+
+    @Test
+    void shouldProcessEventsThroughRingBuffer() {
+        // Given
+        var storage = mock(AuditStorage.class);
+        when(storage.storeBatch(anyList())).thenReturn(1);
+        var pipeline = new AsynchronousProcessingPipeline(List.of(), storage, Optional.empty(), meterRegistry);
+        var config = createConfig(1);
+        config.setQueueType(AuditProperties.QueueType.RING_BUFFER);
+        queue = createQueue(pipeline, config);
+
+        // When
+        queue.enqueue(createEvent());
+
+        // Then
+        verify(storage, timeout(5000)).storeBatch(anyList());
+        assertThat(meterRegistry.get("audit.queue.enqueued").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReplayJournaledEventsAndAcknowledgeOnceStored(@TempDir Path journalDirectory) {
+        // Given
+        var previousRun = new WriteAheadJournal(journalDirectory, 64 * 1024, Duration.ofSeconds(10), meterRegistry);
+        previousRun.append(createEvent());
+        previousRun.close();
+
+        var storage = mock(AuditStorage.class);
+        when(storage.storeBatch(anyList())).thenReturn(1);
+        var pipeline = new AsynchronousProcessingPipeline(List.of(), storage, Optional.empty(), meterRegistry);
+        var journal = new WriteAheadJournal(journalDirectory, 64 * 1024, Duration.ofSeconds(10), new SimpleMeterRegistry());
+        var config = createConfig(1);
+        queue = new VirtualThreadAuditQueue(
+                config, pipeline, new BackpressureHandler(rejectingBackpressure(), meterRegistry), journal, meterRegistry);
+
+        // When
+        queue.enqueue(createEvent());
+
+        // Then
+        verify(storage, timeout(5000).times(2)).storeBatch(anyList());
+        queue.shutdown();
+        journal.sync();
+        assertThat(journal.getCheckpoint()).isEqualTo(2);
+        journal.close();
+    }
+
+    @Test
+    void shouldReleaseEventsThatFailToPrepare(@TempDir Path journalDirectory) throws InterruptedException {
+        // Given
+        var pipeline = mock(AsynchronousProcessingPipeline.class);
+        when(pipeline.prepare(any())).thenThrow(new IllegalStateException("Broken processor"));
+        var journal = new WriteAheadJournal(journalDirectory, 64 * 1024, Duration.ofSeconds(10), new SimpleMeterRegistry());
+        queue = new VirtualThreadAuditQueue(
+                createConfig(1), pipeline, new BackpressureHandler(rejectingBackpressure(), meterRegistry), journal, meterRegistry);
+
+        // When
+        queue.enqueue(createEvent());
+
+        // Then
+        verify(pipeline, timeout(5000)).prepare(any());
+        for (int i = 0; i < 50 && meterRegistry.get("audit.queue.failed").counter().count() == 0; i++) {
+            Thread.sleep(100);
+        }
+        verify(pipeline, never()).persistBatch(anyList());
+        journal.sync();
+        assertThat(journal.getCheckpoint()).isEqualTo(1);
+        journal.close();
+    }
+
+    @Test
+    void shouldRetryJournaledEventThatFailedToStore(@TempDir Path journalDirectory) {
+        // Given
+        var storage = mock(AuditStorage.class);
+        when(storage.storeBatch(anyList()))
+                .thenThrow(new AuditStorageException("Connection refused"))
+                .thenReturn(1);
+        when(storage.store(any())).thenThrow(new AuditStorageException("Connection refused"));
+        var pipeline = new AsynchronousProcessingPipeline(List.of(), storage, Optional.empty(), meterRegistry);
+        var journal = new WriteAheadJournal(journalDirectory, 64 * 1024, Duration.ofSeconds(10), new SimpleMeterRegistry());
+        queue = new VirtualThreadAuditQueue(
+                createConfig(1), pipeline, new BackpressureHandler(rejectingBackpressure(), meterRegistry), journal, meterRegistry);
+
+        // When
+        queue.enqueue(createEvent());
+
+        // Then
+        verify(storage, timeout(10000).times(2)).storeBatch(anyList());
+        queue.shutdown();
+        journal.sync();
+        assertThat(journal.getCheckpoint()).isEqualTo(1);
+        journal.close();
+    }
+
+    @Test
+    void shouldReleaseSpilledEventsOnceSpillIsSynced(@TempDir Path directory) throws InterruptedException {
+        // Given
+        var storageBlocked = new CountDownLatch(1);
+        var storage = mock(AuditStorage.class);
+        when(storage.storeBatch(anyList())).thenAnswer(_ -> {
+            storageBlocked.await(5, TimeUnit.SECONDS);
+            return 1;
+        });
+        var pipeline = new AsynchronousProcessingPipeline(List.of(), storage, Optional.empty(), meterRegistry);
+        var journalMetrics = new SimpleMeterRegistry();
+        var journal = new WriteAheadJournal(directory.resolve("journal"), 64 * 1024, Duration.ofSeconds(10), journalMetrics);
+        var backpressure = new AuditProperties.BackpressureConfig();
+        backpressure.setStrategy(AuditProperties.BackpressureStrategy.SPILL);
+        backpressure.setThreshold(1);
+        backpressure.setSpillDirectory(directory.resolve("spill").toString());
+        var config = createConfig(1);
+        config.setQueueCapacity(1);
+        queue = new VirtualThreadAuditQueue(
+                config, pipeline, new BackpressureHandler(backpressure, meterRegistry), journal, meterRegistry);
+
+        // When
+        queue.enqueue(createEvent());
+        verify(storage, timeout(5000)).storeBatch(anyList());
+        queue.enqueue(createEvent());
+        queue.enqueue(createEvent());
+
+        // Then
+        var unacknowledged = journalMetrics.get("audit.journal.unacknowledged").gauge();
+        for (int i = 0; i < 50 && unacknowledged.value() > 2; i++) {
+            Thread.sleep(100);
+        }
+        assertThat(unacknowledged.value()).isEqualTo(2); // Stored once the worker is unblocked
+        assertThat(meterRegistry.get("audit.backpressure.events").tag("outcome", "spilled").counter().count())
+                .isEqualTo(1);
+
+        storageBlocked.countDown();
+        queue.shutdown();
+        journal.close();
+    }
+
+    @Test
+    void shouldKeepSpilledEventsUntilReplayIsStored(@TempDir Path directory) throws InterruptedException {
+        // Given
+        var previousRun = new SpillStore(directory, 1024 * 1024, 1024 * 1024);
+        previousRun.append(createEvent());
+        previousRun.close();
+
+        var storage = mock(AuditStorage.class);
+        when(storage.storeBatch(anyList()))
+                .thenThrow(new AuditStorageException("Connection refused"))
+                .thenReturn(1);
+        when(storage.store(any())).thenThrow(new AuditStorageException("Connection refused"));
+        var pipeline = new AsynchronousProcessingPipeline(List.of(), storage, Optional.empty(), meterRegistry);
+        var backpressure = new AuditProperties.BackpressureConfig();
+        backpressure.setStrategy(AuditProperties.BackpressureStrategy.SPILL);
+        backpressure.setSpillDirectory(directory.toString());
+
+        // When
+        queue = new VirtualThreadAuditQueue(
+                createConfig(1), pipeline, new BackpressureHandler(backpressure, meterRegistry), meterRegistry);
+
+        // Then
+        verify(storage, timeout(10000).times(2)).storeBatch(anyList());
+        var spillBytes = meterRegistry.get("audit.backpressure.spill.bytes").gauge();
+        for (int i = 0; i < 50 && spillBytes.value() > 0; i++) {
+            Thread.sleep(100);
+        }
+        assertThat(spillBytes.value()).isZero();
+    }
+
+    private VirtualThreadAuditQueue createQueue(AsynchronousProcessingPipeline pipeline, int batchSize) {
+        return createQueue(pipeline, createConfig(batchSize));
+    }
+
+    private VirtualThreadAuditQueue createQueue(AsynchronousProcessingPipeline pipeline, AuditProperties.AsyncConfig config) {
+        return new VirtualThreadAuditQueue(
+                config,
+                pipeline,
+                new BackpressureHandler(rejectingBackpressure(), meterRegistry),
+                meterRegistry
+        );
+    }
+
+    private AuditProperties.BackpressureConfig rejectingBackpressure() {
+        var backpressure = new AuditProperties.BackpressureConfig();
+        backpressure.setStrategy(AuditProperties.BackpressureStrategy.REJECT);
+        return backpressure;
+    }
+
+    private AuditProperties.AsyncConfig createConfig(int batchSize) {
+        var config = new AuditProperties.AsyncConfig();
+        config.setWorkerThreads(1);
+        config.setBatchSize(batchSize);
+        config.setBatchTimeoutMs(200);
+        return config;
+    }
+
+    private AuditEvent createEvent() {
+        return AuditEvent.builder()
+                .eventId("test-123")
+                .timestamp(Instant.now())
+                .eventType("TEST")
+                .severity(AuditSeverity.INFO)
+                .build();
+    }
+}
@@ -0,0 +1,78 @@
+package io.safeaudit.core.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+class JsonCanonicalizerTest {
+
+    private final JsonCanonicalizer canonicalizer = new JsonCanonicalizer(Set.of("email"), value -> "***");
+
+    @Test
+    void shouldWriteCompactJsonPreservingFieldOrder() {
+        // Given
+        var payload = "{ \"b\" : 1,\n  \"a\" : [ true, null, 1.50e3 ], \"c\": \"x\\u00e9\" }";
+
+        // When
+        var result = canonicalizer.canonicalize(payload);
+
+        // Then
+        assertThat(result).isEqualTo("{\"b\":1,\"a\":[true,null,1.50e3],\"c\":\"xé\"}");
+    }
+
+    @Test
+    void shouldMaskFieldsAtAnyDepthIncludingArrays() {
+        // Given
+        var payload = "{\"users\":[{\"email\":\"a@b.com\",\"age\":3},{\"email\":\"c@d.com\"}],"
+                + "\"email\":[\"e@f.com\",{\"primary\":\"g@h.com\"}],\"name\":\"email\"}";
+
+        // When
+        var result = canonicalizer.canonicalize(payload);
+
+        // Then
+        assertThat(result).isEqualTo("{\"users\":[{\"email\":\"***\",\"age\":3},{\"email\":\"***\"}],"
+                + "\"email\":[\"***\",{\"primary\":\"***\"}],\"name\":\"email\"}");
+    }
+
+    @Test
+    void shouldCloseTruncatedPayloadAtLastCompleteToken() {
+        // When/Then
+        assertThat(canonicalizer.canonicalize("{\"a\":[1,2,{\"b\":\"cut"))
+                .isEqualTo("{\"a\":[1,2,{}]}");
+        assertThat(canonicalizer.canonicalize("{\"a\":1,\"email\""))
+                .isEqualTo("{\"a\":1}");
+        assertThat(canonicalizer.canonicalize("{\"a\":12"))
+                .isEqualTo("{}");
+    }
+
+    @Test
+    void shouldReturnPayloadWithContentAfterRootValueUnchanged() {
+        // When/Then
+        assertThat(canonicalizer.canonicalize("{\"a\":1} trailing")).isEqualTo("{\"a\":1} trailing");
+        assertThat(canonicalizer.canonicalize("true story")).isEqualTo("true story");
+        assertThat(canonicalizer.canonicalize("{\"a\":1} ")).isEqualTo("{\"a\":1}");
+    }
+
+    @Test
+    void shouldReturnTextThatOnlyStartsLikeJsonUnchanged() {
+        // When/Then
+        assertThat(canonicalizer.canonicalize("[WARN] disk full")).isEqualTo("[WARN] disk full");
+        assertThat(canonicalizer.canonicalize("{not json}")).isEqualTo("{not json}");
+        assertThat(canonicalizer.canonicalize("{\"a\":1,\"email\":x, \"b\":2}"))
+                .isEqualTo("{\"a\":1,\"email\":x, \"b\":2}");
+    }
+
+    @Test
+    void shouldReturnNonJsonUnchanged() {
+        // When/Then
+        assertThat(canonicalizer.canonicalize("not-json-data")).isEqualTo("not-json-data");
+        assertThat(canonicalizer.canonicalize("  ")).isEqualTo("  ");
+        assertThat(canonicalizer.canonicalize(null)).isNull();
+    }
+}
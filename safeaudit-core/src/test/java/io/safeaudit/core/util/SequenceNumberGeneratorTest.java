@@ -4,11 +4,15 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * @author Nelson Tanko
@@ -88,4 +92,79 @@ class SequenceNumberGeneratorTest {
         assertThat(numbers).hasSize(threadCount * iterationsPerThread);
         assertThat(generator.current()).isEqualTo(threadCount * iterationsPerThread);
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldLeaseBlocksFromAllocator() {
+        // Given
+        var leases = new AtomicInteger();
+        var nextFree = new AtomicLong(501);
+        var generator = new SequenceNumberGenerator((instance, size) -> {
+            leases.incrementAndGet();
+            return nextFree.getAndAdd(size);
+        }, "node-1", 3);
+
+        // When
+        var numbers = new ArrayList<Long>();
+        for (int i = 0; i < 7; i++) {
+            numbers.add(generator.next());
+        }
+
+        // Then
+        assertThat(numbers).containsExactly(501L, 502L, 503L, 504L, 505L, 506L, 507L);
+        assertThat(leases).hasValue(3);
+        assertThat(generator.current()).isEqualTo(507L);
+    }
+
+    @Test
+    void shouldNotLeaseUntilFirstNumberIsRequested() {
+        // Given
+        var leases = new AtomicInteger();
+
+        // When
+        new SequenceNumberGenerator((instance, size) -> {
+            leases.incrementAndGet();
+            return 1;
+        }, "node-1", 10);
+
+        // Then
+        assertThat(leases).hasValue(0);
+    }
+
+    @Test
+    void shouldLeaseEachBlockOnceUnderContention() throws InterruptedException {
+        // Given
+        var leases = new AtomicInteger();
+        var nextFree = new AtomicLong(1);
+        var generator = new SequenceNumberGenerator((instance, size) -> {
+            leases.incrementAndGet();
+            return nextFree.getAndAdd(size);
+        }, "node-1", 100);
+        int threadCount = 10;
+        int iterationsPerThread = 1000;
+        var latch = new CountDownLatch(threadCount);
+        Set<Long> numbers = ConcurrentHashMap.newKeySet();
+
+        // When
+        for (int i = 0; i < threadCount; i++) {
+            new Thread(() -> {
+                for (int j = 0; j < iterationsPerThread; j++) {
+                    numbers.add(generator.next());
+                }
+                latch.countDown();
+            }).start();
+        }
+
+        latch.await();
+
+        // Then
+        assertThat(numbers).hasSize(threadCount * iterationsPerThread);
+        assertThat(leases).hasValue(threadCount * iterationsPerThread / 100);
+    }
+
+    @Test
+    void shouldRejectNonPositiveBlockSize() {
+        // When/Then
+        assertThatThrownBy(() -> new SequenceNumberGenerator((instance, size) -> 1, "node-1", 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
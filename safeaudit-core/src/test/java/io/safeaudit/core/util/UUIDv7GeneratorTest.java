@@ -6,8 +6,12 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.HashSet;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 
 /**
  * @author Nelson Tanko
@@ -51,4 +55,66 @@ class UUIDv7GeneratorTest {
         assertThat(uuid1).isLessThan(uuid2);
         assertThat(uuid2).isLessThan(uuid3);
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldCarryCounterOverflowIntoTimestampInsteadOfWaiting() {
+        // Given
+        long now = 1_700_000_000_000L;
+        long first = generator.nextState(now);
+
+        // When
+        long last = first;
+        for (int i = 0; i < 4096; i++) {
+            last = generator.nextState(now);
+        }
+
+        // Then
+        assertThat(first).isEqualTo(now << 12);
+        assertThat(last >>> 12).isEqualTo(now + 1);
+        assertThat(last & 0xFFF).isZero();
+    }
+
+    @Test
+    void shouldStayMonotonicWhenClockMovesBackwards() {
+        // Given
+        long now = 1_700_000_000_000L;
+        long before = generator.nextState(now);
+
+        // When
+        long after = generator.nextState(now - 5_000);
+
+        // Then
+        assertThat(after).isEqualTo(before + 1);
+    }
+
+    @Test
+    void shouldGenerateBinaryVersion7UUIDs() {
+        // When
+        UUID uuid = generator.generateUuid();
+
+        // Then
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        assertThat(uuid.getMostSignificantBits() >>> 16).isCloseTo(System.currentTimeMillis(), within(5_000L));
+    }
+
+    @Test
+    void shouldGenerateUniqueUUIDsAcrossVirtualThreads() throws Exception {
+        // Given
+        Set<UUID> uuids = ConcurrentHashMap.newKeySet();
+
+        // When
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int t = 0; t < 64; t++) {
+                executor.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        uuids.add(generator.generateUuid());
+                    }
+                });
+            }
+        }
+
+        // Then
+        assertThat(uuids).hasSize(64_000);
+    }
+}
@@ -1,5 +1,8 @@
 package io.safeaudit.persistence.dialect;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Abstract base class for SQL dialects.
  *
@@ -8,6 +11,35 @@ package io.safeaudit.persistence.dialect;
  */
 public abstract class AbstractSqlDialect implements SqlDialect {
 
+    /**
+     * Columns bound by {@link #insertSQL}, in parameter order.
+     */
+    protected static final List<String> INSERT_COLUMNS = List.of(
+            "event_id", "sequence_number", "event_timestamp", "event_type", "severity",
+            "user_id", "username", "ip_address", "user_agent",
+            "resource", "action", "session_id", "tenant_id",
+            "request_payload", "response_payload", "http_status_code",
+            "compliance_tags", "data_classification", "retention_until", "contains_pii",
+            "previous_event_hash", "event_hash",
+            "captured_by", "application_name", "application_instance",
+            "chain_key", "chain_sequence"
+    );
+
+    /**
+     * Placeholder tuples for {@code rows} inserted events: {@code (?, ...), (?, ...)}.
+     */
+    protected static String valuesPlaceholders(int rows) {
+        var row = "(" + String.join(", ", Collections.nCopies(INSERT_COLUMNS.size(), "?")) + ")";
+        var values = new StringBuilder(rows * (row.length() + 2));
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                values.append(", ");
+            }
+            values.append(row);
+        }
+        return values.toString();
+    }
+
     @Override
     public String selectByIdSQL(String tableName) {
         return "SELECT * FROM %s WHERE event_id = ?".formatted(tableName);
@@ -39,4 +71,17 @@ public abstract class AbstractSqlDialect implements SqlDialect {
 
         return sql.toString();
     }
+
+    /**
+     * Seek predicate as a row value comparison, which PostgreSQL and H2 turn into a
+     * single index range scan.
+     */
+    protected static String rowValueSeekPredicate(List<String> columns, List<Object> key, boolean descending,
+                                                  List<Object> parameters) {
+        parameters.addAll(key);
+        return "(%s) %s (%s)".formatted(
+                String.join(", ", columns),
+                descending ? "<" : ">",
+                String.join(", ", Collections.nCopies(columns.size(), "?")));
+    }
 }
@@ -1,11 +1,16 @@
 package io.safeaudit.persistence.dialect;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 /**
  * @author Nelson Tanko
  * @since 1.0.0
  */
 public class H2Dialect extends AbstractSqlDialect {
 
+    private static final int MAX_ROWS_PER_INSERT = 1000;
+
     @Override
     public String getDatabaseType() {
         return "H2";
@@ -45,12 +50,16 @@ public class H2Dialect extends AbstractSqlDialect {
                 
                     captured_by VARCHAR(100) NOT NULL,
                     application_name VARCHAR(255) NOT NULL,
-                    application_instance VARCHAR(255)
+                    application_instance VARCHAR(255),
+                
+                    chain_key VARCHAR(255),
+                    chain_sequence BIGINT
                 );
                 
                 CREATE INDEX IF NOT EXISTS idx_%s_timestamp ON %s (event_timestamp DESC);
                 CREATE INDEX IF NOT EXISTS idx_%s_user ON %s (user_id, event_timestamp DESC);
-                """.formatted(tableName, tableName, tableName, tableName, tableName);
+                CREATE INDEX IF NOT EXISTS idx_%s_chain ON %s (chain_key, chain_sequence);
+                """.formatted(tableName, tableName, tableName, tableName, tableName, tableName, tableName);
     }
 
     @Override
@@ -68,11 +77,55 @@ public class H2Dialect extends AbstractSqlDialect {
                     request_payload, response_payload, http_status_code,
                     compliance_tags, data_classification, retention_until, contains_pii,
                     previous_event_hash, event_hash,
-                    captured_by, application_name, application_instance
-                ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                    captured_by, application_name, application_instance,
+                    chain_key, chain_sequence
+                ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
                 """.formatted(tableName);
     }
 
+    /**
+     * A {@code MERGE} that only inserts source rows whose {@code event_id} is not
+     * stored yet, so duplicates are skipped and the update count is the rows inserted.
+     */
+    @Override
+    public String multiRowInsertSQL(String tableName, int rows) {
+        var columns = String.join(", ", INSERT_COLUMNS);
+        return """
+                MERGE INTO %s t
+                USING (VALUES %s) AS s (%s)
+                ON t.event_id = s.event_id
+                WHEN NOT MATCHED THEN INSERT (%s) VALUES (%s)
+                """.formatted(tableName, valuesPlaceholders(rows), columns, columns,
+                INSERT_COLUMNS.stream().map(column -> "s." + column).collect(Collectors.joining(", ")));
+    }
+
+    @Override
+    public int maxRowsPerInsert() {
+        return MAX_ROWS_PER_INSERT;
+    }
+
+    @Override
+    public String seekPredicate(List<String> columns, List<Object> key, boolean descending, List<Object> parameters) {
+        return rowValueSeekPredicate(columns, key, descending, parameters);
+    }
+
+    @Override
+    public String rollupUpsertSQL(String rollupTableName) {
+        return """
+                MERGE INTO %s t
+                USING (VALUES (?, ?, ?, ?, ?, ?, ?)) AS s(bucket_start, bucket_minutes, severity, event_type,
+                    tenant_id, application_name, event_count)
+                ON t.bucket_minutes = s.bucket_minutes AND t.bucket_start = s.bucket_start
+                    AND t.severity = s.severity AND t.event_type = s.event_type
+                    AND t.tenant_id = s.tenant_id AND t.application_name = s.application_name
+                WHEN MATCHED THEN UPDATE SET event_count = t.event_count + s.event_count
+                WHEN NOT MATCHED THEN INSERT (bucket_start, bucket_minutes, severity, event_type, tenant_id,
+                    application_name, event_count)
+                VALUES (s.bucket_start, s.bucket_minutes, s.severity, s.event_type, s.tenant_id,
+                    s.application_name, s.event_count)
+                """.formatted(rollupTableName);
+    }
+
     @Override
     public boolean supportsPartitioning() {
         return false;
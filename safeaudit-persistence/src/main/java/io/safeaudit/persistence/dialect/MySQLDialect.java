@@ -1,11 +1,19 @@
 package io.safeaudit.persistence.dialect;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+
 /**
  * @author Nelson Tanko
  * @since 1.0.0
  */
 public class MySQLDialect extends AbstractSqlDialect {
 
+    // Far below the 65,535 placeholders a statement may bind, and keeps typical
+    // payloads within the default max_allowed_packet
+    private static final int MAX_ROWS_PER_INSERT = Math.min(65_535 / INSERT_COLUMNS.size(), 1000);
+
     @Override
     public String getDatabaseType() {
         return "MySQL";
@@ -47,6 +55,9 @@ public class MySQLDialect extends AbstractSqlDialect {
                     application_name VARCHAR(255) NOT NULL,
                     application_instance VARCHAR(255),
                 
+                    chain_key VARCHAR(255),
+                    chain_sequence BIGINT,
+                
                     partition_key DATE GENERATED ALWAYS AS (DATE(event_timestamp)) STORED,
                 
                     PRIMARY KEY (event_id, partition_key),
@@ -54,7 +65,8 @@ public class MySQLDialect extends AbstractSqlDialect {
                     INDEX idx_timestamp (event_timestamp DESC),
                     INDEX idx_user (user_id, event_timestamp DESC),
                     INDEX idx_resource (resource(255), event_timestamp DESC),
-                    INDEX idx_severity (severity, event_timestamp DESC)
+                    INDEX idx_severity (severity, event_timestamp DESC),
+                    INDEX idx_chain (chain_key, chain_sequence)
                 ) PARTITION BY RANGE COLUMNS(partition_key) (
                     PARTITION p_initial VALUES LESS THAN ('2025-01-01')
                 );
@@ -70,6 +82,20 @@ public class MySQLDialect extends AbstractSqlDialect {
                 """.formatted(tableName, partitionName, toValue);
     }
 
+    @Override
+    public String listPartitionsSQL() {
+        return """
+                SELECT PARTITION_NAME FROM information_schema.PARTITIONS
+                WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL
+                ORDER BY PARTITION_ORDINAL_POSITION
+                """;
+    }
+
+    @Override
+    public String dropPartitionDDL(String tableName, String partitionName) {
+        return "ALTER TABLE %s DROP PARTITION %s".formatted(tableName, partitionName);
+    }
+
     @Override
     public String insertSQL(String tableName) {
         return """
@@ -80,12 +106,58 @@ public class MySQLDialect extends AbstractSqlDialect {
                     request_payload, response_payload, http_status_code,
                     compliance_tags, data_classification, retention_until, contains_pii,
                     previous_event_hash, event_hash,
-                    captured_by, application_name, application_instance
-                ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                    captured_by, application_name, application_instance,
+                    chain_key, chain_sequence
+                ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
                 ON DUPLICATE KEY UPDATE event_id = event_id
                 """.formatted(tableName);
     }
 
+    /**
+     * Keeps the no-op {@code ON DUPLICATE KEY UPDATE} of {@link #insertSQL} rather than
+     * {@code INSERT IGNORE}, which would also turn data errors into warnings.
+     */
+    @Override
+    public String multiRowInsertSQL(String tableName, int rows) {
+        return """
+                INSERT INTO %s (%s)
+                VALUES %s
+                ON DUPLICATE KEY UPDATE event_id = event_id
+                """.formatted(tableName, String.join(", ", INSERT_COLUMNS), valuesPlaceholders(rows));
+    }
+
+    @Override
+    public int maxRowsPerInsert() {
+        return MAX_ROWS_PER_INSERT;
+    }
+
+    @Override
+    public String estimateCountSQL(String tableName, String whereClause) {
+        var where = whereClause == null || whereClause.isBlank() ? "" : " WHERE " + whereClause;
+        return "EXPLAIN SELECT 1 FROM " + tableName + where;
+    }
+
+    @Override
+    public long readEstimate(ResultSet rs) throws SQLException {
+        return Math.round(rs.getLong("rows") * rs.getDouble("filtered") / 100);
+    }
+
+    @Override
+    public String rollupUpsertSQL(String rollupTableName) {
+        return """
+                INSERT INTO %s (bucket_start, bucket_minutes, severity, event_type, tenant_id, application_name,
+                    event_count)
+                VALUES (?, ?, ?, ?, ?, ?, ?)
+                ON DUPLICATE KEY UPDATE event_count = event_count + VALUES(event_count)
+                """.formatted(rollupTableName);
+    }
+
+    @Override
+    public int streamingFetchSize(int fetchSize) {
+        // Connector/J only streams row by row; any other fetch size buffers the whole result
+        return Integer.MIN_VALUE;
+    }
+
     @Override
     public boolean supportsPartitioning() {
         return true;
@@ -105,4 +177,15 @@ public class MySQLDialect extends AbstractSqlDialect {
     public String getUuidType() {
         return "CHAR(36)";
     }
+
+    @Override
+    public Object uuidParameter(UUID value) {
+        return value.toString();
+    }
+
+    @Override
+    public UUID readUuid(ResultSet rs, String column) throws SQLException {
+        var value = rs.getString(column);
+        return value != null ? UUID.fromString(value) : null;
+    }
 }
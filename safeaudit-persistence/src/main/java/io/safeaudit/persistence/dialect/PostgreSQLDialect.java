@@ -1,11 +1,18 @@
 package io.safeaudit.persistence.dialect;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.regex.Pattern;
+
 /**
  * @author Nelson Tanko
  * @since 1.0.0
  */
 public class PostgreSQLDialect extends AbstractSqlDialect {
 
+    private static final Pattern PLAN_ROWS = Pattern.compile("\"Plan Rows\":\\s*(\\d+)");
+
     @Override
     public String getDatabaseType() {
         return "PostgreSQL";
@@ -47,6 +54,9 @@ public class PostgreSQLDialect extends AbstractSqlDialect {
                     application_name VARCHAR(255) NOT NULL,
                     application_instance VARCHAR(255),
                 
+                    chain_key VARCHAR(255),
+                    chain_sequence BIGINT,
+                
                     partition_key DATE NOT NULL GENERATED ALWAYS AS (DATE(event_timestamp)) STORED,
                 
                     PRIMARY KEY (event_id, partition_key),
@@ -58,12 +68,14 @@ public class PostgreSQLDialect extends AbstractSqlDialect {
                 CREATE INDEX IF NOT EXISTS idx_%s_resource ON %s (resource, event_timestamp DESC);
                 CREATE INDEX IF NOT EXISTS idx_%s_severity ON %s (severity, event_timestamp DESC) WHERE severity IN ('WARN', 'CRITICAL');
                 CREATE INDEX IF NOT EXISTS idx_%s_compliance ON %s USING GIN (compliance_tags);
+                CREATE INDEX IF NOT EXISTS idx_%s_chain ON %s (chain_key, chain_sequence);
                 """.formatted(
                 tableName,
                 tableName, tableName,
                 tableName, tableName,
                 tableName, tableName,
                 tableName, tableName,
+                tableName, tableName,
                 tableName, tableName
         );
     }
@@ -76,6 +88,55 @@ public class PostgreSQLDialect extends AbstractSqlDialect {
                 """.formatted(partitionName, tableName, fromValue, toValue);
     }
 
+    @Override
+    public String listPartitionsSQL() {
+        return """
+                SELECT c.relname FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                JOIN pg_class p ON p.oid = i.inhparent
+                WHERE p.relname = ?
+                ORDER BY c.relname
+                """;
+    }
+
+    @Override
+    public String dropPartitionDDL(String tableName, String partitionName) {
+        return "DROP TABLE IF EXISTS %s".formatted(partitionName);
+    }
+
+    /**
+     * Partitioned like {@code tableName} but without indexes; archived rows are only
+     * read in bulk.
+     */
+    @Override
+    public String createArchiveTableDDL(String tableName, String archiveTableName) {
+        return """
+                CREATE TABLE IF NOT EXISTS %s (LIKE %s INCLUDING DEFAULTS INCLUDING GENERATED)
+                PARTITION BY RANGE (partition_key)
+                """.formatted(archiveTableName, tableName);
+    }
+
+    @Override
+    public String detachPartitionDDL(String tableName, String partitionName) {
+        return "ALTER TABLE %s DETACH PARTITION %s".formatted(tableName, partitionName);
+    }
+
+    @Override
+    public String attachPartitionDDL(String tableName, String partitionName, String fromValue, String toValue) {
+        return "ALTER TABLE %s ATTACH PARTITION %s FOR VALUES FROM ('%s') TO ('%s')"
+                .formatted(tableName, partitionName, fromValue, toValue);
+    }
+
+    /**
+     * Names the columns, as {@code partition_key} is generated in the archive table too.
+     */
+    @Override
+    public String archiveRowsSQL(String tableName, String archiveTableName, String whereClause) {
+        var columns = String.join(", ", INSERT_COLUMNS);
+        return "INSERT INTO %s (%s) SELECT %s FROM %s WHERE %s"
+                .formatted(archiveTableName, columns, columns, tableName, whereClause);
+    }
+
     @Override
     public String insertSQL(String tableName) {
         return """
@@ -86,12 +147,53 @@ public class PostgreSQLDialect extends AbstractSqlDialect {
                     request_payload, response_payload, http_status_code,
                     compliance_tags, data_classification, retention_until, contains_pii,
                     previous_event_hash, event_hash,
-                    captured_by, application_name, application_instance
-                ) VALUES (?, ?, ?, ?, ?, ?, ?, ?::inet, ?, ?, ?, ?, ?, ?, ?, ?, ?::text[], ?, ?, ?, ?, ?, ?, ?, ?)
+                    captured_by, application_name, application_instance,
+                    chain_key, chain_sequence
+                ) VALUES (?, ?, ?, ?, ?, ?, ?, ?::inet, ?, ?, ?, ?, ?, ?, ?, ?, ?::text[], ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
                 ON CONFLICT (event_id, partition_key) DO NOTHING
                 """.formatted(tableName);
     }
 
+    /**
+     * Sums {@code pg_class.reltuples} over the table and its partitions when
+     * unfiltered, otherwise asks the planner for the row estimate of the filter.
+     */
+    @Override
+    public String seekPredicate(List<String> columns, List<Object> key, boolean descending, List<Object> parameters) {
+        return rowValueSeekPredicate(columns, key, descending, parameters);
+    }
+
+    @Override
+    public String estimateCountSQL(String tableName, String whereClause) {
+        if (whereClause == null || whereClause.isBlank()) {
+            return """
+                    SELECT COALESCE(SUM(GREATEST(c.reltuples, 0)), 0)::BIGINT FROM pg_class c
+                    WHERE c.oid = '%1$s'::regclass
+                       OR c.oid IN (SELECT i.inhrelid FROM pg_inherits i WHERE i.inhparent = '%1$s'::regclass)
+                    """.formatted(tableName);
+        }
+        return "EXPLAIN (FORMAT JSON) SELECT 1 FROM %s WHERE %s".formatted(tableName, whereClause);
+    }
+
+    @Override
+    public long readEstimate(ResultSet rs) throws SQLException {
+        var value = rs.getString(1);
+        var plan = PLAN_ROWS.matcher(value);
+        // The first "Plan Rows" belongs to the top plan node, which covers all partitions
+        return plan.find() ? Long.parseLong(plan.group(1)) : Long.parseLong(value.strip());
+    }
+
+    @Override
+    public String rollupUpsertSQL(String rollupTableName) {
+        return """
+                INSERT INTO %1$s (bucket_start, bucket_minutes, severity, event_type, tenant_id, application_name,
+                    event_count)
+                VALUES (?, ?, ?, ?, ?, ?, ?)
+                ON CONFLICT (bucket_minutes, bucket_start, severity, event_type, tenant_id, application_name)
+                DO UPDATE SET event_count = %1$s.event_count + EXCLUDED.event_count
+                """.formatted(rollupTableName);
+    }
+
     @Override
     public boolean supportsPartitioning() {
         return true;
@@ -1,5 +1,11 @@
 package io.safeaudit.persistence.dialect;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
 /**
  * @author Nelson Tanko
  * @since 1.0.0
@@ -21,16 +27,99 @@ public interface SqlDialect {
      */
     String createPartitionDDL(String tableName, String partitionName, String fromValue, String toValue);
 
+    /**
+     * Generate a query returning the names of the partitions of the table bound to its
+     * single parameter, or {@code null} if partitions cannot be listed.
+     */
+    default String listPartitionsSQL() {
+        return null;
+    }
+
+    /**
+     * Generate DDL dropping a partition with its rows, or {@code null} if not supported.
+     */
+    default String dropPartitionDDL(String tableName, String partitionName) {
+        return null;
+    }
+
+    /**
+     * Generate DDL creating {@code archiveTableName} so that partitions detached from
+     * {@code tableName} can be attached to it, or {@code null} if partitions cannot be
+     * moved between tables.
+     */
+    default String createArchiveTableDDL(String tableName, String archiveTableName) {
+        return null;
+    }
+
+    /**
+     * Generate DDL detaching a partition into a standalone table, or {@code null} if not
+     * supported.
+     */
+    default String detachPartitionDDL(String tableName, String partitionName) {
+        return null;
+    }
+
+    /**
+     * Generate DDL attaching a standalone table as the {@code [fromValue, toValue)}
+     * partition of {@code tableName}, or {@code null} if not supported.
+     */
+    default String attachPartitionDDL(String tableName, String partitionName, String fromValue, String toValue) {
+        return null;
+    }
+
+    /**
+     * Generate a statement copying the rows of {@code tableName} matching
+     * {@code whereClause} into {@code archiveTableName}.
+     */
+    default String archiveRowsSQL(String tableName, String archiveTableName, String whereClause) {
+        return "INSERT INTO %s SELECT * FROM %s WHERE %s".formatted(archiveTableName, tableName, whereClause);
+    }
+
     /**
      * Generate insert statement.
      */
     String insertSQL(String tableName);
 
+    /**
+     * Generate an insert statement for {@code rows} events that skips duplicates, with
+     * parameters bound row after row in {@link #insertSQL} order, or {@code null} if the
+     * dialect relies on JDBC batching of single-row inserts.
+     */
+    default String multiRowInsertSQL(String tableName, int rows) {
+        return null;
+    }
+
+    /**
+     * Maximum number of events in one {@link #multiRowInsertSQL} statement.
+     */
+    default int maxRowsPerInsert() {
+        return 1;
+    }
+
+    /**
+     * Generate a statement adding {@code event_count} to a statistics bucket, creating it
+     * if missing, with parameters {@code bucket_start, bucket_minutes, severity,
+     * event_type, tenant_id, application_name, event_count}; or {@code null} if the
+     * dialect cannot upsert.
+     */
+    default String rollupUpsertSQL(String rollupTableName) {
+        return null;
+    }
+
     /**
      * Generate select by ID statement.
      */
     String selectByIdSQL(String tableName);
 
+    /**
+     * Generate a select of the {@code event_id} of each stored event among {@code ids}
+     * bound event IDs.
+     */
+    default String selectStoredIdsSQL(String tableName, int ids) {
+        return "SELECT event_id FROM %s WHERE event_id IN (%s)"
+                .formatted(tableName, String.join(", ", Collections.nCopies(ids, "?")));
+    }
+
     /**
      * Generate count statement with criteria.
      */
@@ -41,6 +130,53 @@ public interface SqlDialect {
      */
     String selectSQL(String tableName, String whereClause, String orderBy, int limit, int offset);
 
+    /**
+     * Generate a keyset (seek) predicate matching rows that sort strictly after
+     * the given key on the given columns, adding its bind values to parameters.
+     * The default expands the comparison to {@code c1 < ? OR (c1 = ? AND c2 < ?)},
+     * which every database can use for a range scan.
+     */
+    default String seekPredicate(List<String> columns, List<Object> key, boolean descending, List<Object> parameters) {
+        var operator = descending ? " < ?" : " > ?";
+        var sql = new StringBuilder();
+        int last = columns.size() - 1;
+
+        for (int i = 0; i < last; i++) {
+            sql.append("(").append(columns.get(i)).append(operator)
+                    .append(" OR (").append(columns.get(i)).append(" = ? AND ");
+            parameters.add(key.get(i));
+            parameters.add(key.get(i));
+        }
+        sql.append(columns.get(last)).append(operator);
+        parameters.add(key.get(last));
+        sql.append("))".repeat(last));
+
+        return sql.toString();
+    }
+
+    /**
+     * Generate a statement asking the planner how many rows match, or {@code null}
+     * if the database has no usable row estimate.
+     */
+    default String estimateCountSQL(String tableName, String whereClause) {
+        return null;
+    }
+
+    /**
+     * Read the row estimate from the current row of {@link #estimateCountSQL}'s result.
+     */
+    default long readEstimate(ResultSet rs) throws SQLException {
+        return rs.getLong(1);
+    }
+
+    /**
+     * JDBC fetch size that makes the driver stream a forward-only result set in batches
+     * of about {@code fetchSize} rows instead of reading all of it into memory.
+     */
+    default int streamingFetchSize(int fetchSize) {
+        return fetchSize;
+    }
+
     /**
      * Check if database supports partitioning.
      */
@@ -60,4 +196,18 @@ public interface SqlDialect {
      * Get the SQL type for UUID.
      */
     String getUuidType();
+
+    /**
+     * Bind value for a UUID column. Native UUID columns take the UUID itself.
+     */
+    default Object uuidParameter(UUID value) {
+        return value;
+    }
+
+    /**
+     * Read a UUID column.
+     */
+    default UUID readUuid(ResultSet rs, String column) throws SQLException {
+        return rs.getObject(column, UUID.class);
+    }
 }
@@ -0,0 +1,475 @@
+package io.safeaudit.persistence.integrity;
+
+import io.safeaudit.core.config.AuditProperties;
+import io.safeaudit.core.domain.AuditEvent;
+import io.safeaudit.core.domain.IntegrityReport;
+import io.safeaudit.core.domain.IntegrityReport.IntegrityViolation;
+import io.safeaudit.core.exception.AuditStorageException;
+import io.safeaudit.core.processing.integrity.EventHasher;
+import io.safeaudit.persistence.PersistenceConstants;
+import io.safeaudit.persistence.dialect.SqlDialect;
+import io.safeaudit.persistence.jdbc.SqlTableRegistry;
+import io.safeaudit.persistence.partition.PartitionBounds;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Verifies the hash chains of stored audit events.
+ * <p>
+ * The range is split into UTC days that are streamed and verified in parallel. Each row's
+ * hash is recomputed and its link to the previous row of its chain is checked; links that
+ * cross day boundaries are stitched once all days are done. Scheduled runs record how far
+ * they got, so an interrupted run resumes from its checkpoint, kept in a table created
+ * by {@link #initializeSchema()} on the schema path.
+ *
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+public class IntegrityVerifier {
+
+    private static final Logger log = LoggerFactory.getLogger(IntegrityVerifier.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String tableName;
+    private final String checkpointTable;
+    private final EventHasher hasher;
+    private final boolean includePreviousHash;
+    private final int parallelism;
+    private final int maxViolations;
+    private final boolean partitioned;
+
+    public IntegrityVerifier(DataSource dataSource, AuditProperties properties) {
+        this(dataSource, PersistenceConstants.DEFAULT_TABLE_NAME, properties);
+    }
+
+    public IntegrityVerifier(DataSource dataSource, String tableName, AuditProperties properties) {
+        this(dataSource, tableName, null, properties);
+    }
+
+    /**
+     * Verifier that also bounds {@code partition_key} when {@code dialect} supports
+     * partitioning, so each day's scan touches only its partition.
+     */
+    public IntegrityVerifier(DataSource dataSource, String tableName, SqlDialect dialect, AuditProperties properties) {
+        var hashing = properties.getIntegrity().getHashing();
+        var config = properties.getIntegrity().getVerification();
+
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(config.getFetchSize());
+        this.tableName = SqlTableRegistry.resolve(tableName);
+        this.checkpointTable = this.tableName + "_verification";
+        this.hasher = new EventHasher(hashing.getAlgorithm());
+        this.includePreviousHash = hashing.isIncludePreviousHash();
+        this.parallelism = Math.max(1, config.getParallelism());
+        this.maxViolations = config.getMaxViolations();
+        this.partitioned = dialect != null && dialect.supportsPartitioning();
+    }
+
+    /**
+     * Scheduled verification of everything stored since the last checkpoint.
+     */
+    @Scheduled(cron = "${audit.integrity.verification.schedule:0 0 2 * * ?}")
+    public void verifyScheduled() {
+        try {
+            var report = resume(_ -> {});
+            if (!report.valid()) {
+                log.error("Audit integrity verification found {} violations between {} and {}",
+                        report.violations().size(), report.from(), report.to());
+            }
+        } catch (Exception e) {
+            log.error("Scheduled integrity verification failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Verify from the last checkpoint, or from the oldest event on the first run, up to now.
+     * The day before the checkpoint is verified again so links across it are stitched.
+     */
+    public IntegrityReport resume(Consumer<VerificationProgress> listener) {
+        var to = Instant.now();
+        var from = getCheckpoint()
+                .map(checkpoint -> checkpoint.minus(1, ChronoUnit.DAYS))
+                .or(this::earliestEvent)
+                .orElse(to);
+
+        return verify(from, to, listener, true);
+    }
+
+    public IntegrityReport verify(Instant from, Instant to) {
+        return verify(from, to, _ -> {}, false);
+    }
+
+    public IntegrityReport verify(Instant from, Instant to, Consumer<VerificationProgress> listener) {
+        return verify(from, to, listener, false);
+    }
+
+    private IntegrityReport verify(Instant from, Instant to, Consumer<VerificationProgress> listener,
+                                   boolean checkpoint) {
+        var segments = split(from, to);
+        var violations = new Violations(maxViolations);
+        var tracker = new ProgressTracker(from, segments, listener, violations, checkpoint);
+        var results = new SegmentResult[segments.size()];
+
+        log.info("Verifying integrity of {} from {} to {} in {} segments", tableName, from, to, segments.size());
+
+        var executor = Executors.newFixedThreadPool(parallelism, Thread.ofVirtual().name("audit-verify-", 0).factory());
+        try (executor) {
+            List<Future<?>> futures = new ArrayList<>(segments.size());
+            for (int i = 0; i < segments.size(); i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    results[index] = scan(segments.get(index), violations);
+                    tracker.completed(index, results[index]);
+                }));
+            }
+            for (var future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            executor.shutdownNow();
+            throw new AuditStorageException("Failed to verify integrity", e.getCause());
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new AuditStorageException("Integrity verification interrupted", e);
+        }
+
+        long verified = stitch(results, violations);
+        long total = Arrays.stream(results).mapToLong(result -> result.total).sum();
+
+        log.info("Integrity verification of {} finished: {} events, {} violations",
+                tableName, total, violations.count());
+
+        return new IntegrityReport(violations.count() == 0, from, to, total, verified, violations.list());
+    }
+
+    /**
+     * Split a range into UTC days, the last one inclusive of {@code to}.
+     */
+    private List<Segment> split(Instant from, Instant to) {
+        List<Segment> segments = new ArrayList<>();
+        var start = from;
+
+        while (true) {
+            var nextDay = start.atOffset(ZoneOffset.UTC).toLocalDate().plusDays(1)
+                    .atStartOfDay().toInstant(ZoneOffset.UTC);
+            if (!nextDay.isBefore(to)) {
+                segments.add(new Segment(start, to, true));
+                return segments;
+            }
+            segments.add(new Segment(start, nextDay, false));
+            start = nextDay;
+        }
+    }
+
+    private SegmentResult scan(Segment segment, Violations violations) {
+        var sql = """
+                SELECT event_id, event_timestamp, event_type, user_id, resource, action, session_id,
+                       event_hash, previous_event_hash, chain_key, chain_sequence
+                FROM %s
+                WHERE event_timestamp >= ? AND event_timestamp %s ?%s
+                ORDER BY chain_key, chain_sequence, event_timestamp ASC
+                """.formatted(tableName, segment.inclusive() ? "<=" : "<",
+                partitioned ? " AND partition_key BETWEEN ? AND ?" : "");
+
+        List<Object> params = new ArrayList<>(List.of(Timestamp.from(segment.from()), Timestamp.from(segment.to())));
+        if (partitioned) {
+            params.add(Date.valueOf(PartitionBounds.lowerBound(segment.from())));
+            params.add(Date.valueOf(PartitionBounds.upperBound(segment.to())));
+        }
+
+        var result = new SegmentResult(violations);
+        try {
+            jdbcTemplate.query(sql, rs -> {
+                result.accept(rs);
+            }, params.toArray());
+        } catch (DataAccessException e) {
+            throw new AuditStorageException("Failed to verify integrity from " + segment.from(), e);
+        }
+        result.finish();
+
+        log.debug("Verified segment [{}, {}): {} events", segment.from(), segment.to(), result.total);
+        return result;
+    }
+
+    /**
+     * Check the first link of each run against the last link of the run before it in its chain.
+     *
+     * @return events verified across all segments
+     */
+    private long stitch(SegmentResult[] results, Violations violations) {
+        Map<String, Map<Long, String>> tails = new HashMap<>();
+        Map<String, Long> firstSequence = new HashMap<>();
+        long verified = 0;
+
+        for (var result : results) {
+            verified += result.verified;
+            for (var tail : result.tails) {
+                tails.computeIfAbsent(tail.chainKey(), _ -> new HashMap<>()).put(tail.sequence(), tail.eventHash());
+            }
+            for (var head : result.heads) {
+                firstSequence.merge(head.chainKey(), head.sequence(), Math::min);
+            }
+        }
+
+        for (var result : results) {
+            for (var head : result.heads) {
+                var predecessor = tails.getOrDefault(head.chainKey(), Map.of()).get(head.sequence() - 1);
+
+                if (predecessor != null) {
+                    if (includePreviousHash && !predecessor.equals(head.previousHash())) {
+                        violations.add(head, "Hash chain " + head.chainKey() + " broken at sequence "
+                                + head.sequence() + ": expected " + predecessor + " but got " + head.previousHash());
+                        continue;
+                    }
+                } else if (head.sequence() > firstSequence.get(head.chainKey())) {
+                    violations.add(head, "Hash chain " + head.chainKey() + " is missing the link before sequence "
+                            + head.sequence());
+                    continue;
+                }
+
+                // Otherwise the chain's predecessor lies before the verified range
+                if (head.hashValid()) {
+                    verified++;
+                }
+            }
+        }
+
+        return verified;
+    }
+
+    public Optional<Instant> getCheckpoint() {
+        var sql = "SELECT verified_until FROM %s WHERE table_name = ?".formatted(checkpointTable);
+        return jdbcTemplate.query(sql, (rs, _) -> rs.getTimestamp(1).toInstant(), tableName)
+                .stream()
+                .findFirst();
+    }
+
+    private void saveCheckpoint(Instant verifiedUntil) {
+        var now = Timestamp.from(Instant.now());
+        var update = """
+                UPDATE %s SET verified_until = ?, updated_at = ?
+                WHERE table_name = ? AND verified_until < ?
+                """.formatted(checkpointTable);
+
+        int updated = jdbcTemplate.update(update, Timestamp.from(verifiedUntil), now, tableName,
+                Timestamp.from(verifiedUntil));
+
+        if (updated == 0 && getCheckpoint().isEmpty()) {
+            var insert = "INSERT INTO %s (table_name, verified_until, updated_at) VALUES (?, ?, ?)"
+                    .formatted(checkpointTable);
+            jdbcTemplate.update(insert, tableName, Timestamp.from(verifiedUntil), now);
+        }
+    }
+
+    /**
+     * Create the checkpoint table if needed.
+     */
+    public void initializeSchema() {
+        try {
+            jdbcTemplate.execute("""
+                    CREATE TABLE IF NOT EXISTS %s (
+                        table_name VARCHAR(128) NOT NULL PRIMARY KEY,
+                        verified_until TIMESTAMP NOT NULL,
+                        updated_at TIMESTAMP NOT NULL
+                    )
+                    """.formatted(checkpointTable));
+        } catch (DataAccessException e) {
+            throw new AuditStorageException("Failed to create verification checkpoint table", e);
+        }
+    }
+
+    private Optional<Instant> earliestEvent() {
+        var sql = "SELECT MIN(event_timestamp) FROM %s".formatted(tableName);
+        return Optional.ofNullable(jdbcTemplate.queryForObject(sql, Timestamp.class)).map(Timestamp::toInstant);
+    }
+
+    private record Segment(Instant from, Instant to, boolean inclusive) {
+    }
+
+    private record Link(String eventId, Instant timestamp, String chainKey, long sequence,
+                        String eventHash, String previousHash, boolean hashValid) {
+    }
+
+    /**
+     * Streams one segment, checking links within it and collecting the
+     * first and last link of every run for stitching.
+     */
+    private final class SegmentResult {
+        private final Violations violations;
+        private final List<Link> heads = new ArrayList<>();
+        private final List<Link> tails = new ArrayList<>();
+        private long total;
+        private long verified;
+        private Link last;
+        private String lastUnchainedHash;
+
+        private SegmentResult(Violations violations) {
+            this.violations = violations;
+        }
+
+        private void accept(ResultSet rs) throws SQLException {
+            total++;
+
+            var eventId = rs.getString("event_id");
+            var timestamp = rs.getTimestamp("event_timestamp").toInstant();
+            var eventHash = strip(rs.getString("event_hash"));
+            var previousHash = strip(rs.getString("previous_event_hash"));
+            var chainKey = rs.getString("chain_key");
+
+            if (chainKey == null) {
+                // Written before chains were sharded, only linkage can be checked
+                acceptUnchained(eventId, timestamp, eventHash, previousHash);
+                return;
+            }
+
+            long sequence = rs.getLong("chain_sequence");
+            var event = AuditEvent.builder()
+                    .eventId(eventId)
+                    .timestamp(timestamp)
+                    .eventType(rs.getString("event_type"))
+                    .userId(rs.getString("user_id"))
+                    .resource(rs.getString("resource"))
+                    .action(rs.getString("action"))
+                    .sessionId(rs.getString("session_id"))
+                    .build();
+
+            boolean hashValid = hasher.hash(event, chainKey, sequence, previousHash).equals(eventHash);
+            var link = new Link(eventId, timestamp, chainKey, sequence, eventHash, previousHash, hashValid);
+            if (!hashValid) {
+                violations.add(link, "Event hash mismatch at sequence " + sequence + " of chain " + chainKey);
+            }
+
+            boolean sameChain = last != null && last.chainKey().equals(chainKey);
+            if (sameChain && sequence == last.sequence()) {
+                violations.add(link, "Duplicate sequence " + sequence + " in chain " + chainKey);
+            } else if (sameChain && sequence == last.sequence() + 1) {
+                if (includePreviousHash && !last.eventHash().equals(previousHash)) {
+                    violations.add(link, "Hash chain " + chainKey + " broken at sequence " + sequence
+                            + ": expected " + last.eventHash() + " but got " + previousHash);
+                } else if (hashValid) {
+                    verified++;
+                }
+            } else {
+                // A new chain, or a gap in this one: stitched once all segments are done
+                if (last != null) {
+                    tails.add(last);
+                }
+                heads.add(link);
+            }
+
+            last = link;
+        }
+
+        private void acceptUnchained(String eventId, Instant timestamp, String eventHash, String previousHash) {
+            if (lastUnchainedHash != null && !lastUnchainedHash.equals(previousHash)) {
+                violations.add(new Link(eventId, timestamp, null, 0, eventHash, previousHash, false),
+                        "Hash chain broken: expected " + lastUnchainedHash + " but got " + previousHash);
+            } else {
+                verified++;
+            }
+            lastUnchainedHash = eventHash;
+        }
+
+        private void finish() {
+            if (last != null) {
+                tails.add(last);
+            }
+        }
+
+        private static String strip(String hash) {
+            return hash != null ? hash.strip() : null;
+        }
+    }
+
+    /**
+     * Counts every violation but keeps only the first {@code max}.
+     */
+    private static final class Violations {
+        private final int max;
+        private final AtomicLong count = new AtomicLong();
+        private final List<IntegrityViolation> violations = new ArrayList<>();
+
+        private Violations(int max) {
+            this.max = max;
+        }
+
+        private void add(Link link, String description) {
+            count.incrementAndGet();
+            synchronized (violations) {
+                if (violations.size() < max) {
+                    violations.add(new IntegrityViolation(link.eventId(), description, link.timestamp()));
+                }
+            }
+        }
+
+        private long count() {
+            return count.get();
+        }
+
+        private List<IntegrityViolation> list() {
+            synchronized (violations) {
+                return new ArrayList<>(violations);
+            }
+        }
+    }
+
+    private final class ProgressTracker {
+        private final Instant from;
+        private final List<Segment> segments;
+        private final Consumer<VerificationProgress> listener;
+        private final Violations violations;
+        private final boolean checkpoint;
+        private final boolean[] done;
+        private int completed;
+        private int contiguous;
+        private long scanned;
+
+        private ProgressTracker(Instant from, List<Segment> segments, Consumer<VerificationProgress> listener,
+                                Violations violations, boolean checkpoint) {
+            this.from = from;
+            this.segments = segments;
+            this.listener = listener;
+            this.violations = violations;
+            this.checkpoint = checkpoint;
+            this.done = new boolean[segments.size()];
+        }
+
+        private synchronized void completed(int index, SegmentResult result) {
+            done[index] = true;
+            completed++;
+            scanned += result.total;
+
+            int before = contiguous;
+            while (contiguous < done.length && done[contiguous]) {
+                contiguous++;
+            }
+            var verifiedUntil = contiguous == 0 ? from : segments.get(contiguous - 1).to();
+
+            if (checkpoint && contiguous > before) {
+                saveCheckpoint(verifiedUntil);
+            }
+
+            listener.accept(new VerificationProgress(
+                    completed, segments.size(), scanned, violations.count(), verifiedUntil));
+        }
+    }
+}
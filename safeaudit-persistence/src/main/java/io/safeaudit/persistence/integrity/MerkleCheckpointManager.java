@@ -0,0 +1,443 @@
+package io.safeaudit.persistence.integrity;
+
+import io.safeaudit.core.config.AuditProperties;
+import io.safeaudit.core.domain.InclusionProof;
+import io.safeaudit.core.domain.IntegrityReport;
+import io.safeaudit.core.domain.IntegrityReport.IntegrityViolation;
+import io.safeaudit.core.domain.MerkleCheckpoint;
+import io.safeaudit.core.exception.AuditStorageException;
+import io.safeaudit.core.processing.integrity.MerkleTree;
+import io.safeaudit.persistence.PersistenceConstants;
+import io.safeaudit.persistence.jdbc.SqlTableRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Seals the event hashes of each closed time window into a Merkle root stored in
+ * {@code <table>_merkle_root}, keeping the tree nodes in {@code <table>_merkle_node}
+ * so an inclusion proof for any event takes two indexed queries.
+ * <p>
+ * Windows are aligned to the epoch and sealed once they are older than the seal
+ * delay. Events stored in a window after it was sealed are reported by
+ * {@link #verify(Instant, Instant)}. The tables are created by {@link #initializeSchema()}
+ * on the schema path.
+ *
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+public class MerkleCheckpointManager {
+
+    private static final Logger log = LoggerFactory.getLogger(MerkleCheckpointManager.class);
+
+    private static final int INSERT_BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final String tableName;
+    private final String rootTable;
+    private final String nodeTable;
+    private final MerkleTree tree;
+    private final long windowMillis;
+    private final Duration sealDelay;
+    private final RowMapper<MerkleCheckpoint> checkpointMapper = (rs, _) -> new MerkleCheckpoint(
+            Instant.ofEpochMilli(rs.getLong("window_start")),
+            Instant.ofEpochMilli(rs.getLong("window_end")),
+            rs.getLong("leaf_count"),
+            rs.getString("root_hash"),
+            Instant.ofEpochMilli(rs.getLong("sealed_at"))
+    );
+
+    public MerkleCheckpointManager(DataSource dataSource, AuditProperties properties) {
+        this(dataSource, PersistenceConstants.DEFAULT_TABLE_NAME, properties);
+    }
+
+    public MerkleCheckpointManager(DataSource dataSource, String tableName, AuditProperties properties) {
+        var config = properties.getIntegrity().getMerkle();
+
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.tableName = SqlTableRegistry.resolve(tableName);
+        this.rootTable = this.tableName + "_merkle_root";
+        this.nodeTable = this.tableName + "_merkle_node";
+        this.tree = new MerkleTree(properties.getIntegrity().getHashing().getAlgorithm());
+        this.windowMillis = config.getWindow().toMillis();
+        this.sealDelay = config.getSealDelay();
+    }
+
+    /**
+     * Scheduled sealing of every window closed since the last run.
+     */
+    @Scheduled(cron = "${audit.integrity.merkle.schedule:0 5 * * * ?}")
+    public void sealScheduled() {
+        try {
+            var sealed = sealPending();
+            if (!sealed.isEmpty()) {
+                log.info("Sealed {} Merkle checkpoints up to {}", sealed.size(), sealed.getLast().windowEnd());
+            }
+        } catch (Exception e) {
+            log.error("Failed to seal Merkle checkpoints: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Seal all windows after the last sealed one that ended before the seal delay.
+     */
+    public List<MerkleCheckpoint> sealPending() {
+        var horizon = Instant.now().minus(sealDelay);
+
+        var start = lastSealedWindowEnd().or(this::earliestEvent).map(this::windowStart).orElse(null);
+        if (start == null) {
+            return List.of();
+        }
+
+        List<MerkleCheckpoint> sealed = new ArrayList<>();
+        while (!start.plusMillis(windowMillis).isAfter(horizon)) {
+            sealed.add(seal(start));
+            start = start.plusMillis(windowMillis);
+        }
+        return sealed;
+    }
+
+    /**
+     * Seal the window starting at {@code windowStart}, replacing any nodes left by an
+     * interrupted run. A window that already has a root keeps it, so a window sealed
+     * concurrently by another instance is returned as that instance sealed it.
+     */
+    public MerkleCheckpoint seal(Instant windowStart) {
+        var windowEnd = windowStart.plusMillis(windowMillis);
+
+        try {
+            var existing = checkpoint(windowStart);
+            if (existing.isPresent()) {
+                return existing.get();
+            }
+
+            var leaves = loadLeaves(windowStart, windowEnd);
+            var eventHashes = List.copyOf(leaves.values());
+            var levels = tree.levels(eventHashes);
+            var root = levels.getLast().isEmpty() ? null : levels.getLast().getFirst();
+            // Stored in milliseconds
+            var sealedAt = Instant.ofEpochMilli(System.currentTimeMillis());
+            var checkpoint = new MerkleCheckpoint(windowStart, windowEnd, eventHashes.size(), root, sealedAt);
+
+            // Nodes and root commit together, so a failed seal leaves no partial tree
+            transactionTemplate.executeWithoutResult(_ -> {
+                jdbcTemplate.update("DELETE FROM %s WHERE window_start = ?".formatted(nodeTable),
+                        windowStart.toEpochMilli());
+                insertNodes(windowStart, leaves, levels);
+                jdbcTemplate.update("""
+                                INSERT INTO %s (window_start, window_end, leaf_count, root_hash, sealed_at)
+                                VALUES (?, ?, ?, ?, ?)
+                                """.formatted(rootTable),
+                        windowStart.toEpochMilli(), windowEnd.toEpochMilli(), checkpoint.leafCount(), root,
+                        checkpoint.sealedAt().toEpochMilli());
+            });
+
+            log.debug("Sealed window [{}, {}) with {} events", windowStart, windowEnd, eventHashes.size());
+            return checkpoint;
+        } catch (DuplicateKeyException _) {
+            // Another instance sealed it first; its nodes were kept by the rollback
+            return checkpoint(windowStart).orElseThrow(() -> new AuditStorageException(
+                    "Merkle checkpoint for window " + windowStart + " disappeared while sealing"));
+        } catch (DataAccessException e) {
+            throw new AuditStorageException("Failed to seal Merkle checkpoint for window " + windowStart, e);
+        }
+    }
+
+    private Optional<MerkleCheckpoint> checkpoint(Instant windowStart) {
+        return jdbcTemplate.query("SELECT * FROM %s WHERE window_start = ?".formatted(rootTable), checkpointMapper,
+                windowStart.toEpochMilli()).stream().findFirst();
+    }
+
+    private void insertNodes(Instant windowStart, Map<String, String> leaves, List<List<String>> levels) {
+        var sql = """
+                INSERT INTO %s (window_start, node_level, node_position, node_hash, event_id)
+                VALUES (?, ?, ?, ?, ?)
+                """.formatted(nodeTable);
+        long start = windowStart.toEpochMilli();
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+
+        // Leaves keep the event hash itself so a proof can show what was sealed
+        int position = 0;
+        for (var leaf : leaves.entrySet()) {
+            batch.add(new Object[]{start, 0, position++, leaf.getValue(), leaf.getKey()});
+            flushIfFull(sql, batch);
+        }
+
+        // The root is stored in the root table
+        for (int level = 1; level < levels.size() - 1; level++) {
+            var nodes = levels.get(level);
+            for (int i = 0; i < nodes.size(); i++) {
+                batch.add(new Object[]{start, level, i, nodes.get(i), null});
+                flushIfFull(sql, batch);
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+    }
+
+    private void flushIfFull(String sql, List<Object[]> batch) {
+        if (batch.size() >= INSERT_BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Build the inclusion proof of an event from its sealed window.
+     *
+     * @return empty if the event is not in a sealed window
+     */
+    public Optional<InclusionProof> prove(String eventId) {
+        var id = normalize(eventId);
+
+        try {
+            var leaf = jdbcTemplate.query("""
+                    SELECT window_start, node_position, node_hash FROM %s
+                    WHERE event_id = ? AND node_level = 0
+                    """.formatted(nodeTable), (rs, _) -> new long[]{
+                    rs.getLong("window_start"), rs.getLong("node_position")
+            }, id).stream().findFirst();
+
+            if (leaf.isEmpty()) {
+                return Optional.empty();
+            }
+
+            long windowStart = leaf.get()[0];
+            long leafIndex = leaf.get()[1];
+            var checkpoint = findCheckpoint(windowStart).orElse(null);
+            if (checkpoint == null) {
+                return Optional.empty(); // Interrupted seal
+            }
+
+            var siblings = MerkleTree.siblingPositions(leafIndex, checkpoint.leafCount());
+            var nodes = loadNodes(windowStart, leafIndex, siblings);
+
+            List<InclusionProof.Step> path = new ArrayList<>(siblings.size());
+            long position = leafIndex;
+            long level = 0;
+
+            for (var sibling : siblings) {
+                while (level < sibling[0]) {
+                    position >>= 1;
+                    level++;
+                }
+                var hash = nodes.get(nodeKey(level, sibling[1]));
+                path.add(new InclusionProof.Step(level == 0 ? tree.leaf(hash) : hash, sibling[1] < position));
+            }
+
+            return Optional.of(new InclusionProof(
+                    id, nodes.get(nodeKey(0, leafIndex)), leafIndex, checkpoint.leafCount(),
+                    checkpoint.windowStart(), checkpoint.windowEnd(),
+                    checkpoint.rootHash(), path
+            ));
+        } catch (DataAccessException e) {
+            throw new AuditStorageException("Failed to build inclusion proof for event: " + eventId, e);
+        }
+    }
+
+    /**
+     * Load the leaf and its siblings in one query.
+     */
+    private Map<String, String> loadNodes(long windowStart, long leafIndex, List<long[]> siblings) {
+        List<Object> params = new ArrayList<>();
+        params.add(windowStart);
+        params.add(0);
+        params.add(leafIndex);
+        for (var sibling : siblings) {
+            params.add(sibling[0]);
+            params.add(sibling[1]);
+        }
+
+        var positions = String.join(" OR ",
+                Collections.nCopies(siblings.size() + 1, "(node_level = ? AND node_position = ?)"));
+        var sql = """
+                SELECT node_level, node_position, node_hash FROM %s
+                WHERE window_start = ? AND (%s)
+                """.formatted(nodeTable, positions);
+
+        Map<String, String> nodes = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            nodes.put(nodeKey(rs.getLong("node_level"), rs.getLong("node_position")), rs.getString("node_hash"));
+        }, params.toArray());
+        return nodes;
+    }
+
+    private static String nodeKey(long level, long position) {
+        return level + ":" + position;
+    }
+
+    public boolean verifyProof(InclusionProof proof) {
+        return tree.verify(proof);
+    }
+
+    /**
+     * Sealed windows that start within the range, oldest first.
+     */
+    public List<MerkleCheckpoint> getCheckpoints(Instant from, Instant to) {
+        return jdbcTemplate.query("""
+                SELECT * FROM %s
+                WHERE window_start >= ? AND window_start < ?
+                ORDER BY window_start
+                """.formatted(rootTable), checkpointMapper, windowStart(from).toEpochMilli(), to.toEpochMilli());
+    }
+
+    /**
+     * Single root over the roots of the given windows, so a whole range can be
+     * compared against a previously published value.
+     */
+    public String rootOf(List<MerkleCheckpoint> checkpoints) {
+        return tree.rootOfNodes(checkpoints.stream()
+                .map(MerkleCheckpoint::rootHash)
+                .filter(Objects::nonNull)
+                .toList());
+    }
+
+    /**
+     * Recompute the root of every sealed window in the range from the stored events.
+     * Only windows whose root no longer matches are compared event by event.
+     */
+    public IntegrityReport verify(Instant from, Instant to) {
+        List<IntegrityViolation> violations = new ArrayList<>();
+        long total = 0;
+        long verified = 0;
+
+        for (var checkpoint : getCheckpoints(from, to)) {
+            var leaves = loadLeaves(checkpoint.windowStart(), checkpoint.windowEnd());
+            total += leaves.size();
+
+            var root = tree.root(List.copyOf(leaves.values()));
+            if (Objects.equals(root, checkpoint.rootHash()) && leaves.size() == checkpoint.leafCount()) {
+                verified += leaves.size();
+                continue;
+            }
+
+            verified += compareLeaves(checkpoint, leaves, violations);
+        }
+
+        return new IntegrityReport(violations.isEmpty(), from, to, total, verified, violations);
+    }
+
+    private long compareLeaves(MerkleCheckpoint checkpoint, Map<String, String> leaves,
+                               List<IntegrityViolation> violations) {
+        Map<String, String> sealed = new HashMap<>();
+        jdbcTemplate.query("""
+                        SELECT event_id, node_hash FROM %s
+                        WHERE window_start = ? AND node_level = 0
+                        """.formatted(nodeTable),
+                rs -> {
+                    sealed.put(rs.getString("event_id"), rs.getString("node_hash"));
+                }, checkpoint.windowStart().toEpochMilli());
+
+        long verified = 0;
+        for (var leaf : leaves.entrySet()) {
+            var sealedHash = sealed.remove(leaf.getKey());
+            if (sealedHash == null) {
+                violations.add(new IntegrityViolation(leaf.getKey(),
+                        "Event stored after its window was sealed", checkpoint.windowStart()));
+            } else if (!sealedHash.equals(leaf.getValue())) {
+                violations.add(new IntegrityViolation(leaf.getKey(),
+                        "Event hash changed since its window was sealed", checkpoint.windowStart()));
+            } else {
+                verified++;
+            }
+        }
+        for (var deleted : sealed.keySet()) {
+            violations.add(new IntegrityViolation(deleted,
+                    "Event deleted since its window was sealed", checkpoint.windowStart()));
+        }
+        if (verified == leaves.size() && sealed.isEmpty()) {
+            // Every event matches, so the stored root itself was altered
+            violations.add(new IntegrityViolation(null,
+                    "Merkle root of window does not match its events", checkpoint.windowStart()));
+        }
+        return verified;
+    }
+
+    /**
+     * Event id to event hash, in leaf order.
+     */
+    private Map<String, String> loadLeaves(Instant windowStart, Instant windowEnd) {
+        Map<String, String> leaves = new LinkedHashMap<>();
+        jdbcTemplate.query("""
+                        SELECT event_id, event_hash FROM %s
+                        WHERE event_timestamp >= ? AND event_timestamp < ?
+                        ORDER BY event_timestamp, event_id
+                        """.formatted(tableName),
+                rs -> {
+                    leaves.put(rs.getString("event_id"), rs.getString("event_hash").strip());
+                }, Timestamp.from(windowStart), Timestamp.from(windowEnd));
+        return leaves;
+    }
+
+    private Optional<MerkleCheckpoint> findCheckpoint(long windowStart) {
+        return jdbcTemplate.query("SELECT * FROM %s WHERE window_start = ?".formatted(rootTable),
+                checkpointMapper, windowStart).stream().findFirst();
+    }
+
+    private Optional<Instant> lastSealedWindowEnd() {
+        var end = jdbcTemplate.queryForObject("SELECT MAX(window_end) FROM %s".formatted(rootTable), Long.class);
+        return Optional.ofNullable(end).map(Instant::ofEpochMilli);
+    }
+
+    private Optional<Instant> earliestEvent() {
+        var sql = "SELECT MIN(event_timestamp) FROM %s".formatted(tableName);
+        return Optional.ofNullable(jdbcTemplate.queryForObject(sql, Timestamp.class)).map(Timestamp::toInstant);
+    }
+
+    private Instant windowStart(Instant instant) {
+        return Instant.ofEpochMilli(Math.floorDiv(instant.toEpochMilli(), windowMillis) * windowMillis);
+    }
+
+    private static String normalize(String eventId) {
+        try {
+            return UUID.fromString(eventId).toString();
+        } catch (IllegalArgumentException _) {
+            return eventId;
+        }
+    }
+
+    /**
+     * Create the checkpoint tables if needed.
+     */
+    public void initializeSchema() {
+        try {
+            jdbcTemplate.execute("""
+                    CREATE TABLE IF NOT EXISTS %s (
+                        window_start BIGINT NOT NULL PRIMARY KEY,
+                        window_end BIGINT NOT NULL,
+                        leaf_count BIGINT NOT NULL,
+                        root_hash VARCHAR(128),
+                        sealed_at BIGINT NOT NULL
+                    )
+                    """.formatted(rootTable));
+            jdbcTemplate.execute("""
+                    CREATE TABLE IF NOT EXISTS %s (
+                        window_start BIGINT NOT NULL,
+                        node_level INT NOT NULL,
+                        node_position BIGINT NOT NULL,
+                        node_hash VARCHAR(128) NOT NULL,
+                        event_id VARCHAR(36) UNIQUE,
+                        PRIMARY KEY (window_start, node_level, node_position)
+                    )
+                    """.formatted(nodeTable));
+        } catch (DataAccessException e) {
+            throw new AuditStorageException("Failed to create Merkle checkpoint tables", e);
+        }
+    }
+}
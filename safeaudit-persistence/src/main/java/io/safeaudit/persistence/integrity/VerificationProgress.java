@@ -0,0 +1,17 @@
+package io.safeaudit.persistence.integrity;
+
+import java.time.Instant;
+
+/**
+ * Progress of an integrity verification run, published as each segment completes.
+ *
+ * @param verifiedUntil end of the contiguous range of completed segments
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+public record VerificationProgress(
+        int completedSegments, int totalSegments,
+        long scannedEvents, long violations,
+        Instant verifiedUntil
+) {
+}
@@ -0,0 +1,62 @@
+package io.safeaudit.persistence.jdbc;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Short-lived cache of exact counts, keyed by the normalized count query so
+ * that paging and sorting do not create separate entries.
+ *
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+public class CountCache {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    public CountCache(Duration ttl, int maxEntries) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Return the cached count for the key, or compute, cache and return it.
+     *
+     * @return the count, and whether it was computed by this call
+     */
+    public Result get(String key, LongSupplier counter) {
+        long now = System.nanoTime();
+        var entry = entries.get(key);
+        if (entry != null && now - entry.countedAt() < ttlNanos) {
+            return new Result(entry.total(), false);
+        }
+
+        long total = counter.getAsLong();
+        if (entries.size() >= maxEntries) {
+            evict(now);
+        }
+        entries.put(key, new Entry(total, now));
+        return new Result(total, true);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evict(long now) {
+        entries.values().removeIf(entry -> now - entry.countedAt() >= ttlNanos);
+        if (entries.size() >= maxEntries) {
+            entries.clear();
+        }
+    }
+
+    public record Result(long total, boolean fresh) {
+    }
+
+    private record Entry(long total, long countedAt) {
+    }
+}
@@ -1,14 +1,20 @@
 package io.safeaudit.persistence.jdbc;
 
+import io.safeaudit.core.config.AuditProperties;
 import io.safeaudit.core.domain.*;
-import io.safeaudit.core.domain.IntegrityReport.IntegrityViolation;
 import io.safeaudit.core.domain.enums.AuditSeverity;
+import io.safeaudit.core.domain.enums.CountMode;
 import io.safeaudit.core.domain.enums.DataClassification;
 import io.safeaudit.core.exception.AuditStorageException;
 import io.safeaudit.core.exception.TransientStorageException;
 import io.safeaudit.core.spi.AuditStorage;
 import io.safeaudit.persistence.PersistenceConstants;
+import io.safeaudit.persistence.dialect.PostgreSQLDialect;
 import io.safeaudit.persistence.dialect.SqlDialect;
+import io.safeaudit.persistence.integrity.IntegrityVerifier;
+import io.safeaudit.persistence.partition.PartitionBounds;
+import io.safeaudit.persistence.schema.SchemaManager;
+import io.safeaudit.persistence.stats.StatisticsRollup;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataAccessException;
@@ -16,45 +22,145 @@ import org.springframework.dao.DuplicateKeyException;
 import org.springframework.jdbc.core.BatchPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
 import org.springframework.lang.NonNull;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ClassUtils;
 
 import javax.sql.DataSource;
 import java.sql.*;
 import java.sql.Date;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * @author Nelson Tanko
  * @since 1.0.0
  */
-public class JdbcAuditStorage implements AuditStorage {
+public class JdbcAuditStorage implements AuditStorage, AutoCloseable {
 
     private static final Logger log = LoggerFactory.getLogger(JdbcAuditStorage.class);
+    private static final int STORED_ID_LOOKUP_SIZE = 500;
 
     private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate readJdbcTemplate;
+    private final JdbcTemplate streamJdbcTemplate;
+    private final TransactionTemplate streamTransaction;
     private final SqlDialect dialect;
     private final String tableName;
     private final AuditEventRowMapper rowMapper;
+    private final IntegrityVerifier integrityVerifier;
+    private final CountCache countCache;
+    private final PostgresCopyWriter copyWriter;
+    private final int rowsPerInsert;
+    private final String multiRowInsertSQL;
+    private final AuditProperties.PartitionStrategy partitionStrategy;
+    private final ExecutorService countExecutor;
+    private final StatisticsRollup rollup;
+    private final TransactionTemplate rollupTransaction;
+    private final SchemaManager schemaManager;
 
     public JdbcAuditStorage(DataSource dataSource, SqlDialect dialect) {
         this(dataSource, dialect, PersistenceConstants.DEFAULT_TABLE_NAME);
     }
 
     public JdbcAuditStorage(DataSource dataSource, SqlDialect dialect, String tableName) {
+        this(dataSource, dialect, tableName, new AuditProperties());
+    }
+
+    public JdbcAuditStorage(DataSource dataSource, SqlDialect dialect, String tableName, AuditProperties properties) {
+        this(dataSource, dataSource, dialect, tableName, properties);
+    }
+
+    /**
+     * Storage that writes through {@code dataSource} and runs queries, counts and
+     * integrity verification on {@code readDataSource}, so long reads cannot take
+     * the connections ingestion needs.
+     */
+    public JdbcAuditStorage(DataSource dataSource, DataSource readDataSource, SqlDialect dialect, String tableName,
+                            AuditProperties properties) {
         this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.readJdbcTemplate = readDataSource == dataSource ? jdbcTemplate : new JdbcTemplate(readDataSource);
+        this.streamJdbcTemplate = new JdbcTemplate(readDataSource);
+        this.streamJdbcTemplate.setFetchSize(
+                dialect.streamingFetchSize(properties.getReporting().getExport().getFetchSize()));
+        this.streamTransaction = new TransactionTemplate(new DataSourceTransactionManager(readDataSource));
+        this.streamTransaction.setReadOnly(true);
         this.dialect = dialect;
         this.tableName = SqlTableRegistry.resolve(tableName);
-        this.rowMapper = new AuditEventRowMapper();
+        this.rowMapper = new AuditEventRowMapper(dialect);
+        this.integrityVerifier = new IntegrityVerifier(readDataSource, this.tableName, dialect, properties);
+
+        var countConfig = properties.getReporting().getApi().getCount();
+        this.countCache = new CountCache(countConfig.getCacheTtl(), countConfig.getCacheMaxEntries());
+        this.copyWriter = useCopyIngestion(dialect, properties)
+                ? new PostgresCopyWriter(dataSource, this.tableName)
+                : null;
+        this.rowsPerInsert = dialect.maxRowsPerInsert();
+        this.multiRowInsertSQL = rowsPerInsert > 1 ? dialect.multiRowInsertSQL(this.tableName, rowsPerInsert) : null;
+
+        var partitioning = properties.getStorage().getDatabase().getPartitioning();
+        this.partitionStrategy = partitioning.isEnabled() && dialect.supportsPartitioning()
+                ? partitioning.getStrategy()
+                : null;
+        this.countExecutor = partitionStrategy != null
+                ? Executors.newFixedThreadPool(countParallelism(properties),
+                Thread.ofVirtual().name("audit-count-", 0).factory())
+                : null;
+
+        var rollups = properties.getStorage().getDatabase().getRollups();
+        this.rollup = rollups.isEnabled() && dialect.rollupUpsertSQL(this.tableName) != null
+                ? new StatisticsRollup(jdbcTemplate, readJdbcTemplate, dialect, this.tableName, rollups)
+                : null;
+        this.rollupTransaction = rollup != null
+                ? new TransactionTemplate(new DataSourceTransactionManager(dataSource))
+                : null;
+        this.schemaManager = new SchemaManager(dataSource, dialect, properties, this.tableName);
+    }
+
+    /**
+     * Partitions counted at once, never more than the dedicated read pool can serve.
+     */
+    private static int countParallelism(AuditProperties properties) {
+        var database = properties.getStorage().getDatabase();
+        var parallelism = database.getPartitioning().getQueryParallelism();
+        return database.isUseApplicationDataSource()
+                ? parallelism
+                : Math.min(parallelism, database.getConnection().getReadPoolSize());
+    }
+
+    private static boolean useCopyIngestion(SqlDialect dialect, AuditProperties properties) {
+        if (!properties.getStorage().getDatabase().isCopyIngestion()) {
+            return false;
+        }
+        if (!(dialect instanceof PostgreSQLDialect)
+                || !ClassUtils.isPresent("org.postgresql.PGConnection", JdbcAuditStorage.class.getClassLoader())) {
+            log.warn("COPY ingestion requires PostgreSQL and its JDBC driver; using batched inserts");
+            return false;
+        }
+        return true;
     }
 
     @Override
     public boolean store(AuditEvent event) {
         try {
-            var sql = dialect.insertSQL(tableName);
-            int rows = jdbcTemplate.update(sql, ps -> setParameters(ps, event));
-            return rows > 0;
+            return Boolean.TRUE.equals(withRollups(() -> {
+                var unstored = unstored(List.of(event));
+                var sql = dialect.insertSQL(tableName);
+                int rows = jdbcTemplate.update(sql, ps -> setParameters(ps, event, 1));
+                if (rows > 0) {
+                    recordStored(unstored);
+                }
+                return rows > 0;
+            }));
         } catch (DuplicateKeyException _) {
             log.debug("Duplicate event ignored: {}", event.eventId());
             return false;
@@ -73,26 +179,154 @@ public class JdbcAuditStorage implements AuditStorage {
         }
 
         try {
-            var sql = dialect.insertSQL(tableName);
+            Integer stored = withRollups(() -> writeBatch(events));
+            return stored != null ? stored : 0;
+        } catch (DataAccessException e) {
+            if (isTransient(e)) {
+                throw new TransientStorageException("Transient error storing batch", e);
+            }
+            throw new AuditStorageException("Failed to store batch of " + events.size(), e);
+        }
+    }
 
-            int[] results = jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
-                @Override
-                public void setValues(@NonNull PreparedStatement ps, int i) throws SQLException {
-                    setParameters(ps, events.get(i));
+    private int writeBatch(List<AuditEvent> events) {
+        if (copyWriter != null) {
+            var inserted = copyWriter.write(events);
+            int stored = inserted.size();
+            var added = new ArrayList<AuditEvent>(stored);
+            for (var event : events) {
+                if (inserted.remove(event.eventIdAsUuid())) {
+                    added.add(event);
                 }
+            }
+            recordStored(added);
+            return stored;
+        }
+
+        if (multiRowInsertSQL != null) {
+            return storeInChunks(events);
+        }
+
+        var unstored = unstored(events);
+        var sql = dialect.insertSQL(tableName);
+
+        int[] results = jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(@NonNull PreparedStatement ps, int i) throws SQLException {
+                setParameters(ps, events.get(i), 1);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return events.size();
+            }
+        });
+
+        recordStored(unstored);
+        return storedCount(results);
+    }
 
-                @Override
-                public int getBatchSize() {
-                    return events.size();
+    /**
+     * Run {@code write} with its rollup updates in one transaction, so buckets never
+     * count events whose insert rolled back, and a failed bucket update fails the store.
+     */
+    private <T> T withRollups(Supplier<T> write) {
+        if (rollup == null) {
+            return write.get();
+        }
+
+        rollup.initializeCoverage();
+        var result = rollupTransaction.execute(_ -> write.get());
+        rollup.pruneIfDue();
+        return result;
+    }
+
+    /**
+     * Store events with multi-row inserts of up to {@link SqlDialect#maxRowsPerInsert()} rows.
+     */
+    private int storeInChunks(List<AuditEvent> events) {
+        // An ID repeated within one statement would conflict with itself
+        var byId = new LinkedHashMap<String, AuditEvent>();
+        for (var event : events) {
+            byId.putIfAbsent(event.eventId(), event);
+        }
+        var unique = new ArrayList<>(byId.values());
+
+        int stored = 0;
+        for (int from = 0; from < unique.size(); from += rowsPerInsert) {
+            var chunk = unique.subList(from, Math.min(from + rowsPerInsert, unique.size()));
+            var sql = chunk.size() == rowsPerInsert ? multiRowInsertSQL : dialect.multiRowInsertSQL(tableName, chunk.size());
+            var unstored = unstored(chunk);
+            int rows = jdbcTemplate.update(sql, ps -> {
+                int idx = 1;
+                for (var event : chunk) {
+                    idx = setParameters(ps, event, idx);
                 }
             });
+            recordStored(unstored);
+            stored += rows;
+        }
+        return stored;
+    }
 
-            return Arrays.stream(results).sum();
-        } catch (DataAccessException e) {
-            if (isTransient(e)) {
-                throw new TransientStorageException("Transient error storing batch", e);
+    /**
+     * The events not stored yet, each ID once, for the rollups to count once inserted;
+     * empty when rollups are off. Costs a lookup per write, which is why rollups are
+     * opt-in. Affected-row counts cannot tell: MySQL reports a
+     * skipped duplicate as a found row, and batches may report no per-row counts at all.
+     * An event inserted concurrently by another writer may still be counted twice.
+     */
+    private List<AuditEvent> unstored(List<AuditEvent> events) {
+        if (rollup == null) {
+            return List.of();
+        }
+
+        var byId = new LinkedHashMap<UUID, AuditEvent>();
+        for (var event : events) {
+            byId.putIfAbsent(event.eventIdAsUuid(), event);
+        }
+        var ids = new ArrayList<>(byId.keySet());
+        for (int from = 0; from < ids.size(); from += STORED_ID_LOOKUP_SIZE) {
+            var chunk = ids.subList(from, Math.min(from + STORED_ID_LOOKUP_SIZE, ids.size()));
+            Object[] params = chunk.stream().map(dialect::uuidParameter).toArray();
+            jdbcTemplate.query(dialect.selectStoredIdsSQL(tableName, chunk.size()), rs -> {
+                byId.remove(dialect.readUuid(rs, "event_id"));
+            }, params);
+        }
+        return new ArrayList<>(byId.values());
+    }
+
+    private void recordStored(List<AuditEvent> events) {
+        if (rollup != null) {
+            rollup.record(events);
+        }
+    }
+
+    /**
+     * Sum batch update counts. Drivers may report {@link Statement#SUCCESS_NO_INFO}
+     * for rows they executed without a count; those are counted as stored.
+     */
+    private static int storedCount(int[] results) {
+        int stored = 0;
+        for (int result : results) {
+            if (result > 0) {
+                stored += result;
+            } else if (result == Statement.SUCCESS_NO_INFO) {
+                stored++;
             }
-            throw new AuditStorageException("Failed to store batch of " + events.size(), e);
+        }
+        return stored;
+    }
+
+    @Override
+    public AuditStatistics statistics(Instant from, Instant to) {
+        if (rollup == null) {
+            return AuditStorage.super.statistics(from, to);
+        }
+        try {
+            return rollup.statistics(from, to);
+        } catch (DataAccessException e) {
+            throw new AuditStorageException("Failed to compute statistics", e);
         }
     }
 
@@ -100,7 +334,7 @@ public class JdbcAuditStorage implements AuditStorage {
     public Optional<AuditEvent> findById(String eventId) {
         try {
             var sql = dialect.selectByIdSQL(tableName);
-            List<AuditEvent> results = jdbcTemplate.query(sql, rowMapper, UUID.fromString(eventId));
+            List<AuditEvent> results = readJdbcTemplate.query(sql, rowMapper, dialect.uuidParameter(UUID.fromString(eventId)));
             return results.isEmpty() ? Optional.empty() : Optional.of(results.get(0));
         } catch (DataAccessException e) {
             throw new AuditStorageException("Failed to find event: " + eventId, e);
@@ -110,24 +344,61 @@ public class JdbcAuditStorage implements AuditStorage {
     @Override
     public List<AuditEvent> query(QueryCriteria criteria) {
         try {
+            var slices = partitionSlices(criteria);
+            if (slices.size() > 1 && isTimeOrderedFirstPage(criteria)) {
+                return queryAcrossPartitions(criteria, slices);
+            }
+
             var builder = new QueryBuilder(criteria, dialect, tableName);
             var sql = builder.buildSelectSQL();
-            Object[] params = builder.getParameters();
+            Object[] params = builder.getSelectParameters();
 
-            return jdbcTemplate.query(sql, ps -> setQueryParameters(ps, params), rowMapper);
+            return readJdbcTemplate.query(sql, ps -> setQueryParameters(ps, params), rowMapper);
         } catch (DataAccessException e) {
             throw new AuditStorageException("Failed to query events", e);
         }
     }
 
+    /**
+     * Reads matches through a single forward-only cursor, fetching
+     * {@code audit.reporting.export.fetch-size} rows at a time, so no page of events is
+     * held in memory.
+     */
+    @Override
+    public long stream(QueryCriteria criteria, Consumer<AuditEvent> consumer) {
+        var builder = new QueryBuilder(criteria, dialect, tableName);
+        var sql = builder.buildStreamSQL();
+        Object[] params = builder.getParameters();
+
+        try {
+            // PostgreSQL only fetches in batches with autocommit off
+            Long streamed = streamTransaction.execute(_ -> {
+                long[] rows = new long[1];
+                streamJdbcTemplate.query(sql, ps -> setQueryParameters(ps, params), rs -> {
+                    consumer.accept(rowMapper.mapRow(rs, (int) rows[0]));
+                    rows[0]++;
+                });
+                return rows[0];
+            });
+            return streamed != null ? streamed : 0L;
+        } catch (DataAccessException e) {
+            throw new AuditStorageException("Failed to stream events", e);
+        }
+    }
+
     @Override
     public long count(QueryCriteria criteria) {
         try {
+            var slices = partitionSlices(criteria);
+            if (slices.size() > 1) {
+                return countAcrossPartitions(criteria, slices);
+            }
+
             var builder = new QueryBuilder(criteria, dialect, tableName);
             var sql = builder.buildCountSQL();
             Object[] params = builder.getParameters();
 
-            List<Long> results = jdbcTemplate.query(sql, ps -> setQueryParameters(ps, params),
+            List<Long> results = readJdbcTemplate.query(sql, ps -> setQueryParameters(ps, params),
                     (rs, rowNum) -> rs.getLong(1));
             return results.isEmpty() ? 0L : results.get(0);
         } catch (DataAccessException e) {
@@ -136,51 +407,132 @@ public class JdbcAuditStorage implements AuditStorage {
     }
 
     @Override
-    public IntegrityReport verifyIntegrity(Instant from, Instant to) {
+    public EventCount count(QueryCriteria criteria, CountMode mode) {
+        var builder = new QueryBuilder(criteria, dialect, tableName);
+        Object[] params = builder.getParameters();
+
+        return switch (mode) {
+            case EXACT -> EventCount.exact(count(criteria));
+            case CACHED -> {
+                var key = builder.buildCountSQL() + Arrays.deepToString(params);
+                var result = countCache.get(key, () -> count(criteria));
+                yield new EventCount(result.total(), result.fresh());
+            }
+            case ESTIMATED -> {
+                var sql = builder.buildEstimateCountSQL();
+                long estimate = sql == null ? 0 : estimate(sql, params);
+                // Without statistics the planner reports nothing useful, and an empty table is cheap to count
+                yield estimate > 0 ? EventCount.approximate(estimate) : EventCount.exact(count(criteria));
+            }
+        };
+    }
+
+    /**
+     * Split a time-bounded range along partition boundaries, or nothing if the table is
+     * not partitioned or the range is open.
+     */
+    private List<PartitionBounds.Slice> partitionSlices(QueryCriteria criteria) {
+        if (partitionStrategy == null || criteria.getFrom() == null || criteria.getTo() == null) {
+            return List.of();
+        }
+        return PartitionBounds.slices(criteria.getFrom(), criteria.getTo(), partitionStrategy);
+    }
+
+    private static boolean isTimeOrderedFirstPage(QueryCriteria criteria) {
+        var sortBy = criteria.getSortBy();
+        return criteria.getPage() == 0 && (sortBy == null || sortBy.isBlank() || "event_timestamp".equals(sortBy));
+    }
+
+    /**
+     * Read partitions in sort order until the page is full, so a recent page of a wide
+     * range touches only the newest partitions.
+     */
+    private List<AuditEvent> queryAcrossPartitions(QueryCriteria criteria, List<PartitionBounds.Slice> slices) {
+        var descending = criteria.getSortDirection() == QueryCriteria.SortDirection.DESC;
+        var ordered = descending ? slices.reversed() : slices;
+        var cursor = criteria.getCursor();
+
+        List<AuditEvent> events = new ArrayList<>(criteria.getSize());
+        for (var slice : ordered) {
+            // Partitions entirely on the far side of the cursor hold nothing for this page
+            if (cursor != null && (descending
+                    ? slice.from().isAfter(cursor.timestamp())
+                    : slice.to().isBefore(cursor.timestamp()))) {
+                continue;
+            }
+
+            var builder = new QueryBuilder(criteria, dialect, tableName, slice, criteria.getSize() - events.size());
+            var sql = builder.buildSelectSQL();
+            Object[] params = builder.getSelectParameters();
+            events.addAll(readJdbcTemplate.query(sql, ps -> setQueryParameters(ps, params), rowMapper));
+
+            if (events.size() >= criteria.getSize()) {
+                break;
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Count each partition separately and in parallel, each count pruned to one partition.
+     */
+    private long countAcrossPartitions(QueryCriteria criteria, List<PartitionBounds.Slice> slices) {
+        List<Future<Long>> futures = new ArrayList<>(slices.size());
         try {
-            String sql = """
-                    SELECT event_id, event_timestamp, event_hash, previous_event_hash
-                    FROM %s
-                    WHERE event_timestamp BETWEEN ? AND ?
-                    ORDER BY event_timestamp ASC
-                    """.formatted(tableName);
-
-            List<IntegrityViolation> violations = new ArrayList<>();
-            final String[] previousHash = {null};
-            final AtomicLong[] totalEvents = {new AtomicLong()};
-            final int[] verifiedEvents = {0};
-
-            jdbcTemplate.query(sql, rs -> {
-                var eventId = rs.getString("event_id");
-                var timestamp = rs.getTimestamp("event_timestamp").toInstant();
-                var eventHash = rs.getString("event_hash");
-                var prevHash = rs.getString("previous_event_hash");
-
-                totalEvents[0].getAndIncrement();
-
-                if (previousHash[0] != null && !previousHash[0].equals(prevHash)) {
-                    violations.add(new IntegrityViolation(
-                            eventId,
-                            "Hash chain broken: expected " + previousHash[0] + " but got " + prevHash,
-                            timestamp
-                    ));
-                } else {
-                    verifiedEvents[0]++;
-                }
+            for (var slice : slices) {
+                futures.add(countExecutor.submit(() -> {
+                    var builder = new QueryBuilder(criteria, dialect, tableName, slice, criteria.getSize());
+                    Object[] params = builder.getParameters();
+                    List<Long> results = readJdbcTemplate.query(builder.buildCountSQL(),
+                            ps -> setQueryParameters(ps, params), (rs, rowNum) -> rs.getLong(1));
+                    return results.isEmpty() ? 0L : results.get(0);
+                }));
+            }
+
+            long total = 0;
+            for (var future : futures) {
+                total += future.get();
+            }
+            return total;
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new AuditStorageException("Failed to count events", e.getCause());
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new AuditStorageException("Counting events interrupted", e);
+        } catch (RejectedExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new AuditStorageException("Audit storage is closed", e);
+        }
+    }
 
-                previousHash[0] = eventHash;
-            }, Timestamp.from(from), Timestamp.from(to));
-
-            return new IntegrityReport(
-                    violations.isEmpty(),
-                    from,
-                    to,
-                    totalEvents[0].get(),
-                    verifiedEvents[0],
-                    violations
-            );
+    private long estimate(String sql, Object[] params) {
+        try {
+            List<Long> results = readJdbcTemplate.query(sql, ps -> setQueryParameters(ps, params),
+                    (rs, rowNum) -> dialect.readEstimate(rs));
+            return results.isEmpty() ? 0L : results.getFirst();
         } catch (DataAccessException e) {
-            throw new AuditStorageException("Failed to verify integrity", e);
+            log.debug("Row estimate unavailable, counting exactly: {}", e.getMessage());
+            return 0L;
+        }
+    }
+
+    @Override
+    public IntegrityReport verifyIntegrity(Instant from, Instant to) {
+        return integrityVerifier.verify(from, to);
+    }
+
+    @Override
+    public Optional<ChainHead> findChainHead(String chainKey) {
+        try {
+            var sql = dialect.selectSQL(tableName, "chain_key = ?", "chain_sequence DESC", 1, 0);
+            List<AuditEvent> results = jdbcTemplate.query(sql, rowMapper, chainKey);
+            return results.stream()
+                    .findFirst()
+                    .map(event -> new ChainHead(chainKey, event.chainSequence(), event.eventHash().strip()));
+        } catch (DataAccessException e) {
+            throw new AuditStorageException("Failed to find head of chain: " + chainKey, e);
         }
     }
 
@@ -188,6 +540,9 @@ public class JdbcAuditStorage implements AuditStorage {
     public void initializeSchema() {
         try {
             log.info("Initializing audit schema for table: {}", tableName);
+            if (schemaManager.tableExists(tableName)) {
+                schemaManager.migrate();
+            }
             var ddl = dialect.createTableDDL(tableName);
 
             // Execute each statement separately
@@ -198,6 +553,9 @@ public class JdbcAuditStorage implements AuditStorage {
                     jdbcTemplate.execute(trimmed);
                 }
             }
+            if (rollup != null) {
+                rollup.initializeSchema();
+            }
 
             log.info("Audit schema initialized successfully");
         } catch (DataAccessException e) {
@@ -215,12 +573,17 @@ public class JdbcAuditStorage implements AuditStorage {
         }
     }
 
-    private void setParameters(PreparedStatement ps, AuditEvent event) throws SQLException {
-        int idx = 1;
+    /**
+     * Bind {@code event} starting at parameter {@code idx}.
+     *
+     * @return index of the next unbound parameter
+     */
+    private int setParameters(PreparedStatement ps, AuditEvent event, int idx) throws SQLException {
 
-        ps.setObject(idx++, UUID.fromString(event.eventId()));
+        ps.setObject(idx++, dialect.uuidParameter(event.eventIdAsUuid()));
         ps.setLong(idx++, event.sequenceNumber());
-        ps.setTimestamp(idx++, Timestamp.from(event.timestamp()));
+        // Databases round to microseconds, the event hash truncates
+        ps.setTimestamp(idx++, Timestamp.from(event.timestamp().truncatedTo(ChronoUnit.MICROS)));
         ps.setString(idx++, event.eventType());
         ps.setString(idx++, event.severity().name());
 
@@ -252,6 +615,10 @@ public class JdbcAuditStorage implements AuditStorage {
         ps.setString(idx++, event.capturedBy());
         ps.setString(idx++, event.applicationName());
         ps.setString(idx++, event.applicationInstance());
+
+        ps.setString(idx++, event.chainKey());
+        ps.setObject(idx++, event.chainKey() != null ? event.chainSequence() : null, Types.BIGINT);
+        return idx;
     }
 
     private void setQueryParameters(PreparedStatement ps, Object[] params) throws SQLException {
@@ -274,11 +641,27 @@ public class JdbcAuditStorage implements AuditStorage {
         return false;
     }
 
+    /**
+     * Stop the threads that count partitioned tables.
+     */
+    @Override
+    public void close() {
+        if (countExecutor != null) {
+            countExecutor.close();
+        }
+    }
+
     /**
      * RowMapper for converting ResultSet to AuditEvent.
      */
     private static class AuditEventRowMapper implements RowMapper<AuditEvent> {
 
+        private final SqlDialect dialect;
+
+        AuditEventRowMapper(SqlDialect dialect) {
+            this.dialect = dialect;
+        }
+
         @Override
         public AuditEvent mapRow(ResultSet rs, int rowNum) throws SQLException {
             var compliance = ComplianceMetadata.builder()
@@ -290,7 +673,7 @@ public class JdbcAuditStorage implements AuditStorage {
                     .build();
 
             return AuditEvent.builder()
-                    .eventId(rs.getString("event_id"))
+                    .eventUuid(dialect.readUuid(rs, "event_id"))
                     .sequenceNumber(rs.getLong("sequence_number"))
                     .timestamp(rs.getTimestamp("event_timestamp").toInstant())
                     .eventType(rs.getString("event_type"))
@@ -312,6 +695,8 @@ public class JdbcAuditStorage implements AuditStorage {
                     .capturedBy(rs.getString("captured_by"))
                     .applicationName(rs.getString("application_name"))
                     .applicationInstance(rs.getString("application_instance"))
+                    .chainKey(rs.getString("chain_key"))
+                    .chainSequence(rs.getLong("chain_sequence"))
                     .build();
         }
 
@@ -0,0 +1,116 @@
+package io.safeaudit.persistence.jdbc;
+
+import io.safeaudit.core.exception.AuditStorageException;
+import io.safeaudit.core.spi.SequenceBlockAllocator;
+import io.safeaudit.persistence.PersistenceConstants;
+import io.safeaudit.persistence.schema.SchemaManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Leases sequence number blocks from a {@code <table>_sequence} table holding the next
+ * free number per application instance.
+ * <p>
+ * Each lease bumps the row and reads it back in its own transaction, independent of any
+ * transaction the caller is in. The first lease for an instance starts after the highest
+ * sequence number already stored for it, so existing deployments continue their sequence.
+ * The table is created by {@link #initializeSchema()} on the schema path.
+ *
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+public class JdbcSequenceBlockAllocator implements SequenceBlockAllocator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final String tableName;
+    private final String sequenceTable;
+
+    private volatile boolean eventTableExists;
+
+    public JdbcSequenceBlockAllocator(DataSource dataSource) {
+        this(dataSource, PersistenceConstants.DEFAULT_TABLE_NAME);
+    }
+
+    public JdbcSequenceBlockAllocator(DataSource dataSource, String tableName) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.tableName = SqlTableRegistry.resolve(tableName);
+        this.sequenceTable = this.tableName + "_sequence";
+    }
+
+    @Override
+    public long allocate(String applicationInstance, int size) {
+        try {
+            // Checked before the lease, as a failed query aborts a PostgreSQL transaction
+            boolean stored = eventTableExists();
+            try {
+                return lease(applicationInstance, size, stored);
+            } catch (DuplicateKeyException _) {
+                // Another node created the row first; it exists now
+                return lease(applicationInstance, size, stored);
+            }
+        } catch (DataAccessException e) {
+            throw new AuditStorageException("Failed to lease sequence block for " + applicationInstance, e);
+        }
+    }
+
+    /**
+     * Create the sequence table if needed.
+     */
+    public void initializeSchema() {
+        try {
+            jdbcTemplate.execute("""
+                    CREATE TABLE IF NOT EXISTS %s (
+                        application_instance VARCHAR(255) NOT NULL PRIMARY KEY,
+                        next_value BIGINT NOT NULL
+                    )
+                    """.formatted(sequenceTable));
+        } catch (DataAccessException e) {
+            throw new AuditStorageException("Failed to create sequence table " + sequenceTable, e);
+        }
+    }
+
+    private long lease(String applicationInstance, int size, boolean stored) {
+        Long start = transactionTemplate.execute(_ -> {
+            int updated = jdbcTemplate.update(
+                    "UPDATE " + sequenceTable + " SET next_value = next_value + ? WHERE application_instance = ?",
+                    size, applicationInstance);
+
+            if (updated == 0) {
+                long first = (stored ? highestStoredSequence(applicationInstance) : 0) + 1;
+                jdbcTemplate.update(
+                        "INSERT INTO " + sequenceTable + " (application_instance, next_value) VALUES (?, ?)",
+                        applicationInstance, first + size);
+                return first;
+            }
+
+            Long next = jdbcTemplate.queryForObject(
+                    "SELECT next_value FROM " + sequenceTable + " WHERE application_instance = ?",
+                    Long.class, applicationInstance);
+            return next - size;
+        });
+        return start;
+    }
+
+    private long highestStoredSequence(String applicationInstance) {
+        Long highest = jdbcTemplate.queryForObject(
+                "SELECT MAX(sequence_number) FROM " + tableName + " WHERE application_instance = ?",
+                Long.class, applicationInstance);
+        return highest != null ? highest : 0;
+    }
+
+    private boolean eventTableExists() {
+        if (!eventTableExists) {
+            eventTableExists = SchemaManager.tableExists(jdbcTemplate, tableName);
+        }
+        return eventTableExists;
+    }
+}
@@ -0,0 +1,173 @@
+package io.safeaudit.persistence.jdbc;
+
+import io.safeaudit.core.domain.AuditEvent;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Encodes audit events in the PostgreSQL binary {@code COPY} format, one row per event
+ * in the column order of {@link #COLUMNS}.
+ * <p>
+ * Rows are written straight to the target stream as they are encoded, so a batch is
+ * never materialized in memory. {@code ip_address} is sent as text and cast on insert.
+ *
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+final class PgBinaryCopyEncoder {
+
+    static final String COLUMNS = """
+            event_id, sequence_number, event_timestamp, event_type, severity,
+            user_id, username, ip_address, user_agent,
+            resource, action, session_id, tenant_id,
+            request_payload, response_payload, http_status_code,
+            compliance_tags, data_classification, retention_until, contains_pii,
+            previous_event_hash, event_hash,
+            captured_by, application_name, application_instance,
+            chain_key, chain_sequence""";
+
+    private static final short FIELD_COUNT = 27;
+    private static final byte[] SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+    private static final int TEXT_OID = 25;
+
+    // PostgreSQL counts timestamps and dates from 2000-01-01
+    private static final long PG_EPOCH_SECONDS = 946_684_800L;
+    private static final long PG_EPOCH_DAYS = 10_957L;
+
+    private final DataOutputStream out;
+
+    PgBinaryCopyEncoder(OutputStream out) {
+        this.out = new DataOutputStream(out);
+    }
+
+    void writeHeader() throws IOException {
+        out.write(SIGNATURE);
+        out.writeInt(0); // flags
+        out.writeInt(0); // header extension length
+    }
+
+    void writeTrailer() throws IOException {
+        out.writeShort(-1);
+        out.flush();
+    }
+
+    void writeRow(AuditEvent event) throws IOException {
+        out.writeShort(FIELD_COUNT);
+
+        var id = event.eventIdAsUuid();
+        out.writeInt(16);
+        out.writeLong(id.getMostSignificantBits());
+        out.writeLong(id.getLeastSignificantBits());
+        writeLong(event.sequenceNumber());
+        writeTimestamp(event.timestamp());
+        writeText(event.eventType());
+        writeText(event.severity().name());
+
+        writeText(event.userId());
+        writeText(event.username());
+        writeText(event.ipAddress());
+        writeText(event.userAgent());
+
+        writeText(event.resource());
+        writeText(event.action());
+        writeText(event.sessionId());
+        writeText(event.tenantId());
+
+        writeText(event.requestPayload());
+        writeText(event.responsePayload());
+        writeInt(event.httpStatusCode());
+
+        var compliance = event.compliance();
+        writeTextArray(compliance.regulatoryTags());
+        writeText(compliance.dataClassification().name());
+        writeDate(compliance.retentionUntil());
+        out.writeInt(1);
+        out.writeBoolean(compliance.containsPII());
+
+        writeText(event.previousEventHash());
+        writeText(event.eventHash());
+
+        writeText(event.capturedBy());
+        writeText(event.applicationName());
+        writeText(event.applicationInstance());
+
+        writeText(event.chainKey());
+        if (event.chainKey() != null) {
+            writeLong(event.chainSequence());
+        } else {
+            out.writeInt(-1);
+        }
+    }
+
+    private void writeLong(long value) throws IOException {
+        out.writeInt(8);
+        out.writeLong(value);
+    }
+
+    private void writeInt(Integer value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(4);
+        out.writeInt(value);
+    }
+
+    private void writeTimestamp(Instant value) throws IOException {
+        writeLong((value.getEpochSecond() - PG_EPOCH_SECONDS) * 1_000_000L + value.getNano() / 1_000);
+    }
+
+    private void writeDate(LocalDate value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(4);
+        out.writeInt((int) (value.toEpochDay() - PG_EPOCH_DAYS));
+    }
+
+    private void writeText(String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private void writeTextArray(Collection<String> values) throws IOException {
+        if (values.isEmpty()) {
+            out.writeInt(12);
+            out.writeInt(0); // dimensions
+            out.writeInt(0); // has nulls
+            out.writeInt(TEXT_OID);
+            return;
+        }
+
+        var elements = new byte[values.size()][];
+        int length = 20;
+        int i = 0;
+        for (var value : values) {
+            elements[i] = value.getBytes(StandardCharsets.UTF_8);
+            length += 4 + elements[i++].length;
+        }
+
+        out.writeInt(length);
+        out.writeInt(1); // dimensions
+        out.writeInt(0); // has nulls
+        out.writeInt(TEXT_OID);
+        out.writeInt(elements.length);
+        out.writeInt(1); // lower bound
+        for (var element : elements) {
+            out.writeInt(element.length);
+            out.write(element);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package io.safeaudit.persistence.jdbc;
+
+import io.safeaudit.core.domain.AuditEvent;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Bulk loads events with {@code COPY ... FROM STDIN (FORMAT BINARY)} into a session-local
+ * staging table, then moves them into the audit table with
+ * {@code INSERT ... SELECT ... ON CONFLICT DO NOTHING RETURNING event_id} so duplicates are
+ * skipped as on the regular insert path and the rows actually inserted are known.
+ * <p>
+ * The staging table is emptied on commit. When the batch joins an outer transaction,
+ * rows left from an earlier batch in that transaction are already stored and conflict
+ * away on the next insert.
+ *
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+final class PostgresCopyWriter {
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final String createStagingSQL;
+    private final String copySQL;
+    private final String mergeSQL;
+
+    PostgresCopyWriter(DataSource dataSource, String tableName) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        var stagingTable = tableName.replace('.', '_') + "_staging";
+        this.createStagingSQL = """
+                CREATE TEMP TABLE IF NOT EXISTS %s (
+                    event_id UUID, sequence_number BIGINT, event_timestamp TIMESTAMP(6) WITH TIME ZONE,
+                    event_type TEXT, severity TEXT,
+                    user_id TEXT, username TEXT, ip_address TEXT, user_agent TEXT,
+                    resource TEXT, action TEXT, session_id TEXT, tenant_id TEXT,
+                    request_payload TEXT, response_payload TEXT, http_status_code INTEGER,
+                    compliance_tags TEXT[], data_classification TEXT, retention_until DATE, contains_pii BOOLEAN,
+                    previous_event_hash TEXT, event_hash TEXT,
+                    captured_by TEXT, application_name TEXT, application_instance TEXT,
+                    chain_key TEXT, chain_sequence BIGINT
+                ) ON COMMIT DELETE ROWS
+                """.formatted(stagingTable);
+        this.copySQL = "COPY %s (%s) FROM STDIN (FORMAT BINARY)"
+                .formatted(stagingTable, PgBinaryCopyEncoder.COLUMNS);
+        this.mergeSQL = """
+                INSERT INTO %s (%s)
+                SELECT event_id, sequence_number, event_timestamp, event_type, severity,
+                    user_id, username, ip_address::inet, user_agent,
+                    resource, action, session_id, tenant_id,
+                    request_payload, response_payload, http_status_code,
+                    compliance_tags, data_classification, retention_until, contains_pii,
+                    previous_event_hash, event_hash,
+                    captured_by, application_name, application_instance,
+                    chain_key, chain_sequence
+                FROM %s
+                ON CONFLICT (event_id, partition_key) DO NOTHING
+                RETURNING event_id
+                """.formatted(tableName, PgBinaryCopyEncoder.COLUMNS, stagingTable);
+    }
+
+    /**
+     * @return IDs of the events inserted, excluding duplicates
+     */
+    Set<UUID> write(List<AuditEvent> events) {
+        Set<UUID> inserted = transactionTemplate.execute(_ -> jdbcTemplate.execute((ConnectionCallback<Set<UUID>>) con -> {
+            try (var statement = con.createStatement()) {
+                statement.execute(createStagingSQL);
+            }
+
+            copy(con.unwrap(PGConnection.class), events);
+
+            var ids = new HashSet<UUID>(events.size());
+            try (var statement = con.createStatement();
+                 var rs = statement.executeQuery(mergeSQL)) {
+                while (rs.next()) {
+                    ids.add(rs.getObject(1, UUID.class));
+                }
+            }
+            return ids;
+        }));
+        return inserted != null ? inserted : new HashSet<>();
+    }
+
+    private void copy(PGConnection connection, List<AuditEvent> events) throws SQLException {
+        var stream = new PGCopyOutputStream(connection, copySQL, COPY_BUFFER_SIZE);
+        try {
+            var encoder = new PgBinaryCopyEncoder(stream);
+            encoder.writeHeader();
+            for (var event : events) {
+                encoder.writeRow(event);
+            }
+            encoder.writeTrailer();
+            stream.endCopy();
+        } catch (IOException e) {
+            if (e.getCause() instanceof SQLException cause) {
+                throw cause;
+            }
+            throw new SQLException("COPY of " + events.size() + " audit events failed", e);
+        } finally {
+            if (stream.isActive()) {
+                stream.cancelCopy();
+            }
+        }
+    }
+}
@@ -2,12 +2,15 @@ package io.safeaudit.persistence.jdbc;
 
 import io.safeaudit.core.domain.QueryCriteria;
 import io.safeaudit.persistence.dialect.SqlDialect;
+import io.safeaudit.persistence.partition.PartitionBounds;
 
+import java.sql.Date;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.UUID;
 
 /**
  * @author Nelson Tanko
@@ -20,16 +23,32 @@ public class QueryBuilder {
             "user_id", "username", "ip_address", "resource", "action"
     );
 
+    private static final String DEFAULT_SORT_COLUMN = "event_timestamp";
+    private static final List<String> SEEK_COLUMNS = List.of("event_timestamp", "event_id");
+
     private final QueryCriteria criteria;
     private final SqlDialect dialect;
     private final String tableName;
+    private final PartitionBounds.Slice slice;
+    private final int limit;
     private final List<Object> parameters = new ArrayList<>();
     private final StringBuilder whereClause = new StringBuilder();
+    private List<Object> selectParameters = parameters;
 
     public QueryBuilder(QueryCriteria criteria, SqlDialect dialect, String tableName) {
+        this(criteria, dialect, tableName, null, criteria.getSize());
+    }
+
+    /**
+     * Builder for the part of {@code criteria} that falls in one partition slice,
+     * returning at most {@code limit} rows.
+     */
+    QueryBuilder(QueryCriteria criteria, SqlDialect dialect, String tableName, PartitionBounds.Slice slice, int limit) {
         this.criteria = criteria;
         this.dialect = dialect;
         this.tableName = SqlTableRegistry.resolve(tableName);
+        this.slice = slice;
+        this.limit = limit;
         buildWhereClause();
     }
 
@@ -66,13 +85,28 @@ public class QueryBuilder {
             first = false;
         }
 
-        if (criteria.getFrom() != null) {
-            appendCondition("event_timestamp >= ?", Timestamp.from(criteria.getFrom()), first);
+        var from = slice != null ? slice.from() : criteria.getFrom();
+        var to = slice != null ? slice.to() : criteria.getTo();
+
+        if (from != null) {
+            appendCondition("event_timestamp >= ?", Timestamp.from(from), first);
             first = false;
         }
 
-        if (criteria.getTo() != null) {
-            appendCondition("event_timestamp <= ?", Timestamp.from(criteria.getTo()), first);
+        if (to != null) {
+            var operator = slice == null || slice.inclusive() ? "<=" : "<";
+            appendCondition("event_timestamp " + operator + " ?", Timestamp.from(to), first);
+            first = false;
+        }
+
+        // The planner cannot prune partitions from event_timestamp alone
+        if (dialect.supportsPartitioning() && from != null) {
+            appendCondition("partition_key >= ?", Date.valueOf(PartitionBounds.lowerBound(from)), first);
+            first = false;
+        }
+
+        if (dialect.supportsPartitioning() && to != null) {
+            appendCondition("partition_key <= ?", Date.valueOf(PartitionBounds.upperBound(to)), first);
             first = false;
         }
 
@@ -94,21 +128,60 @@ public class QueryBuilder {
         }
     }
 
+    /**
+     * Build the page query. With a cursor the page seeks past it on
+     * {@code (event_timestamp, event_id)}, otherwise it falls back to offset paging.
+     * Bind it with {@link #getSelectParameters()}.
+     */
     public String buildSelectSQL() {
         var sortColumn = resolveSortColumn(criteria.getSortBy());
-        var orderBy = sortColumn + " " + criteria.getSortDirection().name();
-        return dialect.selectSQL(
-                tableName,
-                whereClause.toString(),
-                orderBy,
-                criteria.getSize(),
-                criteria.getPage() * criteria.getSize()
-        );
+        var direction = criteria.getSortDirection().name();
+        var cursor = criteria.getCursor();
+        selectParameters = parameters;
+
+        if (!DEFAULT_SORT_COLUMN.equals(sortColumn)) {
+            if (cursor != null) {
+                throw new IllegalArgumentException("Cursor paging requires sorting by " + DEFAULT_SORT_COLUMN);
+            }
+            return dialect.selectSQL(
+                    tableName,
+                    whereClause.toString(),
+                    sortColumn + " " + direction,
+                    limit,
+                    criteria.getPage() * criteria.getSize()
+            );
+        }
+
+        // event_id breaks timestamp ties so that pages are stable and seekable
+        var orderBy = String.join(", ", SEEK_COLUMNS.stream().map(column -> column + " " + direction).toList());
+        if (cursor == null) {
+            return dialect.selectSQL(tableName, whereClause.toString(), orderBy,
+                    limit, criteria.getPage() * criteria.getSize());
+        }
+
+        selectParameters = new ArrayList<>(parameters);
+        var seek = dialect.seekPredicate(
+                SEEK_COLUMNS,
+                List.of(Timestamp.from(cursor.timestamp()), dialect.uuidParameter(UUID.fromString(cursor.eventId()))),
+                criteria.getSortDirection() == QueryCriteria.SortDirection.DESC,
+                selectParameters);
+        var where = whereClause.isEmpty() ? seek : whereClause + " AND " + seek;
+
+        return dialect.selectSQL(tableName, where, orderBy, limit, 0);
+    }
+
+    /**
+     * Build an unpaged query returning every match in {@code (event_timestamp, event_id)}
+     * order, for reading through a cursor. Bind it with {@link #getParameters()}.
+     */
+    public String buildStreamSQL() {
+        var orderBy = String.join(", ", SEEK_COLUMNS.stream().map(column -> column + " ASC").toList());
+        return dialect.selectSQL(tableName, whereClause.toString(), orderBy, 0, 0);
     }
 
     private String resolveSortColumn(String sortBy) {
         if (sortBy == null || sortBy.isBlank()) {
-            return "event_timestamp";
+            return DEFAULT_SORT_COLUMN;
         }
         if (!ALLOWED_SORT_COLUMNS.contains(sortBy)) {
             throw new IllegalArgumentException("Invalid sort column: " + sortBy);
@@ -121,7 +194,25 @@ public class QueryBuilder {
                 (whereClause.isEmpty() ? "" : " " + whereClause);
     }
 
+    /**
+     * Build the planner row estimate for the filter, or {@code null} if the
+     * dialect has none. Bind it with {@link #getParameters()}.
+     */
+    public String buildEstimateCountSQL() {
+        return dialect.estimateCountSQL(tableName, whereClause.toString());
+    }
+
+    /**
+     * Parameters of the filter, as used by {@link #buildCountSQL()}.
+     */
     public Object[] getParameters() {
         return parameters.toArray();
     }
+
+    /**
+     * Parameters of the last {@link #buildSelectSQL()}, including any seek key.
+     */
+    public Object[] getSelectParameters() {
+        return selectParameters.toArray();
+    }
 }
\ No newline at end of file
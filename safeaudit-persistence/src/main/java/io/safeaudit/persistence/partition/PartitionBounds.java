@@ -0,0 +1,130 @@
+package io.safeaudit.persistence.partition;
+
+import io.safeaudit.core.config.AuditProperties.PartitionStrategy;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Partition arithmetic shared by partition management and partition-aware queries.
+ * <p>
+ * {@code partition_key} is the event date in the database session's time zone, so
+ * the {@code partition_key} bounds derived from a timestamp range allow one day either
+ * side of the UTC date. That never excludes a matching row; at most it adds the
+ * neighbouring partition at a boundary.
+ *
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+public final class PartitionBounds {
+
+    private PartitionBounds() {
+    }
+
+    /**
+     * Lowest {@code partition_key} that can hold events at or after {@code from}.
+     */
+    public static LocalDate lowerBound(Instant from) {
+        return LocalDate.ofInstant(from, ZoneOffset.UTC).minusDays(1);
+    }
+
+    /**
+     * Highest {@code partition_key} that can hold events at or before {@code to}.
+     */
+    public static LocalDate upperBound(Instant to) {
+        return LocalDate.ofInstant(to, ZoneOffset.UTC).plusDays(1);
+    }
+
+    /**
+     * First day of the partition holding {@code date}.
+     */
+    public static LocalDate partitionStart(LocalDate date, PartitionStrategy strategy) {
+        return switch (strategy) {
+            case DAILY -> date;
+            case MONTHLY -> date.withDayOfMonth(1);
+            case YEARLY -> date.withDayOfYear(1);
+        };
+    }
+
+    /**
+     * First day after the partition holding {@code date}.
+     */
+    public static LocalDate partitionEnd(LocalDate date, PartitionStrategy strategy) {
+        return switch (strategy) {
+            case DAILY -> date.plusDays(1);
+            case MONTHLY -> date.withDayOfMonth(1).plusMonths(1);
+            case YEARLY -> date.withDayOfYear(1).plusYears(1);
+        };
+    }
+
+    /**
+     * Name of the partition of {@code tableName} holding {@code date}.
+     */
+    public static String partitionName(String tableName, LocalDate date, PartitionStrategy strategy) {
+        return tableName + "_" + date.format(DateTimeFormatter.ofPattern(suffixPattern(strategy)));
+    }
+
+    /**
+     * First day of the partition called {@code partitionName}, or empty if the name was
+     * not generated by {@link #partitionName} for {@code tableName}.
+     */
+    public static Optional<LocalDate> partitionStart(String tableName, String partitionName,
+                                                     PartitionStrategy strategy) {
+        var prefix = tableName + "_";
+        var pattern = suffixPattern(strategy);
+        if (!partitionName.startsWith(prefix) || partitionName.length() != prefix.length() + pattern.length()) {
+            return Optional.empty();
+        }
+
+        var suffix = partitionName.substring(prefix.length());
+        try {
+            return Optional.of(switch (strategy) {
+                case DAILY -> LocalDate.parse(suffix, DateTimeFormatter.BASIC_ISO_DATE);
+                case MONTHLY -> LocalDate.parse(suffix + "01", DateTimeFormatter.BASIC_ISO_DATE);
+                case YEARLY -> LocalDate.parse(suffix + "0101", DateTimeFormatter.BASIC_ISO_DATE);
+            });
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static String suffixPattern(PartitionStrategy strategy) {
+        return switch (strategy) {
+            case DAILY -> "yyyyMMdd";
+            case MONTHLY -> "yyyyMM";
+            case YEARLY -> "yyyy";
+        };
+    }
+
+    /**
+     * Split {@code [from, to]} at UTC partition boundaries, in ascending order. Every
+     * slice but the last excludes its end.
+     */
+    public static List<Slice> slices(Instant from, Instant to, PartitionStrategy strategy) {
+        List<Slice> slices = new ArrayList<>();
+        var start = from;
+        while (true) {
+            var end = partitionEnd(LocalDate.ofInstant(start, ZoneOffset.UTC), strategy)
+                    .atStartOfDay(ZoneOffset.UTC)
+                    .toInstant();
+            if (!end.isBefore(to)) {
+                slices.add(new Slice(start, to, true));
+                return slices;
+            }
+            slices.add(new Slice(start, end, false));
+            start = end;
+        }
+    }
+
+    /**
+     * Part of a timestamp range that falls in a single partition.
+     */
+    public record Slice(Instant from, Instant to, boolean inclusive) {
+    }
+}
@@ -10,7 +10,6 @@ import org.springframework.scheduling.annotation.Scheduled;
 
 import javax.sql.DataSource;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 /**
@@ -171,22 +170,14 @@ public class PartitionManager {
      * Get partition start date based on strategy.
      */
     private LocalDate getPartitionStart(LocalDate date) {
-        return switch (config.getStrategy()) {
-            case DAILY -> date;
-            case MONTHLY -> date.withDayOfMonth(1);
-            case YEARLY -> date.withDayOfYear(1);
-        };
+        return PartitionBounds.partitionStart(date, config.getStrategy());
     }
 
     /**
      * Get partition end date based on strategy.
      */
     private LocalDate getPartitionEnd(LocalDate date) {
-        return switch (config.getStrategy()) {
-            case DAILY -> date.plusDays(1);
-            case MONTHLY -> date.withDayOfMonth(1).plusMonths(1);
-            case YEARLY -> date.withDayOfYear(1).plusYears(1);
-        };
+        return PartitionBounds.partitionEnd(date, config.getStrategy());
     }
 
     /**
@@ -204,12 +195,6 @@ public class PartitionManager {
      * Generate partition name based on date and strategy.
      */
     private String generatePartitionName(LocalDate date) {
-        String format = switch (config.getStrategy()) {
-            case DAILY -> "yyyyMMdd";
-            case MONTHLY -> "yyyyMM";
-            case YEARLY -> "yyyy";
-        };
-
-        return tableName + "_" + date.format(DateTimeFormatter.ofPattern(format));
+        return PartitionBounds.partitionName(tableName, date, config.getStrategy());
     }
 }
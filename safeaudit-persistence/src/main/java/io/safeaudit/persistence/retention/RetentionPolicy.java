@@ -1,16 +1,41 @@
 package io.safeaudit.persistence.retention;
 
 import io.safeaudit.core.config.AuditProperties;
+import io.safeaudit.core.exception.AuditStorageException;
 import io.safeaudit.persistence.PersistenceConstants;
+import io.safeaudit.persistence.dialect.SqlDialect;
+import io.safeaudit.persistence.partition.PartitionBounds;
+import io.safeaudit.persistence.stats.StatisticsRollup;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import javax.sql.DataSource;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.*;
 
 /**
+ * Archives and purges audit data past its retention period.
+ * <p>
+ * On partitioned tables, partitions entirely past the cutoff are moved to the archive
+ * table (or dropped) with partition DDL instead of row by row. Remaining rows are moved
+ * in keyset-ordered chunks, each in its own transaction, optionally throttled. The
+ * position of an unfinished run is recorded so the next run resumes from it, in a table
+ * created by {@link #initializeSchema()} on the schema path.
+ * <p>
+ * With statistics rollups kept, archival first moves rollup coverage past the cutoff
+ * so statistics there are counted from the table, and purging subtracts the deleted
+ * events from the rollups in the delete's transaction.
+ *
  * @author Nelson Tanko
  * @since 1.0.0
  */
@@ -19,17 +44,55 @@ public class RetentionPolicy {
     private static final Logger log = LoggerFactory.getLogger(RetentionPolicy.class);
 
     private final JdbcTemplate jdbcTemplate;
+    private final TransactionOperations transactionTemplate;
+    private final SqlDialect dialect;
     private final AuditProperties.RetentionConfig config;
+    private final AuditProperties.PartitionStrategy strategy;
     private final String tableName;
+    private final String archiveTable;
+    private final String progressTable;
+    private final boolean partitioned;
+    private final boolean partitionRetention;
+    private final boolean attachable;
+    private final StatisticsRollup rollup;
 
     public RetentionPolicy(DataSource dataSource, AuditProperties properties) {
-        this(new JdbcTemplate(dataSource), properties);
+        this(dataSource, null, properties);
+    }
+
+    /**
+     * Policy that uses {@code dialect}'s partition support, when it has any, to retire
+     * whole partitions and to bound {@code partition_key} while moving rows.
+     */
+    public RetentionPolicy(DataSource dataSource, SqlDialect dialect, AuditProperties properties) {
+        this(new JdbcTemplate(dataSource), new TransactionTemplate(new DataSourceTransactionManager(dataSource)),
+                dialect, properties);
     }
 
     RetentionPolicy(JdbcTemplate jdbcTemplate, AuditProperties properties) {
+        this(jdbcTemplate, TransactionOperations.withoutTransaction(), null, properties);
+    }
+
+    RetentionPolicy(JdbcTemplate jdbcTemplate, TransactionOperations transactionTemplate, SqlDialect dialect,
+                    AuditProperties properties) {
+        var partitioning = properties.getStorage().getDatabase().getPartitioning();
+
         this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.dialect = dialect;
         this.config = properties.getStorage().getDatabase().getRetention();
         this.tableName = PersistenceConstants.DEFAULT_TABLE_NAME;
+        this.archiveTable = tableName + "_archive";
+        this.progressTable = tableName + "_archival";
+        this.partitioned = dialect != null && dialect.supportsPartitioning();
+        this.partitionRetention = partitioned && partitioning.isEnabled() && dialect.listPartitionsSQL() != null;
+        this.attachable = partitionRetention && dialect.createArchiveTableDDL(tableName, archiveTable) != null;
+        this.strategy = partitioning.getStrategy();
+        this.rollup = dialect != null && properties.getStorage().getDatabase().getRollups().isEnabled()
+                && dialect.rollupUpsertSQL(tableName) != null
+                ? new StatisticsRollup(jdbcTemplate, jdbcTemplate, dialect, tableName,
+                properties.getStorage().getDatabase().getRollups())
+                : null;
     }
 
     /**
@@ -37,7 +100,6 @@ public class RetentionPolicy {
      * Runs weekly on Sunday at 3 AM.
      */
     @Scheduled(cron = "0 0 3 ? * SUN")
-    @SuppressWarnings("java:S2077")
     public void archiveOldData() {
         if (!config.isEnabled() || !config.isArchivalEnabled()) {
             return;
@@ -47,34 +109,241 @@ public class RetentionPolicy {
 
         try {
             log.info("Archiving audit data older than {}", archivalDate);
+            if (rollup != null) {
+                // partition_key days are session-local; a UTC day later covers any offset
+                rollup.retireBefore(archivalDate.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant());
+            }
 
-            // Move old data to archive table
-            var sql = """
-                    INSERT INTO %s_archive
-                    SELECT * FROM %s
-                    WHERE event_timestamp < ?
-                    AND event_id NOT IN (SELECT event_id FROM %s_archive)
-                    """.formatted(tableName, tableName, tableName);
-
-            int archived = jdbcTemplate.update(sql, archivalDate);
+            List<String> emptied = partitionRetention ? retirePartitions(archivalDate) : List.of();
 
+            long archived = archiveInChunks(archivalDate);
             if (archived > 0) {
                 log.info("Archived {} audit events", archived);
+            }
 
-                // Delete archived data from main table
-                var deleteSql = """
-                        DELETE FROM %s
-                        WHERE event_timestamp < ?
-                        """.formatted(tableName);
-
-                int deleted = jdbcTemplate.update(deleteSql, archivalDate);
-                log.info("Deleted {} archived events from main table", deleted);
+            for (var partition : emptied) {
+                jdbcTemplate.execute(dialect.dropPartitionDDL(tableName, partition));
+                log.info("Dropped archived partition {}", partition);
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Archival interrupted; the next run resumes where it stopped");
         } catch (Exception e) {
             log.error("Failed to archive old data: {}", e.getMessage(), e);
         }
     }
 
+    /**
+     * Move or drop the partitions entirely before {@code archivalDate}, returning those
+     * whose rows still have to be moved before they can be dropped. On dialects that move
+     * partitions, also creates the archive partitions the remaining rows go to.
+     */
+    @SuppressWarnings("java:S2077")
+    private List<String> retirePartitions(LocalDate archivalDate) {
+        var archived = attachable ? archivedPartitionStarts() : Set.<LocalDate>of();
+        List<String> emptied = new ArrayList<>();
+
+        for (var partition : listPartitions(tableName)) {
+            var start = PartitionBounds.partitionStart(tableName, partition, strategy).orElse(null);
+            // partition_key is a session-local date, so a partition may hold rows from the day before it
+            if (start == null || start.isAfter(archivalDate)) {
+                continue;
+            }
+            var end = PartitionBounds.partitionEnd(start, strategy);
+            boolean expired = !end.plusDays(1).isAfter(archivalDate);
+
+            if (expired && config.getExpiredPartitions() == AuditProperties.ExpiredPartitionAction.DROP) {
+                jdbcTemplate.execute(dialect.dropPartitionDDL(tableName, partition));
+                log.info("Dropped expired partition {}", partition);
+                continue;
+            }
+
+            if (expired && attachable && !archived.contains(start)) {
+                transactionTemplate.executeWithoutResult(_ -> {
+                    jdbcTemplate.execute(dialect.detachPartitionDDL(tableName, partition));
+                    jdbcTemplate.execute(dialect.attachPartitionDDL(
+                            archiveTable, partition, start.toString(), end.toString()));
+                });
+                log.info("Moved expired partition {} to {}", partition, archiveTable);
+                continue;
+            }
+
+            if (expired) {
+                emptied.add(partition);
+            }
+            if (attachable && !archived.contains(start)) {
+                jdbcTemplate.execute(dialect.createPartitionDDL(archiveTable,
+                        PartitionBounds.partitionName(archiveTable, start, strategy),
+                        start.toString(), end.toString()));
+            }
+        }
+        return emptied;
+    }
+
+    private Set<LocalDate> archivedPartitionStarts() {
+        Set<LocalDate> starts = new HashSet<>();
+        for (var partition : listPartitions(archiveTable)) {
+            PartitionBounds.partitionStart(tableName, partition, strategy)
+                    .or(() -> PartitionBounds.partitionStart(archiveTable, partition, strategy))
+                    .ifPresent(starts::add);
+        }
+        return starts;
+    }
+
+    private List<String> listPartitions(String table) {
+        return jdbcTemplate.queryForList(dialect.listPartitionsSQL(), String.class, table);
+    }
+
+    /**
+     * Move rows before {@code archivalDate} to the archive table in chunks of
+     * {@code archivalBatchSize}, oldest first. Each chunk is copied, deleted and recorded
+     * as progress in one transaction.
+     */
+    @SuppressWarnings("java:S2077")
+    private long archiveInChunks(LocalDate archivalDate) throws InterruptedException {
+        var cursor = getProgress().orElse(null);
+        if (cursor != null) {
+            log.info("Resuming archival after {}", cursor.toInstant());
+        }
+
+        long archived = 0;
+        long started = System.nanoTime();
+        while (true) {
+            var after = cursor;
+            var through = nextChunkEnd(archivalDate, after);
+            if (through == null) {
+                break;
+            }
+
+            List<Object> params = new ArrayList<>();
+            var where = chunkCondition(after, through, params);
+            Integer moved = transactionTemplate.execute(_ -> {
+                int inserted = jdbcTemplate.update(dialect != null
+                        ? dialect.archiveRowsSQL(tableName, archiveTable, where)
+                        : "INSERT INTO %s SELECT * FROM %s WHERE %s".formatted(archiveTable, tableName, where),
+                        params.toArray());
+                jdbcTemplate.update("DELETE FROM %s WHERE %s".formatted(tableName, where), params.toArray());
+                saveProgress(through);
+                return inserted;
+            });
+
+            archived += moved != null ? moved : 0;
+            cursor = through;
+            throttle(archived, started);
+        }
+
+        clearProgress();
+        return archived;
+    }
+
+    /**
+     * Timestamp of the last row in the next chunk. Rows sharing it join the chunk, so a
+     * chunk can exceed the batch size by the number of ties.
+     */
+    @SuppressWarnings("java:S2077")
+    private Timestamp nextChunkEnd(LocalDate archivalDate, Timestamp after) {
+        List<Object> params = new ArrayList<>();
+        var where = new StringBuilder("event_timestamp < ?");
+        params.add(archivalDate);
+        if (after != null) {
+            where.append(" AND event_timestamp > ?");
+            params.add(after);
+        }
+        if (partitioned) {
+            // Only partitions that can hold rows before the cutoff
+            where.append(" AND partition_key <= ?");
+            params.add(archivalDate.plusDays(1));
+        }
+
+        var sql = """
+                SELECT MAX(event_timestamp) FROM (
+                    SELECT event_timestamp FROM %s
+                    WHERE %s
+                    ORDER BY event_timestamp
+                    LIMIT %d
+                ) chunk
+                """.formatted(tableName, where, config.getArchivalBatchSize());
+        return jdbcTemplate.queryForObject(sql, Timestamp.class, params.toArray());
+    }
+
+    private String chunkCondition(Timestamp after, Timestamp through, List<Object> params) {
+        var where = new StringBuilder("event_timestamp <= ?");
+        params.add(through);
+        if (after != null) {
+            where.append(" AND event_timestamp > ?");
+            params.add(after);
+        }
+        if (partitioned) {
+            if (after != null) {
+                where.append(" AND partition_key >= ?");
+                params.add(Date.valueOf(PartitionBounds.lowerBound(after.toInstant())));
+            }
+            where.append(" AND partition_key <= ?");
+            params.add(Date.valueOf(PartitionBounds.upperBound(through.toInstant())));
+        }
+        return where.toString();
+    }
+
+    /**
+     * Sleep until the archived row count is back under {@code archivalMaxRowsPerSecond}.
+     */
+    private void throttle(long archived, long startedNanos) throws InterruptedException {
+        int maxRowsPerSecond = config.getArchivalMaxRowsPerSecond();
+        if (maxRowsPerSecond <= 0) {
+            return;
+        }
+
+        long dueNanos = archived * 1_000_000_000L / maxRowsPerSecond;
+        long aheadMillis = (dueNanos - (System.nanoTime() - startedNanos)) / 1_000_000;
+        if (aheadMillis > 0) {
+            Thread.sleep(aheadMillis);
+        }
+    }
+
+    private Optional<Timestamp> getProgress() {
+        var sql = "SELECT archived_through FROM %s WHERE table_name = ?".formatted(progressTable);
+        return jdbcTemplate.query(sql, (rs, _) -> rs.getTimestamp(1), tableName)
+                .stream()
+                .findFirst();
+    }
+
+    private void saveProgress(Timestamp archivedThrough) {
+        var now = Timestamp.from(Instant.now());
+        var update = "UPDATE %s SET archived_through = ?, updated_at = ? WHERE table_name = ?"
+                .formatted(progressTable);
+
+        if (jdbcTemplate.update(update, archivedThrough, now, tableName) == 0) {
+            var insert = "INSERT INTO %s (table_name, archived_through, updated_at) VALUES (?, ?, ?)"
+                    .formatted(progressTable);
+            jdbcTemplate.update(insert, tableName, archivedThrough, now);
+        }
+    }
+
+    private void clearProgress() {
+        jdbcTemplate.update("DELETE FROM %s WHERE table_name = ?".formatted(progressTable), tableName);
+    }
+
+    /**
+     * Create the archival progress table, and the partitioned archive table when expired
+     * partitions are attached to it, if needed.
+     */
+    public void initializeSchema() {
+        try {
+            jdbcTemplate.execute("""
+                    CREATE TABLE IF NOT EXISTS %s (
+                        table_name VARCHAR(128) NOT NULL PRIMARY KEY,
+                        archived_through TIMESTAMP NOT NULL,
+                        updated_at TIMESTAMP NOT NULL
+                    )
+                    """.formatted(progressTable));
+            if (attachable) {
+                jdbcTemplate.execute(dialect.createArchiveTableDDL(tableName, archiveTable));
+            }
+        } catch (DataAccessException e) {
+            throw new AuditStorageException("Failed to create retention tables", e);
+        }
+    }
+
     /**
      * Delete data beyond retention period (use with caution).
      */
@@ -89,20 +358,22 @@ public class RetentionPolicy {
         try {
             log.warn("PURGING audit data older than {}", expirationDate);
 
-            var sql = """
-                    DELETE FROM %s
-                    WHERE retention_until IS NOT NULL
-                    AND retention_until < ?
-                    """.formatted(tableName);
-
-            int deleted = jdbcTemplate.update(sql, expirationDate);
+            var where = "retention_until IS NOT NULL AND retention_until < ?";
+            if (rollup != null) {
+                rollup.initializeCoverage();
+            }
+            Integer deleted = transactionTemplate.execute(_ -> {
+                if (rollup != null) {
+                    rollup.subtract(where, expirationDate);
+                }
+                return jdbcTemplate.update("DELETE FROM %s WHERE %s".formatted(tableName, where), expirationDate);
+            });
             log.info("Purged {} expired audit events", deleted);
 
-            return deleted;
+            return deleted != null ? deleted : 0;
         } catch (Exception e) {
             log.error("Failed to purge expired data: {}", e.getMessage(), e);
             return 0;
         }
     }
 }
-
@@ -10,7 +10,11 @@ import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 
 import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
 
 /**
  * @author Nelson Tanko
@@ -20,6 +24,16 @@ public class SchemaManager {
 
     private static final Logger log = LoggerFactory.getLogger(SchemaManager.class);
 
+    /**
+     * Columns added to the audit table after 1.0.0, with their definitions.
+     */
+    private static final List<Map.Entry<String, String>> ADDED_COLUMNS = List.of(
+            Map.entry("chain_key", "VARCHAR(255)"),
+            Map.entry("chain_sequence", "BIGINT")
+    );
+
+    private static final List<String> CHAIN_INDEX_COLUMNS = List.of("chain_key", "chain_sequence");
+
     private final JdbcTemplate jdbcTemplate;
     private final SqlDialect dialect;
     private final AuditProperties properties;
@@ -29,10 +43,18 @@ public class SchemaManager {
             DataSource dataSource,
             SqlDialect dialect,
             AuditProperties properties) {
+        this(dataSource, dialect, properties, PersistenceConstants.DEFAULT_TABLE_NAME);
+    }
+
+    public SchemaManager(
+            DataSource dataSource,
+            SqlDialect dialect,
+            AuditProperties properties,
+            String tableName) {
         this.jdbcTemplate = new JdbcTemplate(dataSource);
         this.dialect = dialect;
         this.properties = properties;
-        this.tableName = PersistenceConstants.DEFAULT_TABLE_NAME;
+        this.tableName = tableName;
     }
 
     /**
@@ -46,6 +68,7 @@ public class SchemaManager {
 
         if (tableExists(tableName)) {
             log.info("Audit table '{}' already exists", tableName);
+            migrate();
             return;
         }
 
@@ -56,10 +79,18 @@ public class SchemaManager {
      * Check if audit table exists.
      */
     public boolean tableExists(String tableName) {
+        return tableExists(jdbcTemplate, tableName);
+    }
+
+    /**
+     * Check if {@code tableName} exists, from the connection's metadata rather than a
+     * query, so a missing table cannot abort the caller's transaction.
+     */
+    public static boolean tableExists(JdbcTemplate jdbcTemplate, String tableName) {
         try {
             return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) conn -> {
                 var metaData = conn.getMetaData();
-                try (ResultSet rs = metaData.getTables(null, null, tableName.toUpperCase(), null)) {
+                try (ResultSet rs = metaData.getTables(null, null, identifier(metaData, tableName), null)) {
                     return rs.next();
                 }
             }));
@@ -69,6 +100,71 @@ public class SchemaManager {
         }
     }
 
+    /**
+     * Add the columns and indexes introduced since an existing table was created.
+     * {@code CREATE TABLE IF NOT EXISTS} leaves such a table as it was, and MySQL
+     * has no {@code ADD COLUMN IF NOT EXISTS}, so each one is checked first.
+     */
+    public void migrate() {
+        try {
+            for (var column : ADDED_COLUMNS) {
+                if (!columnExists(column.getKey())) {
+                    log.info("Adding column '{}' to audit table '{}'", column.getKey(), tableName);
+                    jdbcTemplate.execute("ALTER TABLE %s ADD COLUMN %s %s"
+                            .formatted(tableName, column.getKey(), column.getValue()));
+                }
+            }
+
+            if (!indexExists(CHAIN_INDEX_COLUMNS.getFirst())) {
+                log.info("Adding chain index to audit table '{}'", tableName);
+                jdbcTemplate.execute("CREATE INDEX idx_%s_chain ON %s (%s)"
+                        .formatted(tableName, tableName, String.join(", ", CHAIN_INDEX_COLUMNS)));
+            }
+        } catch (Exception e) {
+            throw new AuditConfigurationException("Failed to migrate audit table", e);
+        }
+    }
+
+    private boolean columnExists(String column) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) conn -> {
+            var metaData = conn.getMetaData();
+            try (ResultSet rs = metaData.getColumns(null, null,
+                    identifier(metaData, tableName), identifier(metaData, column))) {
+                return rs.next();
+            }
+        }));
+    }
+
+    /**
+     * Whether any index on the table leads with {@code column}.
+     */
+    private boolean indexExists(String column) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) conn -> {
+            var metaData = conn.getMetaData();
+            try (ResultSet rs = metaData.getIndexInfo(null, null, identifier(metaData, tableName), false, false)) {
+                while (rs.next()) {
+                    if (rs.getShort("ORDINAL_POSITION") == 1 && column.equalsIgnoreCase(rs.getString("COLUMN_NAME"))) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        }));
+    }
+
+    /**
+     * Unquoted identifiers are stored upper case by H2 and lower case by PostgreSQL.
+     */
+    private static String identifier(DatabaseMetaData metaData, String name) throws SQLException {
+        if (metaData.storesUpperCaseIdentifiers()) {
+            return name.toUpperCase();
+        }
+        if (metaData.storesLowerCaseIdentifiers()) {
+            return name.toLowerCase();
+        }
+        return name;
+    }
+
     /**
      * Create audit table with indexes.
      */
@@ -0,0 +1,422 @@
+package io.safeaudit.persistence.stats;
+
+import io.safeaudit.core.config.AuditProperties;
+import io.safeaudit.core.domain.AuditEvent;
+import io.safeaudit.core.domain.AuditStatistics;
+import io.safeaudit.core.domain.enums.AuditSeverity;
+import io.safeaudit.persistence.dialect.SqlDialect;
+import io.safeaudit.persistence.partition.PartitionBounds;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Per-minute and per-hour event counts by severity, event type, tenant and application,
+ * maintained as events are stored.
+ * <p>
+ * Statistics for a range sum whole hourly buckets, then whole minute buckets at its
+ * edges, and count the partial minutes left over exactly. Buckets only cover events
+ * stored since the rollup table was created, from the next full hour on; anything
+ * earlier is counted exactly. Drop both rollup tables after running with rollups
+ * disabled, so coverage restarts.
+ * <p>
+ * Retention keeps the buckets in step with the table: archival first moves coverage
+ * past the events it removes, so ranges overlapping them are counted exactly, and a
+ * purge subtracts the events it deletes in the same transaction.
+ *
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+public class StatisticsRollup {
+
+    private static final Logger log = LoggerFactory.getLogger(StatisticsRollup.class);
+
+    static final int MINUTE = 1;
+    static final int HOUR = 60;
+    private static final Duration PRUNE_INTERVAL = Duration.ofHours(1);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate readJdbcTemplate;
+    private final SqlDialect dialect;
+    private final String tableName;
+    private final String rollupTable;
+    private final String stateTable;
+    private final Duration minuteRetention;
+    private final String coverageSQL;
+
+    private volatile Instant coveredFrom;
+    private volatile Instant nextPrune = Instant.MIN;
+
+    public StatisticsRollup(JdbcTemplate jdbcTemplate, JdbcTemplate readJdbcTemplate, SqlDialect dialect,
+                            String tableName, AuditProperties.RollupConfig config) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readJdbcTemplate = readJdbcTemplate;
+        this.dialect = dialect;
+        this.tableName = tableName;
+        this.rollupTable = tableName + "_rollup";
+        this.stateTable = tableName + "_rollup_state";
+        this.minuteRetention = config.getMinuteRetention();
+        this.coverageSQL = "SELECT covered_from FROM %s WHERE table_name = ?".formatted(stateTable);
+    }
+
+    /**
+     * Add stored events to their buckets. Failures are thrown, so the caller's
+     * transaction rolls back the insert with the buckets and statistics never drift
+     * from the table.
+     */
+    public void record(Collection<AuditEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        var covered = ensureTables();
+        // Sorted so concurrent batches update shared buckets in the same order
+        var counts = new TreeMap<Key, Long>();
+        for (var event : events) {
+            if (event.timestamp() == null || event.timestamp().isBefore(covered)) {
+                continue;
+            }
+            counts.merge(Key.of(event, MINUTE), 1L, Long::sum);
+            counts.merge(Key.of(event, HOUR), 1L, Long::sum);
+        }
+        add(counts);
+    }
+
+    /**
+     * Record where buckets are complete from, if not known yet. The first call may insert
+     * that into the state table, racing other instances; it runs ahead of the caller's
+     * transaction since a failed insert would abort that transaction on PostgreSQL.
+     */
+    public void initializeCoverage() {
+        ensureTables();
+    }
+
+    /**
+     * Take the events matching {@code whereClause} out of their buckets, ahead of
+     * deleting them in the caller's transaction. Failures are thrown so the delete
+     * rolls back with the buckets.
+     */
+    @SuppressWarnings("java:S2077")
+    public void subtract(String whereClause, Object... params) {
+        var covered = ensureTables();
+        var minutesFrom = Instant.now().minus(minuteRetention);
+        var sql = """
+                SELECT event_timestamp, severity, event_type, tenant_id, application_name, COUNT(*) FROM %s
+                WHERE %s AND event_timestamp >= ?
+                GROUP BY event_timestamp, severity, event_type, tenant_id, application_name
+                """.formatted(tableName, whereClause);
+        var bound = Arrays.copyOf(params, params.length + 1);
+        bound[params.length] = Timestamp.from(covered);
+
+        var counts = new TreeMap<Key, Long>();
+        jdbcTemplate.query(sql, rs -> {
+            var timestamp = rs.getTimestamp(1).toInstant();
+            long count = rs.getLong(6);
+            for (int minutes : new int[]{MINUTE, HOUR}) {
+                var key = Key.of(timestamp, minutes, rs.getString(2), rs.getString(3), rs.getString(4),
+                        rs.getString(5));
+                // Older minute buckets are pruned and no longer read
+                if (minutes == HOUR || !key.bucketStart().isBefore(minutesFrom)) {
+                    counts.merge(key, -count, Long::sum);
+                }
+            }
+        }, bound);
+        add(counts);
+    }
+
+    /**
+     * Serve statistics before {@code before} exactly from the table, ahead of retention
+     * removing the events there, and drop the buckets that covered them.
+     */
+    @SuppressWarnings("java:S2077")
+    public void retireBefore(Instant before) {
+        var bound = Timestamp.from(before);
+        jdbcTemplate.update("UPDATE %s SET covered_from = ? WHERE table_name = ? AND covered_from < ?"
+                .formatted(stateTable), bound, tableName, bound);
+        jdbcTemplate.update("DELETE FROM %s WHERE bucket_start < ?".formatted(rollupTable), bound);
+
+        var covered = coveredFrom;
+        if (covered != null && covered.isBefore(before)) {
+            coveredFrom = before;
+        }
+    }
+
+    @SuppressWarnings("java:S2077")
+    private void add(SortedMap<Key, Long> counts) {
+        if (counts.isEmpty()) {
+            return;
+        }
+
+        var rows = new ArrayList<>(counts.entrySet());
+        jdbcTemplate.batchUpdate(dialect.rollupUpsertSQL(rollupTable), rows, rows.size(), (ps, row) -> {
+            var key = row.getKey();
+            ps.setTimestamp(1, Timestamp.from(key.bucketStart()));
+            ps.setInt(2, key.minutes());
+            ps.setString(3, key.severity());
+            ps.setString(4, key.eventType());
+            ps.setString(5, key.tenantId());
+            ps.setString(6, key.applicationName());
+            ps.setLong(7, row.getValue());
+        });
+    }
+
+    /**
+     * Statistics for {@code [from, to]}; either bound may be {@code null}.
+     */
+    public AuditStatistics statistics(Instant from, Instant to) {
+        var covered = coverage();
+        var bySeverity = new EnumMap<AuditSeverity, Long>(AuditSeverity.class);
+        List<AuditStatistics.Bucket> timeline = List.of();
+
+        var start = from;
+        if (from == null || from.isBefore(covered)) {
+            if (to != null && !to.isAfter(covered)) {
+                countExactly(from, to, true, bySeverity);
+                return result(bySeverity, timeline);
+            }
+            countExactly(from, covered, false, bySeverity);
+            start = covered;
+        }
+
+        var firstMinute = ceil(start, ChronoUnit.MINUTES);
+        var lastMinute = (to != null ? to : Instant.now()).truncatedTo(ChronoUnit.MINUTES);
+        if (!firstMinute.isBefore(lastMinute)) {
+            countExactly(start, to, true, bySeverity);
+            return result(bySeverity, timeline);
+        }
+
+        countExactly(start, firstMinute, false, bySeverity);
+        var firstHour = ceil(firstMinute, ChronoUnit.HOURS);
+        var lastHour = lastMinute.truncatedTo(ChronoUnit.HOURS);
+        if (firstHour.isBefore(lastHour)) {
+            sumMinutes(firstMinute, firstHour, bySeverity);
+            timeline = sumHours(firstHour, lastHour, bySeverity);
+            sumMinutes(lastHour, lastMinute, bySeverity);
+        } else {
+            sumMinutes(firstMinute, lastMinute, bySeverity);
+        }
+        countExactly(lastMinute, to, true, bySeverity);
+
+        return result(bySeverity, timeline);
+    }
+
+    private static AuditStatistics result(EnumMap<AuditSeverity, Long> bySeverity,
+                                          List<AuditStatistics.Bucket> timeline) {
+        long total = bySeverity.values().stream().mapToLong(Long::longValue).sum();
+        return new AuditStatistics(total, bySeverity, timeline);
+    }
+
+    @SuppressWarnings("java:S2077")
+    private List<AuditStatistics.Bucket> sumHours(Instant from, Instant to, Map<AuditSeverity, Long> bySeverity) {
+        var sql = """
+                SELECT bucket_start, severity, SUM(event_count) FROM %s
+                WHERE bucket_minutes = ? AND bucket_start >= ? AND bucket_start < ?
+                GROUP BY bucket_start, severity
+                ORDER BY bucket_start
+                """.formatted(rollupTable);
+
+        var hours = new TreeMap<Instant, Long>();
+        readJdbcTemplate.query(sql, rs -> {
+            long count = rs.getLong(3);
+            hours.merge(rs.getTimestamp(1).toInstant(), count, Long::sum);
+            bySeverity.merge(AuditSeverity.valueOf(rs.getString(2)), count, Long::sum);
+        }, HOUR, Timestamp.from(from), Timestamp.from(to));
+
+        return hours.entrySet().stream()
+                .map(hour -> new AuditStatistics.Bucket(hour.getKey(), hour.getValue()))
+                .toList();
+    }
+
+    @SuppressWarnings("java:S2077")
+    private void sumMinutes(Instant from, Instant to, Map<AuditSeverity, Long> bySeverity) {
+        if (!from.isBefore(to)) {
+            return;
+        }
+        // Minute buckets this old may already be pruned
+        if (from.isBefore(Instant.now().minus(minuteRetention))) {
+            countExactly(from, to, false, bySeverity);
+            return;
+        }
+
+        var sql = """
+                SELECT severity, SUM(event_count) FROM %s
+                WHERE bucket_minutes = ? AND bucket_start >= ? AND bucket_start < ?
+                GROUP BY severity
+                """.formatted(rollupTable);
+        readJdbcTemplate.query(sql, rs -> {
+            bySeverity.merge(AuditSeverity.valueOf(rs.getString(1)), rs.getLong(2), Long::sum);
+        }, MINUTE, Timestamp.from(from), Timestamp.from(to));
+    }
+
+    /**
+     * Count stored events from {@code from} (inclusive) to {@code to}, by severity.
+     */
+    @SuppressWarnings("java:S2077")
+    private void countExactly(Instant from, Instant to, boolean toInclusive, Map<AuditSeverity, Long> bySeverity) {
+        if (from != null && to != null && (toInclusive ? from.isAfter(to) : !from.isBefore(to))) {
+            return;
+        }
+
+        List<String> conditions = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        if (from != null) {
+            conditions.add("event_timestamp >= ?");
+            params.add(Timestamp.from(from));
+        }
+        if (to != null) {
+            conditions.add(toInclusive ? "event_timestamp <= ?" : "event_timestamp < ?");
+            params.add(Timestamp.from(to));
+        }
+        if (dialect.supportsPartitioning() && from != null) {
+            conditions.add("partition_key >= ?");
+            params.add(Date.valueOf(PartitionBounds.lowerBound(from)));
+        }
+        if (dialect.supportsPartitioning() && to != null) {
+            conditions.add("partition_key <= ?");
+            params.add(Date.valueOf(PartitionBounds.upperBound(to)));
+        }
+
+        var where = conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+        var sql = "SELECT severity, COUNT(*) FROM %s%s GROUP BY severity".formatted(tableName, where);
+        readJdbcTemplate.query(sql, rs -> {
+            bySeverity.merge(AuditSeverity.valueOf(rs.getString(1)), rs.getLong(2), Long::sum);
+        }, params.toArray());
+    }
+
+    /**
+     * Drop minute buckets past their retention, at most once per prune interval.
+     * Failures are logged; the buckets are pruned on a later call.
+     */
+    public void pruneIfDue() {
+        var now = Instant.now();
+        if (now.isBefore(nextPrune)) {
+            return;
+        }
+        nextPrune = now.plus(PRUNE_INTERVAL);
+
+        try {
+            int pruned = jdbcTemplate.update(
+                    "DELETE FROM %s WHERE bucket_minutes = ? AND bucket_start < ?".formatted(rollupTable),
+                    MINUTE, Timestamp.from(now.minus(minuteRetention)));
+            log.debug("Pruned {} expired minute buckets", pruned);
+        } catch (DataAccessException e) {
+            log.warn("Failed to prune expired minute buckets: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Return the time buckets are complete from, recording it on first use.
+     */
+    private Instant ensureTables() {
+        var covered = coveredFrom;
+        if (covered != null) {
+            return covered;
+        }
+
+        synchronized (this) {
+            if (coveredFrom != null) {
+                return coveredFrom;
+            }
+
+            var existing = jdbcTemplate.query(coverageSQL, (rs, _) -> rs.getTimestamp(1).toInstant(), tableName);
+            if (existing.isEmpty()) {
+                try {
+                    jdbcTemplate.update("INSERT INTO %s (table_name, covered_from) VALUES (?, ?)".formatted(stateTable),
+                            tableName, Timestamp.from(ceil(Instant.now(), ChronoUnit.HOURS)));
+                } catch (DuplicateKeyException _) {
+                    // Another instance created it first
+                }
+                existing = jdbcTemplate.query(coverageSQL, (rs, _) -> rs.getTimestamp(1).toInstant(), tableName);
+            }
+
+            coveredFrom = existing.getFirst();
+            return coveredFrom;
+        }
+    }
+
+    /**
+     * The time buckets are complete from, re-read as retention on any instance may
+     * have moved it forward.
+     */
+    private Instant coverage() {
+        var covered = ensureTables();
+        var current = jdbcTemplate.query(coverageSQL, (rs, _) -> rs.getTimestamp(1).toInstant(), tableName);
+        if (!current.isEmpty() && current.getFirst().isAfter(covered)) {
+            coveredFrom = current.getFirst();
+            return coveredFrom;
+        }
+        return covered;
+    }
+
+    /**
+     * Create the rollup tables if needed. Called on the schema path, so tables are only
+     * created when schema auto-creation is enabled.
+     */
+    public void initializeSchema() {
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS %s (
+                    bucket_start TIMESTAMP NOT NULL,
+                    bucket_minutes INTEGER NOT NULL,
+                    severity VARCHAR(20) NOT NULL,
+                    event_type VARCHAR(100) NOT NULL,
+                    tenant_id VARCHAR(100) NOT NULL,
+                    application_name VARCHAR(255) NOT NULL,
+                    event_count BIGINT NOT NULL,
+                    PRIMARY KEY (bucket_minutes, bucket_start, severity, event_type, tenant_id, application_name)
+                )
+                """.formatted(rollupTable));
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS %s (
+                    table_name VARCHAR(128) NOT NULL PRIMARY KEY,
+                    covered_from TIMESTAMP NOT NULL
+                )
+                """.formatted(stateTable));
+    }
+
+    private static Instant ceil(Instant instant, ChronoUnit unit) {
+        var floor = instant.truncatedTo(unit);
+        return floor.equals(instant) ? instant : floor.plus(1, unit);
+    }
+
+    private record Key(Instant bucketStart, int minutes, String severity, String eventType, String tenantId,
+                       String applicationName) implements Comparable<Key> {
+
+        private static final Comparator<Key> ORDER = Comparator.comparingInt(Key::minutes)
+                .thenComparing(Key::bucketStart)
+                .thenComparing(Key::severity)
+                .thenComparing(Key::eventType)
+                .thenComparing(Key::tenantId)
+                .thenComparing(Key::applicationName);
+
+        static Key of(AuditEvent event, int minutes) {
+            return of(event.timestamp(), minutes, event.severity().name(), event.eventType(), event.tenantId(),
+                    event.applicationName());
+        }
+
+        static Key of(Instant timestamp, int minutes, String severity, String eventType, String tenantId,
+                      String applicationName) {
+            var unit = minutes == HOUR ? ChronoUnit.HOURS : ChronoUnit.MINUTES;
+            return new Key(
+                    timestamp.truncatedTo(unit),
+                    minutes,
+                    severity,
+                    eventType,
+                    tenantId != null ? tenantId : "",
+                    applicationName);
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
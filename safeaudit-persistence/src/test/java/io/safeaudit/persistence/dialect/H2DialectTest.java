@@ -53,6 +53,19 @@ class H2DialectTest {
                 .contains("event_id");
     }
 
+    @Test
+    void shouldGenerateMultiRowMergeSkippingExistingRows() {
+        // When
+        var sql = dialect.multiRowInsertSQL("audit_events", 2);
+
+        // Then
+        assertThat(sql).contains("MERGE INTO audit_events t")
+                .contains("ON t.event_id = s.event_id")
+                .contains("WHEN NOT MATCHED THEN INSERT")
+                .doesNotContain("WHEN MATCHED");
+        assertThat(sql.chars().filter(c -> c == '?').count()).isEqualTo(54);
+    }
+
     @Test
     void shouldReturnEmptyPartitionDDL() {
         // When
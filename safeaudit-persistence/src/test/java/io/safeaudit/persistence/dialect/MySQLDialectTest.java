@@ -4,6 +4,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -53,6 +57,18 @@ class MySQLDialectTest {
                 .contains("ON DUPLICATE KEY UPDATE event_id = event_id");
     }
 
+    @Test
+    void shouldGenerateMultiRowInsertSQL() {
+        // When
+        String sql = dialect.multiRowInsertSQL("audit_events", 3);
+
+        // Then
+        assertThat(sql).contains("INSERT INTO audit_events")
+                .contains("ON DUPLICATE KEY UPDATE event_id = event_id");
+        assertThat(sql.chars().filter(c -> c == '?').count()).isEqualTo(81);
+        assertThat(dialect.maxRowsPerInsert() * 27).isLessThanOrEqualTo(65_535);
+    }
+
     @Test
     void shouldGeneratePartitionDDL() {
         // When
@@ -68,4 +84,27 @@ class MySQLDialectTest {
                 .contains("PARTITION p_202501")
                 .contains("VALUES LESS THAN ('2025-02-01')");
     }
+
+    @Test
+    void shouldExpandSeekPredicate() {
+        // Given
+        List<Object> parameters = new ArrayList<>();
+
+        // When
+        var predicate = dialect.seekPredicate(List.of("event_timestamp", "event_id"), List.of("t", "id"),
+                true, parameters);
+
+        // Then
+        assertThat(predicate).isEqualTo("(event_timestamp < ? OR (event_timestamp = ? AND event_id < ?))");
+        assertThat(parameters).containsExactly("t", "t", "id");
+    }
+
+    @Test
+    void shouldBindUuidAsText() {
+        // Given
+        var id = UUID.fromString("01912d68-783e-7a3c-9f2b-4c1d5e6f7a8b");
+
+        // When/Then
+        assertThat(dialect.uuidParameter(id)).isEqualTo("01912d68-783e-7a3c-9f2b-4c1d5e6f7a8b");
+    }
 }
@@ -4,7 +4,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 /**
  * @author Nelson Tanko
@@ -65,6 +70,15 @@ class PostgreSQLDialectTest {
         assertThat(sql).isEqualTo("SELECT * FROM audit_events WHERE event_id = ?");
     }
 
+    @Test
+    void shouldGenerateSelectStoredIdsSQL() {
+        // When
+        var sql = dialect.selectStoredIdsSQL("audit_events", 3);
+
+        // Then
+        assertThat(sql).isEqualTo("SELECT event_id FROM audit_events WHERE event_id IN (?, ?, ?)");
+    }
+
     @Test
     void shouldGenerateCountSQL() {
         // When
@@ -110,4 +124,46 @@ class PostgreSQLDialectTest {
                 .contains("PARTITION OF audit_events")
                 .contains("FOR VALUES FROM ('2025-01-01') TO ('2025-02-01')");
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldEstimateUnfilteredCountFromPartitionStatistics() {
+        // When
+        var sql = dialect.estimateCountSQL("audit_events", "");
+
+        // Then
+        assertThat(sql).contains("reltuples")
+                .contains("pg_inherits")
+                .contains("'audit_events'::regclass");
+    }
+
+    @Test
+    void shouldReadPlannerEstimateForFilteredCount() throws SQLException {
+        // Given
+        var sql = dialect.estimateCountSQL("audit_events", "user_id = ?");
+        var rs = mock(ResultSet.class);
+        when(rs.getString(1)).thenReturn("""
+                [{"Plan": {"Node Type": "Append", "Plan Rows": 4200,
+                  "Plans": [{"Node Type": "Index Scan", "Plan Rows": 2100}]}}]""");
+
+        // When
+        long estimate = dialect.readEstimate(rs);
+
+        // Then
+        assertThat(sql).isEqualTo("EXPLAIN (FORMAT JSON) SELECT 1 FROM audit_events WHERE user_id = ?");
+        assertThat(estimate).isEqualTo(4200);
+    }
+
+    @Test
+    void shouldGenerateArchiveDDLAndInsertWithoutGeneratedColumn() {
+        // When
+        var ddl = dialect.createArchiveTableDDL("audit_events", "audit_events_archive");
+        var insert = dialect.archiveRowsSQL("audit_events", "audit_events_archive", "event_timestamp <= ?");
+
+        // Then
+        assertThat(ddl).contains("CREATE TABLE IF NOT EXISTS audit_events_archive (LIKE audit_events")
+                .contains("PARTITION BY RANGE (partition_key)");
+        assertThat(insert).startsWith("INSERT INTO audit_events_archive (event_id, sequence_number")
+                .endsWith("FROM audit_events WHERE event_timestamp <= ?")
+                .doesNotContain("partition_key");
+    }
+}
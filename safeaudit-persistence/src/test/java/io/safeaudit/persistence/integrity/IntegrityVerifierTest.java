@@ -0,0 +1,285 @@
+package io.safeaudit.persistence.integrity;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.safeaudit.core.config.AuditProperties;
+import io.safeaudit.core.domain.AuditEvent;
+import io.safeaudit.core.domain.QueryCriteria;
+import io.safeaudit.core.domain.enums.AuditSeverity;
+import io.safeaudit.core.processing.AsynchronousProcessingPipeline;
+import io.safeaudit.core.processing.integrity.ChainKeyResolver;
+import io.safeaudit.core.processing.integrity.HashCalculator;
+import io.safeaudit.core.processing.journal.WriteAheadJournal;
+import io.safeaudit.core.processing.queue.BackpressureHandler;
+import io.safeaudit.core.processing.queue.VirtualThreadAuditQueue;
+import io.safeaudit.persistence.dialect.H2Dialect;
+import io.safeaudit.persistence.jdbc.JdbcAuditStorage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+class IntegrityVerifierTest {
+
+    private EmbeddedDatabase database;
+    private JdbcAuditStorage storage;
+    private IntegrityVerifier verifier;
+    private Instant firstDay;
+
+    @BeforeEach
+    void setup() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+
+        storage = new JdbcAuditStorage(database, new H2Dialect());
+        storage.initializeSchema();
+
+        var properties = new AuditProperties();
+        properties.getIntegrity().getVerification().setParallelism(3);
+        verifier = new IntegrityVerifier(database, properties);
+        verifier.initializeSchema();
+
+        firstDay = LocalDate.now(ZoneOffset.UTC).minusDays(3).atStartOfDay().toInstant(ZoneOffset.UTC);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void shouldVerifyChainsAcrossDaysInParallel() {
+        // Given
+        storeChain();
+        List<VerificationProgress> progress = new CopyOnWriteArrayList<>();
+
+        // When
+        var report = verifier.verify(firstDay, firstDay.plus(3, ChronoUnit.DAYS), progress::add);
+
+        // Then
+        assertThat(report.valid()).isTrue();
+        assertThat(report.totalEvents()).isEqualTo(12);
+        assertThat(report.verifiedEvents()).isEqualTo(12);
+        assertThat(progress).hasSize(3);
+        assertThat(progress.getLast().completedSegments()).isEqualTo(3);
+        assertThat(progress.getLast().scannedEvents()).isEqualTo(12);
+    }
+
+    @Test
+    void shouldDetectModifiedEvent() {
+        // Given
+        var events = storeChain();
+        new JdbcTemplate(database).update("UPDATE audit_events SET resource = ? WHERE event_id = ?",
+                "/api/tampered", UUID.fromString(events.get(5).eventId()));
+
+        // When
+        var report = verifier.verify(firstDay, firstDay.plus(3, ChronoUnit.DAYS));
+
+        // Then
+        assertThat(report.valid()).isFalse();
+        assertThat(report.violations()).singleElement()
+                .satisfies(violation -> {
+                    assertThat(violation.eventId()).isEqualTo(events.get(5).eventId());
+                    assertThat(violation.description()).contains("hash mismatch");
+                });
+    }
+
+    @Test
+    void shouldDetectDeletedEvent() {
+        // Given
+        var events = storeChain();
+        new JdbcTemplate(database).update("DELETE FROM audit_events WHERE event_id = ?",
+                UUID.fromString(events.get(4).eventId()));
+
+        // When
+        var report = verifier.verify(firstDay, firstDay.plus(3, ChronoUnit.DAYS));
+
+        // Then
+        assertThat(report.valid()).isFalse();
+        assertThat(report.violations()).singleElement()
+                .satisfies(violation -> {
+                    assertThat(violation.eventId()).isEqualTo(events.get(5).eventId());
+                    assertThat(violation.description()).contains("missing");
+                });
+    }
+
+    @Test
+    void shouldResumeFromCheckpoint() {
+        // Given
+        storeChain();
+        assertThat(verifier.getCheckpoint()).isEmpty();
+
+        // When
+        var first = verifier.resume(_ -> {});
+        var checkpoint = verifier.getCheckpoint();
+        var second = verifier.resume(_ -> {});
+
+        // Then
+        assertThat(first.valid()).isTrue();
+        assertThat(first.from()).isEqualTo(firstDay.plus(1, ChronoUnit.HOURS));
+        assertThat(first.totalEvents()).isEqualTo(12);
+        assertThat(checkpoint).hasValueSatisfying(until ->
+                assertThat(until).isCloseTo(first.to(), within(1, ChronoUnit.MILLIS)));
+
+        assertThat(second.valid()).isTrue();
+        assertThat(second.from()).isEqualTo(checkpoint.get().minus(1, ChronoUnit.DAYS));
+        assertThat(second.totalEvents()).isLessThan(12);
+    }
+
+    @Test
+    void shouldVerifyEventsWithSubMicrosecondTimestamps() {
+        // Given
+        var calculator = new HashCalculator("SHA-256", true);
+        var timestamp = firstDay.plusNanos(999_999_999);
+        storage.store(calculator.process(AuditEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .timestamp(timestamp)
+                .eventType("TEST_EVENT")
+                .severity(AuditSeverity.INFO)
+                .userId("user-1")
+                .resource("/api/test")
+                .action("GET")
+                .capturedBy("test")
+                .applicationName("test-app")
+                .build()));
+
+        // When
+        var report = verifier.verify(firstDay, firstDay.plus(1, ChronoUnit.DAYS));
+
+        // Then
+        assertThat(report.violations()).isEmpty();
+        assertThat(report.totalEvents()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldKeepChainValidWhenJournalReplaysCommittedEvents(@TempDir Path directory) throws Exception {
+        // Given
+        var journal = new WriteAheadJournal(directory.resolve("run-1"), 64 * 1024, Duration.ofHours(1), new SimpleMeterRegistry());
+        var queue = startQueue(journal);
+        for (int i = 0; i < 3; i++) {
+            queue.enqueue(createEvent(i));
+        }
+        awaitStored(3);
+        queue.shutdown();
+
+        // Crash after the commit but before the journal checkpoint was synced
+        var crashed = Files.createDirectories(directory.resolve("run-2"));
+        try (var files = Files.list(directory.resolve("run-1"))) {
+            for (var file : files.toList()) {
+                Files.copy(file, crashed.resolve(file.getFileName()));
+            }
+        }
+        journal.close();
+
+        // When
+        var restartedJournal = new WriteAheadJournal(crashed, 64 * 1024, Duration.ofHours(1), new SimpleMeterRegistry());
+        var restarted = startQueue(restartedJournal);
+        restarted.enqueue(createEvent(3));
+        awaitStored(4);
+        restarted.shutdown();
+        restartedJournal.close();
+
+        // Then
+        var now = Instant.now();
+        var report = verifier.verify(now.minus(1, ChronoUnit.HOURS), now.plus(1, ChronoUnit.HOURS));
+        assertThat(report.violations()).isEmpty();
+        assertThat(report.totalEvents()).isEqualTo(4);
+        assertThat(restartedJournal.getCheckpoint()).isEqualTo(4);
+    }
+
+    private VirtualThreadAuditQueue startQueue(WriteAheadJournal journal) {
+        var meterRegistry = new SimpleMeterRegistry();
+        var calculator = new HashCalculator("SHA-256", true,
+                ChainKeyResolver.of(AuditProperties.ChainScope.INSTANCE), storage);
+        var pipeline = new AsynchronousProcessingPipeline(List.of(calculator), storage, Optional.empty(), meterRegistry);
+        var config = new AuditProperties.AsyncConfig();
+        config.setWorkerThreads(1);
+        config.setBatchTimeoutMs(50);
+        return new VirtualThreadAuditQueue(config, pipeline,
+                new BackpressureHandler(new AuditProperties.BackpressureConfig(), meterRegistry), journal, meterRegistry);
+    }
+
+    private void awaitStored(long expected) throws InterruptedException {
+        var all = QueryCriteria.builder().build();
+        for (int i = 0; i < 50 && storage.count(all) < expected; i++) {
+            Thread.sleep(100);
+        }
+        assertThat(storage.count(all)).isEqualTo(expected);
+    }
+
+    private AuditEvent createEvent(int sequence) {
+        return AuditEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .sequenceNumber(sequence)
+                .timestamp(Instant.now())
+                .eventType("TEST_EVENT")
+                .severity(AuditSeverity.INFO)
+                .userId("user-" + sequence)
+                .resource("/api/test")
+                .action("GET")
+                .capturedBy("test")
+                .applicationName("test-app")
+                .build();
+    }
+
+    /**
+     * Twelve events over three days. The links at the first midnight were
+     * hashed out of timestamp order, so they straddle the day boundary reversed.
+     */
+    private List<AuditEvent> storeChain() {
+        var calculator = new HashCalculator("SHA-256", true);
+        List<AuditEvent> events = new ArrayList<>();
+
+        for (int i = 0; i < 12; i++) {
+            var timestamp = firstDay.plus(1 + i * 6L, ChronoUnit.HOURS);
+            if (i == 3) {
+                timestamp = firstDay.plus(1, ChronoUnit.DAYS).plusSeconds(1);
+            } else if (i == 4) {
+                timestamp = firstDay.plus(1, ChronoUnit.DAYS).minusSeconds(1);
+            }
+
+            var event = calculator.process(AuditEvent.builder()
+                    .eventId(UUID.randomUUID().toString())
+                    .sequenceNumber(i)
+                    .timestamp(timestamp)
+                    .eventType("TEST_EVENT")
+                    .severity(AuditSeverity.INFO)
+                    .userId("user-" + i)
+                    .resource("/api/test")
+                    .action("GET")
+                    .capturedBy("test")
+                    .applicationName("test-app")
+                    .build());
+
+            storage.store(event);
+            events.add(event);
+        }
+
+        return events;
+    }
+}
@@ -0,0 +1,171 @@
+package io.safeaudit.persistence.integrity;
+
+import io.safeaudit.core.config.AuditProperties;
+import io.safeaudit.core.domain.AuditEvent;
+import io.safeaudit.core.domain.enums.AuditSeverity;
+import io.safeaudit.core.processing.integrity.HashCalculator;
+import io.safeaudit.persistence.dialect.H2Dialect;
+import io.safeaudit.persistence.jdbc.JdbcAuditStorage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+class MerkleCheckpointManagerTest {
+
+    private EmbeddedDatabase database;
+    private JdbcAuditStorage storage;
+    private MerkleCheckpointManager manager;
+    private Instant firstWindow;
+
+    @BeforeEach
+    void setup() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+
+        storage = new JdbcAuditStorage(database, new H2Dialect());
+        storage.initializeSchema();
+        var properties = new AuditProperties();
+        properties.getIntegrity().getMerkle().setSealDelayMinutes(0);
+        manager = new MerkleCheckpointManager(database, properties);
+        manager.initializeSchema();
+
+        firstWindow = Instant.now().truncatedTo(ChronoUnit.HOURS).minus(3, ChronoUnit.HOURS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void shouldSealClosedWindows() {
+        // Given
+        storeEvents(5, firstWindow);
+        storeEvents(3, firstWindow.plus(1, ChronoUnit.HOURS));
+
+        // When
+        var sealed = manager.sealPending();
+
+        // Then
+        assertThat(sealed).hasSize(3); // Current hour is still open
+        assertThat(sealed).extracting(checkpoint -> checkpoint.leafCount()).containsExactly(5L, 3L, 0L);
+        assertThat(sealed.get(2).rootHash()).isNull();
+        assertThat(manager.sealPending()).isEmpty();
+        assertThat(manager.getCheckpoints(firstWindow, Instant.now())).hasSize(3);
+    }
+
+    @Test
+    void shouldKeepRootOfAlreadySealedWindow() {
+        // Given
+        var events = storeEvents(3, firstWindow);
+        var sealed = manager.seal(firstWindow);
+        storeEvents(1, firstWindow.plus(30, ChronoUnit.MINUTES));
+
+        // When
+        var resealed = manager.seal(firstWindow);
+
+        // Then
+        assertThat(resealed).isEqualTo(sealed);
+        assertThat(manager.prove(events.getFirst().eventId()))
+                .hasValueSatisfying(proof -> assertThat(manager.verifyProof(proof)).isTrue());
+        assertThat(manager.verify(firstWindow, firstWindow.plus(1, ChronoUnit.HOURS)).valid()).isFalse();
+    }
+
+    @Test
+    void shouldProveInclusionOfEachEvent() {
+        // Given
+        var events = storeEvents(7, firstWindow);
+        manager.sealPending();
+
+        for (var event : events) {
+            // When
+            var proof = manager.prove(event.eventId());
+
+            // Then
+            assertThat(proof).hasValueSatisfying(p -> {
+                assertThat(p.eventHash()).isEqualTo(event.eventHash());
+                assertThat(p.leafCount()).isEqualTo(7);
+                assertThat(manager.verifyProof(p)).isTrue();
+            });
+        }
+        assertThat(manager.prove(UUID.randomUUID().toString())).isEmpty();
+    }
+
+    @Test
+    void shouldVerifySealedRootsAndReportChanges() {
+        // Given
+        var events = storeEvents(4, firstWindow);
+        manager.sealPending();
+        assertThat(manager.verify(firstWindow, Instant.now()).valid()).isTrue();
+
+        new JdbcTemplate(database).update("UPDATE audit_events SET event_hash = ? WHERE event_id = ?",
+                "forged", UUID.fromString(events.get(1).eventId()));
+
+        // When
+        var report = manager.verify(firstWindow, Instant.now());
+
+        // Then
+        assertThat(report.valid()).isFalse();
+        assertThat(report.totalEvents()).isEqualTo(4);
+        assertThat(report.verifiedEvents()).isEqualTo(3);
+        assertThat(report.violations()).singleElement()
+                .satisfies(violation -> assertThat(violation.eventId()).isEqualTo(events.get(1).eventId()));
+    }
+
+    @Test
+    void shouldCombineWindowRootsIntoRangeRoot() {
+        // Given
+        storeEvents(2, firstWindow);
+        storeEvents(2, firstWindow.plus(1, ChronoUnit.HOURS));
+        manager.sealPending();
+        var checkpoints = manager.getCheckpoints(firstWindow, Instant.now());
+
+        // When
+        var root = manager.rootOf(checkpoints);
+
+        // Then
+        assertThat(root).isNotNull().isEqualTo(manager.rootOf(manager.getCheckpoints(firstWindow, Instant.now())));
+        assertThat(root).isNotEqualTo(manager.rootOf(checkpoints.subList(0, 1)));
+    }
+
+    private List<AuditEvent> storeEvents(int count, Instant windowStart) {
+        var calculator = new HashCalculator("SHA-256", true);
+        List<AuditEvent> events = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            var event = calculator.process(AuditEvent.builder()
+                    .eventId(UUID.randomUUID().toString())
+                    .sequenceNumber(System.nanoTime())
+                    .timestamp(windowStart.plus(i, ChronoUnit.MINUTES))
+                    .eventType("TEST_EVENT")
+                    .severity(AuditSeverity.INFO)
+                    .resource("/api/test")
+                    .action("GET")
+                    .capturedBy("test")
+                    .applicationName("test-app")
+                    .build());
+
+            storage.store(event);
+            events.add(event);
+        }
+        return events;
+    }
+}
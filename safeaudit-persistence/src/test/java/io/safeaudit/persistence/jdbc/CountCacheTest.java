@@ -0,0 +1,58 @@
+package io.safeaudit.persistence.jdbc;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+class CountCacheTest {
+
+    @Test
+    void shouldReuseCountWithinTtl() {
+        // Given
+        var cache = new CountCache(Duration.ofMinutes(1), 10);
+        var counter = new AtomicLong(41);
+
+        // When
+        var first = cache.get("key", counter::incrementAndGet);
+        var second = cache.get("key", counter::incrementAndGet);
+
+        // Then
+        assertThat(first).isEqualTo(new CountCache.Result(42, true));
+        assertThat(second).isEqualTo(new CountCache.Result(42, false));
+    }
+
+    @Test
+    void shouldRecountAfterTtl() {
+        // Given
+        var cache = new CountCache(Duration.ZERO, 10);
+        var counter = new AtomicLong();
+
+        // When
+        cache.get("key", counter::incrementAndGet);
+        var second = cache.get("key", counter::incrementAndGet);
+
+        // Then
+        assertThat(second).isEqualTo(new CountCache.Result(2, true));
+    }
+
+    @Test
+    void shouldBoundNumberOfEntries() {
+        // Given
+        var cache = new CountCache(Duration.ofMinutes(1), 3);
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            cache.get("key-" + i, () -> 1);
+        }
+
+        // Then
+        assertThat(cache.size()).isLessThanOrEqualTo(3);
+    }
+}
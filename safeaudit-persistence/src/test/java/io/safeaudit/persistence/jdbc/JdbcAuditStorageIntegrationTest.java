@@ -1,9 +1,13 @@
 package io.safeaudit.persistence.jdbc;
 
+import io.safeaudit.core.config.AuditProperties;
 import io.safeaudit.core.domain.AuditEvent;
 import io.safeaudit.core.domain.ComplianceMetadata;
+import io.safeaudit.core.domain.PageCursor;
 import io.safeaudit.core.domain.QueryCriteria;
 import io.safeaudit.core.domain.enums.AuditSeverity;
+import io.safeaudit.core.domain.enums.CountMode;
+import io.safeaudit.core.processing.integrity.EventHasher;
 import io.safeaudit.persistence.dialect.H2Dialect;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,6 +21,8 @@ import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
 
@@ -30,6 +36,8 @@ import static org.assertj.core.api.Assertions.assertThatNoException;
 @ExtendWith(MockitoExtension.class)
 class JdbcAuditStorageIntegrationTest {
 
+    private static final EventHasher HASHER = new EventHasher("SHA-256");
+
     private EmbeddedDatabase database;
     private JdbcAuditStorage storage;
 
@@ -66,6 +74,35 @@ class JdbcAuditStorageIntegrationTest {
         assertThat(retrieved.get().eventType()).isEqualTo(event.eventType());
     }
 
+    @Test
+    void shouldCarryBinaryEventIdThroughStorage() {
+        // Given
+        var id = UUID.fromString("01912d68-783e-7a3c-9f2b-4c1d5e6f7a8b");
+        var template = createTestEvent(id.toString());
+        var event = AuditEvent.builder()
+                .eventUuid(id)
+                .timestamp(template.timestamp())
+                .eventType(template.eventType())
+                .severity(template.severity())
+                .resource(template.resource())
+                .action(template.action())
+                .capturedBy(template.capturedBy())
+                .applicationName(template.applicationName())
+                .eventHash(template.eventHash())
+                .build();
+
+        // When
+        storage.store(event);
+        var retrieved = storage.findById(id.toString());
+
+        // Then
+        assertThat(event.eventId()).isEqualTo(id.toString());
+        assertThat(retrieved).hasValueSatisfying(stored -> {
+            assertThat(stored.eventUuid()).isEqualTo(id);
+            assertThat(stored.eventId()).isEqualTo(id.toString());
+        });
+    }
+
     @Test
     void shouldHandleDuplicateEventIdempotently() {
         // Given
@@ -96,6 +133,40 @@ class JdbcAuditStorageIntegrationTest {
         assertThat(stored).isEqualTo(3);
     }
 
+    @Test
+    void shouldSkipDuplicatesInBatch() {
+        // Given
+        storage.store(createTestEvent(uuid("batch-1")));
+        List<AuditEvent> events = List.of(
+                createTestEvent(uuid("batch-1")),
+                createTestEvent(uuid("batch-2")),
+                createTestEvent(uuid("batch-2"))
+        );
+
+        // When
+        int stored = storage.storeBatch(events);
+
+        // Then
+        assertThat(stored).isEqualTo(1);
+        assertThat(storage.findById(uuid("batch-2"))).isPresent();
+    }
+
+    @Test
+    void shouldStoreBatchLargerThanOneStatement() {
+        // Given
+        var events = new ArrayList<AuditEvent>();
+        for (int i = 0; i < 2500; i++) {
+            events.add(createTestEvent(uuid("bulk-" + i)));
+        }
+
+        // When
+        int stored = storage.storeBatch(events);
+
+        // Then
+        assertThat(stored).isEqualTo(2500);
+        assertThat(storage.findById(uuid("bulk-2499"))).isPresent();
+    }
+
     @Test
     void shouldQueryEventsByUserId() {
         // Given
@@ -115,6 +186,87 @@ class JdbcAuditStorageIntegrationTest {
                 .allMatch(e -> e.userId().equals("user123"));
     }
 
+    @Test
+    void shouldSeekThroughPagesWithCursor() {
+        // Given
+        var timestamp = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        for (int i = 0; i < 10; i++) {
+            // Pairs of events share a timestamp so that pages split on event_id ties
+            storage.store(createTestEvent(uuid("event-" + i), "test-user", timestamp.plusMillis(i / 2)));
+        }
+        List<String> seen = new ArrayList<>();
+        PageCursor cursor = null;
+
+        // When
+        do {
+            var page = storage.query(QueryCriteria.builder().size(3).cursor(cursor).build());
+            page.forEach(event -> seen.add(event.eventId()));
+            cursor = page.size() == 3 ? PageCursor.after(page.getLast()) : null;
+        } while (cursor != null);
+
+        // Then
+        var expected = storage.query(QueryCriteria.builder().size(10).build()).stream()
+                .map(AuditEvent::eventId)
+                .toList();
+        assertThat(seen).hasSize(10).doesNotHaveDuplicates().containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void shouldStreamAllMatchesOldestFirst() {
+        // Given
+        var properties = new AuditProperties();
+        properties.getReporting().getExport().setFetchSize(2);
+        var streaming = new JdbcAuditStorage(database, new H2Dialect(), "audit_events", properties);
+        var timestamp = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        for (int i = 0; i < 7; i++) {
+            storage.store(createTestEvent(uuid("event-" + i), i == 3 ? "other-user" : "test-user",
+                    timestamp.minusMillis(i)));
+        }
+        List<AuditEvent> streamed = new ArrayList<>();
+
+        // When
+        long count = streaming.stream(QueryCriteria.builder().userId("test-user").size(1).build(), streamed::add);
+
+        // Then
+        assertThat(count).isEqualTo(6);
+        assertThat(streamed).extracting(AuditEvent::timestamp).isSortedAccordingTo(Comparator.naturalOrder());
+        assertThat(streamed).extracting(AuditEvent::userId).containsOnly("test-user");
+    }
+
+    @Test
+    void shouldServeCachedCountUntilExpiry() {
+        // Given
+        storage.store(createTestEvent(uuid("event-1"), "user123"));
+        var criteria = QueryCriteria.builder().userId("user123").build();
+        var nextPage = QueryCriteria.builder().userId("user123").page(1).build();
+
+        // When
+        var first = storage.count(criteria, CountMode.CACHED);
+        storage.store(createTestEvent(uuid("event-2"), "user123"));
+        var cached = storage.count(nextPage, CountMode.CACHED);
+        var exact = storage.count(criteria, CountMode.EXACT);
+
+        // Then
+        assertThat(first.total()).isEqualTo(1);
+        assertThat(first.exact()).isTrue();
+        assertThat(cached.total()).isEqualTo(1);
+        assertThat(cached.exact()).isFalse();
+        assertThat(exact.total()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldFallBackToExactCountWithoutPlannerEstimate() {
+        // Given
+        storage.store(createTestEvent(uuid("event-1")));
+
+        // When
+        var count = storage.count(QueryCriteria.builder().build(), CountMode.ESTIMATED);
+
+        // Then
+        assertThat(count.total()).isEqualTo(1);
+        assertThat(count.exact()).isTrue();
+    }
+
     @Test
     void shouldQueryEventsWithPagination() {
         // Given
@@ -332,6 +484,63 @@ class JdbcAuditStorageIntegrationTest {
         assertThat(report.violations()).isNotEmpty();
     }
 
+    @Test
+    void shouldVerifyInterleavedChainsIndependently() {
+        // Given
+        var from = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+        // Links of two chains interleave in time, and chain "b" was hashed out of timestamp order
+        var a1 = store(createChainedEvent("a-1", "a", 1, null, from));
+        var b1 = store(createChainedEvent("b-1", "b", 1, null, from.plusMillis(1)));
+        store(createChainedEvent("a-2", "a", 2, a1.eventHash(), from.plusMillis(2)));
+        store(createChainedEvent("b-2", "b", 2, b1.eventHash(), from.minusMillis(5)));
+
+        // When
+        var report = storage.verifyIntegrity(from.minusSeconds(1), from.plusSeconds(10));
+
+        // Then
+        assertThat(report.valid()).isTrue();
+        assertThat(report.totalEvents()).isEqualTo(4);
+        assertThat(report.verifiedEvents()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldReportViolationOnlyInBrokenChain() {
+        // Given
+        var from = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+        var a1 = store(createChainedEvent("a-1", "a", 1, null, from));
+        store(createChainedEvent("a-2", "a", 2, a1.eventHash(), from.plusMillis(1)));
+        store(createChainedEvent("b-1", "b", 1, null, from));
+        store(createChainedEvent("b-2", "b", 2, "tampered", from.plusMillis(1)));
+
+        // When
+        var report = storage.verifyIntegrity(from.minusSeconds(1), from.plusSeconds(10));
+
+        // Then
+        assertThat(report.valid()).isFalse();
+        assertThat(report.violations()).singleElement()
+                .satisfies(violation -> assertThat(violation.eventId()).isEqualTo(uuid("b-2")));
+    }
+
+    @Test
+    void shouldFindChainHead() {
+        // Given
+        var now = Instant.now();
+        var a1 = store(createChainedEvent("a-1", "a", 1, null, now));
+        var a2 = store(createChainedEvent("a-2", "a", 2, a1.eventHash(), now));
+        store(createChainedEvent("b-1", "b", 1, null, now));
+
+        // When
+        var head = storage.findChainHead("a");
+
+        // Then
+        assertThat(head).isPresent();
+        assertThat(head.get().sequence()).isEqualTo(2);
+        assertThat(head.get().eventHash()).isEqualTo(a2.eventHash());
+        assertThat(storage.findChainHead("missing")).isEmpty();
+    }
+
     @Test
     void shouldInitializeSchema() {
         // When/Then
@@ -351,10 +560,14 @@ class JdbcAuditStorageIntegrationTest {
     }
 
     private AuditEvent createTestEvent(String eventId, String userId) {
+        return createTestEvent(eventId, userId, Instant.now().truncatedTo(ChronoUnit.MILLIS));
+    }
+
+    private AuditEvent createTestEvent(String eventId, String userId, Instant timestamp) {
         return AuditEvent.builder()
                 .eventId(eventId)
                 .sequenceNumber(System.nanoTime())
-                .timestamp(Instant.now().truncatedTo(ChronoUnit.MILLIS))
+                .timestamp(timestamp)
                 .eventType("TEST_EVENT")
                 .eventHash("hash1")
                 .severity(AuditSeverity.INFO)
@@ -368,6 +581,42 @@ class JdbcAuditStorageIntegrationTest {
                 .build();
     }
 
+    private AuditEvent store(AuditEvent event) {
+        storage.store(event);
+        return event;
+    }
+
+    private AuditEvent createChainedEvent(String name, String chainKey, long chainSequence,
+                                          String previousHash, Instant timestamp) {
+        var event = AuditEvent.builder()
+                .eventId(uuid(name))
+                .sequenceNumber(System.nanoTime())
+                .timestamp(timestamp)
+                .eventType("TEST_EVENT")
+                .severity(AuditSeverity.INFO)
+                .resource("/api/test")
+                .action("GET")
+                .capturedBy("capturedBy1")
+                .applicationName("applicationName1")
+                .build();
+
+        return AuditEvent.builder()
+                .eventId(event.eventId())
+                .sequenceNumber(event.sequenceNumber())
+                .timestamp(event.timestamp())
+                .eventType(event.eventType())
+                .severity(event.severity())
+                .resource(event.resource())
+                .action(event.action())
+                .capturedBy(event.capturedBy())
+                .applicationName(event.applicationName())
+                .previousEventHash(previousHash)
+                .eventHash(HASHER.hash(event, chainKey, chainSequence, previousHash))
+                .chainKey(chainKey)
+                .chainSequence(chainSequence)
+                .build();
+    }
+
     public String uuid(String name) {
         return UUID.nameUUIDFromBytes(name.getBytes()).toString();
     }
@@ -1,9 +1,13 @@
 package io.safeaudit.persistence.jdbc;
 
+import io.safeaudit.core.config.AuditProperties;
 import io.safeaudit.core.domain.AuditEvent;
 import io.safeaudit.core.domain.HealthStatus;
+import io.safeaudit.core.domain.QueryCriteria;
 import io.safeaudit.core.domain.enums.AuditSeverity;
+import io.safeaudit.core.exception.AuditStorageException;
 import io.safeaudit.persistence.dialect.H2Dialect;
+import io.safeaudit.persistence.dialect.PostgreSQLDialect;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,13 +15,19 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.jdbc.core.BatchPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
 
 import javax.sql.DataSource;
+import java.sql.Statement;
 import java.time.Instant;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -36,12 +46,17 @@ class JdbcAuditStorageTest {
         var dataSource = mock(DataSource.class);
         jdbcTemplate = mock(JdbcTemplate.class);
         storage = new JdbcAuditStorage(dataSource, new H2Dialect());
+        injectJdbcTemplate();
+    }
 
+    private void injectJdbcTemplate() {
         // Inject mock JdbcTemplate using reflection
         try {
-            var field = JdbcAuditStorage.class.getDeclaredField("jdbcTemplate");
-            field.setAccessible(true);
-            field.set(storage, jdbcTemplate);
+            for (var name : List.of("jdbcTemplate", "readJdbcTemplate")) {
+                var field = JdbcAuditStorage.class.getDeclaredField(name);
+                field.setAccessible(true);
+                field.set(storage, jdbcTemplate);
+            }
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -75,11 +90,33 @@ class JdbcAuditStorageTest {
     }
 
     @Test
-    void shouldStoreBatchOfEvents() {
+    void shouldStoreBatchOfEventsWithMultiRowInsert() {
+        // Given
+        when(jdbcTemplate.update(anyString(), any(PreparedStatementSetter.class))).thenReturn(3);
+        List<AuditEvent> events = List.of(
+                createTestEvent(),
+                createTestEvent(),
+                createTestEvent()
+        );
+
+        // When
+        int result = storage.storeBatch(events);
+
+        // Then
+        assertThat(result).isEqualTo(3);
+        verify(jdbcTemplate).update(contains("MERGE INTO"), any(PreparedStatementSetter.class));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), any(BatchPreparedStatementSetter.class));
+    }
+
+    @Test
+    void shouldCountRowsWithoutUpdateCountAsStored() {
         // Given
+        storage = new JdbcAuditStorage(mock(DataSource.class), new PostgreSQLDialect());
+        injectJdbcTemplate();
         when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class)))
-                .thenReturn(new int[]{1, 1, 1});
+                .thenReturn(new int[]{Statement.SUCCESS_NO_INFO, 1, 0, Statement.SUCCESS_NO_INFO});
         List<AuditEvent> events = List.of(
+                createTestEvent(),
                 createTestEvent(),
                 createTestEvent(),
                 createTestEvent()
@@ -90,7 +127,85 @@ class JdbcAuditStorageTest {
 
         // Then
         assertThat(result).isEqualTo(3);
-        verify(jdbcTemplate).batchUpdate(anyString(), any(BatchPreparedStatementSetter.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReadNewestPartitionFirstForWideRange() {
+        // Given
+        storage = new JdbcAuditStorage(mock(DataSource.class), new PostgreSQLDialect(), "audit_events",
+                partitionedProperties());
+        injectJdbcTemplate();
+        when(jdbcTemplate.query(anyString(), any(PreparedStatementSetter.class), any(RowMapper.class)))
+                .thenReturn(List.of(createTestEvent(), createTestEvent()));
+        var criteria = QueryCriteria.builder()
+                .from(Instant.parse("2024-01-20T00:00:00Z"))
+                .to(Instant.parse("2024-03-05T00:00:00Z"))
+                .size(2)
+                .build();
+
+        // When
+        var events = storage.query(criteria);
+
+        // Then
+        assertThat(events).hasSize(2);
+        verify(jdbcTemplate, times(1))
+                .query(contains("LIMIT 2"), any(PreparedStatementSetter.class), any(RowMapper.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldSumCountsAcrossPartitions() {
+        // Given
+        storage = new JdbcAuditStorage(mock(DataSource.class), new PostgreSQLDialect(), "audit_events",
+                partitionedProperties());
+        injectJdbcTemplate();
+        when(jdbcTemplate.query(contains("COUNT"), any(PreparedStatementSetter.class), any(RowMapper.class)))
+                .thenReturn(List.of(5L));
+        var criteria = QueryCriteria.builder()
+                .from(Instant.parse("2024-01-20T00:00:00Z"))
+                .to(Instant.parse("2024-03-05T00:00:00Z"))
+                .build();
+
+        // When
+        long count = storage.count(criteria);
+
+        // Then
+        assertThat(count).isEqualTo(15L);
+        verify(jdbcTemplate, times(3))
+                .query(contains("partition_key"), any(PreparedStatementSetter.class), any(RowMapper.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldCountPartitionsOnStorageThreadsLimitedByReadPool() {
+        // Given
+        var properties = partitionedProperties();
+        properties.getStorage().getDatabase().setUseApplicationDataSource(false);
+        properties.getStorage().getDatabase().getConnection().setReadPoolSize(1);
+        storage = new JdbcAuditStorage(mock(DataSource.class), new PostgreSQLDialect(), "audit_events", properties);
+        injectJdbcTemplate();
+        var threads = ConcurrentHashMap.<String>newKeySet();
+        when(jdbcTemplate.query(contains("COUNT"), any(PreparedStatementSetter.class), any(RowMapper.class)))
+                .thenAnswer(invocation -> {
+                    threads.add(Thread.currentThread().getName());
+                    return List.of(5L);
+                });
+        var criteria = QueryCriteria.builder()
+                .from(Instant.parse("2024-01-20T00:00:00Z"))
+                .to(Instant.parse("2024-03-05T00:00:00Z"))
+                .build();
+
+        // When
+        long first = storage.count(criteria);
+        long second = storage.count(criteria);
+        storage.close();
+
+        // Then
+        assertThat(first).isEqualTo(15L);
+        assertThat(second).isEqualTo(15L);
+        assertThat(threads).containsExactly("audit-count-0");
+        assertThatThrownBy(() -> storage.count(criteria)).isInstanceOf(AuditStorageException.class);
     }
 
     @Test
@@ -129,9 +244,15 @@ class JdbcAuditStorageTest {
         assertThat(status.getMessage()).contains("Connection failed");
     }
 
+    private static AuditProperties partitionedProperties() {
+        var properties = new AuditProperties();
+        properties.getStorage().getDatabase().getPartitioning().setStrategy(AuditProperties.PartitionStrategy.MONTHLY);
+        return properties;
+    }
+
     private AuditEvent createTestEvent() {
         return AuditEvent.builder()
-                .eventId("test-" + System.nanoTime())
+                .eventUuid(UUID.randomUUID())
                 .sequenceNumber(1L)
                 .timestamp(Instant.now())
                 .eventType("TEST")
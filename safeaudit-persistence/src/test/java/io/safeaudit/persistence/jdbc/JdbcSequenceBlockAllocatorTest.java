@@ -0,0 +1,125 @@
+package io.safeaudit.persistence.jdbc;
+
+import io.safeaudit.core.domain.AuditEvent;
+import io.safeaudit.core.domain.enums.AuditSeverity;
+import io.safeaudit.core.exception.AuditStorageException;
+import io.safeaudit.core.util.SequenceNumberGenerator;
+import io.safeaudit.persistence.dialect.H2Dialect;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+class JdbcSequenceBlockAllocatorTest {
+
+    private EmbeddedDatabase database;
+
+    @BeforeEach
+    void setup() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        new JdbcSequenceBlockAllocator(database).initializeSchema();
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void shouldLeaseConsecutiveBlocks() {
+        // Given
+        var allocator = new JdbcSequenceBlockAllocator(database);
+
+        // When
+        long first = allocator.allocate("node-1", 100);
+        long second = allocator.allocate("node-1", 100);
+        long third = allocator.allocate("node-1", 50);
+
+        // Then
+        assertThat(first).isEqualTo(1L);
+        assertThat(second).isEqualTo(101L);
+        assertThat(third).isEqualTo(201L);
+    }
+
+    @Test
+    void shouldKeepSequencesPerInstance() {
+        // Given
+        var allocator = new JdbcSequenceBlockAllocator(database);
+        allocator.allocate("node-1", 100);
+
+        // When
+        long other = allocator.allocate("node-2", 100);
+
+        // Then
+        assertThat(other).isEqualTo(1L);
+        assertThat(allocator.allocate("node-1", 100)).isEqualTo(101L);
+    }
+
+    @Test
+    void shouldContinueAfterRestart() {
+        // Given
+        var before = new SequenceNumberGenerator(new JdbcSequenceBlockAllocator(database), "node-1", 10);
+        for (int i = 0; i < 15; i++) {
+            before.next();
+        }
+
+        // When
+        var after = new SequenceNumberGenerator(new JdbcSequenceBlockAllocator(database), "node-1", 10);
+
+        // Then
+        assertThat(after.next()).isEqualTo(21L);
+    }
+
+    @Test
+    void shouldStartAfterStoredEventsOnFirstLease() {
+        // Given
+        var storage = new JdbcAuditStorage(database, new H2Dialect());
+        storage.initializeSchema();
+        storage.store(AuditEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .sequenceNumber(42)
+                .timestamp(Instant.now())
+                .eventType("TEST_EVENT")
+                .severity(AuditSeverity.INFO)
+                .resource("/api/test")
+                .action("GET")
+                .capturedBy("test")
+                .applicationName("test-app")
+                .applicationInstance("node-1")
+                .eventHash("hash")
+                .build());
+        var allocator = new JdbcSequenceBlockAllocator(database);
+
+        // When
+        long start = allocator.allocate("node-1", 100);
+
+        // Then
+        assertThat(start).isEqualTo(43L);
+        assertThat(allocator.allocate("node-2", 100)).isEqualTo(1L);
+    }
+
+    @Test
+    void shouldNotCreateSequenceTableWhenLeasing() {
+        // Given
+        var allocator = new JdbcSequenceBlockAllocator(database, "audit_logs");
+
+        // When / Then
+        assertThatThrownBy(() -> allocator.allocate("node-1", 100))
+                .isInstanceOf(AuditStorageException.class);
+    }
+}
@@ -0,0 +1,164 @@
+package io.safeaudit.persistence.jdbc;
+
+import io.safeaudit.core.domain.AuditEvent;
+import io.safeaudit.core.domain.ComplianceMetadata;
+import io.safeaudit.core.domain.enums.AuditSeverity;
+import io.safeaudit.core.domain.enums.DataClassification;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+class PgBinaryCopyEncoderTest {
+
+    private static final UUID EVENT_ID = UUID.fromString("0190a1b2-c3d4-7e5f-8a6b-7c8d9e0f1a2b");
+
+    @Test
+    void shouldWriteHeaderAndTrailer() throws IOException {
+        // Given
+        var out = new ByteArrayOutputStream();
+        var encoder = new PgBinaryCopyEncoder(out);
+
+        // When
+        encoder.writeHeader();
+        encoder.writeTrailer();
+
+        // Then
+        var in = new DataInputStream(new ByteArrayInputStream(out.toByteArray()));
+        assertThat(in.readNBytes(11)).containsExactly('P', 'G', 'C', 'O', 'P', 'Y', '\n', 0xFF, '\r', '\n', 0);
+        assertThat(in.readInt()).isZero();
+        assertThat(in.readInt()).isZero();
+        assertThat(in.readShort()).isEqualTo((short) -1);
+        assertThat(in.available()).isZero();
+    }
+
+    @Test
+    void shouldEncodeRowInColumnOrder() throws IOException {
+        // Given
+        var out = new ByteArrayOutputStream();
+        var event = AuditEvent.builder()
+                .eventUuid(EVENT_ID)
+                .sequenceNumber(7)
+                .timestamp(Instant.parse("2000-01-02T00:00:00.000123Z"))
+                .eventType("USER_LOGIN")
+                .severity(AuditSeverity.INFO)
+                .ipAddress("10.0.0.1")
+                .resource("/api/login")
+                .action("POST")
+                .httpStatusCode(200)
+                .compliance(ComplianceMetadata.builder()
+                        .regulatoryTags(Set.of("NDPA"))
+                        .dataClassification(DataClassification.CONFIDENTIAL)
+                        .retentionUntil(LocalDate.of(2000, 1, 11))
+                        .containsPII(true)
+                        .build())
+                .eventHash("hash")
+                .capturedBy("test")
+                .applicationName("test-app")
+                .build();
+
+        // When
+        new PgBinaryCopyEncoder(out).writeRow(event);
+
+        // Then
+        var in = new DataInputStream(new ByteArrayInputStream(out.toByteArray()));
+        assertThat(in.readShort()).isEqualTo((short) 27);
+        var fields = new ArrayList<byte[]>();
+        for (int i = 0; i < 27; i++) {
+            int length = in.readInt();
+            fields.add(length < 0 ? null : in.readNBytes(length));
+        }
+        assertThat(in.available()).isZero();
+
+        assertThat(asLong(fields.get(0), 0)).isEqualTo(EVENT_ID.getMostSignificantBits());
+        assertThat(asLong(fields.get(0), 8)).isEqualTo(EVENT_ID.getLeastSignificantBits());
+        assertThat(asLong(fields.get(1), 0)).isEqualTo(7L);
+        assertThat(asLong(fields.get(2), 0)).isEqualTo(86_400_000_123L);
+        assertThat(asText(fields.get(3))).isEqualTo("USER_LOGIN");
+        assertThat(fields.get(5)).isNull();
+        assertThat(asText(fields.get(7))).isEqualTo("10.0.0.1");
+        assertThat(fields.get(15)).containsExactly(0, 0, 0, (byte) 200);
+        assertThat(asTextArray(fields.get(16))).containsExactly("NDPA");
+        assertThat(asText(fields.get(17))).isEqualTo("CONFIDENTIAL");
+        assertThat(fields.get(18)).containsExactly(0, 0, 0, 10);
+        assertThat(fields.get(19)).containsExactly(1);
+        assertThat(asText(fields.get(21))).isEqualTo("hash");
+        assertThat(fields.get(26)).isNull();
+    }
+
+    @Test
+    void shouldEncodeEmptyTagsAsEmptyArray() throws IOException {
+        // Given
+        var out = new ByteArrayOutputStream();
+        var event = AuditEvent.builder()
+                .eventUuid(EVENT_ID)
+                .timestamp(Instant.now())
+                .eventType("TEST_EVENT")
+                .severity(AuditSeverity.INFO)
+                .resource("/api/test")
+                .action("GET")
+                .eventHash("hash")
+                .capturedBy("test")
+                .applicationName("test-app")
+                .build();
+
+        // When
+        new PgBinaryCopyEncoder(out).writeRow(event);
+
+        // Then
+        var bytes = out.toByteArray();
+        var marker = new byte[]{0, 0, 0, 12, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 25};
+        assertThat(indexOf(bytes, marker)).isPositive();
+    }
+
+    private static long asLong(byte[] bytes, int offset) throws IOException {
+        var in = new DataInputStream(new ByteArrayInputStream(bytes, offset, 8));
+        return in.readLong();
+    }
+
+    private static String asText(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static List<String> asTextArray(byte[] bytes) throws IOException {
+        var in = new DataInputStream(new ByteArrayInputStream(bytes));
+        assertThat(in.readInt()).isEqualTo(1);
+        assertThat(in.readInt()).isZero();
+        assertThat(in.readInt()).isEqualTo(25);
+        int size = in.readInt();
+        assertThat(in.readInt()).isEqualTo(1);
+        var values = new ArrayList<String>();
+        for (int i = 0; i < size; i++) {
+            values.add(asText(in.readNBytes(in.readInt())));
+        }
+        return values;
+    }
+
+    private static int indexOf(byte[] bytes, byte[] marker) {
+        outer:
+        for (int i = 0; i <= bytes.length - marker.length; i++) {
+            for (int j = 0; j < marker.length; j++) {
+                if (bytes[i + j] != marker[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+}
@@ -1,16 +1,22 @@
 package io.safeaudit.persistence.jdbc;
 
+import io.safeaudit.core.domain.PageCursor;
 import io.safeaudit.core.domain.QueryCriteria;
 import io.safeaudit.core.domain.enums.AuditSeverity;
+import io.safeaudit.persistence.dialect.H2Dialect;
 import io.safeaudit.persistence.dialect.PostgreSQLDialect;
 import io.safeaudit.persistence.dialect.SqlDialect;
+import io.safeaudit.persistence.partition.PartitionBounds;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.sql.Date;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.util.Set;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -63,7 +69,7 @@ class QueryBuilderTest {
 
         // Then
         assertThat(sql).contains("WHERE user_id = ? AND event_type = ? AND event_timestamp >= ?");
-        assertThat(params).hasSize(4);
+        assertThat(params).hasSize(5);
         assertThat(params[0]).isEqualTo("user1");
         assertThat(params[1]).isEqualTo("LOGIN");
 //        assertThat(params[2]).isEqualTo("CRITICAL");
@@ -180,4 +186,124 @@ class QueryBuilderTest {
         // Then
         assertThat(sql).contains("LIMIT 50 OFFSET 100");
     }
+
+    @Test
+    void shouldSeekPastCursorInsteadOfOffset() {
+        // Given
+        var cursor = new PageCursor(Instant.now(), UUID.randomUUID().toString());
+        QueryCriteria criteria = QueryCriteria.builder()
+                .userId("user1")
+                .page(3)
+                .size(50)
+                .cursor(cursor)
+                .build();
+        QueryBuilder builder = new QueryBuilder(criteria, dialect, tableName);
+
+        // When
+        String sql = builder.buildSelectSQL();
+
+        // Then
+        assertThat(sql).contains("WHERE user_id = ? AND (event_timestamp, event_id) < (?, ?)")
+                .contains("ORDER BY event_timestamp DESC, event_id DESC")
+                .contains("LIMIT 50")
+                .doesNotContain("OFFSET");
+        assertThat(builder.getSelectParameters()).hasSize(3)
+                .contains(UUID.fromString(cursor.eventId()));
+        assertThat(builder.getParameters()).containsExactly("user1");
+    }
+
+    @Test
+    void shouldRejectCursorWithCustomSorting() {
+        // Given
+        QueryCriteria criteria = QueryCriteria.builder()
+                .sortBy("user_id")
+                .cursor(new PageCursor(Instant.now(), UUID.randomUUID().toString()))
+                .build();
+        QueryBuilder builder = new QueryBuilder(criteria, dialect, tableName);
+
+        // When/Then
+        assertThatThrownBy(builder::buildSelectSQL)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Cursor paging");
+    }
+
+    @Test
+    void shouldAddPartitionKeyBoundsForTimeRange() {
+        // Given
+        QueryCriteria criteria = QueryCriteria.builder()
+                .from(Instant.parse("2024-03-10T12:00:00Z"))
+                .to(Instant.parse("2024-03-12T08:00:00Z"))
+                .build();
+        QueryBuilder builder = new QueryBuilder(criteria, dialect, tableName);
+
+        // When
+        String sql = builder.buildSelectSQL();
+        Object[] params = builder.getParameters();
+
+        // Then
+        assertThat(sql).contains("event_timestamp >= ? AND event_timestamp <= ? "
+                + "AND partition_key >= ? AND partition_key <= ?");
+        assertThat(params).hasSize(4);
+        assertThat(params[2]).isEqualTo(Date.valueOf(LocalDate.of(2024, 3, 9)));
+        assertThat(params[3]).isEqualTo(Date.valueOf(LocalDate.of(2024, 3, 13)));
+    }
+
+    @Test
+    void shouldNotAddPartitionKeyBoundsWithoutPartitioning() {
+        // Given
+        QueryCriteria criteria = QueryCriteria.builder()
+                .from(Instant.parse("2024-03-10T12:00:00Z"))
+                .to(Instant.parse("2024-03-12T08:00:00Z"))
+                .build();
+        QueryBuilder builder = new QueryBuilder(criteria, new H2Dialect(), tableName);
+
+        // When
+        String sql = builder.buildSelectSQL();
+
+        // Then
+        assertThat(sql).doesNotContain("partition_key");
+        assertThat(builder.getParameters()).hasSize(2);
+    }
+
+    @Test
+    void shouldRestrictQueryToSlice() {
+        // Given
+        QueryCriteria criteria = QueryCriteria.builder()
+                .from(Instant.parse("2024-03-10T12:00:00Z"))
+                .to(Instant.parse("2024-03-12T08:00:00Z"))
+                .size(50)
+                .build();
+        var slice = new PartitionBounds.Slice(
+                Instant.parse("2024-03-11T00:00:00Z"), Instant.parse("2024-03-12T00:00:00Z"), false);
+        QueryBuilder builder = new QueryBuilder(criteria, dialect, tableName, slice, 10);
+
+        // When
+        String sql = builder.buildSelectSQL();
+        Object[] params = builder.getParameters();
+
+        // Then
+        assertThat(sql).contains("event_timestamp >= ? AND event_timestamp < ?");
+        assertThat(sql).contains("LIMIT 10");
+        assertThat(params[2]).isEqualTo(Date.valueOf(LocalDate.of(2024, 3, 10)));
+        assertThat(params[3]).isEqualTo(Date.valueOf(LocalDate.of(2024, 3, 13)));
+    }
+
+    @Test
+    void shouldBuildUnpagedStreamSQLInAscendingOrder() {
+        // Given
+        var criteria = QueryCriteria.builder()
+                .userId("user1")
+                .size(10)
+                .page(3)
+                .build();
+        var builder = new QueryBuilder(criteria, dialect, tableName);
+
+        // When
+        var sql = builder.buildStreamSQL();
+
+        // Then
+        assertThat(sql).isEqualTo(
+                "SELECT * FROM audit_events WHERE user_id = ? ORDER BY event_timestamp ASC, event_id ASC");
+        assertThat(builder.getParameters()).containsExactly("user1");
+    }
 }
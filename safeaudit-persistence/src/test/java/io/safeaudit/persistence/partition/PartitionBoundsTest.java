@@ -0,0 +1,85 @@
+package io.safeaudit.persistence.partition;
+
+import io.safeaudit.core.config.AuditProperties.PartitionStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+class PartitionBoundsTest {
+
+    @Test
+    void shouldWidenPartitionKeyBoundsByOneDay() {
+        // Given
+        var from = Instant.parse("2024-03-10T00:30:00Z");
+        var to = Instant.parse("2024-03-12T23:30:00Z");
+
+        // When / Then
+        assertThat(PartitionBounds.lowerBound(from)).isEqualTo(LocalDate.of(2024, 3, 9));
+        assertThat(PartitionBounds.upperBound(to)).isEqualTo(LocalDate.of(2024, 3, 13));
+    }
+
+    @Test
+    void shouldResolvePartitionRangeForEachStrategy() {
+        // Given
+        var date = LocalDate.of(2024, 2, 15);
+
+        // When / Then
+        assertThat(PartitionBounds.partitionStart(date, PartitionStrategy.DAILY)).isEqualTo(date);
+        assertThat(PartitionBounds.partitionEnd(date, PartitionStrategy.DAILY)).isEqualTo(LocalDate.of(2024, 2, 16));
+        assertThat(PartitionBounds.partitionStart(date, PartitionStrategy.MONTHLY)).isEqualTo(LocalDate.of(2024, 2, 1));
+        assertThat(PartitionBounds.partitionEnd(date, PartitionStrategy.MONTHLY)).isEqualTo(LocalDate.of(2024, 3, 1));
+        assertThat(PartitionBounds.partitionStart(date, PartitionStrategy.YEARLY)).isEqualTo(LocalDate.of(2024, 1, 1));
+        assertThat(PartitionBounds.partitionEnd(date, PartitionStrategy.YEARLY)).isEqualTo(LocalDate.of(2025, 1, 1));
+    }
+
+    @Test
+    void shouldSplitRangeAtPartitionBoundaries() {
+        // Given
+        var from = Instant.parse("2024-01-20T10:00:00Z");
+        var to = Instant.parse("2024-03-05T10:00:00Z");
+
+        // When
+        var slices = PartitionBounds.slices(from, to, PartitionStrategy.MONTHLY);
+
+        // Then
+        assertThat(slices).containsExactly(
+                new PartitionBounds.Slice(from, Instant.parse("2024-02-01T00:00:00Z"), false),
+                new PartitionBounds.Slice(Instant.parse("2024-02-01T00:00:00Z"),
+                        Instant.parse("2024-03-01T00:00:00Z"), false),
+                new PartitionBounds.Slice(Instant.parse("2024-03-01T00:00:00Z"), to, true));
+    }
+
+    @Test
+    void shouldKeepRangeWithinOnePartitionWhole() {
+        // Given
+        var from = Instant.parse("2024-03-10T01:00:00Z");
+        var to = Instant.parse("2024-03-10T23:00:00Z");
+
+        // When
+        var slices = PartitionBounds.slices(from, to, PartitionStrategy.DAILY);
+
+        // Then
+        assertThat(slices).containsExactly(new PartitionBounds.Slice(from, to, true));
+    }
+
+    @Test
+    void shouldParsePartitionStartFromGeneratedName() {
+        // Given
+        var name = PartitionBounds.partitionName("audit_events", LocalDate.of(2024, 3, 17), PartitionStrategy.MONTHLY);
+
+        // When / Then
+        assertThat(name).isEqualTo("audit_events_202403");
+        assertThat(PartitionBounds.partitionStart("audit_events", name, PartitionStrategy.MONTHLY))
+                .contains(LocalDate.of(2024, 3, 1));
+        assertThat(PartitionBounds.partitionStart("audit_events", "audit_events_archive_202403",
+                PartitionStrategy.MONTHLY)).isEmpty();
+        assertThat(PartitionBounds.partitionStart("audit_events", "p_initial", PartitionStrategy.MONTHLY)).isEmpty();
+    }
+}
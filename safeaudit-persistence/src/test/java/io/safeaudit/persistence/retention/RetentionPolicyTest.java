@@ -1,17 +1,34 @@
 package io.safeaudit.persistence.retention;
 
 import io.safeaudit.core.config.AuditProperties;
+import io.safeaudit.core.domain.AuditEvent;
+import io.safeaudit.core.domain.enums.AuditSeverity;
+import io.safeaudit.persistence.dialect.H2Dialect;
+import io.safeaudit.persistence.dialect.MySQLDialect;
+import io.safeaudit.persistence.dialect.PostgreSQLDialect;
+import io.safeaudit.persistence.jdbc.JdbcAuditStorage;
+import io.safeaudit.persistence.partition.PartitionBounds;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionOperations;
 
+import java.sql.Timestamp;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -41,6 +58,7 @@ class RetentionPolicyTest {
         when(properties.getStorage()).thenReturn(storageConfig);
         when(storageConfig.getDatabase()).thenReturn(databaseConfig);
         when(databaseConfig.getRetention()).thenReturn(retentionConfig);
+        when(databaseConfig.getPartitioning()).thenReturn(new AuditProperties.PartitioningConfig());
 
         retentionPolicy = new RetentionPolicy(jdbcTemplate, properties);
     }
@@ -71,44 +89,131 @@ class RetentionPolicyTest {
     }
 
     @Test
-    void shouldArchiveAndThenDeleteData() {
+    void shouldArchiveOldRowsInChunks() {
         // Given
-        retentionConfig.setEnabled(true);
-        retentionConfig.setArchivalEnabled(true);
-        retentionConfig.setDefaultDays(30);
+        var database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        try {
+            var storage = new JdbcAuditStorage(database, new H2Dialect());
+            storage.initializeSchema();
+            var template = new JdbcTemplate(database);
+            template.execute("CREATE TABLE audit_events_archive AS SELECT * FROM audit_events WHERE 1 = 0");
+
+            var old = Instant.now().minus(60, ChronoUnit.DAYS);
+            List<AuditEvent> events = new ArrayList<>();
+            for (int i = 0; i < 25; i++) {
+                events.add(createTestEvent(old.plusSeconds(i)));
+            }
+            for (int i = 0; i < 5; i++) {
+                events.add(createTestEvent(Instant.now().minusSeconds(i)));
+            }
+            storage.storeBatch(events);
+
+            var properties = new AuditProperties();
+            properties.getStorage().getDatabase().getRetention().setDefaultDays(30);
+            properties.getStorage().getDatabase().getRetention().setArchivalBatchSize(10);
+            var policy = new RetentionPolicy(database, new H2Dialect(), properties);
+            policy.initializeSchema();
+
+            // When
+            policy.archiveOldData();
+
+            // Then
+            assertThat(template.queryForObject("SELECT COUNT(*) FROM audit_events_archive", Long.class))
+                    .isEqualTo(25L);
+            assertThat(template.queryForObject("SELECT COUNT(*) FROM audit_events", Long.class))
+                    .isEqualTo(5L);
+            assertThat(template.queryForObject("SELECT COUNT(*) FROM audit_events_archival", Long.class))
+                    .isZero();
+        } finally {
+            database.shutdown();
+        }
+    }
 
-        // Mock insert into archive returns 5 rows
-        when(jdbcTemplate.update(contains("INSERT INTO audit_events_archive"), any(LocalDate.class)))
-                .thenReturn(5);
+    @Test
+    void shouldResumeArchivalAfterRecordedProgress() {
+        // Given
+        var database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        try {
+            var storage = new JdbcAuditStorage(database, new H2Dialect());
+            storage.initializeSchema();
+            var template = new JdbcTemplate(database);
+            template.execute("CREATE TABLE audit_events_archive AS SELECT * FROM audit_events WHERE 1 = 0");
+
+            var old = Instant.now().minus(60, ChronoUnit.DAYS);
+            storage.storeBatch(List.of(
+                    createTestEvent(old),
+                    createTestEvent(old.plusSeconds(10)),
+                    createTestEvent(old.plusSeconds(20))));
+
+            var properties = new AuditProperties();
+            properties.getStorage().getDatabase().getRetention().setDefaultDays(30);
+            var policy = new RetentionPolicy(database, new H2Dialect(), properties);
+            policy.initializeSchema();
+            template.update("INSERT INTO audit_events_archival VALUES (?, ?, ?)", "audit_events",
+                    Timestamp.from(old.plusSeconds(10)), Timestamp.from(Instant.now()));
+
+            // When
+            policy.archiveOldData();
+
+            // Then
+            assertThat(template.queryForObject("SELECT COUNT(*) FROM audit_events_archive", Long.class))
+                    .isEqualTo(1L);
+            assertThat(template.queryForObject("SELECT COUNT(*) FROM audit_events_archival", Long.class))
+                    .isZero();
+        } finally {
+            database.shutdown();
+        }
+    }
 
-        // Mock delete from main table
-        when(jdbcTemplate.update(contains("DELETE FROM audit_events"), any(LocalDate.class)))
-                .thenReturn(5);
+    @Test
+    void shouldMoveExpiredPartitionsToArchiveTable() {
+        // Given
+        var partitioned = new AuditProperties();
+        partitioned.getStorage().getDatabase().getRetention().setDefaultDays(30);
+        var policy = new RetentionPolicy(jdbcTemplate, TransactionOperations.withoutTransaction(),
+                new PostgreSQLDialect(), partitioned);
+        var current = PartitionBounds.partitionName("audit_events", LocalDate.now().minusDays(30),
+                AuditProperties.PartitionStrategy.MONTHLY);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("audit_events")))
+                .thenReturn(List.of("audit_events_202001", current));
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("audit_events_archive")))
+                .thenReturn(List.of());
 
         // When
-        retentionPolicy.archiveOldData();
+        policy.archiveOldData();
 
         // Then
-        verify(jdbcTemplate).update(contains("INSERT INTO audit_events_archive"), any(LocalDate.class));
-        verify(jdbcTemplate).update(contains("DELETE FROM audit_events"), any(LocalDate.class));
+        verify(jdbcTemplate).execute("ALTER TABLE audit_events DETACH PARTITION audit_events_202001");
+        verify(jdbcTemplate).execute("ALTER TABLE audit_events_archive ATTACH PARTITION audit_events_202001 "
+                + "FOR VALUES FROM ('2020-01-01') TO ('2020-02-01')");
+        verify(jdbcTemplate).execute(contains("CREATE TABLE IF NOT EXISTS audit_events_archive_"));
+        verify(jdbcTemplate, never()).execute(contains("DETACH PARTITION " + current));
     }
 
     @Test
-    void shouldNotDeleteIfNoDataArchived() {
+    void shouldDropExpiredPartitionsWhenConfigured() {
         // Given
-        retentionConfig.setEnabled(true);
-        retentionConfig.setArchivalEnabled(true);
-
-        // Mock insert into archive returns 0 rows
-        when(jdbcTemplate.update(contains("INSERT INTO audit_events_archive"), any(LocalDate.class)))
-                .thenReturn(0);
+        var partitioned = new AuditProperties();
+        partitioned.getStorage().getDatabase().getRetention().setDefaultDays(30);
+        partitioned.getStorage().getDatabase().getRetention()
+                .setExpiredPartitions(AuditProperties.ExpiredPartitionAction.DROP);
+        var policy = new RetentionPolicy(jdbcTemplate, TransactionOperations.withoutTransaction(),
+                new MySQLDialect(), partitioned);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("audit_events")))
+                .thenReturn(List.of("p_initial", "audit_events_202001"));
 
         // When
-        retentionPolicy.archiveOldData();
+        policy.archiveOldData();
 
         // Then
-        verify(jdbcTemplate).update(contains("INSERT INTO audit_events_archive"), any(LocalDate.class));
-        verify(jdbcTemplate, never()).update(contains("DELETE FROM audit_events"), any(LocalDate.class));
+        verify(jdbcTemplate).execute("ALTER TABLE audit_events DROP PARTITION audit_events_202001");
+        verify(jdbcTemplate, never()).execute(contains("DROP PARTITION p_initial"));
     }
 
     @Test
@@ -139,4 +244,19 @@ class RetentionPolicyTest {
         assertThat(result).isZero();
         verify(jdbcTemplate, never()).update(anyString(), any(LocalDate.class));
     }
+
+    private static AuditEvent createTestEvent(Instant timestamp) {
+        return AuditEvent.builder()
+                .eventUuid(UUID.randomUUID())
+                .sequenceNumber(1L)
+                .timestamp(timestamp)
+                .eventType("TEST_EVENT")
+                .severity(AuditSeverity.INFO)
+                .resource("/api/test")
+                .action("GET")
+                .eventHash("hash")
+                .capturedBy("test")
+                .applicationName("test-app")
+                .build();
+    }
 }
@@ -1,14 +1,24 @@
 package io.safeaudit.persistence.schema;
 
 import io.safeaudit.core.config.AuditProperties;
+import io.safeaudit.core.domain.AuditEvent;
+import io.safeaudit.core.domain.enums.AuditSeverity;
+import io.safeaudit.core.processing.integrity.HashCalculator;
 import io.safeaudit.persistence.dialect.H2Dialect;
+import io.safeaudit.persistence.jdbc.JdbcAuditStorage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatNoException;
 
@@ -21,11 +31,13 @@ class SchemaManagerTest {
 
     private SchemaManager schemaManager;
     private AuditProperties properties;
+    private EmbeddedDatabase database;
 
     @BeforeEach
     void setup() {
-        var database = new EmbeddedDatabaseBuilder()
+        database = new EmbeddedDatabaseBuilder()
                 .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
                 .build();
 
         properties = new AuditProperties();
@@ -76,4 +88,95 @@ class SchemaManagerTest {
         // Note: tableExists might return false for non-existent tables
         assertThat(properties.getStorage().getDatabase().isAutoCreateSchema()).isFalse();
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldAddChainColumnsToTableFromEarlierRelease() {
+        // Given
+        createBaselineTable();
+
+        // When
+        schemaManager.initialize();
+        schemaManager.initialize();
+
+        // Then
+        assertChainColumnsUsable();
+    }
+
+    @Test
+    void shouldMigrateTableFromEarlierReleaseWhenStorageInitializesSchema() {
+        // Given
+        createBaselineTable();
+
+        // When
+        new JdbcAuditStorage(database, new H2Dialect()).initializeSchema();
+
+        // Then
+        assertChainColumnsUsable();
+    }
+
+    private void createBaselineTable() {
+        var jdbcTemplate = new JdbcTemplate(database);
+        for (var statement : BASELINE_DDL.split(";")) {
+            if (!statement.isBlank()) {
+                jdbcTemplate.execute(statement);
+            }
+        }
+    }
+
+    private void assertChainColumnsUsable() {
+        var storage = new JdbcAuditStorage(database, new H2Dialect());
+        var event = new HashCalculator("SHA-256", true).process(AuditEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .timestamp(Instant.now())
+                .eventType("TEST")
+                .severity(AuditSeverity.INFO)
+                .resource("/api/test")
+                .action("GET")
+                .capturedBy("test")
+                .applicationName("test-app")
+                .build());
+
+        assertThat(storage.storeBatch(List.of(event))).isEqualTo(1);
+        assertThat(storage.findChainHead(event.chainKey())).hasValueSatisfying(head ->
+                assertThat(head.eventHash()).isEqualTo(event.eventHash()));
+        assertThat(new JdbcTemplate(database).queryForObject("""
+                SELECT COUNT(*) FROM information_schema.indexes
+                WHERE table_name = 'AUDIT_EVENTS' AND index_name = 'IDX_AUDIT_EVENTS_CHAIN'
+                """, Integer.class)).isEqualTo(1);
+    }
+
+    /**
+     * The audit table as created by 1.0.0, before the chain columns.
+     */
+    private static final String BASELINE_DDL = """
+            CREATE TABLE audit_events (
+                event_id UUID NOT NULL PRIMARY KEY,
+                sequence_number BIGINT NOT NULL,
+                event_timestamp TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+                event_type VARCHAR(50) NOT NULL,
+                severity VARCHAR(20) NOT NULL,
+                user_id VARCHAR(255),
+                username VARCHAR(255),
+                ip_address VARCHAR(45),
+                user_agent CLOB,
+                resource VARCHAR(500) NOT NULL,
+                action VARCHAR(100) NOT NULL,
+                session_id VARCHAR(255),
+                tenant_id VARCHAR(100),
+                request_payload CLOB,
+                response_payload CLOB,
+                http_status_code INT,
+                compliance_tags VARCHAR(1000),
+                data_classification VARCHAR(50),
+                retention_until DATE,
+                contains_pii BOOLEAN DEFAULT FALSE,
+                previous_event_hash CHAR(64),
+                event_hash CHAR(64) NOT NULL,
+                captured_by VARCHAR(100) NOT NULL,
+                application_name VARCHAR(255) NOT NULL,
+                application_instance VARCHAR(255)
+            );
+            CREATE INDEX idx_audit_events_timestamp ON audit_events (event_timestamp DESC);
+            CREATE INDEX idx_audit_events_user ON audit_events (user_id, event_timestamp DESC);
+            """;
+}
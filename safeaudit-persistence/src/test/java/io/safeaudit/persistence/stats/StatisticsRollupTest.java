@@ -0,0 +1,242 @@
+package io.safeaudit.persistence.stats;
+
+import io.safeaudit.core.config.AuditProperties;
+import io.safeaudit.core.domain.AuditEvent;
+import io.safeaudit.core.domain.enums.AuditSeverity;
+import io.safeaudit.core.exception.AuditStorageException;
+import io.safeaudit.persistence.PersistenceConstants;
+import io.safeaudit.persistence.dialect.H2Dialect;
+import io.safeaudit.persistence.jdbc.JdbcAuditStorage;
+import io.safeaudit.persistence.retention.RetentionPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+class StatisticsRollupTest {
+
+    private static final AuditSeverity[] SEVERITIES = AuditSeverity.values();
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private JdbcAuditStorage storage;
+    private Instant base;
+    private final List<AuditEvent> events = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+
+        var initial = new JdbcAuditStorage(database, new H2Dialect(), PersistenceConstants.DEFAULT_TABLE_NAME, rollupProperties());
+        initial.initializeSchema();
+        initial.statistics(null, null);
+
+        // Pretend rollups have been kept for the last three days
+        jdbcTemplate.update("UPDATE audit_events_rollup_state SET covered_from = ?",
+                Timestamp.from(Instant.now().truncatedTo(ChronoUnit.HOURS).minus(3, ChronoUnit.DAYS)));
+        storage = new JdbcAuditStorage(database, new H2Dialect(), PersistenceConstants.DEFAULT_TABLE_NAME, rollupProperties());
+
+        base = Instant.now().truncatedTo(ChronoUnit.HOURS).minus(5, ChronoUnit.HOURS);
+        for (int i = 0; i < 200; i++) {
+            events.add(createEvent(base.plusSeconds(i * 97L), SEVERITIES[i % SEVERITIES.length]));
+        }
+        // Stored before rollups were kept
+        events.add(createEvent(Instant.now().minus(4, ChronoUnit.DAYS), AuditSeverity.CRITICAL));
+        events.add(createEvent(Instant.now().minus(4, ChronoUnit.DAYS), AuditSeverity.INFO));
+        storage.storeBatch(events);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void shouldMatchExactCountsForWholeHistory() {
+        // When
+        var statistics = storage.statistics(null, null);
+
+        // Then
+        assertThat(statistics.total()).isEqualTo(events.size());
+        for (var severity : SEVERITIES) {
+            assertThat(statistics.count(severity)).isEqualTo(expected(null, null, severity));
+        }
+    }
+
+    @Test
+    void shouldMatchExactCountsForUnalignedRange() {
+        // Given
+        var from = base.plus(Duration.ofMinutes(30)).plusSeconds(15);
+        var to = base.plus(Duration.ofHours(3)).plus(Duration.ofMinutes(10)).plusSeconds(20);
+
+        // When
+        var statistics = storage.statistics(from, to);
+
+        // Then
+        assertThat(statistics.total()).isEqualTo(expected(from, to, null));
+        for (var severity : SEVERITIES) {
+            assertThat(statistics.count(severity)).isEqualTo(expected(from, to, severity));
+        }
+        assertThat(statistics.timeline()).extracting(bucket -> bucket.start())
+                .containsExactly(base.plus(Duration.ofHours(1)), base.plus(Duration.ofHours(2)));
+    }
+
+    @Test
+    void shouldServeWholeHoursFromRollups() {
+        // Given
+        var from = base;
+        var to = base.plus(Duration.ofHours(4));
+        long before = storage.statistics(from, to).total();
+        jdbcTemplate.update("DELETE FROM audit_events WHERE event_timestamp >= ? AND event_timestamp < ?",
+                Timestamp.from(base.plus(Duration.ofHours(1))), Timestamp.from(base.plus(Duration.ofHours(2))));
+
+        // When
+        var statistics = storage.statistics(from, to);
+
+        // Then
+        assertThat(statistics.total()).isEqualTo(before);
+    }
+
+    @Test
+    void shouldNotCountReplayedEventsTwice() {
+        // Given
+        long before = storage.statistics(null, null).total();
+
+        // When
+        storage.storeBatch(events.subList(0, 50));
+
+        // Then
+        assertThat(storage.statistics(null, null).total()).isEqualTo(before);
+    }
+
+    @Test
+    void shouldRollBackInsertWhenBucketsFailToUpdate() {
+        // Given
+        long before = tableCount(null, null);
+        jdbcTemplate.execute("DROP TABLE audit_events_rollup");
+        var event = createEvent(base.plusSeconds(30), AuditSeverity.INFO);
+
+        // When / Then
+        assertThatThrownBy(() -> storage.storeBatch(List.of(event))).isInstanceOf(AuditStorageException.class);
+        assertThatThrownBy(() -> storage.store(event)).isInstanceOf(AuditStorageException.class);
+        assertThat(tableCount(null, null)).isEqualTo(before);
+    }
+
+    @Test
+    void shouldOnlyCountNewEventsOfPartlyReplayedBatch() {
+        // Given
+        long before = storage.statistics(null, null).total();
+        var batch = new ArrayList<>(events.subList(0, 50));
+        batch.add(createEvent(base.plusSeconds(30), AuditSeverity.WARN));
+        batch.add(createEvent(base.plusSeconds(90), AuditSeverity.INFO));
+
+        // When
+        storage.storeBatch(batch);
+        storage.store(events.get(60));
+
+        // Then
+        assertThat(storage.statistics(null, null).total()).isEqualTo(before + 2);
+    }
+
+    @Test
+    void shouldSubtractPurgedEvents() {
+        // Given
+        var from = base;
+        var to = base.plus(Duration.ofHours(4));
+        jdbcTemplate.update("UPDATE audit_events SET retention_until = ? WHERE event_timestamp < ?",
+                Date.valueOf("2000-01-01"), Timestamp.from(base.plus(Duration.ofMinutes(150))));
+        var properties = rollupProperties();
+        properties.getStorage().getDatabase().getRetention().setDefaultDays(1);
+
+        // When
+        int purged = new RetentionPolicy(database, new H2Dialect(), properties).purgeExpiredData();
+
+        // Then
+        assertThat(purged).isPositive();
+        assertThat(storage.statistics(from, to).total()).isEqualTo(tableCount(from, to));
+        assertThat(storage.statistics(null, null).total()).isEqualTo(tableCount(null, null));
+    }
+
+    @Test
+    void shouldCountArchivedRangesFromTable() {
+        // Given
+        var archived = Instant.now().truncatedTo(ChronoUnit.HOURS).minus(2, ChronoUnit.DAYS);
+        storage.storeBatch(List.of(
+                createEvent(archived, AuditSeverity.INFO),
+                createEvent(archived.plusSeconds(60), AuditSeverity.WARN)));
+        jdbcTemplate.execute("CREATE TABLE audit_events_archive AS SELECT * FROM audit_events WHERE 1 = 0");
+        var properties = rollupProperties();
+        properties.getStorage().getDatabase().getRetention().setDefaultDays(1);
+        var policy = new RetentionPolicy(database, new H2Dialect(), properties);
+        policy.initializeSchema();
+        var from = archived.minus(1, ChronoUnit.HOURS);
+        var to = Instant.now();
+
+        // When
+        policy.archiveOldData();
+
+        // Then
+        assertThat(tableCount(archived, archived.plusSeconds(60))).isZero();
+        assertThat(storage.statistics(from, to).total()).isEqualTo(tableCount(from, to));
+        assertThat(storage.statistics(null, null).total()).isEqualTo(tableCount(null, null));
+    }
+
+    private static AuditProperties rollupProperties() {
+        var properties = new AuditProperties();
+        properties.getStorage().getDatabase().getRollups().setEnabled(true);
+        return properties;
+    }
+
+    private long tableCount(Instant from, Instant to) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM audit_events WHERE event_timestamp >= ? AND event_timestamp <= ?", Long.class,
+                Timestamp.from(from != null ? from : Instant.EPOCH),
+                Timestamp.from(to != null ? to : Instant.now().plus(1, ChronoUnit.DAYS)));
+    }
+
+    private long expected(Instant from, Instant to, AuditSeverity severity) {
+        return events.stream()
+                .filter(event -> from == null || !event.timestamp().isBefore(from))
+                .filter(event -> to == null || !event.timestamp().isAfter(to))
+                .filter(event -> severity == null || event.severity() == severity)
+                .count();
+    }
+
+    private static AuditEvent createEvent(Instant timestamp, AuditSeverity severity) {
+        return AuditEvent.builder()
+                .eventUuid(UUID.randomUUID())
+                .sequenceNumber(1L)
+                .timestamp(timestamp)
+                .eventType("TEST_EVENT")
+                .severity(severity)
+                .resource("/api/test")
+                .action("GET")
+                .eventHash("hash")
+                .capturedBy("test")
+                .applicationName("test-app")
+                .build();
+    }
+}
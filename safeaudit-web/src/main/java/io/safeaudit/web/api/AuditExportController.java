@@ -1,11 +1,10 @@
 package io.safeaudit.web.api;
 
-import io.safeaudit.core.domain.QueryCriteria;
 import io.safeaudit.core.spi.AuditStorage;
 import io.safeaudit.web.export.CSVExporter;
+import io.safeaudit.web.export.ExportFormat;
+import io.safeaudit.web.export.ExportRequest;
 import io.safeaudit.web.export.PDFExporter;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.core.io.Resource;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
@@ -14,9 +13,11 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Instant;
 import java.time.LocalDate;
-import java.time.ZoneOffset;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * @author Nelson Tanko
@@ -26,6 +27,14 @@ import java.time.ZoneOffset;
 @RequestMapping("${audit.reporting.api.base-path:/audit}")
 public class AuditExportController {
 
+    /**
+     * Response header carrying the instant after which stored events were left out of a
+     * streamed export.
+     */
+    public static final String WATERMARK_HEADER = "X-Audit-Export-Watermark";
+
+    private static final int GZIP_BUFFER_SIZE = 8192;
+
     private final AuditStorage storage;
     private final PDFExporter pdfExporter;
     private final CSVExporter csvExporter;
@@ -40,65 +49,62 @@ public class AuditExportController {
     }
 
     /**
-     * Export audit events to PDF.
+     * Export audit events to PDF, rendered while events are streamed from storage.
+     * Events stored after the request arrived are excluded, as for CSV.
      */
     @GetMapping("/export/pdf")
-    public ResponseEntity<Resource> exportPDF(
+    public ResponseEntity<StreamingResponseBody> exportPDF(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
             @RequestParam(required = false) String userId,
             @RequestParam(required = false) String resource) {
 
-        var criteria = buildCriteria(from, to, userId, resource);
-        var events = storage.query(criteria);
-
-        var pdfBytes = pdfExporter.export(events, from, to);
-        var arrayResource = new ByteArrayResource(pdfBytes);
+        var watermark = Instant.now();
+        var request = new ExportRequest(ExportFormat.PDF, from, to, userId, resource);
+        var criteria = request.criteria(watermark);
 
-        var filename = String.format("audit-log-%s-to-%s.pdf", from, to);
+        StreamingResponseBody body = out -> pdfExporter.export(storage, criteria, from, to, out);
 
         return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + request.filename() + "\"")
+                .header(WATERMARK_HEADER, watermark.toString())
                 .contentType(MediaType.APPLICATION_PDF)
-                .contentLength(pdfBytes.length)
-                .body(arrayResource);
+                .body(body);
     }
 
     /**
-     * Export audit events to CSV.
+     * Export audit events to CSV, streamed straight from storage. Events stored after
+     * the request arrived are excluded, and that watermark is returned in
+     * {@value #WATERMARK_HEADER}. With {@code gzip} the file is compressed on the fly.
      */
     @GetMapping("/export/csv")
-    public ResponseEntity<Resource> exportCSV(
+    public ResponseEntity<StreamingResponseBody> exportCSV(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
             @RequestParam(required = false) String userId,
-            @RequestParam(required = false) String resource) {
+            @RequestParam(required = false) String resource,
+            @RequestParam(defaultValue = "false") boolean gzip) {
 
-        var criteria = buildCriteria(from, to, userId, resource);
-        var events = storage.query(criteria);
+        var watermark = Instant.now();
+        var request = new ExportRequest(ExportFormat.CSV, from, to, userId, resource);
+        var criteria = request.criteria(watermark);
 
-        var csvBytes = csvExporter.export(events);
-        var resourceEntity = new ByteArrayResource(csvBytes);
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                var compressed = new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+                csvExporter.export(storage, criteria, compressed);
+                compressed.finish();
+            } else {
+                csvExporter.export(storage, criteria, out);
+            }
+        };
 
-        var filename = String.format("audit-log-%s-to-%s.csv", from, to);
+        var filename = request.filename() + (gzip ? ".gz" : "");
 
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-                .contentType(MediaType.parseMediaType("text/csv"))
-                .contentLength(csvBytes.length)
-                .body(resourceEntity);
-    }
-
-    private QueryCriteria buildCriteria(LocalDate from, LocalDate to, String userId, String resource) {
-        var fromInstant = from.atStartOfDay().toInstant(ZoneOffset.UTC);
-        var toInstant = to.plusDays(1).atStartOfDay().toInstant(ZoneOffset.UTC);
-
-        return QueryCriteria.builder()
-                .from(fromInstant)
-                .to(toInstant)
-                .userId(userId)
-                .resource(resource)
-                .size(10000) // Max export size
-                .build();
+                .header(WATERMARK_HEADER, watermark.toString())
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : MediaType.parseMediaType("text/csv"))
+                .body(body);
     }
-}
\ No newline at end of file
+}
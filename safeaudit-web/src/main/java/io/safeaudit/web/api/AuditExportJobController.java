@@ -0,0 +1,98 @@
+package io.safeaudit.web.api;
+
+import io.safeaudit.web.dto.ExportJobDTO;
+import io.safeaudit.web.export.ExportFormat;
+import io.safeaudit.web.export.ExportJob;
+import io.safeaudit.web.export.ExportJobManager;
+import io.safeaudit.web.export.ExportRequest;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.time.LocalDate;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Background exports: submit a job, poll it, then download the file. Unlike
+ * {@link AuditExportController} no request is held open while the export runs.
+ *
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+@RestController
+@RequestMapping("${audit.reporting.api.base-path:/audit}")
+public class AuditExportJobController {
+
+    private final ExportJobManager jobs;
+
+    public AuditExportJobController(ExportJobManager jobs) {
+        this.jobs = jobs;
+    }
+
+    /**
+     * Submit an export job. Answers 429 while the export queue is full.
+     */
+    @PostMapping("/export/jobs")
+    public ResponseEntity<ExportJobDTO> submit(
+            @RequestParam ExportFormat format,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) String resource) {
+
+        ExportJob job;
+        try {
+            job = jobs.submit(new ExportRequest(format, from, to, userId, resource));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+
+        var location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(job.id())
+                .toUri();
+
+        return ResponseEntity.accepted()
+                .location(location)
+                .body(ExportJobDTO.from(job));
+    }
+
+    /**
+     * Status and progress of an export job.
+     */
+    @GetMapping("/export/jobs/{id}")
+    public ResponseEntity<ExportJobDTO> getJob(@PathVariable String id) {
+        return jobs.find(id)
+                .map(ExportJobDTO::from)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Download the file of a completed job. Range requests are honoured, so interrupted
+     * downloads can resume; answers 409 until the job has completed.
+     */
+    @GetMapping("/export/jobs/{id}/download")
+    public ResponseEntity<Resource> download(@PathVariable String id) {
+        var job = jobs.find(id).orElse(null);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (job.status() != ExportJob.Status.COMPLETED) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + job.request().filename() + "\"")
+                .header(AuditExportController.WATERMARK_HEADER, job.watermark().toString())
+                .eTag(job.id())
+                .contentType(MediaType.parseMediaType(job.request().format().contentType()))
+                .body(new FileSystemResource(job.file()));
+    }
+}
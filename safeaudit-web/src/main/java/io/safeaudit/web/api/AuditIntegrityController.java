@@ -0,0 +1,72 @@
+package io.safeaudit.web.api;
+
+import io.safeaudit.core.domain.AuditEvent;
+import io.safeaudit.core.domain.IntegrityReport;
+import io.safeaudit.core.spi.AuditStorage;
+import io.safeaudit.persistence.integrity.MerkleCheckpointManager;
+import io.safeaudit.web.dto.InclusionProofDTO;
+import io.safeaudit.web.dto.MerkleCheckpointsDTO;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+
+/**
+ * Merkle checkpoints and inclusion proofs for auditors.
+ *
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+@RestController
+@RequestMapping("${audit.reporting.api.base-path:/audit}/integrity")
+public class AuditIntegrityController {
+
+    private final AuditStorage storage;
+    private final MerkleCheckpointManager checkpointManager;
+
+    public AuditIntegrityController(AuditStorage storage, MerkleCheckpointManager checkpointManager) {
+        this.storage = storage;
+        this.checkpointManager = checkpointManager;
+    }
+
+    /**
+     * Inclusion proof of a single event in its sealed window.
+     */
+    @GetMapping("/proofs/{eventId}")
+    public ResponseEntity<InclusionProofDTO> getProof(@PathVariable String eventId) {
+        return checkpointManager.prove(eventId)
+                .map(proof -> {
+                    var storedHash = storage.findById(eventId).map(AuditEvent::eventHash).orElse(null);
+                    boolean valid = checkpointManager.verifyProof(proof)
+                            && storedHash != null
+                            && storedHash.strip().equals(proof.eventHash());
+                    return new InclusionProofDTO(proof, valid);
+                })
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Sealed roots of a range, with a single root over all of them.
+     */
+    @GetMapping("/checkpoints")
+    public ResponseEntity<MerkleCheckpointsDTO> getCheckpoints(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+
+        var checkpoints = checkpointManager.getCheckpoints(from, to);
+        return ResponseEntity.ok(new MerkleCheckpointsDTO(from, to, checkpoints, checkpointManager.rootOf(checkpoints)));
+    }
+
+    /**
+     * Recompute the sealed roots of a range from the stored events.
+     */
+    @GetMapping("/checkpoints/verify")
+    public ResponseEntity<IntegrityReport> verifyCheckpoints(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+
+        return ResponseEntity.ok(checkpointManager.verify(from, to));
+    }
+}
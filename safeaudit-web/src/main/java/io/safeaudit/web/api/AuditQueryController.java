@@ -1,8 +1,10 @@
 package io.safeaudit.web.api;
 
 import io.safeaudit.core.config.AuditProperties;
+import io.safeaudit.core.domain.PageCursor;
 import io.safeaudit.core.domain.QueryCriteria;
 import io.safeaudit.core.domain.enums.AuditSeverity;
+import io.safeaudit.core.domain.enums.CountMode;
 import io.safeaudit.core.spi.AuditStorage;
 import io.safeaudit.web.dto.AuditEventDTO;
 import io.safeaudit.web.dto.AuditStatsDTO;
@@ -31,7 +33,10 @@ public class AuditQueryController {
     }
 
     /**
-     * Query audit events with filters and pagination.
+     * Query audit events with filters and pagination. Pass the {@code nextCursor}
+     * of a page as {@code cursor} to seek to the following page; {@code page}
+     * offset paging is kept for compatibility but slows down on deep pages.
+     * {@code count} overrides the configured strategy for the total.
      */
     @GetMapping("/events")
     public ResponseEntity<PageDTO<AuditEventDTO>> queryEvents(
@@ -47,12 +52,26 @@ public class AuditQueryController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "50") int size,
             @RequestParam(defaultValue = "event_timestamp") String sortBy,
-            @RequestParam(defaultValue = "DESC") QueryCriteria.SortDirection sortDirection) {
+            @RequestParam(defaultValue = "DESC") QueryCriteria.SortDirection sortDirection,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) CountMode count) {
 
         // Validate and sanitize inputs
         size = Math.min(size, 1000); // Cap at 1000
         page = Math.max(page, 0);
 
+        PageCursor pageCursor = null;
+        if (cursor != null && !cursor.isBlank()) {
+            if (!"event_timestamp".equals(sortBy)) {
+                return ResponseEntity.badRequest().build();
+            }
+            try {
+                pageCursor = PageCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+
         var criteria = QueryCriteria.builder()
                 .eventId(eventId)
                 .userId(userId)
@@ -67,10 +86,16 @@ public class AuditQueryController {
                 .size(size)
                 .sortBy(sortBy)
                 .sortDirection(sortDirection)
+                .cursor(pageCursor)
                 .build();
 
         var events = storage.query(criteria);
-        long total = storage.count(criteria);
+        var countMode = count != null ? count : properties.getReporting().getApi().getCount().getMode();
+        var total = storage.count(criteria, countMode);
+
+        var nextCursor = events.size() == criteria.getSize() && "event_timestamp".equals(sortBy)
+                ? PageCursor.after(events.getLast()).encode()
+                : null;
 
         var dtos = events.stream()
                 .map(AuditEventDTO::from)
@@ -80,8 +105,11 @@ public class AuditQueryController {
                 dtos,
                 page,
                 size,
-                total,
-                (int) Math.ceil((double) total / size)
+                total.total(),
+                (int) Math.ceil((double) total.total() / size),
+                total.exact(),
+                nextCursor,
+                pageCursor != null
         );
 
         return ResponseEntity.ok(pageDTO);
@@ -99,53 +127,25 @@ public class AuditQueryController {
     }
 
     /**
-     * Get audit statistics.
+     * Get audit statistics, served from ingest-time rollups where the storage keeps them.
      */
     @GetMapping("/stats")
     public ResponseEntity<AuditStatsDTO> getStatistics(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
 
-        var criteria = QueryCriteria.builder()
-                .from(from)
-                .to(to)
-                .build();
-
-        long totalEvents = storage.count(criteria);
-
-        long infoCount = storage.count(
-                QueryCriteria.builder()
-                        .from(from)
-                        .to(to)
-                        .severity(AuditSeverity.INFO)
-                        .build()
-        );
-
-        long warnCount = storage.count(
-                QueryCriteria.builder()
-                        .from(from)
-                        .to(to)
-                        .severity(AuditSeverity.WARN)
-                        .build()
-        );
-
-        long criticalCount = storage.count(
-                QueryCriteria.builder()
-                        .from(from)
-                        .to(to)
-                        .severity(AuditSeverity.CRITICAL)
-                        .build()
-        );
+        var statistics = storage.statistics(from, to);
 
         var stats = new AuditStatsDTO(
-                totalEvents,
-                infoCount,
-                warnCount,
-                criticalCount,
+                statistics.total(),
+                statistics.count(AuditSeverity.INFO),
+                statistics.count(AuditSeverity.WARN),
+                statistics.count(AuditSeverity.CRITICAL),
                 from,
-                to
+                to,
+                statistics.timeline()
         );
 
         return ResponseEntity.ok(stats);
     }
-}
\ No newline at end of file
+}
@@ -8,7 +8,6 @@ import io.safeaudit.core.spi.AuditEventCapture;
 import io.safeaudit.core.spi.AuditEventIdGenerator;
 import io.safeaudit.core.util.ApplicationInfo;
 import io.safeaudit.core.util.IPAddressExtractor;
-import io.safeaudit.core.util.PayloadExtractor;
 import io.safeaudit.core.util.SequenceNumberGenerator;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -20,8 +19,6 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.core.Ordered;
 import org.springframework.lang.NonNull;
 import org.springframework.web.filter.OncePerRequestFilter;
-import org.springframework.web.util.ContentCachingRequestWrapper;
-import org.springframework.web.util.ContentCachingResponseWrapper;
 
 import java.io.IOException;
 import java.time.Instant;
@@ -41,6 +38,7 @@ public class AuditHttpFilter extends OncePerRequestFilter implements Ordered {
     private final String applicationName;
     private final String applicationInstance;
     private final SequenceNumberGenerator sequenceNumberGenerator;
+    private final RoutePolicyEngine routePolicies;
 
     public AuditHttpFilter(
             AuditEventCapture eventCapture,
@@ -54,6 +52,7 @@ public class AuditHttpFilter extends OncePerRequestFilter implements Ordered {
         this.applicationName = ApplicationInfo.getApplicationName(applicationContext);
         this.applicationInstance = ApplicationInfo.getApplicationInstance();
         this.sequenceNumberGenerator = sequenceNumberGenerator;
+        this.routePolicies = RoutePolicyEngine.compile(properties.getCapture().getHttp());
     }
 
     @Override
@@ -67,14 +66,17 @@ public class AuditHttpFilter extends OncePerRequestFilter implements Ordered {
             @NonNull HttpServletResponse response,
             @NonNull FilterChain filterChain) throws ServletException, IOException {
 
-        if (!shouldAudit(request)) {
+        var policy = routePolicies.resolve(request.getRequestURI());
+        if (!policy.audited()) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        // Wrap request/response to capture content
-        var wrappedRequest = new ContentCachingRequestWrapper(request);
-        var wrappedResponse = new ContentCachingResponseWrapper(response);
+        // Tee only the bodies we keep, and never more than maxBodySize of them
+        var teeRequest = policy.includeRequestBody() ? new TeeRequestWrapper(request, policy.bufferPool()) : null;
+        var teeResponse = policy.includeResponseBody() ? new TeeResponseWrapper(response, policy.bufferPool()) : null;
+        HttpServletRequest requestToUse = teeRequest != null ? teeRequest : request;
+        HttpServletResponse responseToUse = teeResponse != null ? teeResponse : response;
 
         var startTime = Instant.now();
         var correlationId = extractOrGenerateCorrelationId(request);
@@ -86,26 +88,35 @@ public class AuditHttpFilter extends OncePerRequestFilter implements Ordered {
         Throwable exception = null;
 
         try {
-            filterChain.doFilter(wrappedRequest, wrappedResponse);
+            filterChain.doFilter(requestToUse, responseToUse);
         } catch (Exception t) {
             exception = t;
             throw t;
         } finally {
             try {
-                captureAuditEvent(wrappedRequest, wrappedResponse, startTime, exception);
+                captureAuditEvent(requestToUse, responseToUse, policy, startTime, exception);
             } catch (Exception e) {
                 // CRITICAL: Never fail the request due to audit errors
                 log.error("Failed to capture audit event", e);
             } finally {
-                wrappedResponse.copyBodyToResponse();
+                // An async request may still be writing, so its buffers are left to the garbage collector
+                if (!request.isAsyncStarted()) {
+                    if (teeRequest != null) {
+                        teeRequest.release();
+                    }
+                    if (teeResponse != null) {
+                        teeResponse.release();
+                    }
+                }
                 AuditContext.clear();
             }
         }
     }
 
     private void captureAuditEvent(
-            ContentCachingRequestWrapper request,
-            ContentCachingResponseWrapper response,
+            HttpServletRequest request,
+            HttpServletResponse response,
+            RoutePolicy policy,
             Instant startTime,
             Throwable exception) {
 
@@ -116,19 +127,18 @@ public class AuditHttpFilter extends OncePerRequestFilter implements Ordered {
 
         Audited audited = (Audited) request.getAttribute(AuditAnnotationHandlerInterceptor.AUDITED_ANNOTATION_ATTRIBUTE);
 
-        var config = properties.getCapture().getHttp();
-
         var requestPayload = (String) request.getAttribute(AuditMethodInterceptor.ARGS_ATTRIBUTE);
-        if (requestPayload == null && config.isIncludeRequestBody()) {
-            requestPayload = PayloadExtractor.extractRequestBody(request, config.getMaxBodySize());
+        if (requestPayload == null && request instanceof TeeRequestWrapper teeRequest) {
+            requestPayload = teeRequest.getCapturedBody();
         }
 
         var responsePayload = (String) request.getAttribute(AuditMethodInterceptor.RESULT_ATTRIBUTE);
-        if (responsePayload == null && config.isIncludeResponseBody()) {
-            responsePayload = PayloadExtractor.extractResponseBody(response, config.getMaxBodySize());
+        if (responsePayload == null && response instanceof TeeResponseWrapper teeResponse) {
+            responsePayload = teeResponse.getCapturedBody();
         }
 
-        var eventType = (audited != null && !audited.eventType().isBlank()) ? audited.eventType() : determineEventType(request, response);
+        var eventType = (audited != null && !audited.eventType().isBlank()) ? audited.eventType()
+                : policy.eventType() != null ? policy.eventType() : determineEventType(request, response);
         var severity = (audited != null && audited.severity() != AuditSeverity.INFO) ? audited.severity() : determineSeverity(response.getStatus(), exception);
         var resource = (audited != null && !audited.resource().isBlank()) ? audited.resource() : request.getRequestURI();
 
@@ -142,7 +152,7 @@ public class AuditHttpFilter extends OncePerRequestFilter implements Ordered {
                 .build();
 
         var event = AuditEvent.builder()
-                .eventId(idGenerator.generate())
+                .eventUuid(idGenerator.generateUuid())
                 .sequenceNumber(sequenceNumberGenerator.next())
                 .timestamp(startTime)
                 .eventType(eventType)
@@ -165,27 +175,6 @@ public class AuditHttpFilter extends OncePerRequestFilter implements Ordered {
         eventCapture.capture(event);
     }
 
-    private boolean shouldAudit(HttpServletRequest request) {
-        var uri = request.getRequestURI();
-
-        if (uri.startsWith("/actuator")) {
-            return false;
-        }
-
-        // Skip static resources
-        if (uri.matches(".+\\.(css|js|png|jpg|jpeg|gif|ico|svg|woff|woff2|ttf|eot)$")) {
-            return false;
-        }
-
-        for (String pattern : properties.getCapture().getHttp().getExclusionPatterns()) {
-            if (uri.matches(pattern)) {
-                return false;
-            }
-        }
-
-        return true;
-    }
-
     private String determineEventType(HttpServletRequest request, HttpServletResponse response) {
         var method = request.getMethod();
         int status = response.getStatus();
@@ -123,7 +123,7 @@ public class AuditMethodInterceptor implements Ordered {
                 serializeResult(result) : null;
 
         var event = AuditEvent.builder()
-                .eventId(idGenerator.generate())
+                .eventUuid(idGenerator.generateUuid())
                 .sequenceNumber(sequenceNumberGenerator.next())
                 .timestamp(startTime)
                 .eventType(eventType)
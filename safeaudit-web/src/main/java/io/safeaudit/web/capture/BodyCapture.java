@@ -0,0 +1,82 @@
+package io.safeaudit.web.capture;
+
+import io.safeaudit.core.util.PayloadExtractor;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Keeps the first {@code maxBodySize} bytes of a body passing through a tee
+ * wrapper. The buffer is taken from the pool on the first byte, so bodiless
+ * requests never hold one.
+ *
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+final class BodyCapture {
+
+    private final CaptureBufferPool pool;
+    private final int limit;
+    private byte[] buffer;
+    private int count;
+    private boolean released;
+
+    BodyCapture(CaptureBufferPool pool) {
+        this.pool = pool;
+        this.limit = pool.bufferSize();
+    }
+
+    void write(int b) {
+        if (count < limit && acquire()) {
+            buffer[count++] = (byte) b;
+        }
+    }
+
+    void write(byte[] bytes, int offset, int length) {
+        int n = Math.min(length, limit - count);
+        if (n > 0 && acquire()) {
+            System.arraycopy(bytes, offset, buffer, count, n);
+            count += n;
+        }
+    }
+
+    /**
+     * Capture characters from a reader or writer, encoded as UTF-8 like the stored payload.
+     */
+    void write(char[] chars, int offset, int length) {
+        // Every char encodes to at least one byte, so this never drops capturable input
+        int n = Math.min(length, limit - count);
+        if (n > 0) {
+            var bytes = new String(chars, offset, n).getBytes(StandardCharsets.UTF_8);
+            write(bytes, 0, bytes.length);
+        }
+    }
+
+    boolean isEmpty() {
+        return count == 0;
+    }
+
+    String toPayload() {
+        return released ? null : PayloadExtractor.extractBody(buffer, count);
+    }
+
+    /**
+     * Return the buffer to the pool. Anything written afterwards is ignored.
+     */
+    void release() {
+        released = true;
+        if (buffer != null) {
+            pool.release(buffer);
+            buffer = null;
+        }
+    }
+
+    private boolean acquire() {
+        if (released) {
+            return false;
+        }
+        if (buffer == null) {
+            buffer = pool.acquire();
+        }
+        return true;
+    }
+}
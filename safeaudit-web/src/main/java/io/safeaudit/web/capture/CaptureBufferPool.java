@@ -0,0 +1,40 @@
+package io.safeaudit.web.capture;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Recycles the fixed-size buffers that hold captured body prefixes, so that
+ * audited requests do not allocate a fresh buffer each.
+ *
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+final class CaptureBufferPool {
+
+    private final int bufferSize;
+    private final BlockingQueue<byte[]> buffers;
+
+    CaptureBufferPool(int bufferSize, int capacity) {
+        this.bufferSize = bufferSize;
+        this.buffers = new ArrayBlockingQueue<>(capacity);
+    }
+
+    int bufferSize() {
+        return bufferSize;
+    }
+
+    byte[] acquire() {
+        var buffer = buffers.poll();
+        return buffer != null ? buffer : new byte[bufferSize];
+    }
+
+    void release(byte[] buffer) {
+        // A full pool simply lets the buffer be collected
+        buffers.offer(buffer);
+    }
+
+    int available() {
+        return buffers.size();
+    }
+}
@@ -2,11 +2,13 @@ package io.safeaudit.web.capture;
 
 import io.safeaudit.core.domain.AuditEvent;
 import io.safeaudit.core.processing.AuditProcessingPipeline;
+import io.safeaudit.core.processing.queue.VirtualThreadAuditQueue;
 import io.safeaudit.core.spi.AuditEventCapture;
 
 /**
  * Default implementation of AuditEventCapture.
- * Delegates to the configured processing pipeline.
+ * Delegates to the configured processing pipeline, or hands the event off
+ * to the async queue when one is available.
  *
  * @author Nelson Tanko
  * @since 1.0.0
@@ -14,13 +16,25 @@ import io.safeaudit.core.spi.AuditEventCapture;
 public class DefaultAuditEventCapture implements AuditEventCapture {
 
     private final AuditProcessingPipeline pipeline;
+    private final VirtualThreadAuditQueue queue;
 
     public DefaultAuditEventCapture(AuditProcessingPipeline pipeline) {
+        this(pipeline, null);
+    }
+
+    public DefaultAuditEventCapture(AuditProcessingPipeline pipeline, VirtualThreadAuditQueue queue) {
         this.pipeline = pipeline;
+        this.queue = queue;
     }
 
     @Override
     public void capture(AuditEvent event) {
-        pipeline.process(event);
+        if (queue == null) {
+            pipeline.process(event);
+            return;
+        }
+
+        // Only thread-bound context is resolved here; the rest runs on queue workers
+        queue.enqueue(pipeline.snapshot(event));
     }
-}
\ No newline at end of file
+}
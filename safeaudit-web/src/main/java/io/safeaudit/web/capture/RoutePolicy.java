@@ -0,0 +1,19 @@
+package io.safeaudit.web.capture;
+
+/**
+ * Capture decision for a request path, resolved by {@link RoutePolicyEngine}.
+ * Instances are built once at startup and shared by all matching requests.
+ *
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+record RoutePolicy(
+        boolean audited,
+        boolean includeRequestBody,
+        boolean includeResponseBody,
+        int maxBodySize,
+        String eventType,
+        CaptureBufferPool bufferPool
+) {
+    static final RoutePolicy EXCLUDED = new RoutePolicy(false, false, false, 0, null, null);
+}
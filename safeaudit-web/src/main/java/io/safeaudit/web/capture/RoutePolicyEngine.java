@@ -0,0 +1,251 @@
+package io.safeaudit.web.capture;
+
+import io.safeaudit.core.config.AuditProperties;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the {@link RoutePolicy} for a request path. Route patterns are
+ * compiled at startup into a trie of path segments, so a lookup walks the
+ * path once and allocates nothing, however many routes are configured.
+ * <p>
+ * Patterns are Ant-style: literal segments, {@code *} or {@code {name}} for
+ * one segment, and a trailing {@code **} for any remainder. Literal segments
+ * take precedence over wildcards, and the same pattern configured twice keeps
+ * the last definition. Legacy regex {@code exclusionPatterns} are compiled
+ * once and only consulted for paths that would otherwise be audited.
+ *
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+final class RoutePolicyEngine {
+
+    private static final int MAX_POOLED_BUFFERS = 64;
+
+    private static final String[] STATIC_EXTENSIONS = {
+            ".css", ".js", ".png", ".jpg", ".jpeg", ".gif", ".ico", ".svg", ".woff", ".woff2", ".ttf", ".eot"
+    };
+
+    private final Node root = new Node();
+    private final RoutePolicy defaultPolicy;
+    private final List<Pattern> exclusions;
+
+    private RoutePolicyEngine(RoutePolicy defaultPolicy, List<Pattern> exclusions) {
+        this.defaultPolicy = defaultPolicy;
+        this.exclusions = exclusions;
+    }
+
+    static RoutePolicyEngine compile(AuditProperties.HttpCaptureConfig config) {
+        Map<Integer, CaptureBufferPool> pools = new HashMap<>();
+        var defaultPolicy = new RoutePolicy(true, config.isIncludeRequestBody(), config.isIncludeResponseBody(),
+                config.getMaxBodySize(), null, pool(pools, config.getMaxBodySize()));
+
+        List<Pattern> exclusions = new ArrayList<>();
+        if (config.getExclusionPatterns() != null) {
+            config.getExclusionPatterns().forEach(regex -> exclusions.add(Pattern.compile(regex)));
+        }
+
+        var engine = new RoutePolicyEngine(defaultPolicy, List.copyOf(exclusions));
+        engine.add("/actuator", RoutePolicy.EXCLUDED);
+        engine.add("/actuator/**", RoutePolicy.EXCLUDED);
+
+        if (config.getRoutes() != null) {
+            for (var route : config.getRoutes()) {
+                engine.add(route.getPattern(), policy(route, defaultPolicy, pools));
+            }
+        }
+        return engine;
+    }
+
+    /**
+     * Resolve the policy for a request URI.
+     */
+    RoutePolicy resolve(String uri) {
+        if (isStaticResource(uri)) {
+            return RoutePolicy.EXCLUDED;
+        }
+
+        var policy = match(root, uri, 0);
+        if (policy == null) {
+            policy = defaultPolicy;
+        }
+
+        if (policy.audited()) {
+            for (var exclusion : exclusions) {
+                if (exclusion.matcher(uri).matches()) {
+                    return RoutePolicy.EXCLUDED;
+                }
+            }
+        }
+        return policy;
+    }
+
+    private static RoutePolicy policy(AuditProperties.RouteConfig route, RoutePolicy defaults,
+                                      Map<Integer, CaptureBufferPool> pools) {
+        if (!route.isAudit()) {
+            return RoutePolicy.EXCLUDED;
+        }
+        int maxBodySize = route.getMaxBodySize() != null ? route.getMaxBodySize() : defaults.maxBodySize();
+        return new RoutePolicy(
+                true,
+                route.getIncludeRequestBody() != null ? route.getIncludeRequestBody() : defaults.includeRequestBody(),
+                route.getIncludeResponseBody() != null ? route.getIncludeResponseBody() : defaults.includeResponseBody(),
+                maxBodySize,
+                route.getEventType(),
+                pool(pools, maxBodySize));
+    }
+
+    private static CaptureBufferPool pool(Map<Integer, CaptureBufferPool> pools, int bufferSize) {
+        return pools.computeIfAbsent(bufferSize, size -> new CaptureBufferPool(size, MAX_POOLED_BUFFERS));
+    }
+
+    private void add(String pattern, RoutePolicy policy) {
+        if (pattern == null || !pattern.startsWith("/")) {
+            throw new IllegalArgumentException("Route pattern must start with '/': " + pattern);
+        }
+
+        var node = root;
+        var segments = pattern.substring(1).split("/");
+        for (int i = 0; i < segments.length; i++) {
+            var segment = segments[i];
+            if (segment.isEmpty()) {
+                continue;
+            }
+            if (segment.equals("**")) {
+                if (i != segments.length - 1) {
+                    throw new IllegalArgumentException("'**' is only supported as the last segment: " + pattern);
+                }
+                node.remainder = policy;
+                return;
+            }
+            node = segment.equals("*") || (segment.startsWith("{") && segment.endsWith("}"))
+                    ? node.wildcard()
+                    : node.child(segment);
+        }
+        node.exact = policy;
+    }
+
+    /**
+     * Depth-first match of the path from {@code start}, preferring literal
+     * segments, then single-segment wildcards, then a {@code **} remainder.
+     */
+    private static RoutePolicy match(Node node, String path, int start) {
+        int length = path.length();
+        while (start < length && path.charAt(start) == '/') {
+            start++;
+        }
+        if (start == length) {
+            return node.exact != null ? node.exact : node.remainder;
+        }
+
+        int end = path.indexOf('/', start);
+        if (end < 0) {
+            end = length;
+        }
+
+        var literal = node.find(path, start, end - start);
+        if (literal != null) {
+            var policy = match(literal, path, end);
+            if (policy != null) {
+                return policy;
+            }
+        }
+        if (node.wildcard != null) {
+            var policy = match(node.wildcard, path, end);
+            if (policy != null) {
+                return policy;
+            }
+        }
+        return node.remainder;
+    }
+
+    private static boolean isStaticResource(String uri) {
+        for (var extension : STATIC_EXTENSIONS) {
+            if (uri.length() > extension.length() && uri.endsWith(extension)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Trie node. Literal children live in an open-addressing table probed
+     * with a hash of the path region, so lookups need no substring.
+     */
+    private static final class Node {
+
+        private String[] keys = new String[4];
+        private Node[] children = new Node[4];
+        private int size;
+        private Node wildcard;
+        private RoutePolicy exact;
+        private RoutePolicy remainder;
+
+        Node find(String path, int offset, int length) {
+            int mask = keys.length - 1;
+            for (int i = hash(path, offset, length) & mask; keys[i] != null; i = (i + 1) & mask) {
+                var key = keys[i];
+                if (key.length() == length && path.regionMatches(offset, key, 0, length)) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        Node child(String segment) {
+            var existing = find(segment, 0, segment.length());
+            if (existing != null) {
+                return existing;
+            }
+            if ((size + 1) * 2 > keys.length) {
+                resize();
+            }
+            var node = new Node();
+            insert(segment, node);
+            return node;
+        }
+
+        Node wildcard() {
+            if (wildcard == null) {
+                wildcard = new Node();
+            }
+            return wildcard;
+        }
+
+        private void insert(String key, Node node) {
+            int mask = keys.length - 1;
+            int i = hash(key, 0, key.length()) & mask;
+            while (keys[i] != null) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            children[i] = node;
+            size++;
+        }
+
+        private void resize() {
+            var oldKeys = keys;
+            var oldChildren = children;
+            keys = new String[oldKeys.length * 2];
+            children = new Node[oldKeys.length * 2];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != null) {
+                    insert(oldKeys[i], oldChildren[i]);
+                }
+            }
+        }
+
+        private static int hash(String value, int offset, int length) {
+            int h = 0;
+            for (int i = offset; i < offset + length; i++) {
+                h = 31 * h + value.charAt(i);
+            }
+            return h ^ (h >>> 16);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package io.safeaudit.web.capture;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.net.URLEncoder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.Map;
+
+/**
+ * Request wrapper that copies the first {@code maxBodySize} bytes the
+ * application reads into a {@link BodyCapture}, and streams the rest through
+ * untouched. Unlike {@code ContentCachingRequestWrapper} it never holds the
+ * whole body. Form posts the container parses for {@code getParameter*} never
+ * pass through the tee, so, as {@code ContentCachingRequestWrapper} does, their
+ * body is rebuilt from the parameters.
+ *
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+public class TeeRequestWrapper extends HttpServletRequestWrapper {
+
+    private static final String FORM_CONTENT_TYPE = "application/x-www-form-urlencoded";
+
+    private final BodyCapture capture;
+    private ServletInputStream inputStream;
+    private BufferedReader reader;
+
+    TeeRequestWrapper(HttpServletRequest request, CaptureBufferPool pool) {
+        super(request);
+        this.capture = new BodyCapture(pool);
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        if (inputStream == null) {
+            inputStream = new TeeInputStream(super.getInputStream(), capture);
+        }
+        return inputStream;
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        if (reader == null) {
+            reader = new BufferedReader(new TeeReader(super.getReader(), capture));
+        }
+        return reader;
+    }
+
+    @Override
+    public String getParameter(String name) {
+        captureFormBody();
+        return super.getParameter(name);
+    }
+
+    @Override
+    public Map<String, String[]> getParameterMap() {
+        captureFormBody();
+        return super.getParameterMap();
+    }
+
+    @Override
+    public Enumeration<String> getParameterNames() {
+        captureFormBody();
+        return super.getParameterNames();
+    }
+
+    @Override
+    public String[] getParameterValues(String name) {
+        captureFormBody();
+        return super.getParameterValues(name);
+    }
+
+    private void captureFormBody() {
+        if (!capture.isEmpty() || !isFormPost()) {
+            return;
+        }
+
+        var charset = getCharacterEncoding() != null
+                ? Charset.forName(getCharacterEncoding())
+                : StandardCharsets.UTF_8;
+        var form = new StringBuilder();
+        for (var parameter : super.getParameterMap().entrySet()) {
+            for (var value : parameter.getValue()) {
+                if (!form.isEmpty()) {
+                    form.append('&');
+                }
+                form.append(URLEncoder.encode(parameter.getKey(), charset));
+                if (value != null) {
+                    form.append('=').append(URLEncoder.encode(value, charset));
+                }
+            }
+        }
+
+        var bytes = form.toString().getBytes(charset);
+        capture.write(bytes, 0, bytes.length);
+    }
+
+    private boolean isFormPost() {
+        var contentType = getContentType();
+        return contentType != null && contentType.contains(FORM_CONTENT_TYPE) && "POST".equals(getMethod());
+    }
+
+    /**
+     * The captured body prefix, or {@code null} if nothing was read.
+     */
+    public String getCapturedBody() {
+        return capture.toPayload();
+    }
+
+    void release() {
+        capture.release();
+    }
+
+    private static final class TeeInputStream extends ServletInputStream {
+
+        private final ServletInputStream delegate;
+        private final BodyCapture capture;
+
+        TeeInputStream(ServletInputStream delegate, BodyCapture capture) {
+            this.delegate = delegate;
+            this.capture = capture;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = delegate.read();
+            if (b >= 0) {
+                capture.write(b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            int n = delegate.read(bytes, offset, length);
+            if (n > 0) {
+                capture.write(bytes, offset, n);
+            }
+            return n;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener listener) {
+            delegate.setReadListener(listener);
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+
+    private static final class TeeReader extends Reader {
+
+        private final Reader delegate;
+        private final BodyCapture capture;
+
+        TeeReader(Reader delegate, BodyCapture capture) {
+            this.delegate = delegate;
+            this.capture = capture;
+        }
+
+        @Override
+        public int read(char[] chars, int offset, int length) throws IOException {
+            int n = delegate.read(chars, offset, length);
+            if (n > 0) {
+                capture.write(chars, offset, n);
+            }
+            return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+}
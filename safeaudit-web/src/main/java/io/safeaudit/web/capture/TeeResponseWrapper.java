@@ -0,0 +1,128 @@
+package io.safeaudit.web.capture;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+
+/**
+ * Response wrapper that writes straight through to the client while copying
+ * the first {@code maxBodySize} bytes into a {@link BodyCapture}. Unlike
+ * {@code ContentCachingResponseWrapper} nothing is held back, so there is no
+ * body to copy to the response afterwards.
+ *
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+public class TeeResponseWrapper extends HttpServletResponseWrapper {
+
+    private final BodyCapture capture;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    TeeResponseWrapper(HttpServletResponse response, CaptureBufferPool pool) {
+        super(response);
+        this.capture = new BodyCapture(pool);
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new TeeOutputStream(super.getOutputStream(), capture);
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = new PrintWriter(new TeeWriter(super.getWriter(), capture));
+        }
+        return writer;
+    }
+
+    /**
+     * The captured body prefix, or {@code null} if nothing was written.
+     */
+    public String getCapturedBody() {
+        return capture.toPayload();
+    }
+
+    void release() {
+        capture.release();
+    }
+
+    private static final class TeeOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+        private final BodyCapture capture;
+
+        TeeOutputStream(ServletOutputStream delegate, BodyCapture capture) {
+            this.delegate = delegate;
+            this.capture = capture;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            capture.write(b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            delegate.write(bytes, offset, length);
+            capture.write(bytes, offset, length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener listener) {
+            delegate.setWriteListener(listener);
+        }
+    }
+
+    private static final class TeeWriter extends Writer {
+
+        private final Writer delegate;
+        private final BodyCapture capture;
+
+        TeeWriter(Writer delegate, BodyCapture capture) {
+            this.delegate = delegate;
+            this.capture = capture;
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) throws IOException {
+            delegate.write(chars, offset, length);
+            capture.write(chars, offset, length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+}
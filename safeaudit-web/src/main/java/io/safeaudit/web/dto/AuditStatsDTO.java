@@ -1,8 +1,12 @@
 package io.safeaudit.web.dto;
 
+import io.safeaudit.core.domain.AuditStatistics;
+
 import java.time.Instant;
+import java.util.List;
 
 /**
+ * @param timeline hourly event counts, empty when the storage keeps no rollups
  * @author Nelson Tanko
  * @since 1.0.0
  */
@@ -12,6 +16,7 @@ public record AuditStatsDTO(
         long warnCount,
         long criticalCount,
         Instant from,
-        Instant to
+        Instant to,
+        List<AuditStatistics.Bucket> timeline
 ) {
 }
\ No newline at end of file
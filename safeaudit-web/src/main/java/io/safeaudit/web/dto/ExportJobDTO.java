@@ -0,0 +1,54 @@
+package io.safeaudit.web.dto;
+
+import io.safeaudit.web.export.ExportFormat;
+import io.safeaudit.web.export.ExportJob;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * @param expectedEvents estimated size of the export, or {@code null} before it is known
+ * @param progress       fraction of the expected events written, or {@code null} when unknown
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+public record ExportJobDTO(
+        String id,
+        ExportJob.Status status,
+        ExportFormat format,
+        LocalDate from,
+        LocalDate to,
+        long eventsWritten,
+        Long expectedEvents,
+        Double progress,
+        Instant watermark,
+        Instant finishedAt,
+        String error
+) {
+    public static ExportJobDTO from(ExportJob job) {
+        var request = job.request();
+        long written = job.eventsWritten();
+        long expected = job.expectedEvents();
+
+        Double progress = null;
+        if (job.status() == ExportJob.Status.COMPLETED) {
+            progress = 1.0;
+        } else if (expected > 0) {
+            progress = Math.min(1.0, (double) written / expected);
+        }
+
+        return new ExportJobDTO(
+                job.id(),
+                job.status(),
+                request.format(),
+                request.from(),
+                request.to(),
+                written,
+                expected >= 0 ? expected : null,
+                progress,
+                job.watermark(),
+                job.finishedAt(),
+                job.error()
+        );
+    }
+}
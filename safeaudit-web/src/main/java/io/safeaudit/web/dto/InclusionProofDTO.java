@@ -0,0 +1,14 @@
+package io.safeaudit.web.dto;
+
+import io.safeaudit.core.domain.InclusionProof;
+
+/**
+ * @param valid whether the proof folds to the sealed root and the stored event still has the sealed hash
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+public record InclusionProofDTO(
+        InclusionProof proof,
+        boolean valid
+) {
+}
@@ -0,0 +1,19 @@
+package io.safeaudit.web.dto;
+
+import io.safeaudit.core.domain.MerkleCheckpoint;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * @param rangeRoot Merkle root over the roots of all listed windows
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+public record MerkleCheckpointsDTO(
+        Instant from,
+        Instant to,
+        List<MerkleCheckpoint> checkpoints,
+        String rangeRoot
+) {
+}
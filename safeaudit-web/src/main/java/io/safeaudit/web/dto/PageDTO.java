@@ -3,6 +3,12 @@ package io.safeaudit.web.dto;
 import java.util.List;
 
 /**
+ * A page of results. {@code totalExact} is false when {@code totalElements} is
+ * an estimate or a cached count. {@code nextCursor} is an opaque token for fetching
+ * the following page by seeking rather than offsetting, or {@code null} on the last page.
+ * {@code cursorPaged} is true when this page was itself fetched with a cursor, so its
+ * {@code page} number does not advance.
+ *
  * @author Nelson Tanko
  * @since 1.0.0
  */
@@ -11,9 +17,15 @@ public record PageDTO<T>(
         int page,
         int size,
         long totalElements,
-        int totalPages
+        int totalPages,
+        boolean totalExact,
+        String nextCursor,
+        boolean cursorPaged
 ) {
     public boolean hasNext() {
+        if (cursorPaged) {
+            return nextCursor != null;
+        }
         return page < totalPages - 1;
     }
 
@@ -1,12 +1,16 @@
 package io.safeaudit.web.export;
 
 import io.safeaudit.core.domain.AuditEvent;
+import io.safeaudit.core.domain.QueryCriteria;
+import io.safeaudit.core.spi.AuditStorage;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVPrinter;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 
@@ -30,26 +34,16 @@ public class CSVExporter {
             "Application"
     };
 
+    private static final CSVFormat FORMAT = CSVFormat.DEFAULT.builder().setHeader(HEADERS).get();
+
     public byte[] export(List<AuditEvent> events) {
         var outputStream = new ByteArrayOutputStream();
 
         try (var writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
-             var csvPrinter = new CSVPrinter(writer, CSVFormat.DEFAULT.withHeader(HEADERS))) {
+             var csvPrinter = new CSVPrinter(writer, FORMAT)) {
 
             for (var event : events) {
-                csvPrinter.printRecord(
-                        event.eventId(),
-                        event.timestamp(),
-                        event.eventType(),
-                        event.severity(),
-                        event.userId(),
-                        event.username(),
-                        event.ipAddress(),
-                        event.resource(),
-                        event.action(),
-                        event.httpStatusCode(),
-                        event.applicationName()
-                );
+                printRecord(csvPrinter, event);
             }
 
             csvPrinter.flush();
@@ -59,4 +53,58 @@ public class CSVExporter {
 
         return outputStream.toByteArray();
     }
-}
\ No newline at end of file
+
+    /**
+     * Write every event matching {@code criteria} to {@code out} as it is read from
+     * storage, so the export is never held in memory. {@code out} is flushed but left
+     * open.
+     *
+     * @return number of events written
+     */
+    public long export(AuditStorage storage, QueryCriteria criteria, OutputStream out) throws IOException {
+        return export(EventSource.of(storage, criteria), out);
+    }
+
+    /**
+     * Write {@code events} to {@code out} as they arrive. {@code out} is flushed but left
+     * open.
+     *
+     * @return number of events written
+     */
+    public long export(EventSource events, OutputStream out) throws IOException {
+        var writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        var csvPrinter = new CSVPrinter(writer, FORMAT);
+
+        long written;
+        try {
+            written = events.forEach(event -> {
+                try {
+                    printRecord(csvPrinter, event);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        csvPrinter.flush();
+        return written;
+    }
+
+    private static void printRecord(CSVPrinter csvPrinter, AuditEvent event) throws IOException {
+        csvPrinter.printRecord(
+                event.eventId(),
+                event.timestamp(),
+                event.eventType(),
+                event.severity(),
+                event.userId(),
+                event.username(),
+                event.ipAddress(),
+                event.resource(),
+                event.action(),
+                event.httpStatusCode(),
+                event.applicationName()
+        );
+    }
+}
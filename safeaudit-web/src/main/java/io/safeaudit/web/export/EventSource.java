@@ -0,0 +1,31 @@
+package io.safeaudit.web.export;
+
+import io.safeaudit.core.domain.AuditEvent;
+import io.safeaudit.core.domain.QueryCriteria;
+import io.safeaudit.core.spi.AuditStorage;
+
+import java.util.function.Consumer;
+
+/**
+ * Events fed to an exporter one at a time, in report order.
+ *
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface EventSource {
+
+    /**
+     * Pass every event to the consumer.
+     *
+     * @return number of events passed
+     */
+    long forEach(Consumer<AuditEvent> consumer);
+
+    /**
+     * Source streaming the events matching {@code criteria} from storage.
+     */
+    static EventSource of(AuditStorage storage, QueryCriteria criteria) {
+        return consumer -> storage.stream(criteria, consumer);
+    }
+}
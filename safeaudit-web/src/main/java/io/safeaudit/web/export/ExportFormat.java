@@ -0,0 +1,28 @@
+package io.safeaudit.web.export;
+
+/**
+ * File formats audit events can be exported to.
+ *
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+public enum ExportFormat {
+    CSV("csv", "text/csv"),
+    PDF("pdf", "application/pdf");
+
+    private final String extension;
+    private final String contentType;
+
+    ExportFormat(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+}
@@ -0,0 +1,107 @@
+package io.safeaudit.web.export;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An export running in the background into a local file.
+ *
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+public final class ExportJob {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    private final String id;
+    private final ExportRequest request;
+    private final Instant watermark;
+    private final Path file;
+    private final AtomicLong eventsWritten = new AtomicLong();
+    private volatile Status status = Status.QUEUED;
+    private volatile long expectedEvents = -1;
+    private volatile Instant finishedAt;
+    private volatile String error;
+
+    ExportJob(String id, ExportRequest request, Instant watermark, Path file) {
+        this.id = id;
+        this.request = request;
+        this.watermark = watermark;
+        this.file = file;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public ExportRequest request() {
+        return request;
+    }
+
+    /**
+     * Events stored after this instant are not in the export.
+     */
+    public Instant watermark() {
+        return watermark;
+    }
+
+    /**
+     * The artifact, complete once the job has {@link Status#COMPLETED}.
+     */
+    public Path file() {
+        return file;
+    }
+
+    public Status status() {
+        return status;
+    }
+
+    public long eventsWritten() {
+        return eventsWritten.get();
+    }
+
+    /**
+     * Estimated number of events the export will contain, or -1 before it is known.
+     */
+    public long expectedEvents() {
+        return expectedEvents;
+    }
+
+    public Instant finishedAt() {
+        return finishedAt;
+    }
+
+    public String error() {
+        return error;
+    }
+
+    void running() {
+        status = Status.RUNNING;
+    }
+
+    void expect(long events) {
+        expectedEvents = events;
+    }
+
+    void eventWritten() {
+        eventsWritten.incrementAndGet();
+    }
+
+    void completed() {
+        finishedAt = Instant.now();
+        status = Status.COMPLETED;
+    }
+
+    void failed(String error) {
+        this.error = error;
+        finishedAt = Instant.now();
+        status = Status.FAILED;
+    }
+
+    boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+}
@@ -0,0 +1,214 @@
+package io.safeaudit.web.export;
+
+import io.safeaudit.core.config.AuditProperties;
+import io.safeaudit.core.domain.enums.CountMode;
+import io.safeaudit.core.spi.AuditStorage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs exports in the background, at most {@code max-concurrent} at a time, into files
+ * under the export directory.
+ * <p>
+ * A range that ended before its job was submitted can no longer change, so its job is
+ * reused by identical requests until the artifact expires. Ranges still open get a new
+ * job, with a new watermark, each time. Expired jobs and their artifacts are evicted
+ * every minute, and whenever jobs are submitted or looked up.
+ * <p>
+ * Jobs and artifacts live on the instance that ran them, so behind a load balancer the
+ * status and download requests of a job must reach the instance it was submitted to,
+ * e.g. with sticky sessions. The export directory and artifacts are readable by the
+ * owner only where the file system supports POSIX permissions; without a configured
+ * directory, each manager creates its own under {@code java.io.tmpdir}.
+ *
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+public class ExportJobManager implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportJobManager.class);
+
+    private static final Set<PosixFilePermission> OWNER_ONLY_DIRECTORY = PosixFilePermissions.fromString("rwx------");
+    private static final Set<PosixFilePermission> OWNER_ONLY_FILE = PosixFilePermissions.fromString("rw-------");
+
+    private final AuditStorage storage;
+    private final CSVExporter csvExporter;
+    private final PDFExporter pdfExporter;
+    private final Path directory;
+    private final boolean temporaryDirectory;
+    private final boolean posix;
+    private final int maxQueued;
+    private final Duration artifactTtl;
+    private final ExecutorService executor;
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+    private final Map<ExportRequest, ExportJob> closedRangeJobs = new ConcurrentHashMap<>();
+
+    public ExportJobManager(AuditStorage storage, CSVExporter csvExporter, PDFExporter pdfExporter,
+                            AuditProperties.ExportJobsConfig config) {
+        this.storage = storage;
+        this.csvExporter = csvExporter;
+        this.pdfExporter = pdfExporter;
+        this.temporaryDirectory = config.getDirectory() == null;
+        this.maxQueued = config.getMaxQueued();
+        this.artifactTtl = config.getArtifactTtl();
+
+        var configured = temporaryDirectory
+                ? Path.of(System.getProperty("java.io.tmpdir"))
+                : Path.of(config.getDirectory());
+        this.posix = configured.getFileSystem().supportedFileAttributeViews().contains("posix");
+        try {
+            // A fresh directory, so no other user of a shared temp directory can have created it first
+            this.directory = temporaryDirectory
+                    ? Files.createTempDirectory("safeaudit-exports-", ownerOnly(OWNER_ONLY_DIRECTORY))
+                    : Files.createDirectories(configured, ownerOnly(OWNER_ONLY_DIRECTORY));
+            if (posix) {
+                Files.setPosixFilePermissions(directory, OWNER_ONLY_DIRECTORY);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create export directory " + configured, e);
+        }
+
+        this.executor = Executors.newFixedThreadPool(config.getMaxConcurrent(),
+                Thread.ofVirtual().name("audit-export-", 0).factory());
+    }
+
+    private FileAttribute<?>[] ownerOnly(Set<PosixFilePermission> permissions) {
+        return posix
+                ? new FileAttribute<?>[]{PosixFilePermissions.asFileAttribute(permissions)}
+                : new FileAttribute<?>[0];
+    }
+
+    /**
+     * Queue an export, or return the job already exporting the same closed range.
+     *
+     * @throws RejectedExecutionException if {@code max-queued} jobs are already queued or running
+     */
+    public synchronized ExportJob submit(ExportRequest request) {
+        evictExpired();
+
+        var watermark = Instant.now();
+        boolean closed = !request.end().isAfter(watermark);
+        if (closed) {
+            var existing = closedRangeJobs.get(request);
+            if (existing != null) {
+                return existing;
+            }
+        }
+
+        long pending = jobs.values().stream().filter(job -> !job.isFinished()).count();
+        if (pending >= maxQueued) {
+            throw new RejectedExecutionException("Too many export jobs: " + pending + " queued or running");
+        }
+
+        var id = UUID.randomUUID().toString();
+        var job = new ExportJob(id, request, watermark, directory.resolve(id + "." + request.format().extension()));
+        jobs.put(id, job);
+        if (closed) {
+            closedRangeJobs.put(request, job);
+        }
+        executor.execute(() -> run(job));
+        return job;
+    }
+
+    public Optional<ExportJob> find(String id) {
+        evictExpired();
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    private void run(ExportJob job) {
+        job.running();
+        var request = job.request();
+        var criteria = request.criteria(job.watermark());
+        var partial = job.file().resolveSibling(job.file().getFileName() + ".part");
+
+        try {
+            job.expect(storage.count(criteria, CountMode.ESTIMATED).total());
+
+            EventSource events = consumer -> storage.stream(criteria, event -> {
+                consumer.accept(event);
+                job.eventWritten();
+            });
+            Files.deleteIfExists(partial);
+            Files.createFile(partial, ownerOnly(OWNER_ONLY_FILE));
+            try (var out = new BufferedOutputStream(Files.newOutputStream(partial))) {
+                switch (request.format()) {
+                    case CSV -> csvExporter.export(events, out);
+                    case PDF -> pdfExporter.export(events, request.from(), request.to(), out);
+                }
+            }
+
+            Files.move(partial, job.file(), StandardCopyOption.ATOMIC_MOVE);
+            job.completed();
+            log.info("Export job {} wrote {} events", job.id(), job.eventsWritten());
+        } catch (IOException | RuntimeException e) {
+            log.error("Export job {} failed", job.id(), e);
+            delete(partial);
+            closedRangeJobs.remove(request, job);
+            job.failed(e.getMessage());
+        }
+    }
+
+    /**
+     * Scheduled eviction, so artifacts are deleted even when no jobs are requested.
+     */
+    @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.MINUTES)
+    public void evictScheduled() {
+        evictExpired();
+    }
+
+    private synchronized void evictExpired() {
+        var cutoff = Instant.now().minus(artifactTtl);
+        jobs.values().removeIf(job -> {
+            if (!job.isFinished() || job.finishedAt().isAfter(cutoff)) {
+                return false;
+            }
+            closedRangeJobs.remove(job.request(), job);
+            delete(job.file());
+            return true;
+        });
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete export artifact {}", file, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        jobs.values().forEach(job -> {
+            delete(job.file());
+            delete(job.file().resolveSibling(job.file().getFileName() + ".part"));
+        });
+        jobs.clear();
+        closedRangeJobs.clear();
+        if (temporaryDirectory) {
+            delete(directory);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package io.safeaudit.web.export;
+
+import io.safeaudit.core.domain.QueryCriteria;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Objects;
+
+/**
+ * Events to export: whole UTC days from {@code from} to {@code to}, optionally
+ * narrowed to a user and a resource.
+ *
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+public record ExportRequest(ExportFormat format, LocalDate from, LocalDate to, String userId, String resource) {
+
+    public ExportRequest {
+        Objects.requireNonNull(format, "format");
+        Objects.requireNonNull(from, "from");
+        Objects.requireNonNull(to, "to");
+    }
+
+    /**
+     * End of the requested range.
+     */
+    public Instant end() {
+        return startOfDay(to.plusDays(1));
+    }
+
+    /**
+     * Criteria for the request, leaving out events stored after {@code watermark}.
+     */
+    public QueryCriteria criteria(Instant watermark) {
+        return QueryCriteria.builder()
+                .from(startOfDay(from))
+                .to(end().isBefore(watermark) ? end() : watermark)
+                .userId(userId)
+                .resource(resource)
+                .build();
+    }
+
+    public String filename() {
+        return String.format("audit-log-%s-to-%s.%s", from, to, format.extension());
+    }
+
+    private static Instant startOfDay(LocalDate date) {
+        return date.atStartOfDay().toInstant(ZoneOffset.UTC);
+    }
+}
@@ -1,5 +1,6 @@
 package io.safeaudit.web.export;
 
+import com.itextpdf.kernel.exceptions.PdfException;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfWriter;
 import com.itextpdf.layout.Document;
@@ -8,16 +9,21 @@ import com.itextpdf.layout.element.Table;
 import com.itextpdf.layout.properties.TextAlignment;
 import com.itextpdf.layout.properties.UnitValue;
 import io.safeaudit.core.domain.AuditEvent;
+import io.safeaudit.core.domain.QueryCriteria;
+import io.safeaudit.core.domain.enums.AuditSeverity;
+import io.safeaudit.core.spi.AuditStorage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.TreeMap;
 
 /**
  * @author Nelson Tanko
@@ -27,27 +33,71 @@ public class PDFExporter {
 
     private static final Logger log = LoggerFactory.getLogger(PDFExporter.class);
 
+    /**
+     * Rows added to the event table between flushes.
+     */
+    private static final int FLUSH_INTERVAL = 100;
+
     public byte[] export(List<AuditEvent> events, LocalDate from, LocalDate to) {
         var outputStream = new ByteArrayOutputStream();
 
-        try (var writer = new PdfWriter(outputStream);
-             var pdf = new PdfDocument(writer);
+        try {
+            EventSource source = consumer -> {
+                events.forEach(consumer);
+                return events.size();
+            };
+            export(source, from, to, outputStream);
+        } catch (IOException e) {
+            log.error("Failed to generate PDF", e);
+            throw new RuntimeException("PDF generation failed", e);
+        }
+
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Write a report of every event matching {@code criteria} to {@code out} in one
+     * pass over storage. Table rows are flushed to {@code out} as pages fill, so memory
+     * use does not grow with the number of events; the summary, only known once every
+     * event has been read, follows the detailed events. {@code out} is left open.
+     *
+     * @return number of events written
+     */
+    public long export(AuditStorage storage, QueryCriteria criteria, LocalDate from, LocalDate to,
+                       OutputStream out) throws IOException {
+        return export(EventSource.of(storage, criteria), from, to, out);
+    }
+
+    /**
+     * Write a report of {@code events} to {@code out} as they arrive. {@code out} is
+     * left open.
+     *
+     * @return number of events written
+     */
+    public long export(EventSource events, LocalDate from, LocalDate to, OutputStream out) throws IOException {
+        var summary = new Summary();
+        var writer = new PdfWriter(out);
+        writer.setCloseStream(false);
+
+        try (var pdf = new PdfDocument(writer);
              var document = new Document(pdf)) {
 
             addHeader(document, from, to);
 
-            addSummary(document, events);
+            addEventTable(document, events, summary);
 
-            addEventTable(document, events);
+            addSummary(document, summary);
 
             addFooter(document);
-
-        } catch (IOException e) {
-            log.error("Failed to generate PDF", e);
-            throw new RuntimeException("PDF generation failed", e);
+        } catch (PdfException e) {
+            // iText reports a failed write to out, such as a dropped client, unchecked
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            throw e;
         }
 
-        return outputStream.toByteArray();
+        return summary.total;
     }
 
     private void addHeader(Document document, LocalDate from, LocalDate to) {
@@ -67,14 +117,39 @@ public class PDFExporter {
         document.add(new Paragraph("\n"));
     }
 
-    private void addSummary(Document document, List<AuditEvent> events) {
-        document.add(new Paragraph("Summary").setFontSize(14));
+    private void addEventTable(Document document, EventSource events, Summary summary) {
+        document.add(new Paragraph("Detailed Events").setFontSize(14));
+
+        // Large-table mode lays out and releases rows on flush instead of keeping them all
+        var table = new Table(UnitValue.createPercentArray(new float[]{2, 2, 1, 3, 2}), true)
+                .useAllAvailableWidth();
+
+        table.addHeaderCell("Timestamp");
+        table.addHeaderCell("User");
+        table.addHeaderCell("Severity");
+        table.addHeaderCell("Resource");
+        table.addHeaderCell("Action");
+        document.add(table);
+
+        events.forEach(event -> {
+            table.addCell(event.timestamp().toString());
+            table.addCell(event.username() != null ? event.username() : "N/A");
+            table.addCell(event.severity().name());
+            table.addCell(event.resource());
+            table.addCell(event.action());
+
+            summary.add(event);
+            if (summary.total % FLUSH_INTERVAL == 0) {
+                table.flush();
+            }
+        });
 
-        Map<String, Long> eventsByType = events.stream()
-                .collect(Collectors.groupingBy(AuditEvent::eventType, Collectors.counting()));
+        table.complete();
+        document.add(new Paragraph("\n"));
+    }
 
-        Map<String, Long> eventsBySeverity = events.stream()
-                .collect(Collectors.groupingBy(e -> e.severity().name(), Collectors.counting()));
+    private void addSummary(Document document, Summary summary) {
+        document.add(new Paragraph("Summary").setFontSize(14));
 
         var summaryTable = new Table(UnitValue.createPercentArray(new float[]{1, 1}))
                 .useAllAvailableWidth();
@@ -83,41 +158,19 @@ public class PDFExporter {
         summaryTable.addHeaderCell("Count");
 
         summaryTable.addCell("Total Events");
-        summaryTable.addCell(String.valueOf(events.size()));
+        summaryTable.addCell(String.valueOf(summary.total));
 
-        eventsByType.forEach((eventType, _) ->
-                summaryTable.addCell("Event Type" + eventType));
+        summary.byType.forEach((eventType, count) -> {
+            summaryTable.addCell("Event Type: " + eventType);
+            summaryTable.addCell(String.valueOf(count));
+        });
 
-        eventsBySeverity.forEach((severity, count) -> {
+        summary.bySeverity.forEach((severity, count) -> {
             summaryTable.addCell("Severity: " + severity);
             summaryTable.addCell(String.valueOf(count));
         });
 
         document.add(summaryTable);
-        document.add(new Paragraph("\n"));
-    }
-
-    private void addEventTable(Document document, List<AuditEvent> events) {
-        document.add(new Paragraph("Detailed Events").setFontSize(14));
-
-        var table = new Table(UnitValue.createPercentArray(new float[]{2, 2, 1, 3, 2}))
-                .useAllAvailableWidth();
-
-        table.addHeaderCell("Timestamp");
-        table.addHeaderCell("User");
-        table.addHeaderCell("Severity");
-        table.addHeaderCell("Resource");
-        table.addHeaderCell("Action");
-
-        for (AuditEvent event : events) {
-            table.addCell(event.timestamp().toString());
-            table.addCell(event.username() != null ? event.username() : "N/A");
-            table.addCell(event.severity().name());
-            table.addCell(event.resource());
-            table.addCell(event.action());
-        }
-
-        document.add(table);
     }
 
     private void addFooter(Document document) {
@@ -129,4 +182,19 @@ public class PDFExporter {
                 .setTextAlignment(TextAlignment.CENTER);
         document.add(footer);
     }
+
+    /**
+     * Counts gathered while the events are written.
+     */
+    private static final class Summary {
+        private final Map<String, Long> byType = new TreeMap<>();
+        private final Map<AuditSeverity, Long> bySeverity = new EnumMap<>(AuditSeverity.class);
+        private long total;
+
+        void add(AuditEvent event) {
+            total++;
+            byType.merge(event.eventType(), 1L, Long::sum);
+            bySeverity.merge(event.severity(), 1L, Long::sum);
+        }
+    }
 }
@@ -1,12 +1,11 @@
 package io.safeaudit.web.api;
 
-import io.safeaudit.core.domain.AuditEvent;
 import io.safeaudit.core.domain.QueryCriteria;
-import io.safeaudit.core.domain.enums.AuditSeverity;
 import io.safeaudit.core.spi.AuditStorage;
 import io.safeaudit.web.export.CSVExporter;
 import io.safeaudit.web.export.PDFExporter;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.http.HttpHeaders;
@@ -14,13 +13,20 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
 import java.time.Instant;
 import java.time.LocalDate;
-import java.util.List;
-import java.util.UUID;
+import java.time.ZoneOffset;
+import java.util.zip.GZIPInputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -44,54 +50,102 @@ class AuditExportControllerTest {
     private CSVExporter csvExporter;
 
     @Test
-    void shouldExportPDF() throws Exception {
+    void shouldStreamPDF() throws Exception {
         // Given
-        var now = LocalDate.now();
-        var event = AuditEvent.builder()
-                .eventId(UUID.randomUUID().toString())
-                .timestamp(Instant.now())
-                .eventType("TEST")
-                .severity(AuditSeverity.INFO)
-                .build();
-
+        var now = LocalDate.now(ZoneOffset.UTC);
         byte[] pdfContent = "PDF CONTENT".getBytes();
+        var criteria = ArgumentCaptor.forClass(QueryCriteria.class);
 
-        when(auditStorage.query(any(QueryCriteria.class))).thenReturn(List.of(event));
-        when(pdfExporter.export(any(), any(), any())).thenReturn(pdfContent);
+        when(pdfExporter.export(eq(auditStorage), criteria.capture(), eq(now), eq(now), any(OutputStream.class)))
+                .thenAnswer(invocation -> {
+                    invocation.getArgument(4, OutputStream.class).write(pdfContent);
+                    return 1L;
+                });
 
-        // When/Then
-        mockMvc.perform(get("/audit/export/pdf")
+        // When
+        var result = mockMvc.perform(get("/audit/export/pdf")
                         .param("from", now.toString())
                         .param("to", now.toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        var response = mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_PDF))
                 .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"audit-log-" + now + "-to-" + now + ".pdf\""))
-                .andExpect(content().bytes(pdfContent));
+                .andExpect(content().bytes(pdfContent))
+                .andReturn()
+                .getResponse();
+        var watermark = Instant.parse(response.getHeader(AuditExportController.WATERMARK_HEADER));
+        assertThat(criteria.getValue().getTo()).isEqualTo(watermark);
+        assertThat(criteria.getValue().getUserId()).isNull();
+        verify(auditStorage, never()).query(any());
     }
 
     @Test
-    void shouldExportCSV() throws Exception {
+    void shouldStreamCSVUpToWatermark() throws Exception {
         // Given
-        var now = LocalDate.now();
-        var event = AuditEvent.builder()
-                .eventId(UUID.randomUUID().toString())
-                .timestamp(Instant.now())
-                .eventType("TEST")
-                .severity(AuditSeverity.INFO)
-                .build();
-
+        var now = LocalDate.now(ZoneOffset.UTC);
         byte[] csvContent = "CSV,CONTENT".getBytes();
+        var criteria = ArgumentCaptor.forClass(QueryCriteria.class);
 
-        when(auditStorage.query(any(QueryCriteria.class))).thenReturn(List.of(event));
-        when(csvExporter.export(any())).thenReturn(csvContent);
+        when(csvExporter.export(eq(auditStorage), criteria.capture(), any(OutputStream.class))).thenAnswer(invocation -> {
+            invocation.getArgument(2, OutputStream.class).write(csvContent);
+            return 1L;
+        });
 
-        // When/Then
-        mockMvc.perform(get("/audit/export/csv")
+        // When
+        var result = mockMvc.perform(get("/audit/export/csv")
                         .param("from", now.toString())
                         .param("to", now.toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        var response = mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType("text/csv"))
                 .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"audit-log-" + now + "-to-" + now + ".csv\""))
-                .andExpect(content().bytes(csvContent));
+                .andExpect(content().bytes(csvContent))
+                .andReturn()
+                .getResponse();
+        var watermark = Instant.parse(response.getHeader(AuditExportController.WATERMARK_HEADER));
+        assertThat(criteria.getValue().getTo()).isEqualTo(watermark);
+        verify(auditStorage, never()).query(any());
+    }
+
+    @Test
+    void shouldCompressCSVWhenRequested() throws Exception {
+        // Given
+        var from = LocalDate.of(2024, 1, 1);
+        var to = LocalDate.of(2024, 1, 31);
+        byte[] csvContent = "CSV,CONTENT".getBytes();
+        var criteria = ArgumentCaptor.forClass(QueryCriteria.class);
+
+        when(csvExporter.export(eq(auditStorage), criteria.capture(), any(OutputStream.class))).thenAnswer(invocation -> {
+            invocation.getArgument(2, OutputStream.class).write(csvContent);
+            return 1L;
+        });
+
+        // When
+        var result = mockMvc.perform(get("/audit/export/csv")
+                        .param("from", from.toString())
+                        .param("to", to.toString())
+                        .param("gzip", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        var response = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/gzip"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"audit-log-" + from + "-to-" + to + ".csv.gz\""))
+                .andReturn()
+                .getResponse();
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertThat(in.readAllBytes()).isEqualTo(csvContent);
+        }
+        assertThat(criteria.getValue().getTo()).isEqualTo(Instant.parse("2024-02-01T00:00:00Z"));
     }
 }
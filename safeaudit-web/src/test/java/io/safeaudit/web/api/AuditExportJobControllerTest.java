@@ -0,0 +1,142 @@
+package io.safeaudit.web.api;
+
+import io.safeaudit.web.export.ExportFormat;
+import io.safeaudit.web.export.ExportJob;
+import io.safeaudit.web.export.ExportJobManager;
+import io.safeaudit.web.export.ExportRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+@WebMvcTest(AuditExportJobController.class)
+class AuditExportJobControllerTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 1);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ExportJobManager jobs;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void shouldAcceptJob() throws Exception {
+        // Given
+        var job = job(ExportJob.Status.QUEUED, directory.resolve("job-1.csv"));
+        when(jobs.submit(new ExportRequest(ExportFormat.CSV, DAY, DAY, "user-1", null))).thenReturn(job);
+
+        // When/Then
+        mockMvc.perform(post("/audit/export/jobs")
+                        .param("format", "CSV")
+                        .param("from", DAY.toString())
+                        .param("to", DAY.toString())
+                        .param("userId", "user-1"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, "http://localhost/audit/export/jobs/job-1"))
+                .andExpect(jsonPath("$.id").value("job-1"))
+                .andExpect(jsonPath("$.status").value("QUEUED"))
+                .andExpect(jsonPath("$.format").value("CSV"));
+    }
+
+    @Test
+    void shouldRejectJobWhenQueueIsFull() throws Exception {
+        // Given
+        when(jobs.submit(any())).thenThrow(new RejectedExecutionException("Too many export jobs"));
+
+        // When/Then
+        mockMvc.perform(post("/audit/export/jobs")
+                        .param("format", "PDF")
+                        .param("from", DAY.toString())
+                        .param("to", DAY.toString()))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void shouldReportProgress() throws Exception {
+        // Given
+        var job = job(ExportJob.Status.RUNNING, directory.resolve("job-1.csv"));
+        when(job.expectedEvents()).thenReturn(4L);
+        when(job.eventsWritten()).thenReturn(1L);
+        when(jobs.find("job-1")).thenReturn(Optional.of(job));
+
+        // When/Then
+        mockMvc.perform(get("/audit/export/jobs/job-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("RUNNING"))
+                .andExpect(jsonPath("$.eventsWritten").value(1))
+                .andExpect(jsonPath("$.expectedEvents").value(4))
+                .andExpect(jsonPath("$.progress").value(0.25));
+    }
+
+    @Test
+    void shouldReturnNotFoundForUnknownJob() throws Exception {
+        // Given
+        when(jobs.find("missing")).thenReturn(Optional.empty());
+
+        // When/Then
+        mockMvc.perform(get("/audit/export/jobs/missing"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldRefuseDownloadBeforeCompletion() throws Exception {
+        // Given
+        var job = job(ExportJob.Status.RUNNING, directory.resolve("job-1.csv"));
+        when(jobs.find("job-1")).thenReturn(Optional.of(job));
+
+        // When/Then
+        mockMvc.perform(get("/audit/export/jobs/job-1/download"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void shouldResumeDownloadWithRange() throws Exception {
+        // Given
+        var file = Files.writeString(directory.resolve("job-1.csv"), "0123456789");
+        var job = job(ExportJob.Status.COMPLETED, file);
+        when(jobs.find("job-1")).thenReturn(Optional.of(job));
+
+        // When/Then
+        mockMvc.perform(get("/audit/export/jobs/job-1/download").header(HttpHeaders.RANGE, "bytes=4-"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 4-9/10"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"audit-log-" + DAY + "-to-" + DAY + ".csv\""))
+                .andExpect(content().string("456789"));
+    }
+
+    private static ExportJob job(ExportJob.Status status, Path file) {
+        var job = mock(ExportJob.class);
+        when(job.id()).thenReturn("job-1");
+        when(job.status()).thenReturn(status);
+        when(job.request()).thenReturn(new ExportRequest(ExportFormat.CSV, DAY, DAY, "user-1", null));
+        when(job.watermark()).thenReturn(Instant.parse("2024-03-05T00:00:00Z"));
+        when(job.expectedEvents()).thenReturn(-1L);
+        when(job.file()).thenReturn(file);
+        return job;
+    }
+}
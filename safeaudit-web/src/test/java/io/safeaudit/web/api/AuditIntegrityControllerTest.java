@@ -0,0 +1,110 @@
+package io.safeaudit.web.api;
+
+import io.safeaudit.core.domain.AuditEvent;
+import io.safeaudit.core.domain.InclusionProof;
+import io.safeaudit.core.domain.MerkleCheckpoint;
+import io.safeaudit.core.domain.enums.AuditSeverity;
+import io.safeaudit.core.spi.AuditStorage;
+import io.safeaudit.persistence.integrity.MerkleCheckpointManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+@WebMvcTest(AuditIntegrityController.class)
+class AuditIntegrityControllerTest {
+
+    private static final String EVENT_ID = "4b0f6a4e-1f59-4c2a-9d3c-1b9e2f3c4d5e";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private AuditStorage auditStorage;
+
+    @MockitoBean
+    private MerkleCheckpointManager checkpointManager;
+
+    @Test
+    void shouldReturnValidProof() throws Exception {
+        // Given
+        var proof = new InclusionProof(EVENT_ID, "event-hash", 0, 2, Instant.EPOCH, Instant.EPOCH,
+                "root", List.of(new InclusionProof.Step("sibling", false)));
+        when(checkpointManager.prove(EVENT_ID)).thenReturn(Optional.of(proof));
+        when(checkpointManager.verifyProof(proof)).thenReturn(true);
+        when(auditStorage.findById(EVENT_ID)).thenReturn(Optional.of(createEvent("event-hash")));
+
+        // When/Then
+        mockMvc.perform(get("/audit/integrity/proofs/{eventId}", EVENT_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.valid").value(true))
+                .andExpect(jsonPath("$.proof.rootHash").value("root"))
+                .andExpect(jsonPath("$.proof.path[0].siblingHash").value("sibling"));
+    }
+
+    @Test
+    void shouldInvalidateProofWhenStoredEventChanged() throws Exception {
+        // Given
+        var proof = new InclusionProof(EVENT_ID, "event-hash", 0, 1, Instant.EPOCH, Instant.EPOCH,
+                "root", List.of());
+        when(checkpointManager.prove(EVENT_ID)).thenReturn(Optional.of(proof));
+        when(checkpointManager.verifyProof(proof)).thenReturn(true);
+        when(auditStorage.findById(EVENT_ID)).thenReturn(Optional.of(createEvent("forged")));
+
+        // When/Then
+        mockMvc.perform(get("/audit/integrity/proofs/{eventId}", EVENT_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.valid").value(false));
+    }
+
+    @Test
+    void shouldReturnNotFoundForUnsealedEvent() throws Exception {
+        // Given
+        when(checkpointManager.prove(EVENT_ID)).thenReturn(Optional.empty());
+
+        // When/Then
+        mockMvc.perform(get("/audit/integrity/proofs/{eventId}", EVENT_ID))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldListCheckpointsWithRangeRoot() throws Exception {
+        // Given
+        var checkpoint = new MerkleCheckpoint(Instant.EPOCH, Instant.EPOCH.plusSeconds(3600), 3, "root", Instant.EPOCH);
+        when(checkpointManager.getCheckpoints(any(), any())).thenReturn(List.of(checkpoint));
+        when(checkpointManager.rootOf(List.of(checkpoint))).thenReturn("range-root");
+
+        // When/Then
+        mockMvc.perform(get("/audit/integrity/checkpoints")
+                        .param("from", "2025-01-01T00:00:00Z")
+                        .param("to", "2025-02-01T00:00:00Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.checkpoints[0].leafCount").value(3))
+                .andExpect(jsonPath("$.rangeRoot").value("range-root"));
+    }
+
+    private AuditEvent createEvent(String eventHash) {
+        return AuditEvent.builder()
+                .eventId(EVENT_ID)
+                .timestamp(Instant.now())
+                .eventType("TEST")
+                .severity(AuditSeverity.INFO)
+                .eventHash(eventHash)
+                .build();
+    }
+}
@@ -2,9 +2,14 @@ package io.safeaudit.web.api;
 
 import io.safeaudit.core.config.AuditProperties;
 import io.safeaudit.core.domain.AuditEvent;
+import io.safeaudit.core.domain.AuditStatistics;
+import io.safeaudit.core.domain.EventCount;
+import io.safeaudit.core.domain.PageCursor;
 import io.safeaudit.core.domain.QueryCriteria;
 import io.safeaudit.core.domain.enums.AuditSeverity;
+import io.safeaudit.core.domain.enums.CountMode;
 import io.safeaudit.core.spi.AuditStorage;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -14,10 +19,13 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -39,6 +47,11 @@ class AuditQueryControllerTest {
     @MockitoBean
     private AuditProperties auditProperties;
 
+    @BeforeEach
+    void setUp() {
+        when(auditProperties.getReporting()).thenReturn(new AuditProperties.ReportingConfig());
+    }
+
     @Test
     void shouldQueryEvents() throws Exception {
         // Given
@@ -51,7 +64,7 @@ class AuditQueryControllerTest {
                 .build();
 
         when(auditStorage.query(any(QueryCriteria.class))).thenReturn(List.of(event));
-        when(auditStorage.count(any(QueryCriteria.class))).thenReturn(1L);
+        when(auditStorage.count(any(QueryCriteria.class), eq(CountMode.EXACT))).thenReturn(EventCount.exact(1));
 
         // When/Then
         mockMvc.perform(get("/audit/events")
@@ -61,7 +74,58 @@ class AuditQueryControllerTest {
                 .andExpect(jsonPath("$.content[0].eventId").value(event.eventId()))
                 .andExpect(jsonPath("$.content[0].userId").value("user1"))
                 .andExpect(jsonPath("$.totalElements").value(1))
-                .andExpect(jsonPath("$.totalPages").value(1));
+                .andExpect(jsonPath("$.totalPages").value(1))
+                .andExpect(jsonPath("$.totalExact").value(true));
+    }
+
+    @Test
+    void shouldUseRequestedCountMode() throws Exception {
+        // Given
+        when(auditStorage.query(any(QueryCriteria.class))).thenReturn(List.of());
+        when(auditStorage.count(any(QueryCriteria.class), eq(CountMode.ESTIMATED)))
+                .thenReturn(EventCount.approximate(1_000_000));
+
+        // When/Then
+        mockMvc.perform(get("/audit/events").param("count", "ESTIMATED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1_000_000))
+                .andExpect(jsonPath("$.totalPages").value(20_000))
+                .andExpect(jsonPath("$.totalExact").value(false));
+    }
+
+    @Test
+    void shouldReturnCursorForFullPageAndSeekWithIt() throws Exception {
+        // Given
+        AuditEvent event = AuditEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .timestamp(Instant.now())
+                .eventType("TEST")
+                .severity(AuditSeverity.INFO)
+                .build();
+        var cursor = PageCursor.after(event);
+
+        when(auditStorage.query(argThat(criteria -> criteria != null && criteria.getCursor() == null))).thenReturn(List.of(event));
+        when(auditStorage.query(argThat(criteria -> criteria != null && cursor.equals(criteria.getCursor())))).thenReturn(List.of());
+        when(auditStorage.count(any(QueryCriteria.class), any(CountMode.class))).thenReturn(EventCount.exact(1));
+
+        // When/Then
+        mockMvc.perform(get("/audit/events").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextCursor").value(cursor.encode()))
+                .andExpect(jsonPath("$.cursorPaged").value(false));
+
+        mockMvc.perform(get("/audit/events").param("size", "1").param("cursor", cursor.encode()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").isEmpty())
+                .andExpect(jsonPath("$.nextCursor").doesNotExist())
+                .andExpect(jsonPath("$.cursorPaged").value(true));
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() throws Exception {
+        // When/Then
+        mockMvc.perform(get("/audit/events").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -97,11 +161,19 @@ class AuditQueryControllerTest {
     @Test
     void shouldGetStatistics() throws Exception {
         // Given
-        when(auditStorage.count(any(QueryCriteria.class))).thenReturn(100L);
+        var hour = Instant.parse("2024-03-10T10:00:00Z");
+        when(auditStorage.statistics(null, null)).thenReturn(new AuditStatistics(
+                100L,
+                Map.of(AuditSeverity.INFO, 90L, AuditSeverity.CRITICAL, 10L),
+                List.of(new AuditStatistics.Bucket(hour, 100L))));
 
         // When/Then
         mockMvc.perform(get("/audit/stats"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.totalEvents").value(100)); // Just verifying structure
+                .andExpect(jsonPath("$.totalEvents").value(100))
+                .andExpect(jsonPath("$.infoCount").value(90))
+                .andExpect(jsonPath("$.warnCount").value(0))
+                .andExpect(jsonPath("$.criticalCount").value(10))
+                .andExpect(jsonPath("$.timeline[0].count").value(100));
     }
 }
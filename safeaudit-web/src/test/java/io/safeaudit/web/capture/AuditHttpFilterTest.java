@@ -7,6 +7,8 @@ import io.safeaudit.core.spi.AuditEventCapture;
 import io.safeaudit.core.spi.AuditEventIdGenerator;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,10 +21,13 @@ import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.*;
 
 /**
@@ -32,6 +37,8 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class AuditHttpFilterTest {
 
+    private static final UUID EVENT_ID = UUID.fromString("01912d68-783e-7a3c-9f2b-4c1d5e6f7a8b");
+
     @Mock
     private AuditEventCapture eventCapture;
     @Mock
@@ -95,7 +102,7 @@ class AuditHttpFilterTest {
         request.setContent("request-body".getBytes());
         var response = new MockHttpServletResponse();
 
-        when(idGenerator.generate()).thenReturn("event-123");
+        when(idGenerator.generateUuid()).thenReturn(EVENT_ID);
 
         // When
         filter.doFilterInternal(request, response, filterChain);
@@ -107,7 +114,7 @@ class AuditHttpFilterTest {
         verify(eventCapture).capture(captor.capture());
 
         var event = captor.getValue();
-        assertThat(event.eventId()).isEqualTo("event-123");
+        assertThat(event.eventId()).isEqualTo(EVENT_ID.toString());
         assertThat(event.action()).isEqualTo("POST");
         assertThat(event.resource()).isEqualTo("/api/test");
         assertThat(event.severity()).isEqualTo(AuditSeverity.INFO);
@@ -152,7 +159,7 @@ class AuditHttpFilterTest {
         doThrow(new RuntimeException("Processing failed"))
                 .when(filterChain).doFilter(any(), any());
 
-        when(idGenerator.generate()).thenReturn("event-err");
+        when(idGenerator.generateUuid()).thenReturn(EVENT_ID);
 
         // When
         try {
@@ -178,7 +185,7 @@ class AuditHttpFilterTest {
         request.addHeader("X-Correlation-ID", "existing-id");
         var response = new MockHttpServletResponse();
 
-        when(idGenerator.generate()).thenReturn("event-1");
+        when(idGenerator.generateUuid()).thenReturn(EVENT_ID);
 
         // When
         filter.doFilterInternal(request, response, filterChain);
@@ -202,4 +209,112 @@ class AuditHttpFilterTest {
         verify(filterChain).doFilter(any(), any());
         verifyNoInteractions(eventCapture);
     }
+
+    @Test
+    void shouldCaptureOnlyBodyPrefixWhileStreamingEverything() throws ServletException, IOException {
+        // Given
+        var body = "a".repeat(5000).getBytes(StandardCharsets.UTF_8);
+        var request = new MockHttpServletRequest("POST", "/api/upload");
+        request.setAttribute("io.safeaudit.web.capture.SHOULD_AUDIT", true);
+        request.setContent(body);
+        var response = new MockHttpServletResponse();
+        byte[][] received = new byte[1][];
+
+        when(idGenerator.generateUuid()).thenReturn(EVENT_ID);
+        doAnswer(invocation -> {
+            var req = invocation.getArgument(0, HttpServletRequest.class);
+            var res = invocation.getArgument(1, HttpServletResponse.class);
+            received[0] = req.getInputStream().readAllBytes();
+            res.getOutputStream().write(received[0]);
+            return null;
+        }).when(filterChain).doFilter(any(), any());
+
+        // When
+        filter.doFilterInternal(request, response, filterChain);
+
+        // Then
+        assertThat(received[0]).hasSize(5000);
+        assertThat(response.getContentAsByteArray()).hasSize(5000);
+
+        var captor = ArgumentCaptor.forClass(AuditEvent.class);
+        verify(eventCapture).capture(captor.capture());
+        assertThat(captor.getValue().requestPayload()).hasSize(1024);
+        assertThat(captor.getValue().responsePayload()).hasSize(1024);
+    }
+
+    @Test
+    void shouldCaptureFormPostReadThroughParameters() throws ServletException, IOException {
+        // Given
+        var request = new MockHttpServletRequest("POST", "/api/transfers");
+        request.setAttribute("io.safeaudit.web.capture.SHOULD_AUDIT", true);
+        request.setContentType("application/x-www-form-urlencoded");
+        request.addParameter("amount", "100");
+        request.addParameter("to", "acct 42");
+        var response = new MockHttpServletResponse();
+        String[] amount = new String[1];
+
+        when(idGenerator.generateUuid()).thenReturn(EVENT_ID);
+        doAnswer(invocation -> {
+            amount[0] = invocation.getArgument(0, HttpServletRequest.class).getParameter("amount");
+            return null;
+        }).when(filterChain).doFilter(any(), any());
+
+        // When
+        filter.doFilterInternal(request, response, filterChain);
+
+        // Then
+        assertThat(amount[0]).isEqualTo("100");
+
+        var captor = ArgumentCaptor.forClass(AuditEvent.class);
+        verify(eventCapture).capture(captor.capture());
+        assertThat(captor.getValue().requestPayload()).isEqualTo("amount=100&to=acct+42");
+    }
+
+    @Test
+    void shouldCaptureWriterOutputAsUtf8() throws ServletException, IOException {
+        // Given
+        var request = new MockHttpServletRequest("GET", "/api/test");
+        request.setAttribute("io.safeaudit.web.capture.SHOULD_AUDIT", true);
+        var response = new MockHttpServletResponse();
+        response.setCharacterEncoding("UTF-8");
+
+        when(idGenerator.generateUuid()).thenReturn(EVENT_ID);
+        doAnswer(invocation -> {
+            invocation.getArgument(1, HttpServletResponse.class)
+                    .getWriter().write("{\"name\":\"Zoë\"}");
+            return null;
+        }).when(filterChain).doFilter(any(), any());
+
+        // When
+        filter.doFilterInternal(request, response, filterChain);
+
+        // Then
+        assertThat(response.getContentAsString()).isEqualTo("{\"name\":\"Zoë\"}");
+
+        var captor = ArgumentCaptor.forClass(AuditEvent.class);
+        verify(eventCapture).capture(captor.capture());
+        assertThat(captor.getValue().responsePayload()).isEqualTo("{\"name\":\"Zoë\"}");
+        assertThat(captor.getValue().requestPayload()).isNull();
+    }
+
+    @Test
+    void shouldNotWrapWhenBodyCaptureDisabled() throws ServletException, IOException {
+        // Given
+        var http = properties.getCapture().getHttp();
+        when(http.isIncludeRequestBody()).thenReturn(false);
+        when(http.isIncludeResponseBody()).thenReturn(false);
+        filter = new AuditHttpFilter(eventCapture, properties, idGenerator, applicationContext, sequenceNumberGenerator);
+        var request = new MockHttpServletRequest("GET", "/api/download");
+        request.setAttribute("io.safeaudit.web.capture.SHOULD_AUDIT", true);
+        var response = new MockHttpServletResponse();
+
+        when(idGenerator.generateUuid()).thenReturn(EVENT_ID);
+
+        // When
+        filter.doFilterInternal(request, response, filterChain);
+
+        // Then
+        verify(filterChain).doFilter(same(request), same(response));
+        verify(eventCapture).capture(any());
+    }
 }
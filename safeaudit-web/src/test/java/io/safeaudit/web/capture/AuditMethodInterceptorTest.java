@@ -18,6 +18,8 @@ import org.springframework.core.env.Environment;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.util.UUID;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
@@ -29,6 +31,8 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class AuditMethodInterceptorTest {
 
+    private static final UUID EVENT_ID = UUID.fromString("01912d68-783e-7a3c-9f2b-4c1d5e6f7a8b");
+
     @Mock
     private AuditEventCapture eventCapture;
     @Mock
@@ -79,7 +83,7 @@ class AuditMethodInterceptorTest {
         when(audited.includeArgs()).thenReturn(true);
         when(audited.includeResult()).thenReturn(true);
 
-        when(idGenerator.generate()).thenReturn("event-1");
+        when(idGenerator.generateUuid()).thenReturn(EVENT_ID);
 
         // When
         var actualResult = interceptor.auditMethod(joinPoint, audited);
@@ -116,7 +120,7 @@ class AuditMethodInterceptorTest {
         when(audited.includeArgs()).thenReturn(false);
         when(audited.includeResult()).thenReturn(false);
 
-        when(idGenerator.generate()).thenReturn("event-err");
+        when(idGenerator.generateUuid()).thenReturn(EVENT_ID);
 
         // When/Then
         assertThrows(RuntimeException.class, () -> interceptor.auditMethod(joinPoint, audited));
@@ -2,6 +2,7 @@ package io.safeaudit.web.capture;
 
 import io.safeaudit.core.domain.AuditEvent;
 import io.safeaudit.core.processing.AuditProcessingPipeline;
+import io.safeaudit.core.processing.queue.VirtualThreadAuditQueue;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -11,7 +12,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.time.Instant;
 import java.util.UUID;
 
-import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.*;
 
 /**
  * @author Nelson Tanko
@@ -41,4 +42,31 @@ class DefaultAuditEventCaptureTest {
         // Then
         verify(pipeline).process(event);
     }
+
+    @Test
+    void shouldHandOffSnapshotToQueueWhenAvailable() {
+        // Given
+        var queue = mock(VirtualThreadAuditQueue.class);
+        var capture = new DefaultAuditEventCapture(pipeline, queue);
+
+        var event = AuditEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .eventType("TEST")
+                .timestamp(Instant.now())
+                .build();
+        var snapshot = AuditEvent.builder()
+                .eventId(event.eventId())
+                .eventType("TEST")
+                .timestamp(event.timestamp())
+                .userId("user123")
+                .build();
+        when(pipeline.snapshot(event)).thenReturn(snapshot);
+
+        // When
+        capture.capture(event);
+
+        // Then
+        verify(queue).enqueue(snapshot);
+        verify(pipeline, never()).process(any());
+    }
 }
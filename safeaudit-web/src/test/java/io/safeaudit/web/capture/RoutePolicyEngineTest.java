@@ -0,0 +1,153 @@
+package io.safeaudit.web.capture;
+
+import io.safeaudit.core.config.AuditProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+class RoutePolicyEngineTest {
+
+    private AuditProperties.HttpCaptureConfig config;
+
+    @BeforeEach
+    void setUp() {
+        config = new AuditProperties.HttpCaptureConfig();
+        config.setMaxBodySize(2048);
+    }
+
+    @Test
+    void shouldApplyDefaultsWhenNoRouteMatches() {
+        // When
+        var policy = RoutePolicyEngine.compile(config).resolve("/api/accounts/42");
+
+        // Then
+        assertThat(policy.audited()).isTrue();
+        assertThat(policy.includeRequestBody()).isTrue();
+        assertThat(policy.includeResponseBody()).isFalse();
+        assertThat(policy.maxBodySize()).isEqualTo(2048);
+    }
+
+    @Test
+    void shouldExcludeActuatorAndStaticResources() {
+        // Given
+        var engine = RoutePolicyEngine.compile(config);
+
+        // Then
+        assertThat(engine.resolve("/actuator").audited()).isFalse();
+        assertThat(engine.resolve("/actuator/health/db").audited()).isFalse();
+        assertThat(engine.resolve("/assets/app.js").audited()).isFalse();
+        assertThat(engine.resolve("/api/app.json").audited()).isTrue();
+    }
+
+    @Test
+    void shouldPreferLiteralSegmentsOverWildcards() {
+        // Given
+        config.setRoutes(List.of(
+                route("/api/**", true, "API_CALL"),
+                route("/api/payments/*", true, "PAYMENT"),
+                route("/api/payments/{id}/refunds", true, "REFUND"),
+                route("/api/payments/health", false, null)));
+        var engine = RoutePolicyEngine.compile(config);
+
+        // Then
+        assertThat(engine.resolve("/api/payments/7").eventType()).isEqualTo("PAYMENT");
+        assertThat(engine.resolve("/api/payments/7/refunds").eventType()).isEqualTo("REFUND");
+        assertThat(engine.resolve("/api/payments/health").audited()).isFalse();
+        assertThat(engine.resolve("/api/payments/7/notes").eventType()).isEqualTo("API_CALL");
+        assertThat(engine.resolve("/api").eventType()).isEqualTo("API_CALL");
+        assertThat(engine.resolve("/other").eventType()).isNull();
+    }
+
+    @Test
+    void shouldBacktrackToWildcardWhenLiteralBranchDeadEnds() {
+        // Given
+        config.setRoutes(List.of(
+                route("/api/users/me", true, "PROFILE"),
+                route("/api/*/export", true, "EXPORT")));
+        var engine = RoutePolicyEngine.compile(config);
+
+        // Then
+        assertThat(engine.resolve("/api/users/export").eventType()).isEqualTo("EXPORT");
+        assertThat(engine.resolve("/api/users/me/").eventType()).isEqualTo("PROFILE");
+    }
+
+    @Test
+    void shouldOverrideCaptureSettingsPerRoute() {
+        // Given
+        var upload = route("/files/**", true, null);
+        upload.setIncludeRequestBody(false);
+        upload.setMaxBodySize(512);
+        var report = route("/reports/*", true, null);
+        report.setIncludeResponseBody(true);
+        report.setMaxBodySize(512);
+        config.setRoutes(List.of(upload, report));
+        var engine = RoutePolicyEngine.compile(config);
+
+        // When
+        var uploadPolicy = engine.resolve("/files/a/b/c");
+        var reportPolicy = engine.resolve("/reports/daily");
+
+        // Then
+        assertThat(uploadPolicy.includeRequestBody()).isFalse();
+        assertThat(reportPolicy.includeResponseBody()).isTrue();
+        assertThat(reportPolicy.includeRequestBody()).isTrue();
+        assertThat(uploadPolicy.bufferPool()).isSameAs(reportPolicy.bufferPool());
+        assertThat(uploadPolicy.bufferPool().bufferSize()).isEqualTo(512);
+    }
+
+    @Test
+    void shouldStillHonourRegexExclusions() {
+        // Given
+        config.setExclusionPatterns(List.of("/internal/.*"));
+        config.setRoutes(List.of(route("/internal/jobs", true, "JOB")));
+        var engine = RoutePolicyEngine.compile(config);
+
+        // Then
+        assertThat(engine.resolve("/internal/jobs").audited()).isFalse();
+        assertThat(engine.resolve("/public").audited()).isTrue();
+    }
+
+    @Test
+    void shouldMatchManyRoutes() {
+        // Given
+        List<AuditProperties.RouteConfig> routes = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            routes.add(route("/api/v1/resource" + i + "/*", true, "R" + i));
+        }
+        config.setRoutes(routes);
+        var engine = RoutePolicyEngine.compile(config);
+
+        // Then
+        assertThat(engine.resolve("/api/v1/resource0/x").eventType()).isEqualTo("R0");
+        assertThat(engine.resolve("/api/v1/resource499/x").eventType()).isEqualTo("R499");
+        assertThat(engine.resolve("/api/v1/resource500/x").eventType()).isNull();
+    }
+
+    @Test
+    void shouldRejectInnerDoubleWildcard() {
+        // Given
+        config.setRoutes(List.of(route("/api/**/export", true, null)));
+
+        // When/Then
+        assertThatThrownBy(() -> RoutePolicyEngine.compile(config))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("last segment");
+    }
+
+    private AuditProperties.RouteConfig route(String pattern, boolean audit, String eventType) {
+        var route = new AuditProperties.RouteConfig();
+        route.setPattern(pattern);
+        route.setAudit(audit);
+        route.setEventType(eventType);
+        return route;
+    }
+}
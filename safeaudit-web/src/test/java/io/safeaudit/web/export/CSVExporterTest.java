@@ -1,15 +1,27 @@
 package io.safeaudit.web.export;
 
 import io.safeaudit.core.domain.AuditEvent;
+import io.safeaudit.core.domain.QueryCriteria;
 import io.safeaudit.core.domain.enums.AuditSeverity;
+import io.safeaudit.core.spi.AuditStorage;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 /**
  * @author Nelson Tanko
@@ -69,4 +81,63 @@ class CSVExporterTest {
                 .contains("Event ID,Timestamp,Event Type,Severity,User ID,Username,IP Address,Resource,Action,HTTP Status,Application");
         // Verify only header remains (split by newline should be 1 or 2 depending on implementation)
     }
+
+    @Test
+    void shouldStreamEventsFromStorage() throws Exception {
+        // Given
+        var storage = mock(AuditStorage.class);
+        var criteria = QueryCriteria.builder().build();
+        var events = List.of(event("event-1"), event("event-2"), event("event-3"));
+        when(storage.stream(eq(criteria), any())).thenAnswer(invocation -> {
+            Consumer<AuditEvent> consumer = invocation.getArgument(1);
+            events.forEach(consumer);
+            return (long) events.size();
+        });
+        var out = new ByteArrayOutputStream();
+
+        // When
+        long written = exporter.export(storage, criteria, out);
+
+        // Then
+        var lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(written).isEqualTo(3);
+        assertThat(lines).hasSize(4);
+        assertThat(lines[0]).startsWith("Event ID,Timestamp");
+        assertThat(lines[1]).startsWith("event-1,");
+        assertThat(lines[3]).startsWith("event-3,");
+    }
+
+    @Test
+    void shouldPropagateWriteFailureWhileStreaming() {
+        // Given
+        var storage = mock(AuditStorage.class);
+        when(storage.stream(any(), any())).thenAnswer(invocation -> {
+            Consumer<AuditEvent> consumer = invocation.getArgument(1);
+            consumer.accept(event("event-1"));
+            return 1L;
+        });
+        var out = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        // When/Then
+        assertThatThrownBy(() -> exporter.export(storage, QueryCriteria.builder().build(), out))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Broken pipe");
+    }
+
+    private static AuditEvent event(String eventId) {
+        return AuditEvent.builder()
+                .eventId(eventId)
+                .timestamp(Instant.parse("2023-10-01T10:00:00Z"))
+                .eventType("LOGIN")
+                .severity(AuditSeverity.INFO)
+                .resource("/api/login")
+                .action("POST")
+                .applicationName("test-app")
+                .build();
+    }
 }
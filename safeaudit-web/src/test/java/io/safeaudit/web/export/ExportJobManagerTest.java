@@ -0,0 +1,274 @@
+package io.safeaudit.web.export;
+
+import io.safeaudit.core.config.AuditProperties;
+import io.safeaudit.core.domain.AuditEvent;
+import io.safeaudit.core.domain.EventCount;
+import io.safeaudit.core.domain.enums.AuditSeverity;
+import io.safeaudit.core.exception.AuditStorageException;
+import io.safeaudit.core.spi.AuditStorage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Nelson Tanko
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class ExportJobManagerTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 1);
+
+    @Mock
+    private AuditStorage storage;
+
+    @TempDir
+    private Path directory;
+
+    private final AuditProperties.ExportJobsConfig config = new AuditProperties.ExportJobsConfig();
+    private ExportJobManager manager;
+
+    @BeforeEach
+    void setUp() {
+        config.setDirectory(directory.toString());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (manager != null) {
+            manager.close();
+        }
+    }
+
+    @Test
+    void shouldExportInBackgroundAndTrackProgress() throws Exception {
+        // Given
+        manager = newManager();
+        when(storage.count(any(), any())).thenReturn(EventCount.exact(3));
+        streamEvents(3);
+
+        // When
+        var job = manager.submit(new ExportRequest(ExportFormat.CSV, DAY, DAY, "user-1", null));
+
+        // Then
+        awaitFinished(job);
+        assertThat(job.status()).isEqualTo(ExportJob.Status.COMPLETED);
+        assertThat(job.eventsWritten()).isEqualTo(3);
+        assertThat(job.expectedEvents()).isEqualTo(3);
+        assertThat(Files.readAllLines(job.file())).hasSize(4).first().asString().startsWith("Event ID");
+        assertThat(directory).isDirectoryNotContaining("glob:**.part");
+        verify(storage).stream(argThat(criteria -> "user-1".equals(criteria.getUserId())
+                && criteria.getTo().equals(Instant.parse("2024-03-02T00:00:00Z"))), any());
+    }
+
+    @Test
+    void shouldReuseJobForIdenticalClosedRange() {
+        // Given
+        manager = newManager();
+        when(storage.count(any(), any())).thenReturn(EventCount.exact(1));
+        streamEvents(1);
+        var request = new ExportRequest(ExportFormat.PDF, DAY, DAY, null, null);
+        var first = manager.submit(request);
+        awaitFinished(first);
+
+        // When
+        var second = manager.submit(new ExportRequest(ExportFormat.PDF, DAY, DAY, null, null));
+        var otherFormat = manager.submit(new ExportRequest(ExportFormat.CSV, DAY, DAY, null, null));
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(otherFormat).isNotSameAs(first);
+    }
+
+    @Test
+    void shouldNotReuseJobForRangeStillOpen() {
+        // Given
+        manager = newManager();
+        when(storage.count(any(), any())).thenReturn(EventCount.exact(0));
+        streamEvents(0);
+        var today = LocalDate.now(ZoneOffset.UTC);
+        var request = new ExportRequest(ExportFormat.CSV, today, today, null, null);
+        var first = manager.submit(request);
+        awaitFinished(first);
+
+        // When
+        var second = manager.submit(request);
+
+        // Then
+        assertThat(second).isNotSameAs(first);
+        assertThat(first.request().criteria(first.watermark()).getTo()).isEqualTo(first.watermark());
+    }
+
+    @Test
+    void shouldRejectJobsBeyondQueueLimit() throws Exception {
+        // Given
+        config.setMaxConcurrent(1);
+        config.setMaxQueued(2);
+        manager = newManager();
+        var release = new CountDownLatch(1);
+        when(storage.count(any(), any())).thenReturn(EventCount.exact(0));
+        when(storage.stream(any(), any())).thenAnswer(_ -> {
+            release.await(5, TimeUnit.SECONDS);
+            return 0L;
+        });
+        var running = manager.submit(new ExportRequest(ExportFormat.CSV, DAY, DAY, "user-1", null));
+        var queued = manager.submit(new ExportRequest(ExportFormat.CSV, DAY, DAY, "user-2", null));
+
+        // When/Then
+        assertThatThrownBy(() -> manager.submit(new ExportRequest(ExportFormat.CSV, DAY, DAY, "user-3", null)))
+                .isInstanceOf(RejectedExecutionException.class);
+        assertThat(queued.status()).isEqualTo(ExportJob.Status.QUEUED);
+
+        release.countDown();
+        awaitFinished(running);
+        awaitFinished(queued);
+        assertThat(manager.submit(new ExportRequest(ExportFormat.CSV, DAY, DAY, "user-3", null))).isNotNull();
+    }
+
+    @Test
+    void shouldRecordFailureAndRetryFailedRange() {
+        // Given
+        manager = newManager();
+        when(storage.count(any(), any())).thenReturn(EventCount.exact(1));
+        when(storage.stream(any(), any())).thenThrow(new AuditStorageException("Failed to stream events", null));
+        var request = new ExportRequest(ExportFormat.CSV, DAY, DAY, null, null);
+
+        // When
+        var job = manager.submit(request);
+        awaitFinished(job);
+
+        // Then
+        assertThat(job.status()).isEqualTo(ExportJob.Status.FAILED);
+        assertThat(job.error()).isEqualTo("Failed to stream events");
+        assertThat(job.file()).doesNotExist();
+        assertThat(manager.submit(request)).isNotSameAs(job);
+    }
+
+    @Test
+    void shouldEvictExpiredArtifacts() {
+        // Given
+        config.setArtifactTtlMinutes(0);
+        manager = newManager();
+        when(storage.count(any(), any())).thenReturn(EventCount.exact(1));
+        streamEvents(1);
+        var job = manager.submit(new ExportRequest(ExportFormat.CSV, DAY, DAY, null, null));
+        awaitFinished(job);
+
+        // When
+        var found = manager.find(job.id());
+
+        // Then
+        assertThat(found).isEmpty();
+        assertThat(job.file()).doesNotExist();
+    }
+
+    @Test
+    void shouldEvictExpiredArtifactsOnSchedule() {
+        // Given
+        config.setArtifactTtlMinutes(0);
+        manager = newManager();
+        when(storage.count(any(), any())).thenReturn(EventCount.exact(1));
+        streamEvents(1);
+        var job = manager.submit(new ExportRequest(ExportFormat.CSV, DAY, DAY, null, null));
+        awaitFinished(job);
+
+        // When
+        manager.evictScheduled();
+
+        // Then
+        assertThat(job.file()).doesNotExist();
+    }
+
+    @Test
+    void shouldKeepDirectoryAndArtifactsPrivate() throws Exception {
+        // Given
+        assumeTrue(directory.getFileSystem().supportedFileAttributeViews().contains("posix"));
+        manager = newManager();
+        when(storage.count(any(), any())).thenReturn(EventCount.exact(1));
+        streamEvents(1);
+
+        // When
+        var job = manager.submit(new ExportRequest(ExportFormat.CSV, DAY, DAY, null, null));
+        awaitFinished(job);
+
+        // Then
+        assertThat(PosixFilePermissions.toString(Files.getPosixFilePermissions(directory))).isEqualTo("rwx------");
+        assertThat(PosixFilePermissions.toString(Files.getPosixFilePermissions(job.file()))).isEqualTo("rw-------");
+    }
+
+    @Test
+    void shouldCreateOwnTemporaryDirectoryByDefault() {
+        // Given
+        config.setDirectory(null);
+        manager = newManager();
+        when(storage.count(any(), any())).thenReturn(EventCount.exact(1));
+        streamEvents(1);
+        var job = manager.submit(new ExportRequest(ExportFormat.CSV, DAY, DAY, null, null));
+        awaitFinished(job);
+        var exportDirectory = job.file().getParent();
+
+        // When
+        manager.close();
+        manager = null;
+
+        // Then
+        assertThat(exportDirectory.getFileName().toString()).startsWith("safeaudit-exports-");
+        assertThat(exportDirectory).doesNotExist();
+    }
+
+    private ExportJobManager newManager() {
+        return new ExportJobManager(storage, new CSVExporter(), new PDFExporter(), config);
+    }
+
+    private void streamEvents(int count) {
+        when(storage.stream(any(), any())).thenAnswer(invocation -> {
+            Consumer<AuditEvent> consumer = invocation.getArgument(1);
+            for (int i = 0; i < count; i++) {
+                consumer.accept(AuditEvent.builder()
+                        .eventId("event-" + i)
+                        .timestamp(Instant.parse("2024-03-01T10:00:00Z").plusSeconds(i))
+                        .eventType("LOGIN")
+                        .severity(AuditSeverity.INFO)
+                        .resource("/api/login")
+                        .action("POST")
+                        .build());
+            }
+            return (long) count;
+        });
+    }
+
+    private static void awaitFinished(ExportJob job) {
+        var deadline = Instant.now().plus(Duration.ofSeconds(10));
+        while (!job.isFinished()) {
+            assertThat(Instant.now()).as("export job %s finished", job.id()).isBefore(deadline);
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
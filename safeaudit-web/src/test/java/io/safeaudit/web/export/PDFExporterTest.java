@@ -1,16 +1,28 @@
 package io.safeaudit.web.export;
 
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
 import io.safeaudit.core.domain.AuditEvent;
+import io.safeaudit.core.domain.QueryCriteria;
 import io.safeaudit.core.domain.enums.AuditSeverity;
+import io.safeaudit.core.spi.AuditStorage;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 /**
  * @author Nelson Tanko
@@ -64,4 +76,45 @@ class PDFExporterTest {
         assertThat(pdfBytes).isNotEmpty();
         assertThat(new String(pdfBytes)).startsWith("%PDF-");
     }
+
+    @Test
+    void shouldStreamLargeReportWithSummary() throws Exception {
+        // Given
+        var storage = mock(AuditStorage.class);
+        var criteria = QueryCriteria.builder().build();
+        when(storage.stream(eq(criteria), any())).thenAnswer(invocation -> {
+            Consumer<AuditEvent> consumer = invocation.getArgument(1);
+            for (int i = 0; i < 1500; i++) {
+                consumer.accept(AuditEvent.builder()
+                        .eventId("event-" + i)
+                        .timestamp(Instant.parse("2023-10-01T10:00:00Z").plusSeconds(i))
+                        .eventType(i % 3 == 0 ? "LOGIN" : "DATA_ACCESS")
+                        .severity(i % 3 == 0 ? AuditSeverity.WARN : AuditSeverity.INFO)
+                        .resource("/api/resource/" + i)
+                        .action("GET")
+                        .build());
+            }
+            return 1500L;
+        });
+        var out = new ByteArrayOutputStream();
+
+        // When
+        long written = exporter.export(storage, criteria, LocalDate.of(2023, 10, 1), LocalDate.of(2023, 10, 1), out);
+
+        // Then
+        assertThat(written).isEqualTo(1500);
+        try (var pdf = new PdfDocument(new PdfReader(new ByteArrayInputStream(out.toByteArray())))) {
+            assertThat(pdf.getNumberOfPages()).isGreaterThan(10);
+            var lastPages = new StringBuilder();
+            for (int page = pdf.getNumberOfPages() - 1; page <= pdf.getNumberOfPages(); page++) {
+                lastPages.append(PdfTextExtractor.getTextFromPage(pdf.getPage(page)));
+            }
+            assertThat(lastPages.toString())
+                    .contains("/api/resource/1499")
+                    .contains("Total Events")
+                    .contains("1500")
+                    .contains("Event Type: LOGIN")
+                    .contains("Severity: WARN");
+        }
+    }
 }